@@ -0,0 +1,89 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.sales.SaleResponse;
+import com.banana.harvest.entity.Sale;
+import com.banana.harvest.entity.enums.SaleType;
+import com.banana.harvest.service.SalesService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A list endpoint's response path: entity to DTO mapping (SalesService's own mapper),
+ * Jackson serialization of the ApiResponse-wrapped list, and both together.
+ * The ObjectMapper is configured like the application's (ISO dates, Asia/Kolkata).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private static final MethodHandle MAP_TO_SALE_RESPONSE;
+
+    static {
+        try {
+            MAP_TO_SALE_RESPONSE = MethodHandles.privateLookupIn(SalesService.class, MethodHandles.lookup())
+                    .findVirtual(SalesService.class, "mapToSaleResponse",
+                            MethodType.methodType(SaleResponse.class, Sale.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private final SalesService salesService = new SalesService(null, null, null, null, null);
+    private ObjectMapper objectMapper;
+    private List<Sale> sales;
+    private ApiResponse<List<SaleResponse>> response;
+
+    @Setup
+    public void setUp() throws Throwable {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone("Asia/Kolkata")
+                .build();
+        sales = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sales.add(SyntheticSales.sale(i, i % 4 == 0 ? SaleType.EXPORT : SaleType.DOMESTIC));
+        }
+        response = ApiResponse.success(map());
+    }
+
+    @Benchmark
+    public List<SaleResponse> mapToDto() throws Throwable {
+        return map();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Throwable {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(map()));
+    }
+
+    private List<SaleResponse> map() throws Throwable {
+        List<SaleResponse> responses = new ArrayList<>(sales.size());
+        for (Sale sale : sales) {
+            responses.add((SaleResponse) MAP_TO_SALE_RESPONSE.invokeExact(salesService, sale));
+        }
+        return responses;
+    }
+}
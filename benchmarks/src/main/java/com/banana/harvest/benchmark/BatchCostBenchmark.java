@@ -0,0 +1,57 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.entity.BatchCost;
+import com.banana.harvest.entity.InventoryAllocation;
+import com.banana.harvest.entity.InventoryItem;
+import com.banana.harvest.service.BatchCostCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BigDecimal arithmetic of HarvestService.recalculateBatchCosts, which runs after every
+ * daily report, transport cost and allocation, for batches with few and many allocations
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchCostBenchmark {
+
+    @Param({"5", "50"})
+    public int allocationCount;
+
+    private List<InventoryAllocation> allocations;
+    private BigDecimal outwardTransport;
+    private BigDecimal inwardTransport;
+    private BigDecimal laborCost;
+    private int boxCount;
+
+    @Setup
+    public void setUp() {
+        allocations = new ArrayList<>(allocationCount);
+        for (int i = 0; i < allocationCount; i++) {
+            InventoryItem item = InventoryItem.builder()
+                    .itemName("Item " + i)
+                    .unitCost(new BigDecimal("12.75").add(BigDecimal.valueOf(i)))
+                    .build();
+            allocations.add(InventoryAllocation.builder().item(item).quantity(100 + i * 7).build());
+        }
+        outwardTransport = new BigDecimal("18500.00");
+        inwardTransport = new BigDecimal("9250.50");
+        laborCost = new BigDecimal("42330.00");
+        boxCount = 2_750;
+    }
+
+    @Benchmark
+    public BatchCost recalculateBatchCosts() {
+        BatchCost batchCost = BatchCost.builder().build();
+        BatchCostCalculator.apply(batchCost, allocations, outwardTransport, inwardTransport, laborCost, boxCount);
+        return batchCost;
+    }
+}
@@ -0,0 +1,144 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.farm.BatchResponse;
+import com.banana.harvest.dto.sales.SaleResponse;
+import com.banana.harvest.entity.Sale;
+import com.banana.harvest.entity.enums.BatchStatus;
+import com.banana.harvest.entity.enums.SaleType;
+import com.banana.harvest.service.SalesService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode time of ApiResponse-wrapped sale and batch lists as JSON, CBOR (served
+ * for Accept: application/cbor) and Smile. Decoding reads a tree, as a client without the
+ * DTO classes would. The payload size, raw and gzipped, is printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentFormatBenchmark {
+
+    private static final MethodHandle MAP_TO_SALE_RESPONSE;
+
+    static {
+        try {
+            MAP_TO_SALE_RESPONSE = MethodHandles.privateLookupIn(SalesService.class, MethodHandles.lookup())
+                    .findVirtual(SalesService.class, "mapToSaleResponse",
+                            MethodType.methodType(SaleResponse.class, Sale.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"sales", "batches"})
+    public String payload;
+
+    @Param({"50", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<?> response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Throwable {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone("Asia/Kolkata");
+        switch (format) {
+            case "json" -> { }
+            case "cbor" -> builder.factory(new CBORFactory());
+            case "smile" -> builder.factory(new SmileFactory());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        }
+        objectMapper = builder.build();
+        response = ApiResponse.success("sales".equals(payload) ? sales() : batches());
+        encoded = objectMapper.writeValueAsBytes(response);
+    }
+
+    @TearDown
+    public void printSize() throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n%s %d %s: %d bytes, %d gzipped%n", format, size, payload, encoded.length,
+                gzipped.size());
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return objectMapper.readTree(encoded);
+    }
+
+    private List<SaleResponse> sales() throws Throwable {
+        SalesService salesService = new SalesService(null, null, null, null, null);
+        List<SaleResponse> sales = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Sale sale = SyntheticSales.sale(i, i % 4 == 0 ? SaleType.EXPORT : SaleType.DOMESTIC);
+            sales.add((SaleResponse) MAP_TO_SALE_RESPONSE.invokeExact(salesService, sale));
+        }
+        return sales;
+    }
+
+    private List<BatchResponse> batches() {
+        List<BatchResponse> batches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int estimated = 2000 + i % 800;
+            int harvested = estimated / 2 + i % 100;
+            batches.add(BatchResponse.builder()
+                    .id(UUID.randomUUID())
+                    .batchId(String.format("BATCH-20240115-%04d", i))
+                    .inspectionId(UUID.randomUUID())
+                    .farmId(UUID.randomUUID())
+                    .farmName("Farmer " + (i % 300))
+                    .farmLocation("Jalgaon block " + (i % 40))
+                    .produceType("Banana")
+                    .vendorId(UUID.randomUUID())
+                    .vendorName("Vendor " + (i % 25))
+                    .status(i % 3 == 0 ? BatchStatus.HARVEST_IN_PROGRESS : BatchStatus.DISPATCH_IN_PROGRESS)
+                    .estimatedBoxes(estimated)
+                    .allocatedBoxes(estimated)
+                    .harvestedBoxes(harvested)
+                    .remainingBoxes(estimated - harvested)
+                    .actualBoxes(harvested)
+                    .dispatchedBoxes(harvested / 2)
+                    .gatePassRemaining(harvested - harvested / 2)
+                    .startDate(LocalDate.of(2024, 1, 15).minusDays(i % 30))
+                    .createdAt(LocalDateTime.of(2024, 1, 15, 6, 30).minusMinutes(i))
+                    .build());
+        }
+        return batches;
+    }
+}
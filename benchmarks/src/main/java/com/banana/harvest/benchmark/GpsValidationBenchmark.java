@@ -0,0 +1,68 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.service.GpsValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPS checks run on every inspection and daily report: the Haversine distance alone,
+ * a full validation that passes, and one rejected as too far (cost of the exception path).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GpsValidationBenchmark {
+
+    private final GpsValidationService gpsValidationService = new GpsValidationService();
+
+    // Farm near Jalgaon; the nearby fix is ~200 m away, the far one ~3 km
+    private double farmLat = 21.0077;
+    private double farmLng = 75.5626;
+    private double gpsLat = 21.0095;
+    private double gpsLng = 75.5631;
+
+    private BigDecimal farmLatitude;
+    private BigDecimal farmLongitude;
+    private BigDecimal nearLatitude;
+    private BigDecimal nearLongitude;
+    private BigDecimal farLatitude;
+    private BigDecimal farLongitude;
+    private BigDecimal accuracy;
+
+    @Setup
+    public void setUp() {
+        farmLatitude = BigDecimal.valueOf(farmLat);
+        farmLongitude = BigDecimal.valueOf(farmLng);
+        nearLatitude = BigDecimal.valueOf(gpsLat);
+        nearLongitude = BigDecimal.valueOf(gpsLng);
+        farLatitude = new BigDecimal("21.0347");
+        farLongitude = new BigDecimal("75.5626");
+        accuracy = new BigDecimal("12.5");
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        return gpsValidationService.calculateDistance(farmLat, farmLng, gpsLat, gpsLng);
+    }
+
+    @Benchmark
+    public void validateGpsLocation() {
+        gpsValidationService.validateGpsLocation(farmLatitude, farmLongitude, nearLatitude, nearLongitude, accuracy);
+    }
+
+    @Benchmark
+    public Object validateGpsLocationTooFar() {
+        try {
+            gpsValidationService.validateGpsLocation(farmLatitude, farmLongitude, farLatitude, farLongitude, accuracy);
+            return null;
+        } catch (BusinessException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.entity.Sale;
+import com.banana.harvest.entity.enums.SaleType;
+import com.banana.harvest.service.PdfInvoiceService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders domestic (GST) and export invoice PDFs for a synthetic sale, without the repository lookup
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class InvoicePdfBenchmark {
+
+    @Param({"DOMESTIC", "EXPORT"})
+    public SaleType saleType;
+
+    private PdfInvoiceService pdfInvoiceService;
+    private Sale sale;
+
+    @Setup
+    public void setUp() {
+        pdfInvoiceService = new PdfInvoiceService(null, null);
+        sale = SyntheticSales.sale(1, saleType);
+    }
+
+    @Benchmark
+    public byte[] generateInvoice() {
+        return pdfInvoiceService.generateInvoice(sale);
+    }
+}
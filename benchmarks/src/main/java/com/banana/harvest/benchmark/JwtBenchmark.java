@@ -0,0 +1,59 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT work done on login and on every authenticated request: signing a token,
+ * validating one and extracting the user id from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmarkSigningSecretThatIsLongEnoughForHmacSha256Keys";
+
+    private JwtUtil jwtUtil;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        set("jwtSecret", SECRET);
+        set("jwtExpiration", 86_400_000L);
+        set("refreshExpiration", 604_800_000L);
+        userId = UUID.randomUUID();
+        token = jwtUtil.generateTokenFromUserId(userId);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateTokenFromUserId(userId);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public UUID getUserIdFromToken() {
+        return jwtUtil.getUserIdFromToken(token);
+    }
+
+    private void set(String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(JwtUtil.class, fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtUtil, value);
+    }
+}
@@ -0,0 +1,84 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.service.StripedStockCounter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory contention on one hot SKU: every thread takes from the same stock.
+ * Compares a monitor, a single CAS counter and the striped counter used by the hot stock escrow.
+ * Run with e.g. -t 1,4,16 to see how each variant scales with takers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockCounterBenchmark {
+
+    // Large enough that refills are rare compared to takes
+    private static final int CHUNK = 1_000_000;
+
+    @Param({"1", "5"})
+    public int quantity;
+
+    @Param({"8"})
+    public int stripes;
+
+    private final Object monitor = new Object();
+    private int synchronizedStock;
+    private AtomicInteger atomicStock;
+    private volatile StripedStockCounter stripedStock;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        synchronizedStock = CHUNK;
+        atomicStock = new AtomicInteger(CHUNK);
+        stripedStock = new StripedStockCounter(CHUNK, stripes);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean synchronizedTake() {
+        synchronized (monitor) {
+            if (synchronizedStock < quantity) {
+                synchronizedStock = CHUNK;
+            }
+            synchronizedStock -= quantity;
+            return true;
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean atomicTake() {
+        while (true) {
+            int current = atomicStock.get();
+            if (current < quantity) {
+                atomicStock.compareAndSet(current, CHUNK);
+                continue;
+            }
+            if (atomicStock.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean stripedTake() {
+        StripedStockCounter counter = stripedStock;
+        if (counter.tryTake(quantity)) {
+            return true;
+        }
+        synchronized (monitor) {
+            if (stripedStock == counter) {
+                stripedStock = new StripedStockCounter(CHUNK, stripes);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package com.banana.harvest.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row contention on one hot inventory_stock row in Postgres.
+ * Compares the read-check-write allocation under SELECT ... FOR UPDATE with the single
+ * conditional UPDATE used by the reservation engine. Uses its own scratch table so it
+ * never touches application data.
+ * Connection settings: -Dbench.db.url, -Dbench.db.username, -Dbench.db.password
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class StockUpdateBenchmark {
+
+    private static final String TABLE = "public.bench_inventory_stock";
+    private static final int CHUNK = 1_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        @Setup(Level.Trial)
+        public void createTable() throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + TABLE +
+                        " (id INT PRIMARY KEY, available_quantity INT NOT NULL, reserved_quantity INT NOT NULL)");
+                statement.execute("DELETE FROM " + TABLE);
+                statement.execute("INSERT INTO " + TABLE + " VALUES (1, " + CHUNK + ", 0)");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void dropTable() throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement selectForUpdate;
+        private PreparedStatement writeBack;
+        private PreparedStatement conditionalUpdate;
+        private PreparedStatement refill;
+
+        @Setup(Level.Trial)
+        public void open(Database database) throws SQLException {
+            connection = connect();
+            selectForUpdate = connection.prepareStatement(
+                    "SELECT available_quantity FROM " + TABLE + " WHERE id = 1 FOR UPDATE");
+            writeBack = connection.prepareStatement(
+                    "UPDATE " + TABLE + " SET available_quantity = ?, reserved_quantity = reserved_quantity + ? WHERE id = 1");
+            conditionalUpdate = connection.prepareStatement(
+                    "UPDATE " + TABLE + " SET available_quantity = available_quantity - ?, " +
+                            "reserved_quantity = reserved_quantity + ? WHERE id = 1 AND available_quantity >= ?");
+            refill = connection.prepareStatement(
+                    "UPDATE " + TABLE + " SET available_quantity = " + CHUNK + " WHERE id = 1 AND available_quantity < ?");
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Param({"1"})
+    public int quantity;
+
+    @Benchmark
+    @Threads(16)
+    public int selectForUpdate(Session session) throws SQLException {
+        Connection connection = session.connection;
+        connection.setAutoCommit(false);
+        try {
+            int available;
+            try (ResultSet rs = session.selectForUpdate.executeQuery()) {
+                rs.next();
+                available = rs.getInt(1);
+            }
+            if (available < quantity) {
+                available = CHUNK;
+            }
+            session.writeBack.setInt(1, available - quantity);
+            session.writeBack.setInt(2, quantity);
+            int updated = session.writeBack.executeUpdate();
+            connection.commit();
+            return updated;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int conditionalUpdate(Session session) throws SQLException {
+        session.conditionalUpdate.setInt(1, quantity);
+        session.conditionalUpdate.setInt(2, quantity);
+        session.conditionalUpdate.setInt(3, quantity);
+        int updated = session.conditionalUpdate.executeUpdate();
+        if (updated == 0) {
+            session.refill.setInt(1, quantity);
+            session.refill.executeUpdate();
+        }
+        return updated;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/postgres"),
+                System.getProperty("bench.db.username", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.entity.Batch;
+import com.banana.harvest.entity.Sale;
+import com.banana.harvest.entity.enums.PaymentStatus;
+import com.banana.harvest.entity.enums.SaleType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Builds detached Sale entities with realistic field values for the benchmarks
+ */
+final class SyntheticSales {
+
+    private SyntheticSales() {
+    }
+
+    static Sale sale(int index, SaleType saleType) {
+        Batch batch = Batch.builder()
+                .id(UUID.randomUUID())
+                .batchId(String.format("BATCH-20240115-%04d", index))
+                .build();
+
+        boolean export = saleType == SaleType.EXPORT;
+        int boxes = 400 + index % 600;
+        BigDecimal pricePerBox = new BigDecimal(export ? "14.50" : "1180.00");
+        BigDecimal totalAmount = pricePerBox.multiply(BigDecimal.valueOf(boxes));
+        BigDecimal taxPercentage = export ? BigDecimal.ZERO : new BigDecimal("5.00");
+        BigDecimal taxAmount = totalAmount.multiply(taxPercentage).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+
+        return Sale.builder()
+                .id(UUID.randomUUID())
+                .batch(batch)
+                .invoiceNumber(String.format("INV-20240115-%05d", index))
+                .buyerName(export ? "Gulf Fresh Produce Trading LLC" : "Sharma Fruit Traders")
+                .buyerContact(export ? "+971 4 555 0101" : "+91 98220 12345")
+                .buyerAddress(export ? "Al Aweer Central Fruit Market, Dubai, UAE" : "APMC Market Yard, Vashi, Navi Mumbai 400703")
+                .saleType(saleType)
+                .totalBoxes(boxes)
+                .pricePerBox(pricePerBox)
+                .currency(export ? "USD" : "INR")
+                .exchangeRate(export ? new BigDecimal("83.1200") : BigDecimal.ONE)
+                .totalAmount(totalAmount)
+                .taxPercentage(taxPercentage)
+                .taxAmount(taxAmount)
+                .grandTotal(totalAmount.add(taxAmount))
+                .paymentStatus(PaymentStatus.PENDING)
+                .paidAmount(BigDecimal.ZERO)
+                .saleDate(LocalDate.of(2024, 1, 15))
+                .createdAt(LocalDateTime.of(2024, 1, 15, 10, 30))
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.banana.harvest.benchmark;
+
+import com.banana.harvest.entity.id.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into a uuid-keyed Postgres table shaped like vendor_ledger, with random
+ * version 4 ids (GenerationType.UUID) against time-ordered version 7 ids (@UuidV7Id).
+ * The table is pre-filled so the primary key index is larger than the pages a random
+ * insert finds in cache; the index size and WAL written are printed at the end of each
+ * trial. Uses its own scratch table so it never touches application data.
+ * Connection settings: -Dbench.db.url, -Dbench.db.username, -Dbench.db.password
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final String TABLE = "public.bench_uuid_insert";
+    private static final String INSERT = "INSERT INTO " + TABLE +
+            " (id, vendor_id, transaction_type, quantity, amount, created_at) VALUES (?, ?, 'BOX_ISSUED', ?, ?, now())";
+
+    /**
+     * Rows per JDBC batch, one transaction each
+     */
+    private static final int BATCH = 100;
+
+    @Param({"v4", "v7"})
+    public String idVersion;
+
+    @Param({"1000000"})
+    public int prefillRows;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        private String walStart;
+
+        @Setup(Level.Trial)
+        public void createTable(UuidInsertBenchmark benchmark) throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+                statement.execute("CREATE TABLE " + TABLE + " (id UUID PRIMARY KEY, vendor_id UUID NOT NULL, " +
+                        "transaction_type VARCHAR(20) NOT NULL, quantity INT, amount NUMERIC(12,2), created_at TIMESTAMP)");
+            }
+            try (Connection connection = connect(); PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                connection.setAutoCommit(false);
+                for (int row = 0; row < benchmark.prefillRows; row += BATCH) {
+                    insertRows(insert, benchmark.idVersion);
+                    connection.commit();
+                }
+            }
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM ANALYZE " + TABLE);
+                try (ResultSet rs = statement.executeQuery("SELECT pg_current_wal_lsn()")) {
+                    rs.next();
+                    walStart = rs.getString(1);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void dropTable(UuidInsertBenchmark benchmark) throws SQLException {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("SELECT count(*), " +
+                        "pg_size_pretty(pg_relation_size('" + TABLE + "_pkey')), " +
+                        "pg_size_pretty(pg_wal_lsn_diff(pg_current_wal_lsn(), '" + walStart + "')) FROM " + TABLE)) {
+                    rs.next();
+                    System.out.printf("%n%s ids: %d rows, primary key index %s, WAL written while measuring %s%n",
+                            benchmark.idVersion, rs.getLong(1), rs.getString(2), rs.getString(3));
+                }
+                statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private Connection connection;
+        private PreparedStatement insert;
+
+        @Setup(Level.Trial)
+        public void open(Database database) throws SQLException {
+            connection = connect();
+            connection.setAutoCommit(false);
+            insert = connection.prepareStatement(INSERT);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    /**
+     * One transaction of BATCH inserts; multiply the score by BATCH for rows per second
+     */
+    @Benchmark
+    @Threads(8)
+    public int insertBatch(Session session) throws SQLException {
+        try {
+            int rows = insertRows(session.insert, idVersion);
+            session.connection.commit();
+            return rows;
+        } catch (SQLException e) {
+            session.connection.rollback();
+            throw e;
+        }
+    }
+
+    private static int insertRows(PreparedStatement insert, String idVersion) throws SQLException {
+        UUID vendorId = UUID.randomUUID();
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, "v7".equals(idVersion) ? UuidV7.randomUuid() : UUID.randomUUID());
+            insert.setObject(2, vendorId);
+            insert.setInt(3, i + 1);
+            insert.setBigDecimal(4, BigDecimal.valueOf(i * 25L, 2));
+            insert.addBatch();
+        }
+        return insert.executeBatch().length;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/postgres"),
+                System.getProperty("bench.db.username", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+    }
+}
@@ -0,0 +1,262 @@
+package com.banana.harvest.datagen;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Everything that happens to one batch, derived from the seed and the batch's index alone:
+ * the daily reports, truck loads, costs and sale. Each table pass rebuilds the plans it
+ * needs instead of holding all of them, which keeps memory flat at any scale.
+ *
+ * The counters follow the application's rules: allocated = estimated, harvested = the
+ * sum of boxes packed, remaining = allocated - harvested, actual = harvested,
+ * dispatched = the sum of gate pass boxes and gatePassRemaining = harvested - dispatched.
+ */
+final class BatchPlan {
+
+    /**
+     * Days between the starts of a vendor's consecutive batches; a batch never runs longer
+     */
+    static final int CYCLE_DAYS = 15;
+
+    private static final int MAX_REPORT_DAYS = 8;
+    private static final int MIN_TRUCK_LOAD = 400;
+    private static final int MAX_TRUCK_LOAD = 800;
+
+    /**
+     * Lifecycle stages in order, named after the batch status each ends in
+     */
+    enum Stage {
+        CREATED, HARVEST_IN_PROGRESS, HARVEST_COMPLETED, DISPATCH_IN_PROGRESS, IN_TRANSIT, DELIVERED, COMPLETED;
+
+        boolean atLeast(Stage other) {
+            return compareTo(other) >= 0;
+        }
+    }
+
+    final int index;
+    final int vendorIndex;
+    final int farmIndex;
+    final int managerIndex;
+    final int storeKeeperIndex;
+    final Stage stage;
+    final LocalDate startDate;
+    final int estimatedBoxes;
+
+    // Daily harvest reports, one per day from day 1
+    final int[] boxesPacked;
+    final int[] boxesWasted;
+    final int[] laborCount;
+    final long[] laborPaise;
+
+    // Gate passes, dispatched the days after the harvest and received the day after dispatch
+    final int[] gatePassBoxes;
+    final int[] gatePassDay;
+    final int[] receivedBoxes;
+
+    final long outwardTransportPaise;
+    final long inwardTransportPaise;
+
+    final int harvestedBoxes;
+    final int dispatchedBoxes;
+    final int receivedTotal;
+    final int wastedTotal;
+
+    // Sale, only when COMPLETED
+    final int saleBoxes;
+    final boolean export;
+    final long pricePerBoxPaise;
+    final int taxPercentage;
+    final int paymentRoll;
+
+    private final int lastDay;
+
+    private BatchPlan(DataGenOptions options, int index) {
+        SplittableRandom random = Ids.random(options.seed(), Ids.Kind.BATCH, index);
+        this.index = index;
+        this.vendorIndex = index % options.vendors();
+        this.farmIndex = index % options.farms();
+        this.managerIndex = random.nextInt(options.managers());
+        this.storeKeeperIndex = random.nextInt(options.storeKeepers());
+
+        // A vendor's batches run one after another; only the newest can still be open
+        int sequence = index / options.vendors();
+        LocalDate firstStart = options.asOf().minusDays((long) options.batchesPerVendor() * CYCLE_DAYS);
+        this.startDate = firstStart.plusDays((long) sequence * CYCLE_DAYS);
+        boolean newest = index + options.vendors() >= options.batches();
+        if (newest) {
+            this.stage = Stage.values()[random.nextInt(Stage.values().length)];
+        } else {
+            this.stage = random.nextInt(10) == 0 ? Stage.DELIVERED : Stage.COMPLETED;
+        }
+
+        this.estimatedBoxes = 300 + random.nextInt(2701);
+
+        // Harvest: the estimate spread over the report days, cut short while still harvesting
+        int days = 3 + random.nextInt(MAX_REPORT_DAYS - 2);
+        int[] packed = split(estimatedBoxes, days, random);
+        int reportDays = switch (stage) {
+            case CREATED -> 0;
+            case HARVEST_IN_PROGRESS -> 1 + random.nextInt(days - 1);
+            default -> days;
+        };
+        this.boxesPacked = new int[reportDays];
+        this.boxesWasted = new int[reportDays];
+        this.laborCount = new int[reportDays];
+        this.laborPaise = new long[reportDays];
+        int harvested = 0;
+        int wasted = 0;
+        for (int day = 0; day < reportDays; day++) {
+            boxesPacked[day] = packed[day];
+            boxesWasted[day] = random.nextInt(packed[day] / 50 + 1);
+            laborCount[day] = 8 + random.nextInt(33);
+            laborPaise[day] = laborCount[day] * (350L + random.nextInt(251)) * 100;
+            harvested += packed[day];
+            wasted += boxesWasted[day];
+        }
+        this.harvestedBoxes = harvested;
+        this.wastedTotal = wasted;
+
+        // Dispatch: truck loads of the harvest, all but the last while dispatch is in progress
+        int[] loads = new int[0];
+        if (stage.atLeast(Stage.DISPATCH_IN_PROGRESS)) {
+            int trucks = Math.max(1, harvested / (MIN_TRUCK_LOAD + random.nextInt(MAX_TRUCK_LOAD - MIN_TRUCK_LOAD + 1)));
+            loads = split(harvested, Math.max(trucks, stage == Stage.DISPATCH_IN_PROGRESS ? 2 : 1), random);
+            if (stage == Stage.DISPATCH_IN_PROGRESS) {
+                loads = Arrays.copyOf(loads, loads.length - 1);
+            }
+        }
+        this.gatePassBoxes = loads;
+        this.gatePassDay = new int[loads.length];
+        this.receivedBoxes = new int[loads.length];
+        int dispatched = 0;
+        int received = 0;
+        boolean delivered = stage.atLeast(Stage.DELIVERED);
+        for (int load = 0; load < loads.length; load++) {
+            gatePassDay[load] = reportDays + 1 + load / 2;
+            receivedBoxes[load] = delivered ? loads[load] - random.nextInt(3) : -1;
+            dispatched += loads[load];
+            received += Math.max(receivedBoxes[load], 0);
+        }
+        this.dispatchedBoxes = dispatched;
+        this.receivedTotal = received;
+
+        this.outwardTransportPaise = (2000L + random.nextInt(6001)) * 100;
+        this.inwardTransportPaise = delivered ? loads.length * (4000L + random.nextInt(5001)) * 100 : 0;
+
+        if (stage == Stage.COMPLETED) {
+            this.saleBoxes = harvested - random.nextInt(harvested / 50 + 1);
+            this.export = random.nextInt(10) < 3;
+            this.pricePerBoxPaise = export ? 1200 + random.nextInt(801) : (800L + random.nextInt(601)) * 100;
+            this.taxPercentage = export ? 0 : (random.nextBoolean() ? 5 : 0);
+            this.paymentRoll = random.nextInt(10);
+        } else {
+            this.saleBoxes = 0;
+            this.export = false;
+            this.pricePerBoxPaise = 0;
+            this.taxPercentage = 0;
+            this.paymentRoll = 0;
+        }
+
+        int day = reportDays;
+        if (loads.length > 0) {
+            day = gatePassDay[loads.length - 1] + (delivered ? 1 : 0);
+        }
+        this.lastDay = stage == Stage.COMPLETED ? day + 1 : day;
+    }
+
+    static BatchPlan of(DataGenOptions options, int index) {
+        return new BatchPlan(options, index);
+    }
+
+    String status() {
+        return stage.name();
+    }
+
+    int remainingBoxes() {
+        return estimatedBoxes - harvestedBoxes;
+    }
+
+    int gatePassRemaining() {
+        return harvestedBoxes - dispatchedBoxes;
+    }
+
+    /**
+     * Box count the application divides batch costs by
+     */
+    int costBoxCount() {
+        return harvestedBoxes > 0 ? harvestedBoxes : estimatedBoxes;
+    }
+
+    long laborTotalPaise() {
+        long total = 0;
+        for (long paise : laborPaise) {
+            total += paise;
+        }
+        return total;
+    }
+
+    LocalDateTime createdAt() {
+        return startDate.atTime(9, 0);
+    }
+
+    LocalDateTime reportAt(int reportIndex) {
+        return startDate.plusDays(reportIndex + 1).atTime(18, 0);
+    }
+
+    LocalDateTime dispatchedAt(int load) {
+        return startDate.plusDays(gatePassDay[load]).atTime(7 + load % 2 * 6, 30);
+    }
+
+    LocalDateTime receivedAt(int load) {
+        return dispatchedAt(load).plusDays(1);
+    }
+
+    LocalDateTime lastReceivedAt() {
+        return receivedAt(gatePassBoxes.length - 1);
+    }
+
+    LocalDate saleDate() {
+        return startDate.plusDays(lastDay);
+    }
+
+    LocalDateTime saleAt() {
+        return saleDate().atTime(16, 0);
+    }
+
+    /**
+     * Last activity on the batch, its updated_at
+     */
+    LocalDateTime updatedAt() {
+        return startDate.plusDays(lastDay).atTime(17, 0);
+    }
+
+    /**
+     * Set once the batch is delivered
+     */
+    LocalDate endDate() {
+        return stage.atLeast(Stage.DELIVERED) ? startDate.plusDays(lastDay) : null;
+    }
+
+    /**
+     * Splits total into parts of at least one, each roughly the same size
+     */
+    private static int[] split(int total, int parts, SplittableRandom random) {
+        int[] result = new int[parts];
+        int[] weights = new int[parts];
+        int weightSum = 0;
+        for (int i = 0; i < parts; i++) {
+            weights[i] = 70 + random.nextInt(61);
+            weightSum += weights[i];
+        }
+        int assigned = 0;
+        for (int i = 0; i < parts - 1; i++) {
+            result[i] = Math.max(1, (int) ((long) (total - parts) * weights[i] / weightSum) + 1);
+            assigned += result[i];
+        }
+        result[parts - 1] = total - assigned;
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package com.banana.harvest.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Streams rows into one table through COPY ... FROM STDIN in text format.
+ * Values are appended column by column in the order given to open, then endRow.
+ * Money is passed in paise (hundredths) to keep the generator free of BigDecimal.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer out;
+    private final StringBuilder row = new StringBuilder(512);
+    private boolean rowStarted;
+    private long rows;
+
+    private CopyWriter(Writer out) {
+        this.out = out;
+    }
+
+    static CopyWriter open(PGConnection connection, String table, String columns) throws SQLException {
+        String sql = "COPY banana_harvest." + table + " (" + columns + ") FROM STDIN";
+        PGCopyOutputStream stream = new PGCopyOutputStream(connection, sql, BUFFER_SIZE);
+        return new CopyWriter(new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    CopyWriter uuid(UUID value) {
+        return value == null ? nil() : raw(value.toString());
+    }
+
+    CopyWriter text(String value) {
+        if (value == null) {
+            return nil();
+        }
+        separator();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> row.append("\\\\");
+                case '\t' -> row.append("\\t");
+                case '\n' -> row.append("\\n");
+                case '\r' -> row.append("\\r");
+                default -> row.append(c);
+            }
+        }
+        return this;
+    }
+
+    CopyWriter number(long value) {
+        separator();
+        row.append(value);
+        return this;
+    }
+
+    CopyWriter money(long paise) {
+        separator();
+        if (paise < 0) {
+            row.append('-');
+            paise = -paise;
+        }
+        long fraction = paise % 100;
+        row.append(paise / 100).append('.').append(fraction < 10 ? "0" : "").append(fraction);
+        return this;
+    }
+
+    CopyWriter decimal(double value, int scale) {
+        return raw(String.format(Locale.ROOT, "%." + scale + "f", value));
+    }
+
+    CopyWriter bool(boolean value) {
+        return raw(value ? "t" : "f");
+    }
+
+    CopyWriter date(LocalDate value) {
+        return value == null ? nil() : raw(value.toString());
+    }
+
+    CopyWriter timestamp(LocalDateTime value) {
+        return value == null ? nil() : raw(value.toString());
+    }
+
+    CopyWriter nil() {
+        return raw("\\N");
+    }
+
+    void endRow() {
+        row.append('\n');
+        try {
+            out.append(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        row.setLength(0);
+        rowStarted = false;
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    /**
+     * Ends the COPY; the rows become visible when the surrounding transaction commits
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private CopyWriter raw(String value) {
+        separator();
+        row.append(value);
+        return this;
+    }
+
+    private void separator() {
+        if (rowStarted) {
+            row.append('\t');
+        }
+        rowStarted = true;
+    }
+}
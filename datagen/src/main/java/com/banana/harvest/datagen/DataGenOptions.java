@@ -0,0 +1,84 @@
+package com.banana.harvest.datagen;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as --name=value
+ */
+record DataGenOptions(
+        String url,
+        String user,
+        String password,
+        long seed,
+        int batches,
+        int vendors,
+        int farms,
+        int managers,
+        int storeKeepers,
+        int pendingInspections,
+        LocalDate asOf,
+        String userPassword,
+        boolean truncate) {
+
+    static final String USAGE = """
+            Usage: java -jar datagen.jar [--name=value ...]
+              --url=jdbc:postgresql://localhost:5432/banana_harvest
+              --user=postgres --password=postgres
+              --seed=42                          same seed and options produce the same rows
+              --batches=10000                    main scale knob; roughly 35 rows are written per batch
+              --vendors=100                      each vendor harvests its batches one after another
+              --farms=<batches / 3>
+              --managers=5 --store-keepers=3
+              --pending-inspections=<batches / 20>
+                                                 inspections still waiting for approval
+              --as-of=<today>                    date the newest activity ends on; pin it for identical reruns
+              --user-password=DataGen#2024       password of the generated users
+              --truncate=false                   empty every application table first (development databases only)
+            """;
+
+    static DataGenOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println(USAGE);
+                System.exit(0);
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg + "\n" + USAGE);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        int batches = Integer.parseInt(values.getOrDefault("batches", "10000"));
+        DataGenOptions options = new DataGenOptions(
+                values.getOrDefault("url", "jdbc:postgresql://localhost:5432/banana_harvest"),
+                values.getOrDefault("user", "postgres"),
+                values.getOrDefault("password", "postgres"),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                batches,
+                Integer.parseInt(values.getOrDefault("vendors", "100")),
+                Integer.parseInt(values.getOrDefault("farms", String.valueOf(Math.max(1, batches / 3)))),
+                Integer.parseInt(values.getOrDefault("managers", "5")),
+                Integer.parseInt(values.getOrDefault("store-keepers", "3")),
+                Integer.parseInt(values.getOrDefault("pending-inspections", String.valueOf(batches / 20))),
+                values.containsKey("as-of") ? LocalDate.parse(values.get("as-of")) : LocalDate.now(),
+                values.getOrDefault("user-password", "DataGen#2024"),
+                Boolean.parseBoolean(values.getOrDefault("truncate", "false")));
+
+        if (options.batches() < 1 || options.vendors() < 1 || options.farms() < 1 || options.managers() < 1
+                || options.storeKeepers() < 1 || options.pendingInspections() < 0) {
+            throw new IllegalArgumentException("batches, vendors, farms, managers and store-keepers must be at least 1\n" + USAGE);
+        }
+        return options;
+    }
+
+    /**
+     * Batches each vendor works through, the last of which may still be open
+     */
+    int batchesPerVendor() {
+        return (batches + vendors - 1) / vendors;
+    }
+}
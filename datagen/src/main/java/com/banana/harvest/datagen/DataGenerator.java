@@ -0,0 +1,733 @@
+package com.banana.harvest.datagen;
+
+import com.banana.harvest.datagen.Ids.Kind;
+import org.postgresql.PGConnection;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Bulk-loads a coherent synthetic data set: users, farms, inspections, batches with their
+ * allocations, transport and labor costs, daily reports, gate passes, sales, vendor ledger
+ * and cost sheets. Rows are streamed through COPY one table at a time in foreign key order,
+ * all in one transaction, and are fully determined by the seed and the options.
+ * The schema must already exist (start the application against the database once).
+ */
+public final class DataGenerator {
+
+    private static final DateTimeFormatter CODE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String[] TABLES = {
+            "users", "farms", "farm_inspections", "batches", "inventory_items", "inventory_allocations",
+            "inventory_stock", "transport_costs", "daily_harvest_reports", "labor_costs", "gate_passes",
+            "sales", "vendor_ledger", "batch_costs"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "Ramesh", "Suresh", "Lakshmi", "Anitha", "Murugan", "Kavitha", "Prakash", "Selvi", "Arjun", "Meena",
+            "Ganesh", "Divya", "Karthik", "Revathi", "Vijay", "Sangeetha", "Mohan", "Priya", "Senthil", "Geetha"
+    };
+    private static final String[] LAST_NAMES = {
+            "Kumar", "Reddy", "Naidu", "Pillai", "Gowda", "Patil", "Nair", "Rao", "Iyer", "Shetty"
+    };
+    private static final String[] DISTRICTS = {
+            "Theni, Tamil Nadu", "Trichy, Tamil Nadu", "Jalgaon, Maharashtra", "Anand, Gujarat",
+            "Kadapa, Andhra Pradesh", "Thrissur, Kerala", "Mysuru, Karnataka", "Bharuch, Gujarat",
+            "Erode, Tamil Nadu", "Anantapur, Andhra Pradesh"
+    };
+    private static final String[] BUYERS = {
+            "Fresh Harvest Traders", "Green Valley Exports", "Sunrise Fruit Co", "Metro Wholesale Market",
+            "Gulf Fresh Imports", "Coastal Agro Exports", "City Fruit Mart", "Southern Produce Ltd"
+    };
+    private static final String[] TRANSPORTERS = {
+            "Sri Balaji Transports", "KPN Logistics", "Vel Murugan Roadways", "Annai Carriers"
+    };
+
+    /**
+     * Packing material issued per batch; the box is what the vendor ledger tracks
+     */
+    private enum Item {
+        BOX("Banana Box 13kg", "BOX", "pcs", 4500),
+        LINER("Box Liner", "LINER", "pcs", 350),
+        CORNER("Corner Protector", "CORNER", "pcs", 120),
+        TAPE("Packing Tape", "TAPE", "roll", 6500);
+
+        private final String itemName;
+        private final String category;
+        private final String unit;
+        private final long unitCostPaise;
+
+        Item(String itemName, String category, String unit, long unitCostPaise) {
+            this.itemName = itemName;
+            this.category = category;
+            this.unit = unit;
+            this.unitCostPaise = unitCostPaise;
+        }
+
+        int quantityFor(BatchPlan plan) {
+            int estimated = plan.estimatedBoxes;
+            return switch (this) {
+                // A few spare boxes and liners for those damaged while packing
+                case BOX, LINER -> estimated + estimated / 25;
+                case CORNER -> estimated / 2;
+                case TAPE -> estimated / 40 + 1;
+            };
+        }
+    }
+
+    private final DataGenOptions options;
+    private final Connection connection;
+    private final PGConnection copyConnection;
+    private final String tag;
+    private final long[] itemQuantities = new long[Item.values().length];
+    private long totalRows;
+
+    private DataGenerator(DataGenOptions options, Connection connection) throws SQLException {
+        this.options = options;
+        this.connection = connection;
+        this.copyConnection = connection.unwrap(PGConnection.class);
+        // Marks emails and business codes so data sets with different seeds can share a database
+        this.tag = "DG" + Long.toUnsignedString(options.seed(), 36).toUpperCase();
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataGenOptions options = DataGenOptions.parse(args);
+        System.out.printf("Generating seed %d: %d batches, %d vendors, %d farms, as of %s%n",
+                options.seed(), options.batches(), options.vendors(), options.farms(), options.asOf());
+
+        try (Connection connection = DriverManager.getConnection(options.url(), options.user(), options.password())) {
+            requireSchema(connection);
+            connection.setAutoCommit(false);
+            DataGenerator generator = new DataGenerator(options, connection);
+            long start = System.nanoTime();
+            try {
+                if (options.truncate()) {
+                    generator.truncate();
+                }
+                generator.generate();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Committed %,d rows in %.1fs (%,.0f rows/s)%n",
+                    generator.totalRows, seconds, generator.totalRows / seconds);
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                for (String table : TABLES) {
+                    statement.execute("ANALYZE banana_harvest." + table);
+                }
+            }
+        }
+    }
+
+    private static void requireSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet tables = statement.executeQuery("SELECT count(*) FROM information_schema.tables "
+                     + "WHERE table_schema = 'banana_harvest' AND table_name = 'batches'")) {
+            tables.next();
+            if (tables.getInt(1) == 0) {
+                throw new IllegalStateException("Schema banana_harvest not found; start the application against "
+                        + "this database once so it creates the tables");
+            }
+        }
+    }
+
+    private void truncate() throws SQLException {
+        System.out.println("Truncating application tables");
+        try (Statement statement = connection.createStatement()) {
+            List<String> qualified = new ArrayList<>();
+            for (String table : TABLES) {
+                qualified.add("banana_harvest." + table);
+            }
+            statement.execute("TRUNCATE TABLE " + String.join(", ", qualified) + " CASCADE");
+        }
+    }
+
+    private void generate() throws SQLException, IOException {
+        users();
+        farms();
+        inspections();
+        batches();
+        items();
+        allocations();
+        stock();
+        transportCosts();
+        dailyReports();
+        laborCosts();
+        gatePasses();
+        sales();
+        vendorLedger();
+        batchCosts();
+    }
+
+    // --- users -----------------------------------------------------------------------------
+
+    private UUID admin() {
+        return Ids.uuid(options.seed(), Kind.USER, 0);
+    }
+
+    private UUID manager(int index) {
+        return Ids.uuid(options.seed(), Kind.USER, 1 + index);
+    }
+
+    private UUID storeKeeper(int index) {
+        return Ids.uuid(options.seed(), Kind.USER, 1 + options.managers() + index);
+    }
+
+    private UUID vendor(int index) {
+        return Ids.uuid(options.seed(), Kind.USER, 1 + options.managers() + options.storeKeepers() + index);
+    }
+
+    private void users() throws SQLException, IOException {
+        String passwordHash = new BCryptPasswordEncoder().encode(options.userPassword());
+        LocalDateTime createdAt = firstStart().minusDays(30).atTime(10, 0);
+        copy("users", "id, email, password_hash, full_name, phone, role, is_active, created_at, updated_at", out -> {
+            user(out, admin(), "admin", 0, "SUPER_ADMIN", passwordHash, createdAt);
+            for (int i = 0; i < options.managers(); i++) {
+                user(out, manager(i), "manager", i, "MANAGER", passwordHash, createdAt);
+            }
+            for (int i = 0; i < options.storeKeepers(); i++) {
+                user(out, storeKeeper(i), "store-keeper", i, "STORE_KEEPER", passwordHash, createdAt);
+            }
+            for (int i = 0; i < options.vendors(); i++) {
+                user(out, vendor(i), "vendor", i, "VENDOR", passwordHash, createdAt);
+            }
+        });
+    }
+
+    private void user(CopyWriter out, UUID id, String prefix, int index, String role, String passwordHash,
+                      LocalDateTime createdAt) {
+        SplittableRandom random = Ids.random(options.seed(), Kind.USER, id.getLeastSignificantBits());
+        out.uuid(id)
+                .text(String.format("%s-%04d.%s@datagen.local", prefix, index + 1, tag.toLowerCase()))
+                .text(passwordHash)
+                .text(personName(random))
+                .text(phone(random))
+                .text(role)
+                .bool(true)
+                .timestamp(createdAt)
+                .timestamp(createdAt)
+                .endRow();
+    }
+
+    // --- farms and inspections -------------------------------------------------------------
+
+    private UUID farm(int index) {
+        return Ids.uuid(options.seed(), Kind.FARM, index);
+    }
+
+    private int pendingInspectionFarm(int pendingIndex) {
+        return (int) ((pendingIndex * 7919L) % options.farms());
+    }
+
+    private void farms() throws SQLException, IOException {
+        BitSet pending = new BitSet(options.farms());
+        for (int p = 0; p < options.pendingInspections(); p++) {
+            pending.set(pendingInspectionFarm(p));
+        }
+        LocalDateTime createdAt = firstStart().minusDays(20).atTime(11, 0);
+        copy("farms", "id, farmer_name, location, latitude, longitude, contact_number, total_area, area_unit, "
+                + "produce_type, status, created_by, created_at, updated_at", out -> {
+            for (int f = 0; f < options.farms(); f++) {
+                SplittableRandom random = Ids.random(options.seed(), Kind.FARM, f);
+                String status = pending.get(f) ? "INSPECTION_PENDING"
+                        : f < options.batches() ? "READY_FOR_HARVEST" : "ACTIVE";
+                out.uuid(farm(f))
+                        .text(personName(random))
+                        .text(DISTRICTS[random.nextInt(DISTRICTS.length)])
+                        .decimal(farmLatitude(f), 8)
+                        .decimal(farmLongitude(f), 8)
+                        .text(phone(random))
+                        .money(200 + random.nextInt(3801))
+                        .text("acres")
+                        .text("Banana")
+                        .text(status)
+                        .uuid(manager(random.nextInt(options.managers())))
+                        .timestamp(createdAt)
+                        .timestamp(createdAt)
+                        .endRow();
+            }
+        });
+    }
+
+    private double farmLatitude(int farmIndex) {
+        return 8.5 + Ids.random(options.seed(), Kind.FARM, farmIndex).nextDouble() * 13;
+    }
+
+    private double farmLongitude(int farmIndex) {
+        SplittableRandom random = Ids.random(options.seed(), Kind.FARM, farmIndex);
+        random.nextDouble();
+        return 72.5 + random.nextDouble() * 8;
+    }
+
+    private void inspections() throws SQLException, IOException {
+        String columns = "id, farm_id, vendor_id, estimated_boxes, inspection_notes, gps_latitude, gps_longitude, "
+                + "gps_accuracy, status, approved_by, approved_at, created_at";
+        copy("farm_inspections", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                SplittableRandom random = Ids.random(options.seed(), Kind.INSPECTION, i);
+                out.uuid(Ids.uuid(options.seed(), Kind.INSPECTION, i))
+                        .uuid(farm(plan.farmIndex))
+                        .uuid(vendor(plan.vendorIndex))
+                        .number(plan.estimatedBoxes)
+                        .text("Plants healthy, bunches ready in about a week")
+                        .decimal(farmLatitude(plan.farmIndex) + (random.nextDouble() - 0.5) / 1000, 8)
+                        .decimal(farmLongitude(plan.farmIndex) + (random.nextDouble() - 0.5) / 1000, 8)
+                        .decimal(3 + random.nextDouble() * 12, 2)
+                        .text("APPROVED")
+                        .uuid(manager(plan.managerIndex))
+                        .timestamp(plan.createdAt().minusMinutes(30))
+                        .timestamp(plan.startDate.minusDays(2).atTime(11, 0))
+                        .endRow();
+            }
+            for (int p = 0; p < options.pendingInspections(); p++) {
+                SplittableRandom random = Ids.random(options.seed(), Kind.INSPECTION, options.batches() + p);
+                int farmIndex = pendingInspectionFarm(p);
+                out.uuid(Ids.uuid(options.seed(), Kind.INSPECTION, options.batches() + p))
+                        .uuid(farm(farmIndex))
+                        .uuid(vendor(p % options.vendors()))
+                        .number(300 + random.nextInt(2701))
+                        .text("Awaiting manager review")
+                        .decimal(farmLatitude(farmIndex) + (random.nextDouble() - 0.5) / 1000, 8)
+                        .decimal(farmLongitude(farmIndex) + (random.nextDouble() - 0.5) / 1000, 8)
+                        .decimal(3 + random.nextDouble() * 12, 2)
+                        .text("PENDING")
+                        .nil()
+                        .nil()
+                        .timestamp(options.asOf().minusDays(random.nextInt(6)).atTime(8 + random.nextInt(10), 0))
+                        .endRow();
+            }
+        });
+    }
+
+    // --- batches ---------------------------------------------------------------------------
+
+    private UUID batch(int index) {
+        return Ids.uuid(options.seed(), Kind.BATCH, index);
+    }
+
+    private void batches() throws SQLException, IOException {
+        String columns = "id, batch_id, inspection_id, farm_id, vendor_id, status, estimated_boxes, allocated_boxes, "
+                + "harvested_boxes, remaining_boxes, actual_boxes, dispatched_boxes, gate_pass_remaining, "
+                + "start_date, end_date, created_by, created_at, updated_at, version";
+        copy("batches", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                out.uuid(batch(i))
+                        .text(code("BATCH", plan.startDate, i + 1))
+                        .uuid(Ids.uuid(options.seed(), Kind.INSPECTION, i))
+                        .uuid(farm(plan.farmIndex))
+                        .uuid(vendor(plan.vendorIndex))
+                        .text(plan.status())
+                        .number(plan.estimatedBoxes)
+                        .number(plan.estimatedBoxes)
+                        .number(plan.harvestedBoxes)
+                        .number(plan.remainingBoxes())
+                        .number(plan.harvestedBoxes)
+                        .number(plan.dispatchedBoxes)
+                        .number(plan.gatePassRemaining())
+                        .date(plan.startDate)
+                        .date(plan.endDate())
+                        .uuid(manager(plan.managerIndex))
+                        .timestamp(plan.createdAt())
+                        .timestamp(plan.updatedAt())
+                        .number(0)
+                        .endRow();
+            }
+        });
+    }
+
+    // --- inventory -------------------------------------------------------------------------
+
+    private UUID item(Item item) {
+        return Ids.uuid(options.seed(), Kind.ITEM, item.ordinal());
+    }
+
+    private void items() throws SQLException, IOException {
+        LocalDateTime createdAt = firstStart().minusDays(30).atTime(10, 0);
+        copy("inventory_items", "id, item_name, item_code, category, unit_of_measure, unit_cost, is_active, created_at", out -> {
+            for (Item item : Item.values()) {
+                out.uuid(item(item))
+                        .text(item.itemName)
+                        .text(tag + "-" + item.name())
+                        .text(item.category)
+                        .text(item.unit)
+                        .money(item.unitCostPaise)
+                        .bool(true)
+                        .timestamp(createdAt)
+                        .endRow();
+            }
+        });
+    }
+
+    private void allocations() throws SQLException, IOException {
+        String columns = "id, batch_id, item_id, quantity, allocated_by, allocated_at, notes, created_at";
+        copy("inventory_allocations", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                LocalDateTime allocatedAt = plan.createdAt().plusHours(1);
+                for (Item item : Item.values()) {
+                    int quantity = item.quantityFor(plan);
+                    itemQuantities[item.ordinal()] += quantity;
+                    out.uuid(Ids.uuid(options.seed(), Kind.ALLOCATION, (long) i * Item.values().length + item.ordinal()))
+                            .uuid(batch(i))
+                            .uuid(item(item))
+                            .number(quantity)
+                            .uuid(storeKeeper(plan.storeKeeperIndex))
+                            .timestamp(allocatedAt)
+                            .text("Issued for harvest")
+                            .timestamp(allocatedAt)
+                            .endRow();
+                }
+            }
+        });
+    }
+
+    /**
+     * Stock left after every allocation, with a fifth of what was issued still on the shelf
+     */
+    private void stock() throws SQLException, IOException {
+        LocalDateTime lastUpdated = options.asOf().atTime(8, 0);
+        String columns = "id, item_id, total_quantity, available_quantity, reserved_quantity, held_quantity, "
+                + "last_updated, version";
+        copy("inventory_stock", columns, out -> {
+            for (Item item : Item.values()) {
+                long available = Math.max(1000, itemQuantities[item.ordinal()] / 5);
+                out.uuid(Ids.uuid(options.seed(), Kind.STOCK, item.ordinal()))
+                        .uuid(item(item))
+                        .number(Math.min(Integer.MAX_VALUE, available))
+                        .number(Math.min(Integer.MAX_VALUE, available))
+                        .number(0)
+                        .number(0)
+                        .timestamp(lastUpdated)
+                        .number(0)
+                        .endRow();
+            }
+        });
+    }
+
+    // --- harvest ---------------------------------------------------------------------------
+
+    private void transportCosts() throws SQLException, IOException {
+        String columns = "id, batch_id, cost_type, vendor_name, vehicle_number, driver_name, driver_phone, "
+                + "total_cost, cost_per_box, distance_km, notes, created_by, created_at";
+        copy("transport_costs", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                SplittableRandom random = Ids.random(options.seed(), Kind.TRANSPORT, i);
+                transport(out, Ids.uuid(options.seed(), Kind.TRANSPORT, 2L * i), plan, "OUTWARD",
+                        plan.outwardTransportPaise, plan.estimatedBoxes, "Empty boxes to farm", plan.createdAt().plusHours(2), random);
+                if (plan.inwardTransportPaise > 0) {
+                    transport(out, Ids.uuid(options.seed(), Kind.TRANSPORT, 2L * i + 1), plan, "INWARD",
+                            plan.inwardTransportPaise, plan.dispatchedBoxes, "Harvest to pack house", plan.lastReceivedAt(), random);
+                }
+            }
+        });
+    }
+
+    private void transport(CopyWriter out, UUID id, BatchPlan plan, String type, long totalPaise, int boxes,
+                           String notes, LocalDateTime at, SplittableRandom random) {
+        out.uuid(id)
+                .uuid(batch(plan.index))
+                .text(type)
+                .text(TRANSPORTERS[random.nextInt(TRANSPORTERS.length)])
+                .text(vehicleNumber(random))
+                .text(personName(random))
+                .text(phone(random))
+                .money(totalPaise)
+                .money(perBox(totalPaise, boxes))
+                .money(2000 + random.nextInt(13001))
+                .text(notes)
+                .uuid(manager(plan.managerIndex))
+                .timestamp(at)
+                .endRow();
+    }
+
+    private void dailyReports() throws SQLException, IOException {
+        String columns = "id, batch_id, report_date, boxes_packed, boxes_wasted, labor_count, notes, created_by, created_at";
+        copy("daily_harvest_reports", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                for (int r = 0; r < plan.boxesPacked.length; r++) {
+                    out.uuid(report(i, r))
+                            .uuid(batch(i))
+                            .date(plan.reportAt(r).toLocalDate())
+                            .number(plan.boxesPacked[r])
+                            .number(plan.boxesWasted[r])
+                            .number(plan.laborCount[r])
+                            .text("Day " + (r + 1) + " harvest")
+                            .uuid(vendor(plan.vendorIndex))
+                            .timestamp(plan.reportAt(r))
+                            .endRow();
+                }
+            }
+        });
+    }
+
+    private UUID report(int batchIndex, int reportIndex) {
+        return Ids.uuid(options.seed(), Kind.REPORT, (long) batchIndex * 16 + reportIndex);
+    }
+
+    private void laborCosts() throws SQLException, IOException {
+        String columns = "id, report_id, batch_id, total_amount, cost_per_box, payment_status, paid_amount, notes, "
+                + "created_by, created_at";
+        copy("labor_costs", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                boolean paid = plan.stage == BatchPlan.Stage.COMPLETED;
+                for (int r = 0; r < plan.laborPaise.length; r++) {
+                    out.uuid(Ids.uuid(options.seed(), Kind.LABOR, (long) i * 16 + r))
+                            .uuid(report(i, r))
+                            .uuid(batch(i))
+                            .money(plan.laborPaise[r])
+                            .money(perBox(plan.laborPaise[r], plan.boxesPacked[r]))
+                            .text(paid ? "PAID" : "PENDING")
+                            .money(paid ? plan.laborPaise[r] : 0)
+                            .text(plan.laborCount[r] + " workers")
+                            .uuid(vendor(plan.vendorIndex))
+                            .timestamp(plan.reportAt(r))
+                            .endRow();
+                }
+            }
+        });
+    }
+
+    private void gatePasses() throws SQLException, IOException {
+        String columns = "id, batch_id, gate_pass_no, truck_number, driver_name, driver_phone, total_boxes, "
+                + "dispatch_date, received_boxes, received_at, received_by, notes, created_by, created_at";
+        copy("gate_passes", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                SplittableRandom random = Ids.random(options.seed(), Kind.GATE_PASS, i);
+                for (int g = 0; g < plan.gatePassBoxes.length; g++) {
+                    boolean received = plan.receivedBoxes[g] >= 0;
+                    out.uuid(Ids.uuid(options.seed(), Kind.GATE_PASS, (long) i * 16 + g))
+                            .uuid(batch(i))
+                            .text(code("GP", plan.dispatchedAt(g).toLocalDate(), (long) i * 16 + g + 1))
+                            .text(vehicleNumber(random))
+                            .text(personName(random))
+                            .text(phone(random))
+                            .number(plan.gatePassBoxes[g])
+                            .timestamp(plan.dispatchedAt(g));
+                    if (received) {
+                        out.number(plan.receivedBoxes[g])
+                                .timestamp(plan.receivedAt(g))
+                                .uuid(storeKeeper(plan.storeKeeperIndex));
+                    } else {
+                        out.nil().nil().nil();
+                    }
+                    out.text("Truck " + (g + 1))
+                            .uuid(vendor(plan.vendorIndex))
+                            .timestamp(plan.dispatchedAt(g))
+                            .endRow();
+                }
+            }
+        });
+    }
+
+    private void sales() throws SQLException, IOException {
+        String columns = "id, batch_id, invoice_number, buyer_name, buyer_contact, buyer_address, sale_type, "
+                + "total_boxes, price_per_box, currency, exchange_rate, total_amount, tax_amount, tax_percentage, "
+                + "grand_total, payment_status, paid_amount, sale_date, created_by, created_at";
+        copy("sales", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                if (plan.stage != BatchPlan.Stage.COMPLETED) {
+                    continue;
+                }
+                long total = plan.pricePerBoxPaise * plan.saleBoxes;
+                long tax = (total * plan.taxPercentage + 50) / 100;
+                long grandTotal = total + tax;
+                // 60% paid, 20% half paid, 20% outstanding
+                String paymentStatus = plan.paymentRoll < 6 ? "PAID" : plan.paymentRoll < 8 ? "PARTIAL" : "PENDING";
+                long paid = plan.paymentRoll < 6 ? grandTotal : plan.paymentRoll < 8 ? grandTotal / 2 : 0;
+                String buyer = BUYERS[i % BUYERS.length];
+                out.uuid(Ids.uuid(options.seed(), Kind.SALE, i))
+                        .uuid(batch(i))
+                        .text(code("INV", plan.saleDate(), i + 1))
+                        .text(buyer)
+                        .text("accounts@" + buyer.toLowerCase().replace(" ", "") + ".example")
+                        .text(DISTRICTS[i % DISTRICTS.length])
+                        .text(plan.export ? "EXPORT" : "DOMESTIC")
+                        .number(plan.saleBoxes)
+                        .money(plan.pricePerBoxPaise)
+                        .text(plan.export ? "USD" : "INR")
+                        .decimal(plan.export ? 82.5 + (i % 150) / 100.0 : 1, 4)
+                        .money(total)
+                        .money(tax)
+                        .money(plan.taxPercentage * 100L)
+                        .money(grandTotal)
+                        .text(paymentStatus)
+                        .money(paid)
+                        .date(plan.saleDate())
+                        .uuid(manager(plan.managerIndex))
+                        .timestamp(plan.saleAt())
+                        .endRow();
+            }
+        });
+    }
+
+    /**
+     * Per vendor, in time order: boxes issued at allocation, labor cost per report, returns and
+     * damage once the batch is delivered (as reconciliation records them) and labor payments
+     * when it completes. Box and amount balances run across the vendor's batches.
+     */
+    private void vendorLedger() throws SQLException, IOException {
+        long[] boxBalance = new long[options.vendors()];
+        long[] amountBalance = new long[options.vendors()];
+        String columns = "id, vendor_id, batch_id, transaction_type, quantity, amount, balance_boxes, balance_amount, "
+                + "notes, created_at";
+        copy("vendor_ledger", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                int v = plan.vendorIndex;
+                int[] sequence = {0};
+                LedgerRow row = (type, quantity, amountPaise, notes, at) -> {
+                    out.uuid(Ids.uuid(options.seed(), Kind.LEDGER, (long) plan.index * 64 + sequence[0]++))
+                            .uuid(vendor(v))
+                            .uuid(batch(plan.index))
+                            .text(type);
+                    if (quantity != null) {
+                        out.number(quantity).nil().number(boxBalance[v]).nil();
+                    } else {
+                        out.nil().money(amountPaise).nil().money(amountBalance[v]);
+                    }
+                    out.text(notes).timestamp(at).endRow();
+                };
+
+                int issued = Item.BOX.quantityFor(plan);
+                boxBalance[v] += issued;
+                row.write("BOX_ISSUED", issued, 0, "Allocated " + Item.BOX.itemName, plan.createdAt().plusHours(1));
+                for (int r = 0; r < plan.laborPaise.length; r++) {
+                    amountBalance[v] += plan.laborPaise[r];
+                    row.write("LABOR_COST", null, plan.laborPaise[r], "Labor cost for day " + (r + 1),
+                            plan.reportAt(r).plusMinutes(1));
+                }
+                if (plan.stage.atLeast(BatchPlan.Stage.DELIVERED)) {
+                    LocalDateTime reconciledAt = plan.lastReceivedAt().plusHours(2);
+                    boxBalance[v] -= plan.receivedTotal;
+                    row.write("BOX_RETURNED", plan.receivedTotal, 0,
+                            String.format("Auto-reconciliation: %d boxes received", plan.receivedTotal), reconciledAt);
+                    if (plan.wastedTotal > 0) {
+                        boxBalance[v] -= plan.wastedTotal;
+                        row.write("BOX_DAMAGED", plan.wastedTotal, 0,
+                                String.format("Auto-reconciliation: %d boxes damaged", plan.wastedTotal),
+                                reconciledAt.plusSeconds(1));
+                    }
+                }
+                if (plan.stage == BatchPlan.Stage.COMPLETED) {
+                    for (int r = 0; r < plan.laborPaise.length; r++) {
+                        amountBalance[v] -= plan.laborPaise[r];
+                        row.write("LABOR_PAYMENT", null, plan.laborPaise[r], "Labor paid for day " + (r + 1),
+                                plan.saleAt().plusSeconds(r));
+                    }
+                }
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface LedgerRow {
+        void write(String type, Integer quantity, long amountPaise, String notes, LocalDateTime at);
+    }
+
+    /**
+     * The cost sheet as HarvestService.recalculateBatchCosts leaves it after the batch's last change
+     */
+    private void batchCosts() throws SQLException, IOException {
+        String columns = "id, batch_id, material_cost_total, material_cost_per_box, outward_transport_cost, "
+                + "outward_transport_per_box, labor_cost_total, labor_cost_per_box, inward_transport_cost, "
+                + "inward_transport_per_box, total_cost, final_cost_per_box, calculated_at, updated_at";
+        copy("batch_costs", columns, out -> {
+            for (int i = 0; i < options.batches(); i++) {
+                BatchPlan plan = BatchPlan.of(options, i);
+                long material = 0;
+                for (Item item : Item.values()) {
+                    material += item.unitCostPaise * item.quantityFor(plan);
+                }
+                long labor = plan.laborTotalPaise();
+                long total = material + plan.outwardTransportPaise + labor + plan.inwardTransportPaise;
+                int boxes = plan.costBoxCount();
+                out.uuid(Ids.uuid(options.seed(), Kind.BATCH_COST, i))
+                        .uuid(batch(i))
+                        .money(material)
+                        .money(perBox(material, boxes))
+                        .money(plan.outwardTransportPaise)
+                        .money(perBox(plan.outwardTransportPaise, boxes))
+                        .money(labor)
+                        .money(perBox(labor, boxes))
+                        .money(plan.inwardTransportPaise)
+                        .money(perBox(plan.inwardTransportPaise, boxes))
+                        .money(total)
+                        .money(perBox(total, boxes))
+                        .timestamp(plan.updatedAt())
+                        .timestamp(plan.updatedAt())
+                        .endRow();
+            }
+        });
+    }
+
+    // --- helpers ---------------------------------------------------------------------------
+
+    @FunctionalInterface
+    private interface TableBody {
+        void write(CopyWriter out);
+    }
+
+    private void copy(String table, String columns, TableBody body) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long rows;
+        try (CopyWriter out = CopyWriter.open(copyConnection, table, columns)) {
+            body.write(out);
+            rows = out.rows();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        totalRows += rows;
+        System.out.printf("  %-24s %,13d rows %8.1fs%n", table, rows, seconds);
+    }
+
+    private LocalDate firstStart() {
+        return options.asOf().minusDays((long) options.batchesPerVendor() * BatchPlan.CYCLE_DAYS);
+    }
+
+    private String code(String prefix, LocalDate date, long number) {
+        return prefix + "-" + date.format(CODE_DATE) + "-" + tag + "-" + String.format("%07d", number);
+    }
+
+    /**
+     * Half-up division to paise, as BatchCostCalculator rounds per-box costs
+     */
+    private static long perBox(long paise, int boxes) {
+        return boxes > 0 ? (2 * paise + boxes) / (2L * boxes) : 0;
+    }
+
+    private static String personName(SplittableRandom random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String phone(SplittableRandom random) {
+        return "+91" + (6 + random.nextInt(4)) + String.format("%09d", random.nextInt(1_000_000_000));
+    }
+
+    private static String vehicleNumber(SplittableRandom random) {
+        return String.format("TN-%02d-%c%c-%04d", 1 + random.nextInt(99), (char) ('A' + random.nextInt(26)),
+                (char) ('A' + random.nextInt(26)), random.nextInt(10000));
+    }
+}
@@ -0,0 +1,41 @@
+package com.banana.harvest.datagen;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic identifiers and random streams. Every row id and every batch's random
+ * stream is a pure function of the seed and the row's position, so any table can be
+ * generated on its own pass and still agree with the others.
+ */
+final class Ids {
+
+    enum Kind {
+        USER, FARM, INSPECTION, BATCH, ITEM, STOCK, ALLOCATION, TRANSPORT, REPORT, LABOR, GATE_PASS, SALE, LEDGER, BATCH_COST
+    }
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Ids() {
+    }
+
+    static UUID uuid(long seed, Kind kind, long index) {
+        long high = mix(seed + GOLDEN_GAMMA * (kind.ordinal() + 1) + index * 0xBF58476D1CE4E5B9L);
+        long low = mix(high ^ index);
+        // Version 4 and IETF variant bits, so the ids look like the application's own
+        high = (high & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        low = (low & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(high, low);
+    }
+
+    static SplittableRandom random(long seed, Kind kind, long index) {
+        return new SplittableRandom(mix(seed ^ mix(GOLDEN_GAMMA * (kind.ordinal() + 1) + index)));
+    }
+
+    // Stafford variant 13 of the MurmurHash3 finaliser, as used by SplittableRandom
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+# Extra performance check on top of EndpointBudgetTest: boots the local Postgres stand-in and the
+# application, seeds the larger datagen data set and checks loadtest/perf-budgets.properties.
+# Exits non-zero when an endpoint is over its statement, row or latency budget.
+# Usage: loadtest/budget-check.sh [budget check options, e.g. --calls=50]
+# The application log goes to target/budget-check-app.log.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+docker compose -f loadtest/docker-compose.yml up -d --wait
+
+mvn -q -DskipTests package
+mvn -q -f loadtest/pom.xml clean package
+mvn -q -f datagen/pom.xml clean package
+
+start_app() {
+  java ${APP_JAVA_OPTS:--Xmx1g} -jar target/banana-harvest-app-1.0.0-exec.jar \
+    --spring.profiles.active=loadtest \
+    --spring.config.additional-location=optional:file:loadtest/ \
+    --sql.tracking.enabled=true \
+    >> target/budget-check-app.log 2>&1 &
+  APP_PID=$!
+  echo "Waiting for the application to start..."
+  for _ in $(seq 1 180); do
+    if curl -sf http://localhost:8080/actuator/health > /dev/null; then
+      return
+    fi
+    if ! kill -0 "$APP_PID" 2> /dev/null; then
+      echo "Application exited during startup, see target/budget-check-app.log"
+      exit 1
+    fi
+    sleep 1
+  done
+}
+
+stop_app() {
+  kill "$APP_PID" 2>/dev/null || true
+  wait "$APP_PID" 2>/dev/null || true
+}
+
+: > target/budget-check-app.log
+trap stop_app EXIT
+
+# The first start migrates the schema; restart after seeding so no cache holds pre-seed data
+start_app
+java -jar datagen/target/datagen.jar --url=jdbc:postgresql://localhost:5433/banana_harvest_load \
+  --user=postgres --password=postgres --seed=42 --batches=2000 --vendors=50 --as-of=2026-01-31 --truncate=true
+stop_app
+start_app
+
+java -cp loadtest/target/loadtest.jar com.banana.harvest.loadtest.BudgetCheck \
+  --budgets=loadtest/perf-budgets.properties "$@"
@@ -0,0 +1,2 @@
+-- Tables are created by the application's Flyway migrations on first boot
+CREATE SCHEMA IF NOT EXISTS banana_harvest;
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Boots the local Postgres stand-in and the application, then drives a load test against it.
+# Usage: loadtest/run.sh [load test options, e.g. --stages=10,20,40,80 --stage-duration=60]
+# The application log goes to target/loadtest-app.log.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+docker compose -f loadtest/docker-compose.yml up -d --wait
+
+mvn -q -DskipTests package
+mvn -q -f loadtest/pom.xml clean package
+
+java ${APP_JAVA_OPTS:--Xmx1g} -jar target/banana-harvest-app-1.0.0-exec.jar \
+  --spring.profiles.active=loadtest \
+  --spring.config.additional-location=optional:file:loadtest/ \
+  > target/loadtest-app.log 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null || true; wait $APP_PID 2>/dev/null || true' EXIT
+
+echo "Waiting for the application to start..."
+for _ in $(seq 1 180); do
+  if curl -sf http://localhost:8080/actuator/health > /dev/null; then
+    break
+  fi
+  if ! kill -0 "$APP_PID" 2> /dev/null; then
+    echo "Application exited during startup, see target/loadtest-app.log"
+    exit 1
+  fi
+  sleep 1
+done
+
+java -jar loadtest/target/loadtest.jar "$@"
@@ -0,0 +1,125 @@
+package com.banana.harvest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * JSON over HTTP against the application's /api endpoints.
+ * Fixtures use the blocking calls, which unwrap ApiResponse.data and fail on errors;
+ * the load itself uses send, which never throws for HTTP errors.
+ */
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    ApiClient(String baseUrl, Executor executor) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    ObjectMapper mapper() {
+        return mapper;
+    }
+
+    HttpRequest request(String method, String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            try {
+                builder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Calls an endpoint and returns ApiResponse.data, failing with the response body on any error status
+     */
+    JsonNode call(String method, String path, String token, Object body) {
+        return data(exchange(method, path, token, body));
+    }
+
+    /**
+     * Calls an endpoint that does not wrap its body in ApiResponse (e.g. actuator)
+     */
+    JsonNode json(String method, String path, String token) {
+        try {
+            return mapper.readTree(exchange(method, path, token, null));
+        } catch (IOException e) {
+            throw new UncheckedIOException(method + " " + path + " returned invalid JSON", e);
+        }
+    }
+
+    private String exchange(String method, String path, String token, Object body) {
+        try {
+            HttpResponse<String> response = http.send(request(method, path, token, body),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new ApiException(response.statusCode(), method + " " + path + " -> "
+                        + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(method + " " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    JsonNode data(String body) {
+        if (body == null || body.isBlank()) {
+            return mapper.missingNode();
+        }
+        try {
+            return mapper.readTree(body).path("data");
+        } catch (IOException e) {
+            return mapper.missingNode();
+        }
+    }
+
+    static final class ApiException extends RuntimeException {
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+}
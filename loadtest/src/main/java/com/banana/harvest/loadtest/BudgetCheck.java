@@ -0,0 +1,191 @@
+package com.banana.harvest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Performance regression gate: calls each budgeted endpoint of a running application
+ * against a seeded database and checks the SQL statements and rows it reads per request
+ * (from the X-SQL-Statements and Server-Timing headers the app adds) and its p95 latency.
+ * A reintroduced N+1 blows the statement budget and an accidental findAll() the row
+ * budget. Exits with status 1 when any endpoint is over budget, so CI can fail on it.
+ */
+public final class BudgetCheck {
+
+    private static final Pattern ROWS = Pattern.compile("(\\d+) rows");
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+
+    private final BudgetCheckOptions options;
+    private final ApiClient api;
+    private final String token;
+    private final Map<String, String> placeholders = new HashMap<>();
+
+    private BudgetCheck(BudgetCheckOptions options, ApiClient api, String token) {
+        this.options = options;
+        this.api = api;
+        this.token = token;
+    }
+
+    public static void main(String[] args) throws IOException {
+        BudgetCheckOptions options = BudgetCheckOptions.parse(args);
+        List<Budget> budgets = loadBudgets(options.budgets());
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "budget-check-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        List<Result> results = new ArrayList<>();
+        try {
+            ApiClient api = new ApiClient(options.baseUrl(), executor);
+            String token = api.call("POST", "/api/auth/login", null,
+                    Map.of("email", options.email(), "password", options.password())).path("token").asText();
+            BudgetCheck check = new BudgetCheck(options, api, token);
+            for (Budget budget : budgets) {
+                results.add(check.measure(budget));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.printf("%-22s %-60s %13s %15s %17s  %s%n",
+                "endpoint", "path", "statements", "rows", "p95 ms", "result");
+        boolean failed = false;
+        for (Result result : results) {
+            Budget budget = result.budget();
+            System.out.printf("%-22s %-60s %6d / %-4d %7d / %-5d %8.1f / %-6d  %s%n",
+                    budget.name(), result.path(), result.statements(), budget.maxStatements(), result.rows(),
+                    budget.maxRows(), result.p95Millis(), budget.p95Millis(),
+                    result.failures().isEmpty() ? "OK" : "FAIL " + String.join("; ", result.failures()));
+            failed |= !result.failures().isEmpty();
+        }
+        System.out.println(failed ? "Over budget" : "All endpoints within budget");
+        System.exit(failed ? 1 : 0);
+    }
+
+    private Result measure(Budget budget) {
+        String path = fill(budget.path());
+        List<String> failures = new ArrayList<>();
+        int statements = 0;
+        long rows = 0;
+        long[] latencies = new long[options.calls()];
+
+        for (int call = 0; call < options.warmupCalls() + options.calls(); call++) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = api.send(api.request("GET", path, token, null)).join();
+            long latency = System.nanoTime() - start;
+
+            if (response.statusCode() >= 400) {
+                failures.add("HTTP " + response.statusCode());
+                break;
+            }
+            Optional<String> statementHeader = response.headers().firstValue("X-SQL-Statements");
+            if (statementHeader.isEmpty()) {
+                failures.add("no X-SQL-Statements header, is sql.tracking.enabled on?");
+                break;
+            }
+            if (call < options.warmupCalls()) {
+                continue;
+            }
+            latencies[call - options.warmupCalls()] = latency;
+            statements = Math.max(statements, Integer.parseInt(statementHeader.get()));
+            Matcher matcher = ROWS.matcher(response.headers().firstValue("Server-Timing").orElse(""));
+            if (matcher.find()) {
+                rows = Math.max(rows, Long.parseLong(matcher.group(1)));
+            }
+        }
+
+        Arrays.sort(latencies);
+        double p95Millis = latencies[(int) Math.ceil(latencies.length * 0.95) - 1] / 1e6;
+        if (failures.isEmpty()) {
+            if (statements > budget.maxStatements()) {
+                failures.add(statements + " statements");
+            }
+            if (rows > budget.maxRows()) {
+                failures.add(rows + " rows");
+            }
+            if (p95Millis > budget.p95Millis()) {
+                failures.add(String.format(Locale.ROOT, "p95 %.1f ms", p95Millis));
+            }
+        }
+        return new Result(budget, path, statements, rows, p95Millis, failures);
+    }
+
+    private String fill(String path) {
+        Matcher matcher = PLACEHOLDER.matcher(path);
+        StringBuilder filled = new StringBuilder();
+        while (matcher.find()) {
+            String value = placeholders.computeIfAbsent(matcher.group(1), this::lookUp);
+            matcher.appendReplacement(filled, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(filled);
+        return filled.toString();
+    }
+
+    /**
+     * An id from the seeded data: a sold (so fully harvested) batch, and the vendor of the newest inspection
+     */
+    private String lookUp(String placeholder) {
+        switch (placeholder) {
+            case "batchId" -> {
+                return !options.batchId().isEmpty() ? options.batchId()
+                        : first(api.call("GET", "/api/reports/profitability", token, null), "batchId");
+            }
+            case "vendorId" -> {
+                return !options.vendorId().isEmpty() ? options.vendorId()
+                        : first(api.call("GET", "/api/inspections", token, null), "vendorId");
+            }
+            default -> throw new IllegalArgumentException("Unknown placeholder {" + placeholder + "}");
+        }
+    }
+
+    private static String first(JsonNode list, String field) {
+        if (!list.isArray() || list.isEmpty()) {
+            throw new IllegalStateException("No data to take " + field + " from; seed the database first");
+        }
+        return list.get(0).path(field).asText();
+    }
+
+    private static List<Budget> loadBudgets(String file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new FileReader(file)) {
+            properties.load(reader);
+        }
+        List<Budget> budgets = new ArrayList<>();
+        new TreeSet<>(properties.stringPropertyNames()).stream()
+                .filter(key -> key.endsWith(".path"))
+                .map(key -> key.substring(0, key.length() - ".path".length()))
+                .forEach(name -> budgets.add(new Budget(name,
+                        required(properties, name + ".path"),
+                        Integer.parseInt(required(properties, name + ".statements")),
+                        Long.parseLong(required(properties, name + ".rows")),
+                        Long.parseLong(required(properties, name + ".p95-ms")))));
+        if (budgets.isEmpty()) {
+            throw new IllegalArgumentException("No budgets in " + file);
+        }
+        return budgets;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing budget property " + key);
+        }
+        return value.trim();
+    }
+
+    record Budget(String name, String path, int maxStatements, long maxRows, long p95Millis) {
+    }
+
+    record Result(Budget budget, String path, int statements, long rows, double p95Millis, List<String> failures) {
+    }
+}
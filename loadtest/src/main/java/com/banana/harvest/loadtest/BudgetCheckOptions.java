@@ -0,0 +1,53 @@
+package com.banana.harvest.loadtest;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of the budget check, given as --name=value
+ */
+record BudgetCheckOptions(
+        String baseUrl,
+        String budgets,
+        String email,
+        String password,
+        int warmupCalls,
+        int calls,
+        String batchId,
+        String vendorId) {
+
+    static final String USAGE = """
+            Usage: java -cp loadtest.jar com.banana.harvest.loadtest.BudgetCheck [--name=value ...]
+              --base-url=http://localhost:8080   application under test, with sql.tracking.enabled=true
+              --budgets=loadtest/perf-budgets.properties
+              --email=admin-0001.dg16@datagen.local --password=DataGen#2024
+                                                 a SUPER_ADMIN; the defaults are datagen's admin for seed 42
+              --warmup-calls=5                   unmeasured calls per endpoint first
+              --calls=30                         measured calls per endpoint
+              --batch-id= --vendor-id=           fill {batchId} and {vendorId}; looked up from the data when empty
+            Exits with status 1 when any endpoint is over budget.
+            """;
+
+    static BudgetCheckOptions parse(String[] args) {
+        Map<String, String> values = LoadTestOptions.values(args, USAGE);
+        BudgetCheckOptions options = new BudgetCheckOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                values.getOrDefault("budgets", "loadtest/perf-budgets.properties"),
+                values.getOrDefault("email", "admin-0001.dg16@datagen.local"),
+                values.getOrDefault("password", "DataGen#2024"),
+                Integer.parseInt(values.getOrDefault("warmup-calls", "5")),
+                Integer.parseInt(values.getOrDefault("calls", "30")),
+                values.getOrDefault("batch-id", ""),
+                values.getOrDefault("vendor-id", ""));
+
+        values.keySet().removeAll(Set.of("base-url", "budgets", "email", "password", "warmup-calls", "calls",
+                "batch-id", "vendor-id"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet() + "\n" + USAGE);
+        }
+        if (options.calls() < 1 || options.warmupCalls() < 0) {
+            throw new IllegalArgumentException("At least one measured call is required");
+        }
+        return options;
+    }
+}
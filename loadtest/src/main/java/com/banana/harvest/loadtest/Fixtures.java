@@ -0,0 +1,167 @@
+package com.banana.harvest.loadtest;
+
+import com.banana.harvest.loadtest.ApiClient.ApiException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Users and data the scenarios need, created through the public API so the run starts
+ * from the same state a real season would: an approved admin, vendors, store keepers and
+ * managers, and per vendor a farm with an approved inspection, its batch and a first
+ * daily report (so gate passes have boxes to dispatch). Users are reused across runs;
+ * farms and batches are created fresh.
+ */
+final class Fixtures {
+
+    // Large enough that daily reports never exhaust a batch during a run
+    static final int BATCH_BOXES = 1_000_000;
+    static final int SEED_REPORT_BOXES = 500;
+
+    private final ApiClient api;
+    private final LoadTestOptions options;
+    private final Map<Role, List<VirtualUser>> users = new EnumMap<>(Role.class);
+    private String adminToken;
+
+    private Fixtures(ApiClient api, LoadTestOptions options) {
+        this.api = api;
+        this.options = options;
+    }
+
+    static Fixtures create(ApiClient api, LoadTestOptions options) {
+        Fixtures fixtures = new Fixtures(api, options);
+        fixtures.setUp();
+        return fixtures;
+    }
+
+    String adminToken() {
+        return adminToken;
+    }
+
+    List<VirtualUser> users(Role role) {
+        return users.get(role);
+    }
+
+    private void setUp() {
+        adminToken = ensureUser("SUPER_ADMIN", options.adminEmail(), options.adminPassword(), "Load Test Admin")
+                .path("token").asText();
+
+        users.put(Role.MANAGER, createUsers(Role.MANAGER, options.managers()));
+        users.put(Role.STORE_KEEPER, createUsers(Role.STORE_KEEPER, options.storeKeepers()));
+
+        List<VirtualUser> vendors = new ArrayList<>();
+        for (int i = 0; i < options.vendors(); i++) {
+            JsonNode login = ensureUser(Role.VENDOR.name(), email(Role.VENDOR, i), options.userPassword(), "Load Test Vendor " + i);
+            vendors.add(createVendorBatch(i, login));
+        }
+        users.put(Role.VENDOR, vendors);
+        System.out.printf("Fixtures ready: %d vendors with batches, %d store keepers, %d managers%n",
+                vendors.size(), options.storeKeepers(), options.managers());
+    }
+
+    private List<VirtualUser> createUsers(Role role, int count) {
+        List<VirtualUser> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            JsonNode login = ensureUser(role.name(), email(role, i), options.userPassword(), "Load Test " + role.option() + " " + i);
+            created.add(new VirtualUser(role, login.path("token").asText(), login.path("userId").asText(),
+                    null, null, 0, 0));
+        }
+        return created;
+    }
+
+    private VirtualUser createVendorBatch(int index, JsonNode login) {
+        String token = login.path("token").asText();
+        // Spread farms around Jalgaon
+        double latitude = 21.0 + (index % 50) * 0.01;
+        double longitude = 75.5 + (index / 50) * 0.01;
+
+        Map<String, Object> farm = new HashMap<>();
+        farm.put("farmerName", "Farmer " + index);
+        farm.put("location", "Jalgaon block " + index);
+        farm.put("latitude", latitude);
+        farm.put("longitude", longitude);
+        farm.put("contactNumber", String.format("+91 90000 %05d", index));
+        farm.put("totalArea", 5 + index % 20);
+        farm.put("produceType", "Banana");
+        String farmId = api.call("POST", "/api/farms", adminToken, farm).path("id").asText();
+
+        String inspectionId = api.call("POST", "/api/inspections", token, inspection(farmId, latitude, longitude, BATCH_BOXES))
+                .path("id").asText();
+        String batchId = api.call("POST", "/api/inspections/" + inspectionId + "/approve", adminToken,
+                Map.of("approved", true)).path("id").asText();
+
+        api.call("POST", "/api/harvest/daily", token, dailyReport(batchId, SEED_REPORT_BOXES));
+
+        return new VirtualUser(Role.VENDOR, token, login.path("userId").asText(), farmId, batchId, latitude, longitude);
+    }
+
+    static Map<String, Object> inspection(String farmId, double latitude, double longitude, int estimatedBoxes) {
+        Map<String, Object> inspection = new HashMap<>();
+        inspection.put("farmId", farmId);
+        inspection.put("estimatedBoxes", estimatedBoxes);
+        inspection.put("inspectionNotes", "Load test inspection");
+        inspection.put("gpsLatitude", latitude);
+        inspection.put("gpsLongitude", longitude);
+        inspection.put("gpsAccuracy", 10);
+        inspection.put("photoUrls", List.of("loadtest/plantation.jpg", "loadtest/bunch.jpg"));
+        return inspection;
+    }
+
+    static Map<String, Object> dailyReport(String batchId, int boxesPacked) {
+        Map<String, Object> report = new HashMap<>();
+        report.put("batchId", batchId);
+        report.put("reportDate", LocalDate.now().toString());
+        report.put("boxesPacked", boxesPacked);
+        report.put("boxesWasted", Math.max(1, boxesPacked / 100));
+        report.put("laborCount", 8);
+        report.put("laborCost", boxesPacked * 10);
+        return report;
+    }
+
+    /**
+     * Logs in, registering and approving the user first if needed; returns the login response
+     */
+    private JsonNode ensureUser(String role, String email, String password, String fullName) {
+        Map<String, Object> credentials = Map.of("email", email, "password", password);
+        try {
+            return api.call("POST", "/api/auth/login", null, credentials);
+        } catch (ApiException e) {
+            // Not registered yet, or registered but pending approval
+        }
+
+        String userId;
+        try {
+            Map<String, Object> registration = new HashMap<>(credentials);
+            registration.put("fullName", fullName);
+            registration.put("role", role);
+            userId = api.call("POST", "/api/auth/register", null, registration).path("id").asText();
+        } catch (ApiException e) {
+            userId = findPendingUserId(email);
+        }
+        if (!"SUPER_ADMIN".equals(role)) {
+            api.call("POST", "/api/auth/approve/" + userId, adminToken, null);
+        }
+        return api.call("POST", "/api/auth/login", null, credentials);
+    }
+
+    private String findPendingUserId(String email) {
+        for (JsonNode user : api.call("GET", "/api/auth/users/pending", adminToken, null)) {
+            if (email.equalsIgnoreCase(user.path("email").asText())) {
+                return user.path("id").asText();
+            }
+        }
+        throw new IllegalStateException("User " + email + " exists but cannot log in; check --user-password");
+    }
+
+    private static String email(Role role, int index) {
+        return role.option() + index + "@loadtest.local";
+    }
+
+    /**
+     * A logged-in user; vendors also carry their farm and batch
+     */
+    record VirtualUser(Role role, String token, String userId, String farmId, String batchId,
+                       double latitude, double longitude) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.banana.harvest.loadtest;
+
+import com.banana.harvest.loadtest.StageStats.EndpointStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Console and JSON output of a load test run
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static void printStage(StageStats stage, LoadTestOptions options) {
+        EndpointStats overall = stage.overall();
+        System.out.printf("  target %.1f req/s, achieved %.1f req/s, %d requests, %.2f%% errors, %d dropped -> %s%n",
+                stage.targetRate(), stage.achievedRate(), overall.count(), overall.errorRate() * 100, stage.dropped(),
+                stage.sustained(options.sloP99Millis(), options.maxErrorRate()) ? "SUSTAINED" : "NOT SUSTAINED");
+
+        System.out.printf("  %-40s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        stage.endpoints().forEach((endpoint, stats) -> printRow(endpoint, stats));
+        printRow("ALL", overall);
+
+        PoolSampler.Summary pool = stage.pool();
+        if (pool != null) {
+            System.out.printf("  pool: active max %d/%d avg %.1f, pending max %d avg %.1f, at max %.0f%% of samples, %d connection timeouts%n",
+                    pool.maxActive(), pool.maxConnections(), pool.avgActive(), pool.maxPending(), pool.avgPending(),
+                    pool.saturatedFraction() * 100, pool.connectionTimeouts());
+        }
+        stage.endpoints().forEach((endpoint, stats) -> {
+            if (stats.errors() > 0) {
+                System.out.printf("  errors %s: %s%n", endpoint, stats.outcomes());
+            }
+        });
+        System.out.println();
+    }
+
+    static void printSummary(List<StageStats> stages, LoadTestOptions options) {
+        StageStats ceiling = ceiling(stages, options);
+        System.out.printf("Budgets: p99 <= %d ms, errors <= %.2f%%, no dropped requests%n",
+                options.sloP99Millis(), options.maxErrorRate() * 100);
+        if (ceiling == null) {
+            System.out.println("Throughput ceiling: below the first stage");
+        } else if (ceiling == stages.get(stages.size() - 1)) {
+            System.out.printf("Throughput ceiling: above %.1f req/s (every stage sustained; add higher stages)%n",
+                    ceiling.targetRate());
+        } else {
+            System.out.printf("Throughput ceiling: %.1f req/s%n", ceiling.targetRate());
+        }
+    }
+
+    static void writeJson(List<StageStats> stages, LoadTestOptions options, ObjectMapper mapper) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("baseUrl", options.baseUrl());
+        report.put("stageDurationSeconds", options.stageDuration().toSeconds());
+        report.put("users", Map.of("vendors", options.vendors(), "storeKeepers", options.storeKeepers(),
+                "managers", options.managers()));
+        report.put("roleMix", options.roleMix());
+        report.put("sloP99Millis", options.sloP99Millis());
+        report.put("maxErrorRate", options.maxErrorRate());
+        StageStats ceiling = ceiling(stages, options);
+        report.put("ceilingRate", ceiling != null ? ceiling.targetRate() : null);
+
+        List<Map<String, Object>> stageReports = new ArrayList<>();
+        for (StageStats stage : stages) {
+            Map<String, Object> stageReport = new LinkedHashMap<>();
+            stageReport.put("targetRate", stage.targetRate());
+            stageReport.put("achievedRate", stage.achievedRate());
+            stageReport.put("dropped", stage.dropped());
+            stageReport.put("sustained", stage.sustained(options.sloP99Millis(), options.maxErrorRate()));
+            stageReport.put("overall", endpoint(stage.overall()));
+            Map<String, Object> endpoints = new LinkedHashMap<>();
+            stage.endpoints().forEach((name, stats) -> endpoints.put(name, endpoint(stats)));
+            stageReport.put("endpoints", endpoints);
+            stageReport.put("pool", stage.pool());
+            stageReports.add(stageReport);
+        }
+        report.put("stages", stageReports);
+
+        mapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(new File(options.output()), report);
+    }
+
+    /**
+     * The highest stage sustained with every stage before it also sustained
+     */
+    private static StageStats ceiling(List<StageStats> stages, LoadTestOptions options) {
+        StageStats ceiling = null;
+        for (StageStats stage : stages) {
+            if (!stage.sustained(options.sloP99Millis(), options.maxErrorRate())) {
+                break;
+            }
+            ceiling = stage;
+        }
+        return ceiling;
+    }
+
+    private static Map<String, Object> endpoint(EndpointStats stats) {
+        Map<String, Object> endpoint = new LinkedHashMap<>();
+        endpoint.put("count", stats.count());
+        endpoint.put("errors", stats.errors());
+        endpoint.put("errorRate", stats.errorRate());
+        endpoint.put("p50Millis", stats.percentileMillis(50));
+        endpoint.put("p90Millis", stats.percentileMillis(90));
+        endpoint.put("p99Millis", stats.percentileMillis(99));
+        endpoint.put("p999Millis", stats.percentileMillis(99.9));
+        endpoint.put("maxMillis", stats.maxMillis());
+        endpoint.put("outcomes", stats.outcomes());
+        return endpoint;
+    }
+
+    private static void printRow(String endpoint, EndpointStats stats) {
+        System.out.printf("  %-40s %8d %7.2f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, stats.count(), stats.errorRate() * 100, stats.percentileMillis(50),
+                stats.percentileMillis(90), stats.percentileMillis(99), stats.percentileMillis(99.9), stats.maxMillis());
+    }
+}
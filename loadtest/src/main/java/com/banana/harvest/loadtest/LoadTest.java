@@ -0,0 +1,128 @@
+package com.banana.harvest.loadtest;
+
+import com.banana.harvest.loadtest.Scenarios.Call;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver: requests arrive at a fixed rate regardless of how fast the
+ * application answers, stage by stage at increasing rates. Each stage reports latency
+ * percentiles and errors per endpoint plus Hikari pool saturation, and the highest stage
+ * that stays within the p99 and error budgets is reported as the throughput ceiling.
+ */
+public final class LoadTest {
+
+    // In-flight requests still running after a stage ends get this long to finish
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final Scenarios scenarios;
+    private final PoolSampler poolSampler;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadTest(LoadTestOptions options, ApiClient api, Scenarios scenarios, PoolSampler poolSampler) {
+        this.options = options;
+        this.api = api;
+        this.scenarios = scenarios;
+        this.poolSampler = poolSampler;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(
+                Math.max(8, Runtime.getRuntime().availableProcessors() * 2), runnable -> {
+                    Thread thread = new Thread(runnable, "loadtest-http");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ApiClient api = new ApiClient(options.baseUrl(), httpExecutor);
+
+        System.out.println("Creating fixtures against " + options.baseUrl());
+        Fixtures fixtures = Fixtures.create(api, options);
+
+        List<StageStats> stages = new ArrayList<>();
+        try (PoolSampler poolSampler = new PoolSampler(api, fixtures.adminToken())) {
+            LoadTest loadTest = new LoadTest(options, api, new Scenarios(api, fixtures), poolSampler);
+            if (!options.warmup().isZero()) {
+                System.out.printf("Warming up at %.1f req/s for %ds%n", options.stageRates().get(0), options.warmup().toSeconds());
+                loadTest.runStage(options.stageRates().get(0), options.warmup());
+            }
+            for (double rate : options.stageRates()) {
+                System.out.printf("Stage: %.1f req/s for %ds%n", rate, options.stageDuration().toSeconds());
+                StageStats stage = loadTest.runStage(rate, options.stageDuration());
+                stages.add(stage);
+                LoadReport.printStage(stage, options);
+            }
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+
+        LoadReport.printSummary(stages, options);
+        LoadReport.writeJson(stages, options, api.mapper());
+        System.out.println("Report written to " + options.output());
+    }
+
+    private StageStats runStage(double rate, Duration duration) throws InterruptedException {
+        StageStats stats = new StageStats(rate);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<Role, Integer> mix = options.roleMix();
+        int mixTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        poolSampler.start();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long next = start; next < end; next += interval) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= options.maxInFlight()) {
+                stats.drop();
+                continue;
+            }
+            Call call = scenarios.next(pickRole(mix, mixTotal, random), random);
+            long scheduledAt = next;
+            inFlight.incrementAndGet();
+            api.send(call.request()).whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - scheduledAt;
+                inFlight.decrementAndGet();
+                if (failure != null) {
+                    Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                    stats.record(call.endpoint(), latency, cause.getClass().getSimpleName());
+                } else {
+                    stats.record(call.endpoint(), latency, String.valueOf(response.statusCode()));
+                    scenarios.onResponse(call, response);
+                }
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        stats.finish(System.nanoTime() - start, poolSampler.stop());
+        return stats;
+    }
+
+    private static Role pickRole(Map<Role, Integer> mix, int total, ThreadLocalRandom random) {
+        int roll = random.nextInt(total);
+        for (Map.Entry<Role, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Role.MANAGER;
+    }
+}
@@ -0,0 +1,104 @@
+package com.banana.harvest.loadtest;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Command line options, given as --name=value
+ */
+record LoadTestOptions(
+        String baseUrl,
+        List<Double> stageRates,
+        Duration stageDuration,
+        Duration warmup,
+        int vendors,
+        int storeKeepers,
+        int managers,
+        Map<Role, Integer> roleMix,
+        int maxInFlight,
+        long sloP99Millis,
+        double maxErrorRate,
+        String adminEmail,
+        String adminPassword,
+        String userPassword,
+        String output) {
+
+    static final String USAGE = """
+            Usage: java -jar loadtest.jar [--name=value ...]
+              --base-url=http://localhost:8080   application under test
+              --stages=5,10,20,40                arrival rates (requests/s), one stage each, in order
+              --stage-duration=60                seconds per stage
+              --warmup=20                        seconds at the first rate before measuring
+              --vendors=20 --store-keepers=3 --managers=5
+              --mix=vendor=55,store-keeper=15,manager=30
+                                                 share of requests per role
+              --max-in-flight=500                requests beyond this are dropped and counted
+              --slo-p99-ms=1000                  p99 budget for a stage to count as sustained
+              --max-error-rate=0.01              error budget for a stage to count as sustained
+              --admin-email=loadtest-admin@loadtest.local --admin-password=LoadTest#2024
+              --user-password=LoadTest#2024      password of the generated users
+              --out=loadtest-result.json         JSON report
+            """;
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = values(args, USAGE);
+
+        List<Double> rates = new ArrayList<>();
+        for (String rate : values.getOrDefault("stages", "5,10,20,40").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+
+        Map<Role, Integer> mix = new EnumMap<>(Role.class);
+        for (String entry : values.getOrDefault("mix", "vendor=55,store-keeper=15,manager=30").split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Role.fromOption(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                values.getOrDefault("base-url", "http://localhost:8080"),
+                rates,
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("stage-duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "20"))),
+                Integer.parseInt(values.getOrDefault("vendors", "20")),
+                Integer.parseInt(values.getOrDefault("store-keepers", "3")),
+                Integer.parseInt(values.getOrDefault("managers", "5")),
+                mix,
+                Integer.parseInt(values.getOrDefault("max-in-flight", "500")),
+                Long.parseLong(values.getOrDefault("slo-p99-ms", "1000")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")),
+                values.getOrDefault("admin-email", "loadtest-admin@loadtest.local"),
+                values.getOrDefault("admin-password", "LoadTest#2024"),
+                values.getOrDefault("user-password", "LoadTest#2024"),
+                values.getOrDefault("out", "loadtest-result.json"));
+
+        values.keySet().removeAll(Set.of("base-url", "stages", "stage-duration", "warmup", "vendors",
+                "store-keepers", "managers", "mix", "max-in-flight", "slo-p99-ms", "max-error-rate",
+                "admin-email", "admin-password", "user-password", "out"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet() + "\n" + USAGE);
+        }
+        if (options.vendors() < 1 || options.storeKeepers() < 1 || options.managers() < 1) {
+            throw new IllegalArgumentException("At least one user of each role is required");
+        }
+        return options;
+    }
+
+    /**
+     * Splits --name=value arguments, printing usage and exiting on --help
+     */
+    static Map<String, String> values(String[] args, String usage) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("--help") || arg.equals("-h")) {
+                System.out.println(usage);
+                System.exit(0);
+            }
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Unrecognised argument: " + arg + "\n" + usage);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return values;
+    }
+}
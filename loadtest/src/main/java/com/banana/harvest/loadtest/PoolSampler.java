@@ -0,0 +1,120 @@
+package com.banana.harvest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the application's Hikari pool once a second through /actuator/metrics:
+ * active and pending connections, and connection timeouts over the stage.
+ * A stage that keeps the pool at its maximum with requests pending is pool-bound.
+ */
+final class PoolSampler implements AutoCloseable {
+
+    private final ApiClient api;
+    private final String token;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Window window;
+    private volatile boolean available = true;
+
+    PoolSampler(ApiClient api, String token) {
+        this.api = api;
+        this.token = token;
+        scheduler.scheduleAtFixedRate(this::sample, 1, 1, TimeUnit.SECONDS);
+    }
+
+    void start() {
+        window = new Window(metric("hikaricp.connections.timeout", "COUNT"));
+    }
+
+    Summary stop() {
+        Window finished = window;
+        window = null;
+        if (finished == null || !available) {
+            return null;
+        }
+        synchronized (finished) {
+            double timeouts = metric("hikaricp.connections.timeout", "COUNT") - finished.timeoutsAtStart;
+            return new Summary(
+                    (int) finished.max,
+                    (int) finished.maxActive,
+                    finished.samples > 0 ? finished.activeSum / finished.samples : 0,
+                    (int) finished.maxPending,
+                    finished.samples > 0 ? finished.pendingSum / finished.samples : 0,
+                    finished.samples > 0 ? (double) finished.saturatedSamples / finished.samples : 0,
+                    (long) Math.max(0, timeouts));
+        }
+    }
+
+    private void sample() {
+        Window current = window;
+        if (current == null || !available) {
+            return;
+        }
+        double active = metric("hikaricp.connections.active", "VALUE");
+        double pending = metric("hikaricp.connections.pending", "VALUE");
+        double max = metric("hikaricp.connections.max", "VALUE");
+        synchronized (current) {
+            current.samples++;
+            current.activeSum += active;
+            current.pendingSum += pending;
+            current.maxActive = Math.max(current.maxActive, active);
+            current.maxPending = Math.max(current.maxPending, pending);
+            current.max = Math.max(current.max, max);
+            if (max > 0 && active >= max) {
+                current.saturatedSamples++;
+            }
+        }
+    }
+
+    private double metric(String name, String statistic) {
+        if (!available) {
+            return 0;
+        }
+        try {
+            JsonNode metric = api.json("GET", "/actuator/metrics/" + name, token);
+            for (JsonNode measurement : metric.path("measurements")) {
+                if (statistic.equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+            return 0;
+        } catch (RuntimeException e) {
+            available = false;
+            System.out.println("Pool metrics unavailable (" + e.getMessage() + "); pool saturation will not be reported");
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class Window {
+
+        private final double timeoutsAtStart;
+        private int samples;
+        private int saturatedSamples;
+        private double activeSum;
+        private double pendingSum;
+        private double maxActive;
+        private double maxPending;
+        private double max;
+
+        private Window(double timeoutsAtStart) {
+            this.timeoutsAtStart = timeoutsAtStart;
+        }
+    }
+
+    record Summary(int maxConnections, int maxActive, double avgActive, int maxPending, double avgPending,
+                   double saturatedFraction, long connectionTimeouts) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.banana.harvest.loadtest;
+
+/**
+ * Application roles driven by the load test; the name is the application's UserRole
+ */
+enum Role {
+    VENDOR("vendor"),
+    STORE_KEEPER("store-keeper"),
+    MANAGER("manager");
+
+    private final String option;
+
+    Role(String option) {
+        this.option = option;
+    }
+
+    String option() {
+        return option;
+    }
+
+    static Role fromOption(String option) {
+        for (Role role : values()) {
+            if (role.option.equals(option)) {
+                return role;
+            }
+        }
+        throw new IllegalArgumentException("Unknown role in --mix: " + option);
+    }
+}
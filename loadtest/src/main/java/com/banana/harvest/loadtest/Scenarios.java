@@ -0,0 +1,129 @@
+package com.banana.harvest.loadtest;
+
+import com.banana.harvest.loadtest.Fixtures.VirtualUser;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+/**
+ * What each role does, as weighted operations:
+ * vendors submit inspections and daily reports, raise gate passes and check their own data;
+ * store keepers poll pending gate passes and receive them;
+ * managers poll the dashboard, inspection queue, inventory, batch reports and profitability.
+ * Gate passes raised by vendors are queued and received by store keepers, so the receive
+ * path runs against real pending passes.
+ */
+final class Scenarios {
+
+    private static final int REPORT_BOXES = 5;
+    private static final int GATE_PASS_BOXES = 2;
+
+    private final ApiClient api;
+    private final Fixtures fixtures;
+    private final Map<Role, List<Operation>> operations = new EnumMap<>(Role.class);
+    private final Queue<String> pendingGatePasses = new ConcurrentLinkedQueue<>();
+
+    Scenarios(ApiClient api, Fixtures fixtures) {
+        this.api = api;
+        this.fixtures = fixtures;
+
+        operations.put(Role.VENDOR, List.of(
+                new Operation("POST /api/harvest/daily", 30, (user, random) -> api.request("POST", "/api/harvest/daily",
+                        user.token(), Fixtures.dailyReport(user.batchId(), REPORT_BOXES))),
+                new Operation("POST /api/gate-passes", 15, (user, random) -> api.request("POST", "/api/gate-passes",
+                        user.token(), gatePass(user.batchId(), random))),
+                new Operation("POST /api/inspections", 10, (user, random) -> api.request("POST", "/api/inspections",
+                        user.token(), Fixtures.inspection(user.farmId(), user.latitude(), user.longitude(), 800))),
+                new Operation("GET /api/inspections/my", 25, (user, random) -> api.request("GET", "/api/inspections/my",
+                        user.token(), null)),
+                new Operation("GET /api/reports/my-balance", 20, (user, random) -> api.request("GET", "/api/reports/my-balance",
+                        user.token(), null))));
+
+        operations.put(Role.STORE_KEEPER, List.of(
+                new Operation("GET /api/gate-passes/pending", 50, (user, random) -> api.request("GET", "/api/gate-passes/pending",
+                        user.token(), null)),
+                // Falls back to polling when nothing is waiting; see next()
+                new Operation("POST /api/gate-passes/{id}/receive", 50, null)));
+
+        operations.put(Role.MANAGER, List.of(
+                new Operation("GET /api/reports/dashboard", 35, (user, random) -> api.request("GET", "/api/reports/dashboard",
+                        user.token(), null)),
+                new Operation("GET /api/inspections/pending", 15, (user, random) -> api.request("GET", "/api/inspections/pending",
+                        user.token(), null)),
+                new Operation("GET /api/inventory/items", 15, (user, random) -> api.request("GET", "/api/inventory/items",
+                        user.token(), null)),
+                new Operation("GET /api/harvest/batch/{batchId}", 20, (user, random) -> api.request("GET",
+                        "/api/harvest/batch/" + pick(fixtures.users(Role.VENDOR), random).batchId(), user.token(), null)),
+                new Operation("GET /api/reports/profitability", 15, (user, random) -> api.request("GET", "/api/reports/profitability",
+                        user.token(), null))));
+    }
+
+    /**
+     * Picks the next call for a user of the given role
+     */
+    Call next(Role role, ThreadLocalRandom random) {
+        VirtualUser user = pick(fixtures.users(role), random);
+        Operation operation = pickWeighted(operations.get(role), random);
+
+        if (operation.request() == null) {
+            String gatePassId = pendingGatePasses.poll();
+            if (gatePassId == null) {
+                operation = operations.get(Role.STORE_KEEPER).get(0);
+            } else {
+                return new Call(operation.endpoint(), api.request("POST", "/api/gate-passes/" + gatePassId
+                        + "/receive?receivedBoxes=" + GATE_PASS_BOXES, user.token(), null));
+            }
+        }
+        return new Call(operation.endpoint(), operation.request().apply(user, random));
+    }
+
+    /**
+     * Feeds responses back into the scenario state
+     */
+    void onResponse(Call call, HttpResponse<String> response) {
+        if (response.statusCode() < 400 && call.endpoint().equals("POST /api/gate-passes")) {
+            JsonNode gatePass = api.data(response.body());
+            if (gatePass.hasNonNull("id")) {
+                pendingGatePasses.add(gatePass.path("id").asText());
+            }
+        }
+    }
+
+    private static Map<String, Object> gatePass(String batchId, ThreadLocalRandom random) {
+        Map<String, Object> gatePass = new HashMap<>();
+        gatePass.put("batchId", batchId);
+        gatePass.put("truckNumber", String.format("MH19 %s %04d", (char) ('A' + random.nextInt(26)), random.nextInt(10_000)));
+        gatePass.put("driverName", "Driver " + random.nextInt(100));
+        gatePass.put("totalBoxes", GATE_PASS_BOXES);
+        gatePass.put("dispatchDate", LocalDate.now().toString());
+        return gatePass;
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Operation pickWeighted(List<Operation> candidates, ThreadLocalRandom random) {
+        int total = candidates.stream().mapToInt(Operation::weight).sum();
+        int roll = random.nextInt(total);
+        for (Operation operation : candidates) {
+            roll -= operation.weight();
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        return candidates.get(candidates.size() - 1);
+    }
+
+    record Operation(String endpoint, int weight, BiFunction<VirtualUser, ThreadLocalRandom, HttpRequest> request) {
+    }
+
+    record Call(String endpoint, HttpRequest request) {
+    }
+}
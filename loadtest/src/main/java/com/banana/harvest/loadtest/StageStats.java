@@ -0,0 +1,121 @@
+package com.banana.harvest.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of one arrival-rate stage: a latency histogram and error counts per endpoint.
+ * Latency is measured from the time a request was scheduled to be sent, not from when it
+ * was actually sent, so a saturated app (or driver) shows up as latency instead of being
+ * hidden by coordinated omission.
+ */
+final class StageStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final double targetRate;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final EndpointStats overall = new EndpointStats();
+    private final LongAdder dropped = new LongAdder();
+    private long elapsedNanos;
+    private PoolSampler.Summary pool;
+
+    StageStats(double targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    void record(String endpoint, long latencyNanos, String outcome) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).record(latencyNanos, outcome);
+        overall.record(latencyNanos, outcome);
+    }
+
+    void drop() {
+        dropped.increment();
+    }
+
+    void finish(long elapsedNanos, PoolSampler.Summary pool) {
+        this.elapsedNanos = elapsedNanos;
+        this.pool = pool;
+    }
+
+    double targetRate() {
+        return targetRate;
+    }
+
+    double achievedRate() {
+        return elapsedNanos > 0 ? overall.count() * 1e9 / elapsedNanos : 0;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    EndpointStats overall() {
+        return overall;
+    }
+
+    SortedMap<String, EndpointStats> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    PoolSampler.Summary pool() {
+        return pool;
+    }
+
+    boolean sustained(long sloP99Millis, double maxErrorRate) {
+        return dropped() == 0
+                && overall.count() > 0
+                && overall.errorRate() <= maxErrorRate
+                && overall.percentileMillis(99) <= sloP99Millis;
+    }
+
+    static final class EndpointStats {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        // "200", "409", "IOException", ...
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, String outcome) {
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+            count.increment();
+            if (!outcome.startsWith("2")) {
+                errors.increment();
+            }
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+
+        double errorRate() {
+            long total = count();
+            return total > 0 ? (double) errors() / total : 0;
+        }
+
+        double percentileMillis(double percentile) {
+            return latencies.getValueAtPercentile(percentile) / 1000d;
+        }
+
+        double maxMillis() {
+            return latencies.getMaxValue() / 1000d;
+        }
+
+        SortedMap<String, Long> outcomes() {
+            SortedMap<String, Long> result = new TreeMap<>();
+            outcomes.forEach((outcome, adder) -> result.put(outcome, adder.sum()));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.banana.harvest.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Shared outbound HTTP client for storage and messaging calls.
+ * Pooled keep-alive connections with a per-destination limit, explicit timeouts,
+ * and a per-host bulkhead and circuit breaker so a slow remote cannot exhaust request threads.
+ * Latency and error metrics are recorded per host as http.client.requests (client.name tag).
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:15000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.pool-acquire-timeout-ms:2000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${http.client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${http.client.keep-alive-seconds:30}")
+    private long keepAliveSeconds;
+
+    @Value("${http.client.connection-ttl-seconds:300}")
+    private long connectionTtlSeconds;
+
+    @Value("${http.client.bulkhead.max-concurrent-calls:20}")
+    private int bulkheadMaxConcurrentCalls;
+
+    @Value("${http.client.bulkhead.max-wait-ms:200}")
+    private long bulkheadMaxWaitMs;
+
+    @Value("${http.client.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${http.client.circuit-breaker.slow-call-threshold-ms:8000}")
+    private long slowCallThresholdMs;
+
+    @Value("${http.client.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${http.client.circuit-breaker.open-state-seconds:30}")
+    private long openStateSeconds;
+
+    @Bean
+    public PoolingHttpClientConnectionManager httpConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofSeconds(connectionTtlSeconds))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Reuse idle connections for a bounded time; servers that close earlier are caught
+                // by validate-after-inactivity
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSeconds))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+                .build();
+    }
+
+    @Bean
+    public CircuitBreakerRegistry outboundCircuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallThresholdMs))
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(Math.min(10, slidingWindowSize))
+                .waitDurationInOpenState(Duration.ofSeconds(openStateSeconds))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordExceptions(IOException.class, ResilientClientHttpRequestFactory.ServerErrorResponse.class)
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry outboundBulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(bulkheadMaxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(bulkheadMaxWaitMs))
+                .build());
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Built from the auto-configured RestTemplateBuilder so Boot's client observation applies
+     */
+    @Bean
+    public RestTemplate restTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            CloseableHttpClient outboundHttpClient,
+            CircuitBreakerRegistry outboundCircuitBreakerRegistry,
+            BulkheadRegistry outboundBulkheadRegistry) {
+
+        return restTemplateBuilder
+                .requestFactory(() -> new ResilientClientHttpRequestFactory(
+                        new HttpComponentsClientHttpRequestFactory(outboundHttpClient),
+                        outboundCircuitBreakerRegistry, outboundBulkheadRegistry))
+                .build();
+    }
+}
@@ -0,0 +1,153 @@
+package com.banana.harvest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson message converters for JSON and CBOR (application/cbor), picked per request by the
+ * Accept and Content-Type headers on every endpoint; JSON stays the default. Both share the
+ * application's ObjectMapper settings and record the time and bytes of each response body
+ * they write as http.server.responses.serialization.* metrics tagged by format.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    @Bean
+    public MappingJackson2HttpMessageConverter meteredJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                               MeterRegistry meterRegistry) {
+        return new MeteredJsonHttpMessageConverter(objectMapper, SerializationMeters.of("json", meterRegistry));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter meteredCborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder, MeterRegistry meterRegistry) {
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        return new MeteredCborHttpMessageConverter(cborMapper, SerializationMeters.of("cbor", meterRegistry));
+    }
+
+    private static final class MeteredJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        private final SerializationMeters meters;
+
+        private MeteredJsonHttpMessageConverter(ObjectMapper objectMapper, SerializationMeters meters) {
+            super(objectMapper);
+            this.meters = meters;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            meters.record(outputMessage, counted -> super.writeInternal(object, type, counted));
+        }
+    }
+
+    private static final class MeteredCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+        private final SerializationMeters meters;
+
+        private MeteredCborHttpMessageConverter(ObjectMapper objectMapper, SerializationMeters meters) {
+            super(objectMapper);
+            this.meters = meters;
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            meters.record(outputMessage, counted -> super.writeInternal(object, type, counted));
+        }
+    }
+
+    private record SerializationMeters(Timer time, DistributionSummary size) {
+
+        static SerializationMeters of(String format, MeterRegistry meterRegistry) {
+            return new SerializationMeters(
+                    Timer.builder("http.server.responses.serialization.time")
+                            .description("Time to serialize and write a response body")
+                            .tags("format", format)
+                            .register(meterRegistry),
+                    DistributionSummary.builder("http.server.responses.serialization.size")
+                            .description("Response body size")
+                            .baseUnit("bytes")
+                            .tags("format", format)
+                            .register(meterRegistry));
+        }
+
+        void record(HttpOutputMessage outputMessage, BodyWriter writer) throws IOException {
+            CountingOutputMessage counted = new CountingOutputMessage(outputMessage);
+            long start = System.nanoTime();
+            writer.write(counted);
+            time.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            size.record(counted.bytes());
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    /**
+     * Passes the body through to the response, counting the bytes written
+     */
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private CountingOutputStream body;
+
+        private CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingOutputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        private long bytes() {
+            return body != null ? body.count : 0;
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
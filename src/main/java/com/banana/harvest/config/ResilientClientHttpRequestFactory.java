@@ -0,0 +1,185 @@
+package com.banana.harvest.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies a per-host bulkhead and circuit breaker to every request of the wrapped factory.
+ * Rejected calls fail fast with ResourceAccessException instead of waiting on the remote.
+ * Request bodies pass straight through, so streamed uploads are not buffered the way a
+ * RestTemplate interceptor would buffer them, and the bulkhead permit is held until the
+ * response is closed, covering the time spent reading the body.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ResilientClientHttpRequestFactory implements ClientHttpRequestFactory {
+
+    private final ClientHttpRequestFactory delegate;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        return new ResilientRequest(delegate.createRequest(uri, httpMethod));
+    }
+
+    private class ResilientRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+
+        private final ClientHttpRequest request;
+
+        private ResilientRequest(ClientHttpRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return request.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return request.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return request.getBody();
+        }
+
+        @Override
+        public void setBody(Body body) {
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body);
+                return;
+            }
+            try {
+                body.writeTo(request.getBody());
+            } catch (IOException e) {
+                throw new ResourceAccessException("Unable to write request body: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            String host = getURI().getHost();
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(host);
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(host);
+
+            if (!circuitBreaker.tryAcquirePermission()) {
+                log.warn("Circuit open for {}, rejecting {} {}", host, getMethod(), getURI().getPath());
+                throw new ResourceAccessException("Remote service unavailable: " + host);
+            }
+
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                log.warn("Too many concurrent calls to {}, rejecting {} {}", host, getMethod(), getURI().getPath());
+                throw new ResourceAccessException("Remote service busy: " + host);
+            }
+
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = request.execute();
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                bulkhead.onComplete();
+                throw e;
+            }
+
+            long duration = System.nanoTime() - start;
+            try {
+                HttpStatusCode status = response.getStatusCode();
+                if (status.is5xxServerError()) {
+                    circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, new ServerErrorResponse(status.value()));
+                } else {
+                    circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                }
+            } catch (IOException | RuntimeException e) {
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, e);
+                response.close();
+                bulkhead.onComplete();
+                throw e;
+            }
+            return new PermitReleasingResponse(response, bulkhead);
+        }
+    }
+
+    /**
+     * Returns the bulkhead permit once, when the caller closes the response
+     */
+    private static class PermitReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingResponse(ClientHttpResponse response, Bulkhead bulkhead) {
+            this.response = response;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                response.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.onComplete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Recorded against the circuit breaker when the remote answers 5xx
+     */
+    static class ServerErrorResponse extends RuntimeException {
+        ServerErrorResponse(int status) {
+            super("HTTP " + status, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.banana.harvest.config;
+
+import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.FieldSelection;
+import com.banana.harvest.dto.common.PageResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Shapes JSON responses for clients on slow links. ?fields=a,b keeps only those properties
+ * of the response objects, and ?fields=a.b only b of the object in a; the ApiResponse,
+ * CursorPage and PageResponse envelopes are never cut. Compact mode, asked for with ?compact=true or the X-Response-Mode: compact header,
+ * leaves out null properties and returns the data of a successful response without the
+ * ApiResponse wrapper. Errors keep the wrapper so message and errorCode stay readable.
+ */
+@RestControllerAdvice
+public class ResponseShapingAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String COMPACT_PARAMETER = "compact";
+    static final String MODE_HEADER = "X-Response-Mode";
+    static final String COMPACT_MODE = "compact";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        FieldSelection fields = FieldSelection.parse(httpRequest.getParameter(FieldSelection.PARAMETER));
+        boolean compact = "true".equalsIgnoreCase(httpRequest.getParameter(COMPACT_PARAMETER))
+                || COMPACT_MODE.equalsIgnoreCase(httpRequest.getHeader(MODE_HEADER));
+        if (fields.isAll() && !compact) {
+            return;
+        }
+
+        if (compact) {
+            if (bodyContainer.getValue() instanceof ApiResponse<?> body && body.isSuccess() && body.getData() != null) {
+                bodyContainer.setValue(body.getData());
+            }
+            response.getHeaders().set(MODE_HEADER, COMPACT_MODE);
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(ResponseShapingConfig.FILTER_ID, new ResponseShapeFilter(fields, compact)));
+    }
+
+    private static class ResponseShapeFilter extends SimpleBeanPropertyFilter {
+
+        private final FieldSelection fields;
+        private final boolean compact;
+
+        ResponseShapeFilter(FieldSelection fields, boolean compact) {
+            this.fields = fields;
+            this.compact = compact;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator generator, SerializerProvider provider,
+                                     PropertyWriter writer) throws Exception {
+            if (!fields.isAll() && !isEnvelope(pojo) && !fields.includes(pathOf(generator, writer.getName()))) {
+                return;
+            }
+            if (compact && writer instanceof BeanPropertyWriter property && property.get(pojo) == null) {
+                return;
+            }
+            writer.serializeAsField(pojo, generator, provider);
+        }
+
+        /**
+         * The dotted path of a property from the response object, built from the names of the
+         * enclosing objects being written. Envelopes and list positions are not part of it.
+         */
+        private static String pathOf(JsonGenerator generator, String name) {
+            StringBuilder path = new StringBuilder(name);
+            for (JsonStreamContext context = generator.getOutputContext().getParent(); context != null;
+                 context = context.getParent()) {
+                if (context.inObject()) {
+                    if (isEnvelope(context.getCurrentValue())) {
+                        break;
+                    }
+                    path.insert(0, '.').insert(0, context.getCurrentName());
+                }
+            }
+            return path.toString();
+        }
+
+        private static boolean isEnvelope(Object pojo) {
+            return pojo instanceof ApiResponse || pojo instanceof CursorPage || pojo instanceof PageResponse;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.banana.harvest.config;
+
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Serializes every DTO through one property filter so ResponseShapingAdvice can select
+ * fields and drop nulls per request. By default the filter writes all properties.
+ */
+@Configuration
+public class ResponseShapingConfig {
+
+    static final String FILTER_ID = "responseShape";
+
+    private static final String DTO_PACKAGE = "com.banana.harvest.dto.";
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer responseShapingCustomizer() {
+        return builder -> builder
+                .annotationIntrospector(new DtoFilterIntrospector())
+                .filters(new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Assigns the response filter to DTO classes that do not name a filter of their own
+     */
+    private static class DtoFilterIntrospector extends JacksonAnnotationIntrospector {
+
+        @Override
+        public Object findFilterId(Annotated annotated) {
+            Object filterId = super.findFilterId(annotated);
+            if (filterId == null && annotated instanceof AnnotatedClass
+                    && annotated.getRawType().getName().startsWith(DTO_PACKAGE)) {
+                return FILTER_ID;
+            }
+            return filterId;
+        }
+    }
+}
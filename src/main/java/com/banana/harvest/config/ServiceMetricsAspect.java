@@ -0,0 +1,75 @@
+package com.banana.harvest.config;
+
+import com.banana.harvest.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service beans as app.service.invocations, tagged with
+ * operation (Class.method), outcome (success, business_error, error) and exception.
+ * Timers are resolved once per method and outcome, so the per-call cost is a map lookup
+ * and two clock reads. Histograms and SLO buckets are configured with the
+ * management.metrics.distribution.* properties. Repository methods are timed by Spring
+ * Boot as spring.data.repository.invocations.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "metrics.service-timers.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "app.service.invocations";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @Around("within(com.banana.harvest.service..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Class<?> exception = failure != null ? failure.getClass() : null;
+            timers.computeIfAbsent(new TimerKey(joinPoint.getTarget().getClass(), method, exception), this::timer)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        String outcome = key.exception() == null ? "success"
+                : BusinessException.class.isAssignableFrom(key.exception()) ? "business_error" : "error";
+        return Timer.builder(METRIC_NAME)
+                .description("Service method latency")
+                .tag("operation", userClassName(key.targetClass()) + "." + key.method().getName())
+                .tag("outcome", outcome)
+                .tag("exception", key.exception() == null ? "none" : key.exception().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    private static String userClassName(Class<?> targetClass) {
+        // Strip CGLIB proxy suffixes
+        String name = targetClass.getSimpleName();
+        int proxyMarker = name.indexOf("$$");
+        return proxyMarker > 0 ? name.substring(0, proxyMarker) : name;
+    }
+
+    private record TimerKey(Class<?> targetClass, Method method, Class<?> exception) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.banana.harvest.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements, rows fetched and JDBC time of the HTTP request on the current thread.
+ * Started and reported by SqlTrackingFilter, fed by SqlTrackingDataSource.
+ * Statements are also counted by shape (literals and IN lists collapsed), so a statement
+ * repeated with different parameters - the usual N+1 pattern - shows up as one shape.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_SHAPES = 256;
+    private static final int MAX_CACHED_SHAPES = 2048;
+    // Hibernate reuses the same SQL strings, so each is normalised once
+    private static final Map<String, String> SHAPE_CACHE = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats start() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stats of the request on this thread, or null outside a tracked request
+     */
+    static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        String shape = shape(sql);
+        if (shapes.size() < MAX_SHAPES || shapes.containsKey(shape)) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void recordRow() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * The statement shape executed most often, or null if none ran
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        Map.Entry<String, Integer> top = null;
+        for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+            if (top == null || entry.getValue() > top.getValue()) {
+                top = entry;
+            }
+        }
+        return top;
+    }
+
+    static String shape(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        String shape = SHAPE_CACHE.get(sql);
+        if (shape == null) {
+            shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+            shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+            shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+            shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+            if (SHAPE_CACHE.size() >= MAX_CACHED_SHAPES) {
+                SHAPE_CACHE.clear();
+            }
+            SHAPE_CACHE.put(sql, shape);
+        }
+        return shape;
+    }
+}
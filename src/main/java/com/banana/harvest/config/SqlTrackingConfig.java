@@ -0,0 +1,30 @@
+package com.banana.harvest.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a SqlTrackingDataSource so SqlTrackingFilter can
+ * report the SQL each request runs
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.tracking.enabled", havingValue = "true")
+public class SqlTrackingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlTrackingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlTrackingDataSource)) {
+                    return new SqlTrackingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
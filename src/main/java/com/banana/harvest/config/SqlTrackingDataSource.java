@@ -0,0 +1,112 @@
+package com.banana.harvest.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * Wraps the pool so every statement executed while a request is tracked is counted and
+ * timed in its SqlRequestStats, and every row read from its result sets is counted.
+ * Outside a tracked request (scheduled jobs, startup) calls pass straight through.
+ * Extends DelegatingDataSource so pool metrics and health checks still find the Hikari pool.
+ */
+public class SqlTrackingDataSource extends DelegatingDataSource {
+
+    public SqlTrackingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlTrackingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlTrackingDataSource.invoke(target, proxy, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> SqlTrackingDataSource.proxy(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "prepareCall" -> SqlTrackingDataSource.proxy(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0]));
+                case "createStatement" -> SqlTrackingDataSource.proxy(Statement.class,
+                        new StatementHandler((Statement) result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private record StatementHandler(Statement target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            SqlRequestStats stats = SqlRequestStats.current();
+            String name = method.getName();
+            if (stats == null) {
+                return SqlTrackingDataSource.invoke(target, proxy, method, args);
+            }
+            if (name.startsWith("execute")) {
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                long start = System.nanoTime();
+                Object result;
+                try {
+                    result = SqlTrackingDataSource.invoke(target, proxy, method, args);
+                } finally {
+                    stats.recordStatement(sql, System.nanoTime() - start);
+                }
+                return "executeQuery".equals(name) ? resultSet((ResultSet) result, stats) : result;
+            }
+            Object result = SqlTrackingDataSource.invoke(target, proxy, method, args);
+            return "getResultSet".equals(name) && result != null ? resultSet((ResultSet) result, stats) : result;
+        }
+
+        private static ResultSet resultSet(ResultSet resultSet, SqlRequestStats stats) {
+            return SqlTrackingDataSource.proxy(ResultSet.class, new ResultSetHandler(resultSet, stats));
+        }
+    }
+
+    private record ResultSetHandler(ResultSet target, SqlRequestStats stats) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlTrackingDataSource.invoke(target, proxy, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                stats.recordRow();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.banana.harvest.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the SQL run by each API request: statement count, rows fetched and JDBC time are
+ * returned in the Server-Timing and X-SQL-Statements headers and recorded as
+ * http.server.requests.sql.* metrics tagged by method and URI pattern. A warning with the
+ * most repeated statement is logged when a request exceeds the statement budget or runs
+ * one statement shape repeat-threshold times or more (a likely N+1).
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "sql.tracking.enabled", havingValue = "true")
+public class SqlTrackingFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 500;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, RequestMeters> meters = new ConcurrentHashMap<>();
+
+    @Value("${sql.tracking.statement-budget:50}")
+    private int statementBudget;
+
+    @Value("${sql.tracking.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.start();
+        StatsHeaderResponse statsResponse = new StatsHeaderResponse(response, stats);
+        try {
+            filterChain.doFilter(request, statsResponse);
+        } finally {
+            SqlRequestStats.clear();
+            if (!response.isCommitted()) {
+                statsResponse.writeHeaders();
+            }
+            report(request, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlRequestStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        RequestMeters requestMeters = meters.computeIfAbsent(new MeterKey(request.getMethod(), uri), this::meters);
+        requestMeters.statements().record(stats.getStatements());
+        requestMeters.rows().record(stats.getRows());
+        requestMeters.time().record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map.Entry<String, Integer> repeated = stats.getMostRepeated();
+        boolean overBudget = stats.getStatements() > statementBudget;
+        boolean repeating = repeated != null && repeated.getValue() >= repeatThreshold;
+        if (!overBudget && !repeating) {
+            return;
+        }
+        (overBudget ? requestMeters.overBudget() : requestMeters.repeated()).increment();
+        log.warn("{} {} ran {} SQL statements ({} rows, {} ms JDBC, budget {}); most repeated {}x: {}",
+                request.getMethod(), uri, stats.getStatements(), stats.getRows(),
+                TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()), statementBudget,
+                repeated.getValue(), abbreviate(repeated.getKey()));
+    }
+
+    private RequestMeters meters(MeterKey key) {
+        return new RequestMeters(
+                DistributionSummary.builder("http.server.requests.sql.statements")
+                        .description("SQL statements per request")
+                        .tags("method", key.method(), "uri", key.uri())
+                        .register(meterRegistry),
+                DistributionSummary.builder("http.server.requests.sql.rows")
+                        .description("Rows fetched per request")
+                        .tags("method", key.method(), "uri", key.uri())
+                        .register(meterRegistry),
+                Timer.builder("http.server.requests.sql.time")
+                        .description("JDBC time per request")
+                        .tags("method", key.method(), "uri", key.uri())
+                        .register(meterRegistry),
+                warnings(key, "statement_budget"),
+                warnings(key, "repeated_statement"));
+    }
+
+    private Counter warnings(MeterKey key, String reason) {
+        return Counter.builder("http.server.requests.sql.warnings")
+                .description("Requests over the SQL statement budget or repeating a statement")
+                .tags("method", key.method(), "uri", key.uri(), "reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private record MeterKey(String method, String uri) {
+    }
+
+    private record RequestMeters(DistributionSummary statements, DistributionSummary rows, Timer time,
+                                 Counter overBudget, Counter repeated) {
+    }
+
+    /**
+     * Adds the stats headers just before the response commits, i.e. with the SQL run so far
+     */
+    private static final class StatsHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean written;
+
+        private StatsHeaderResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        private void writeHeaders() {
+            if (written) {
+                return;
+            }
+            written = true;
+            double millis = stats.getJdbcNanos() / 1_000_000d;
+            setHeader("Server-Timing", String.format(Locale.ROOT, "sql;dur=%.2f;desc=\"%d statements, %d rows\"",
+                    millis, stats.getStatements(), stats.getRows()));
+            setHeader("X-SQL-Statements", String.valueOf(stats.getStatements()));
+        }
+    }
+}
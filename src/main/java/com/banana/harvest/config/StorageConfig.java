@@ -0,0 +1,67 @@
+package com.banana.harvest.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+/**
+ * AWS clients for the S3 storage backend (storage.backend=s3).
+ * An empty access key falls back to the default AWS credentials chain.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.backend", havingValue = "s3")
+public class StorageConfig {
+
+    @Value("${aws.s3.region}")
+    private String region;
+
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${aws.access.key:}")
+    private String accessKey;
+
+    @Value("${aws.secret.key:}")
+    private String secretKey;
+
+    @Bean(destroyMethod = "close")
+    public S3Client s3Client() {
+        var builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner s3Presigner() {
+        var builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentialsProvider());
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return builder.build();
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
+        if (accessKey.isBlank()) {
+            return DefaultCredentialsProvider.create();
+        }
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+}
@@ -2,6 +2,8 @@ package com.banana.harvest.controller;
 
 import com.banana.harvest.dto.auth.*;
 import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.entity.enums.UserRole;
 import com.banana.harvest.security.UserPrincipal;
 import com.banana.harvest.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +11,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -26,6 +29,9 @@ public class AuthController {
 
     private final AuthService authService;
 
+    @Value("${pagination.legacy-list-cap:1000}")
+    private int legacyListCap;
+
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and return JWT token")
     public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
@@ -64,11 +70,26 @@ public class AuthController {
 
     @GetMapping("/users")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
-    @Operation(summary = "Get all users", description = "Get list of all users")
+    @Operation(summary = "Get all users", description = "Get the newest users, capped; use /users/cursor to page")
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
         log.info("Fetching all users");
-        List<UserResponse> response = authService.getAllUsers();
-        log.debug("Retrieved {} users", response.size());
+        CursorPage<UserResponse> response = authService.getUsersPage(null, null, null, null, legacyListCap);
+        log.debug("Retrieved {} users", response.getSize());
+        return LegacyList.of(response);
+    }
+
+    @GetMapping("/users/cursor")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get users (cursor)",
+            description = "Get a page of users, newest first, filtered by role, active flag and name or email")
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String search) {
+        CursorPage<UserResponse> response = authService.getUsersPage(role, isActive, search, cursor,
+                CursorPage.checkSize(size));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
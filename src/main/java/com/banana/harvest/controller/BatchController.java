@@ -1,8 +1,11 @@
 package com.banana.harvest.controller;
 
 import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.FieldSelection;
 import com.banana.harvest.dto.farm.BatchResponse;
 import com.banana.harvest.dto.farm.UpdateBatchStatusRequest;
+import com.banana.harvest.entity.enums.BatchStatus;
 import com.banana.harvest.security.UserPrincipal;
 import com.banana.harvest.service.BatchService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,6 +13,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -26,6 +30,9 @@ public class BatchController {
 
     private final BatchService batchService;
 
+    @Value("${pagination.legacy-list-cap:1000}")
+    private int legacyListCap;
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('VENDOR') or hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
     @Operation(summary = "Get batch details", description = "Get detailed batch information including harvest stats")
@@ -51,9 +58,25 @@ public class BatchController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all batches (Deprecated)", description = "Get list of all harvest batches. Use BatchController for detailed batch operations.")
-    public ResponseEntity<ApiResponse<List<BatchResponse>>> getAllBatches() {
-        List<BatchResponse> response = batchService.getAllBatches();
+    @Operation(summary = "Get all batches (Deprecated)", description = "Get the newest harvest batches, capped. Use /api/batches/cursor to page.")
+    public ResponseEntity<ApiResponse<List<BatchResponse>>> getAllBatches(
+            @RequestParam(required = false) String fields) {
+        return LegacyList.of(batchService.getBatchesPage(null, null, null, null, legacyListCap,
+                FieldSelection.parse(fields)));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get batches (cursor)",
+            description = "Get a page of batches, newest first, filtered by status, vendor and farm")
+    public ResponseEntity<ApiResponse<CursorPage<BatchResponse>>> getBatchesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) BatchStatus status,
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) UUID farmId,
+            @RequestParam(required = false) String fields) {
+        CursorPage<BatchResponse> response = batchService.getBatchesPage(status, vendorId, farmId, cursor,
+                CursorPage.checkSize(size), FieldSelection.parse(fields));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 }
@@ -0,0 +1,54 @@
+package com.banana.harvest.controller;
+
+import com.banana.harvest.security.UserPrincipal;
+import com.banana.harvest.service.LiveEventHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Live updates for dashboards and approval queues, replacing polling of the
+ * pending lists, pending counts and dashboard stats.
+ */
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+@Tag(name = "Live Events", description = "Server-Sent Events stream of domain changes")
+public class EventStreamController {
+
+    private final LiveEventHub liveEventHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to live events",
+            description = "Streams changes visible to the current user. Reconnect with Last-Event-ID to resume; "
+                    + "a 'resync' event means the client must reload its snapshot")
+    public SseEmitter stream(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) String types,
+            @RequestParam(required = false) String lastEventId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            HttpServletResponse response) {
+        // Stop reverse proxies from buffering the stream
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        Set<String> typePrefixes = types == null ? Set.of()
+                : Arrays.stream(types.split(","))
+                        .map(String::trim)
+                        .filter(type -> !type.isEmpty())
+                        .collect(Collectors.toSet());
+
+        return liveEventHub.subscribe(userPrincipal, typePrefixes,
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
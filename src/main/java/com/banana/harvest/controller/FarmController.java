@@ -1,7 +1,12 @@
 package com.banana.harvest.controller;
 
 import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.FieldSelection;
 import com.banana.harvest.dto.farm.*;
+import com.banana.harvest.entity.enums.FarmStatus;
+import com.banana.harvest.entity.enums.InspectionRequestStatus;
+import com.banana.harvest.entity.enums.InspectionStatus;
 import com.banana.harvest.security.UserPrincipal;
 import com.banana.harvest.service.FarmService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
@@ -28,6 +34,9 @@ public class FarmController {
 
     private final FarmService farmService;
 
+    @Value("${pagination.legacy-list-cap:1000}")
+    private int legacyListCap;
+
     // Farm endpoints
     @PostMapping("/farms")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
@@ -43,14 +52,26 @@ public class FarmController {
     }
 
     @GetMapping("/farms")
-    @Operation(summary = "Get all farms", description = "Get list of all farms")
+    @Operation(summary = "Get all farms", description = "Get the newest farms, capped; use /farms/cursor to page")
     public ResponseEntity<ApiResponse<List<FarmResponse>>> getAllFarms() {
-        List<FarmResponse> response = farmService.getAllFarms();
+        return LegacyList.of(farmService.getFarmsPage(null, null, null, legacyListCap));
+    }
+
+    @GetMapping("/farms/cursor")
+    @Operation(summary = "Get farms (cursor)",
+            description = "Get a page of farms, newest first, filtered by status and farmer name or location")
+    public ResponseEntity<ApiResponse<CursorPage<FarmResponse>>> getFarmsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) FarmStatus status,
+            @RequestParam(required = false) String search) {
+        CursorPage<FarmResponse> response = farmService.getFarmsPage(status, search, cursor, CursorPage.checkSize(size));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/farms/paged")
-    @Operation(summary = "Get farms (paged)", description = "Get paginated list of farms")
+    @Operation(summary = "Get farms (paged)", description = "Get paginated list of farms. Use /farms/cursor for deep pages",
+            deprecated = true)
     public ResponseEntity<ApiResponse<Page<FarmResponse>>> getFarmsPaged(Pageable pageable) {
         Page<FarmResponse> response = farmService.getFarmsPaged(pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
@@ -80,11 +101,30 @@ public class FarmController {
 
     @GetMapping("/inspections")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
-    @Operation(summary = "Get all inspections", description = "Get list of all inspections (History)")
-    public ResponseEntity<ApiResponse<List<FarmInspectionResponse>>> getAllInspections() {
+    @Operation(summary = "Get all inspections",
+            description = "Get the newest inspections (History), capped; use /inspections/cursor to page")
+    public ResponseEntity<ApiResponse<List<FarmInspectionResponse>>> getAllInspections(
+            @RequestParam(required = false) String fields) {
         log.debug("Fetching all inspections history");
-        List<FarmInspectionResponse> response = farmService.getAllInspections();
-        log.info("Retrieved {} inspections history", response.size());
+        CursorPage<FarmInspectionResponse> response = farmService.getInspectionsPage(null, null, null, null,
+                legacyListCap, FieldSelection.parse(fields));
+        log.info("Retrieved {} inspections history", response.getSize());
+        return LegacyList.of(response);
+    }
+
+    @GetMapping("/inspections/cursor")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get inspections (cursor)",
+            description = "Get a page of inspections, newest first, filtered by status, vendor and farm")
+    public ResponseEntity<ApiResponse<CursorPage<FarmInspectionResponse>>> getInspectionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) InspectionStatus status,
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) UUID farmId,
+            @RequestParam(required = false) String fields) {
+        CursorPage<FarmInspectionResponse> response = farmService.getInspectionsPage(status, vendorId, farmId, cursor,
+                CursorPage.checkSize(size), FieldSelection.parse(fields));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -134,6 +174,10 @@ public class FarmController {
         log.info("Processing inspection approval - inspectionId: {}, approved: {}, approverId: {}",
                 id, request.getApproved(), userPrincipal.getId());
         BatchResponse response = farmService.approveInspection(id, request, userPrincipal.getId());
+        if (response == null) {
+            log.info("Inspection processed - inspectionId: {}, rejected", id);
+            return ResponseEntity.ok(ApiResponse.success("Inspection rejected", null));
+        }
         log.info("Inspection processed - inspectionId: {}, batchId: {}", id, response.getBatchId());
         return ResponseEntity.ok(ApiResponse.success("Inspection processed successfully", response));
     }
@@ -173,11 +217,26 @@ public class FarmController {
 
     @GetMapping("/inspections/requests")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
-    @Operation(summary = "Get all inspection requests", description = "Get list of all inspection requests (Admin/Manager)")
+    @Operation(summary = "Get all inspection requests",
+            description = "Get the newest inspection requests (Admin/Manager), capped; use /inspections/requests/cursor to page")
     public ResponseEntity<ApiResponse<List<InspectionRequestResponse>>> getAllInspectionRequests(
             @RequestParam(required = false) String status) {
         log.info("Fetching all inspection requests, status: {}", status);
-        List<InspectionRequestResponse> response = farmService.getAllInspectionRequests(status);
+        return LegacyList.of(farmService.getAllInspectionRequests(status, legacyListCap));
+    }
+
+    @GetMapping("/inspections/requests/cursor")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get inspection requests (cursor)",
+            description = "Get a page of inspection requests, newest first, filtered by status, vendor and farm")
+    public ResponseEntity<ApiResponse<CursorPage<InspectionRequestResponse>>> getInspectionRequestsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) InspectionRequestStatus status,
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) UUID farmId) {
+        CursorPage<InspectionRequestResponse> response = farmService.getInspectionRequestsPage(status, vendorId, farmId,
+                cursor, CursorPage.checkSize(size));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
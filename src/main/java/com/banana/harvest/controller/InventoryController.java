@@ -2,12 +2,18 @@ package com.banana.harvest.controller;
 
 import com.banana.harvest.dto.common.ApiResponse;
 import com.banana.harvest.dto.inventory.*;
+import com.banana.harvest.entity.enums.InventoryCategory;
 import com.banana.harvest.security.UserPrincipal;
 import com.banana.harvest.service.InventoryService;
+import com.banana.harvest.service.StockReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +29,7 @@ import java.util.UUID;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final StockReservationService reservationService;
 
     @GetMapping("/items")
     @Operation(summary = "Get all inventory items", description = "Get list of all inventory items")
@@ -31,6 +38,17 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/items/paged")
+    @Operation(summary = "Search inventory items (paged)",
+            description = "Get a page of active items with available stock, filtered by category and name or code")
+    public ResponseEntity<ApiResponse<Page<InventoryItemResponse>>> searchItems(
+            @RequestParam(required = false) InventoryCategory category,
+            @RequestParam(required = false) String search,
+            @PageableDefault(size = 20, sort = "itemName", direction = Sort.Direction.ASC) Pageable pageable) {
+        Page<InventoryItemResponse> response = inventoryService.searchItems(category, search, pageable);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @GetMapping("/items/{id}")
     @Operation(summary = "Get item by ID", description = "Get inventory item details by ID")
     public ResponseEntity<ApiResponse<InventoryItemResponse>> getItemById(@PathVariable UUID id) {
@@ -64,6 +82,26 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PostMapping("/allocate/bulk")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Bulk allocate inventory",
+            description = "Allocate a matrix of items to many batches in one transaction")
+    public ResponseEntity<ApiResponse<BulkAllocationResponse>> allocateBulk(
+            @Valid @RequestBody BulkAllocationRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        BulkAllocationResponse response = inventoryService.allocateBulk(request, userPrincipal.getId());
+        return ResponseEntity.ok(ApiResponse.success("Inventory allocated successfully", response));
+    }
+
+    @GetMapping("/stock-outlook")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER') or hasRole('STORE_KEEPER')")
+    @Operation(summary = "Get stock outlook",
+            description = "On-hand stock, consumption rate and projected days of cover per item, most urgent first")
+    public ResponseEntity<ApiResponse<List<StockOutlookResponse>>> getStockOutlook() {
+        List<StockOutlookResponse> response = inventoryService.getStockOutlook();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PostMapping("/allocate")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
     @Operation(summary = "Allocate inventory", description = "Allocate inventory items to a batch")
@@ -73,4 +111,30 @@ public class InventoryController {
         inventoryService.allocateInventory(request, userPrincipal.getId());
         return ResponseEntity.ok(ApiResponse.success("Inventory allocated successfully", null));
     }
+
+    @PostMapping("/reservations")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Reserve stock", description = "Hold stock for a later allocation; unused holds expire")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> createReservation(
+            @Valid @RequestBody StockReservationRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        StockReservationResponse response = reservationService.createReservation(request, userPrincipal.getId());
+        return ResponseEntity.ok(ApiResponse.success("Stock reserved successfully", response));
+    }
+
+    @GetMapping("/reservations/{id}")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get stock reservation", description = "Get reservation status and allocated quantity")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> getReservation(@PathVariable UUID id) {
+        StockReservationResponse response = reservationService.getReservation(id);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Release stock reservation", description = "Return the unallocated part of a reservation to available stock")
+    public ResponseEntity<ApiResponse<StockReservationResponse>> releaseReservation(@PathVariable UUID id) {
+        StockReservationResponse response = reservationService.releaseReservation(id);
+        return ResponseEntity.ok(ApiResponse.success("Stock reservation released", response));
+    }
 }
@@ -0,0 +1,28 @@
+package com.banana.harvest.controller;
+
+import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Response of the list endpoints that predate cursor pagination. They now return the first
+ * pagination.legacy-list-cap rows of the matching /cursor endpoint; when rows were cut off the
+ * X-Next-Cursor header carries the cursor to continue with there.
+ */
+final class LegacyList {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private LegacyList() {
+    }
+
+    static <T> ResponseEntity<ApiResponse<List<T>>> of(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.isHasMore()) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(ApiResponse.success(page.getContent()));
+    }
+}
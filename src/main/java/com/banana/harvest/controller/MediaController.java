@@ -0,0 +1,207 @@
+package com.banana.harvest.controller;
+
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.exception.ResourceNotFoundException;
+import com.banana.harvest.exception.UnauthorizedException;
+import com.banana.harvest.service.MediaUploadService;
+import com.banana.harvest.service.storage.LocalStorageBackend;
+import com.banana.harvest.service.storage.StorageBackend;
+import com.banana.harvest.service.storage.StoredObject;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.List;
+
+/**
+ * Serves stored media through the application.
+ * Used as the public URL of the local storage backend and as a caching,
+ * seekable proxy in front of Supabase/S3.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+@Tag(name = "Media", description = "Stored photo/video download APIs")
+public class MediaController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StorageBackend storageBackend;
+    private final ObjectProvider<LocalStorageBackend> localStorageBackend;
+    private final MediaUploadService mediaUploadService;
+
+    @Value("${storage.media.cache-max-age-seconds:31536000}")
+    private long cacheMaxAgeSeconds;
+
+    /**
+     * Streams an object with Range/206 support, strong ETags and conditional GET.
+     * Keys are unique per upload, so responses are cacheable as immutable.
+     */
+    @GetMapping("/{*key}")
+    @Operation(summary = "Download media", description = "Stream a stored photo or video; supports Range and conditional requests")
+    public void getMedia(
+            @PathVariable String key,
+            ServletWebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        String objectKey = stripLeadingSlash(key);
+
+        StoredObject object = storageBackend.stat(objectKey)
+                .orElseThrow(() -> new ResourceNotFoundException("Media", "key", objectKey));
+
+        String etag = object.etag() != null ? object.etag() : fallbackEtag(object);
+        long lastModified = object.lastModified() != null ? object.lastModified().toEpochMilli() : -1;
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + cacheMaxAgeSeconds + ", immutable");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        // Sets ETag/Last-Modified and answers 304/412 when the client's copy is current
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long size = object.size();
+        long start = 0;
+        long end = size - 1;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges = parseRanges(rangeHeader);
+            // Multi-range requests are answered with the full object, which RFC 9110 permits
+            if (ranges.size() == 1) {
+                // HttpRange does not validate the first position against the size; the end is clamped to size - 1
+                start = ranges.get(0).getRangeStart(size);
+                end = Math.min(ranges.get(0).getRangeEnd(size), size - 1);
+                if (start >= size || start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        long length = end - start + 1;
+        response.setContentType(object.contentType());
+        response.setContentLengthLong(length);
+
+        if (length <= 0 || HttpMethod.HEAD.matches(request.getMethod())) {
+            return;
+        }
+
+        if (!sendFile(objectKey, start, length, request)) {
+            storageBackend.stream(objectKey, start, length, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * Target of local-backend upload URLs. Authorised by the signed token in the
+     * URL rather than a JWT, mirroring pre-signed uploads on Supabase/S3.
+     * Each URL stores its object once: only while the upload is pending and
+     * nothing has been stored under the key yet.
+     */
+    @PutMapping("/{*key}")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Direct upload", description = "Upload media bytes to a pre-signed local storage URL")
+    public void putMedia(
+            @PathVariable String key,
+            @RequestParam long expires,
+            @RequestParam String token,
+            HttpServletRequest request) throws IOException {
+
+        LocalStorageBackend backend = localStorageBackend.getIfAvailable();
+        if (backend == null) {
+            throw new ResourceNotFoundException("Upload endpoint", "backend", storageBackend.name());
+        }
+
+        String objectKey = stripLeadingSlash(key);
+        if (!backend.isValidUploadToken(objectKey, expires, token)) {
+            throw new UnauthorizedException("Upload URL is invalid or expired");
+        }
+        if (!mediaUploadService.isAwaitingContent(objectKey) || backend.stat(objectKey).isPresent()) {
+            throw new BusinessException("Upload URL has already been used", "UPLOAD_NOT_PENDING");
+        }
+
+        try (InputStream content = request.getInputStream()) {
+            backend.put(objectKey, content, request.getContentLengthLong(), request.getContentType());
+        }
+        log.info("Direct upload stored: {}", objectKey);
+    }
+
+    /**
+     * Hands local files to Tomcat's sendfile support so the bytes go from the page cache
+     * to the socket via FileChannel.transferTo without passing through the heap
+     */
+    private boolean sendFile(String key, long start, long length, HttpServletRequest request) {
+        LocalStorageBackend backend = localStorageBackend.getIfAvailable();
+        if (backend == null || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+
+        request.setAttribute(SENDFILE_FILENAME, backend.pathOf(key).toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, start + length);
+        return true;
+    }
+
+    /**
+     * If-Range: serve the range only if the client's validator still matches.
+     * Entity tags use strong comparison, so weak tags never match.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified >= 0 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Malformed Range headers are ignored and the full object is served
+     */
+    private static List<HttpRange> parseRanges(String rangeHeader) {
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static String fallbackEtag(StoredObject object) {
+        long lastModified = object.lastModified() != null ? object.lastModified().toEpochMilli() : 0;
+        return "\"" + Integer.toHexString(object.key().hashCode()) + "-"
+                + Long.toHexString(object.size()) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private static String stripLeadingSlash(String key) {
+        return key.startsWith("/") ? key.substring(1) : key;
+    }
+}
@@ -1,13 +1,19 @@
 package com.banana.harvest.controller;
 
 import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.upload.MediaUploadResponse;
+import com.banana.harvest.dto.upload.UploadIntentRequest;
+import com.banana.harvest.dto.upload.UploadIntentResponse;
 import com.banana.harvest.security.UserPrincipal;
+import com.banana.harvest.service.MediaStorageService;
+import com.banana.harvest.service.MediaUploadService;
 import com.banana.harvest.service.PhotoValidationService;
-import com.banana.harvest.service.SupabaseStorageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -29,8 +35,9 @@ import java.util.UUID;
 @Tag(name = "Photo Upload", description = "Camera-only photo/video upload APIs with fraud prevention")
 public class PhotoUploadController {
 
-    private final SupabaseStorageService supabaseStorageService;
+    private final MediaStorageService mediaStorageService;
     private final PhotoValidationService photoValidationService;
+    private final MediaUploadService mediaUploadService;
 
     /**
      * Uploads a single photo from camera
@@ -45,7 +52,7 @@ public class PhotoUploadController {
 
         log.info("Photo upload request from user: {}", userPrincipal.getId());
 
-        String photoUrl = supabaseStorageService.uploadPhoto(
+        String photoUrl = mediaStorageService.uploadPhoto(
                 file, 
                 userPrincipal.getId(), 
                 inspectionId != null ? UUID.fromString(inspectionId) : null
@@ -72,7 +79,7 @@ public class PhotoUploadController {
 
         List<String> photoUrls = new ArrayList<>();
         for (MultipartFile file : files) {
-            String url = supabaseStorageService.uploadPhoto(
+            String url = mediaStorageService.uploadPhoto(
                     file, 
                     userPrincipal.getId(), 
                     inspectionId != null ? UUID.fromString(inspectionId) : null
@@ -96,7 +103,7 @@ public class PhotoUploadController {
 
         log.info("Video upload request from user: {}", userPrincipal.getId());
 
-        String videoUrl = supabaseStorageService.uploadVideo(
+        String videoUrl = mediaStorageService.uploadVideo(
                 file, 
                 userPrincipal.getId(), 
                 inspectionId != null ? UUID.fromString(inspectionId) : null
@@ -124,12 +131,12 @@ public class PhotoUploadController {
         // Upload photos
         List<String> photoUrls = new ArrayList<>();
         for (MultipartFile photo : photos) {
-            String url = supabaseStorageService.uploadPhoto(photo, userPrincipal.getId(), null);
+            String url = mediaStorageService.uploadPhoto(photo, userPrincipal.getId(), null);
             photoUrls.add(url);
         }
 
         // Upload video
-        String videoUrl = supabaseStorageService.uploadVideo(video, userPrincipal.getId(), null);
+        String videoUrl = mediaStorageService.uploadVideo(video, userPrincipal.getId(), null);
 
         InspectionMediaResponse response = new InspectionMediaResponse(photoUrls, videoUrl);
 
@@ -137,13 +144,56 @@ public class PhotoUploadController {
     }
 
     /**
-     * Deletes a file from Supabase Storage
+     * Creates an upload intent: returns a short-lived signed URL the client uploads to directly
+     */
+    @PostMapping("/intents")
+    @PreAuthorize("hasRole('VENDOR') or hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Create direct upload", description = "Get a signed URL to upload a photo or video straight to storage")
+    public ResponseEntity<ApiResponse<UploadIntentResponse>> createUploadIntent(
+            @Valid @RequestBody UploadIntentRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        UploadIntentResponse response = mediaUploadService.createUploadIntent(request, userPrincipal.getId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Upload URL created", response));
+    }
+
+    /**
+     * Completion callback for a direct upload; validation and attachment run asynchronously
+     */
+    @PostMapping("/intents/{uploadId}/complete")
+    @PreAuthorize("hasRole('VENDOR') or hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Complete direct upload", description = "Report that the file was uploaded; it is validated and attached in the background")
+    public ResponseEntity<ApiResponse<MediaUploadResponse>> completeUpload(
+            @PathVariable UUID uploadId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        MediaUploadResponse response = mediaUploadService.completeUpload(uploadId, userPrincipal.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Upload received, validation in progress", response));
+    }
+
+    /**
+     * Returns the validation status of a direct upload
+     */
+    @GetMapping("/intents/{uploadId}")
+    @PreAuthorize("hasRole('VENDOR') or hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get direct upload status", description = "Poll the validation status of a direct upload")
+    public ResponseEntity<ApiResponse<MediaUploadResponse>> getUpload(
+            @PathVariable UUID uploadId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+
+        return ResponseEntity.ok(ApiResponse.success(mediaUploadService.getUpload(uploadId, userPrincipal.getId())));
+    }
+
+    /**
+     * Deletes a file from media storage
      */
     @DeleteMapping("/file")
     @PreAuthorize("hasRole('VENDOR') or hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
     @Operation(summary = "Delete uploaded file", description = "Delete a previously uploaded photo or video")
     public ResponseEntity<ApiResponse<Void>> deleteFile(@RequestParam String fileUrl) {
-        supabaseStorageService.deleteFile(fileUrl);
+        mediaStorageService.deleteFile(fileUrl);
         return ResponseEntity.ok(ApiResponse.success("File deleted successfully", null));
     }
 
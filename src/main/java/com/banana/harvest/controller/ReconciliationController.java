@@ -0,0 +1,57 @@
+package com.banana.harvest.controller;
+
+import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.report.ReconciliationRunResponse;
+import com.banana.harvest.security.UserPrincipal;
+import com.banana.harvest.service.InventoryReconciliationJob;
+import com.banana.harvest.service.InventoryReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reports/reconciliation")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+@Tag(name = "Inventory Reconciliation", description = "Box reconciliation runs across all batches")
+public class ReconciliationController {
+
+    private final InventoryReconciliationJob reconciliationJob;
+    private final InventoryReconciliationService reconciliationService;
+
+    @PostMapping("/runs")
+    @Operation(summary = "Start reconciliation", description = "Reconcile all batches in the background; resumes an interrupted run if there is one")
+    public ResponseEntity<ApiResponse<ReconciliationRunResponse>> startRun(
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        ReconciliationRunResponse response = reconciliationJob.start("user:" + userPrincipal.getId());
+        return ResponseEntity.ok(ApiResponse.success("Reconciliation started", response));
+    }
+
+    @PostMapping("/runs/{id}/resume")
+    @Operation(summary = "Resume reconciliation", description = "Re-run the chunks of a failed run that did not complete")
+    public ResponseEntity<ApiResponse<ReconciliationRunResponse>> resumeRun(@PathVariable UUID id) {
+        ReconciliationRunResponse response = reconciliationJob.resume(id);
+        return ResponseEntity.ok(ApiResponse.success("Reconciliation resumed", response));
+    }
+
+    @GetMapping("/runs")
+    @Operation(summary = "List reconciliation runs", description = "Most recent runs with progress")
+    public ResponseEntity<ApiResponse<List<ReconciliationRunResponse>>> getRecentRuns() {
+        List<ReconciliationRunResponse> response = reconciliationService.getRecentRuns();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/runs/{id}")
+    @Operation(summary = "Get reconciliation run", description = "Progress and totals of a run")
+    public ResponseEntity<ApiResponse<ReconciliationRunResponse>> getRun(@PathVariable UUID id) {
+        ReconciliationRunResponse response = reconciliationService.getRun(id);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
@@ -1,12 +1,14 @@
 package com.banana.harvest.controller;
 
 import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
 import com.banana.harvest.dto.report.*;
 import com.banana.harvest.security.UserPrincipal;
 import com.banana.harvest.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,6 +25,9 @@ public class ReportController {
 
     private final ReportService reportService;
 
+    @Value("${pagination.legacy-list-cap:1000}")
+    private int legacyListCap;
+
     @GetMapping("/dashboard")
     @Operation(summary = "Get dashboard stats", description = "Get key metrics for dashboard")
     public ResponseEntity<ApiResponse<DashboardStats>> getDashboardStats() {
@@ -32,9 +37,24 @@ public class ReportController {
 
     @GetMapping("/vendor-ledger/{vendorId}")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER') or @securityService.isCurrentUser(#vendorId)")
-    @Operation(summary = "Get vendor ledger", description = "Get transaction history for a vendor")
+    @Operation(summary = "Get vendor ledger",
+            description = "Get a vendor's newest transactions, capped; use /vendor-ledger/{vendorId}/cursor to page")
     public ResponseEntity<ApiResponse<List<VendorLedgerResponse>>> getVendorLedger(@PathVariable UUID vendorId) {
-        List<VendorLedgerResponse> response = reportService.getVendorLedger(vendorId);
+        return LegacyList.of(reportService.getVendorLedgerPage(vendorId, null, null, null, legacyListCap));
+    }
+
+    @GetMapping("/vendor-ledger/{vendorId}/cursor")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER') or @securityService.isCurrentUser(#vendorId)")
+    @Operation(summary = "Get vendor ledger (cursor)",
+            description = "Get a page of a vendor's transactions, newest first, filtered by type and batch")
+    public ResponseEntity<ApiResponse<CursorPage<VendorLedgerResponse>>> getVendorLedgerPage(
+            @PathVariable UUID vendorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String transactionType,
+            @RequestParam(required = false) UUID batchId) {
+        CursorPage<VendorLedgerResponse> response = reportService.getVendorLedgerPage(vendorId, transactionType,
+                batchId, cursor, CursorPage.checkSize(size));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -63,10 +83,25 @@ public class ReportController {
 
     @GetMapping("/my-ledger")
     @PreAuthorize("hasRole('VENDOR')")
-    @Operation(summary = "Get my ledger", description = "Get current vendor's transaction history")
+    @Operation(summary = "Get my ledger",
+            description = "Get current vendor's newest transactions, capped; use /my-ledger/cursor to page")
     public ResponseEntity<ApiResponse<List<VendorLedgerResponse>>> getMyLedger(
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
-        List<VendorLedgerResponse> response = reportService.getVendorLedger(userPrincipal.getId());
+        return LegacyList.of(reportService.getVendorLedgerPage(userPrincipal.getId(), null, null, null, legacyListCap));
+    }
+
+    @GetMapping("/my-ledger/cursor")
+    @PreAuthorize("hasRole('VENDOR')")
+    @Operation(summary = "Get my ledger (cursor)",
+            description = "Get a page of current vendor's transactions, newest first, filtered by type and batch")
+    public ResponseEntity<ApiResponse<CursorPage<VendorLedgerResponse>>> getMyLedgerPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) String transactionType,
+            @RequestParam(required = false) UUID batchId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        CursorPage<VendorLedgerResponse> response = reportService.getVendorLedgerPage(userPrincipal.getId(),
+                transactionType, batchId, cursor, CursorPage.checkSize(size));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
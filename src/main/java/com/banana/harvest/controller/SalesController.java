@@ -1,8 +1,12 @@
 package com.banana.harvest.controller;
 
 import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.FieldSelection;
 import com.banana.harvest.dto.sales.SaleRequest;
 import com.banana.harvest.dto.sales.SaleResponse;
+import com.banana.harvest.entity.enums.PaymentStatus;
+import com.banana.harvest.entity.enums.SaleType;
 import com.banana.harvest.security.UserPrincipal;
 import com.banana.harvest.service.SalesService;
 import com.banana.harvest.service.PdfInvoiceService;
@@ -12,8 +16,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +28,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -36,6 +43,9 @@ public class SalesController {
     private final PdfInvoiceService pdfInvoiceService;
     private final InvoiceSharingService invoiceSharingService;
 
+    @Value("${pagination.legacy-list-cap:1000}")
+    private int legacyListCap;
+
     @PostMapping
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
     @Operation(summary = "Create sale", description = "Create a new sale and generate invoice")
@@ -52,15 +62,35 @@ public class SalesController {
 
     @GetMapping
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
-    @Operation(summary = "Get all sales", description = "Get list of all sales")
-    public ResponseEntity<ApiResponse<List<SaleResponse>>> getAllSales() {
-        List<SaleResponse> response = salesService.getAllSales();
+    @Operation(summary = "Get all sales", description = "Get the newest sales, capped; use /api/sales/cursor to page")
+    public ResponseEntity<ApiResponse<List<SaleResponse>>> getAllSales(
+            @RequestParam(required = false) String fields) {
+        return LegacyList.of(salesService.getSalesPage(null, null, null, null, null, null, legacyListCap,
+                FieldSelection.parse(fields)));
+    }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
+    @Operation(summary = "Get sales (cursor)",
+            description = "Get a page of sales, newest first, filtered by payment status, type, batch and sale date")
+    public ResponseEntity<ApiResponse<CursorPage<SaleResponse>>> getSalesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) SaleType saleType,
+            @RequestParam(required = false) UUID batchId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(required = false) String fields) {
+        CursorPage<SaleResponse> response = salesService.getSalesPage(paymentStatus, saleType, batchId, fromDate,
+                toDate, cursor, CursorPage.checkSize(size), FieldSelection.parse(fields));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
     @GetMapping("/paged")
     @PreAuthorize("hasRole('SUPER_ADMIN') or hasRole('MANAGER')")
-    @Operation(summary = "Get sales (paged)", description = "Get paginated list of sales")
+    @Operation(summary = "Get sales (paged)", description = "Get paginated list of sales. Use /api/sales/cursor for deep pages",
+            deprecated = true)
     public ResponseEntity<ApiResponse<Page<SaleResponse>>> getSalesPaged(Pageable pageable) {
         Page<SaleResponse> response = salesService.getSalesPaged(pageable);
         return ResponseEntity.ok(ApiResponse.success(response));
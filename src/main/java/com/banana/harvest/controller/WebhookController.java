@@ -0,0 +1,80 @@
+package com.banana.harvest.controller;
+
+import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.webhook.WebhookEndpointRequest;
+import com.banana.harvest.dto.webhook.WebhookEndpointResponse;
+import com.banana.harvest.service.WebhookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/webhooks")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('SUPER_ADMIN')")
+@Tag(name = "Webhooks", description = "Outbound webhook endpoints for ERP and accounting integration")
+public class WebhookController {
+
+    private final WebhookService webhookService;
+
+    @GetMapping
+    @Operation(summary = "List webhook endpoints", description = "List endpoints with their delivery cursor and status")
+    public ResponseEntity<ApiResponse<List<WebhookEndpointResponse>>> getAllEndpoints() {
+        List<WebhookEndpointResponse> response = webhookService.getAllEndpoints();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get webhook endpoint", description = "Get endpoint details and delivery status")
+    public ResponseEntity<ApiResponse<WebhookEndpointResponse>> getEndpoint(@PathVariable UUID id) {
+        WebhookEndpointResponse response = webhookService.getEndpoint(id);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create webhook endpoint", description = "Register an endpoint; delivery starts with events after creation")
+    public ResponseEntity<ApiResponse<WebhookEndpointResponse>> createEndpoint(
+            @Valid @RequestBody WebhookEndpointRequest request) {
+        WebhookEndpointResponse response = webhookService.createEndpoint(request);
+        return ResponseEntity.ok(ApiResponse.success("Webhook endpoint created successfully", response));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update webhook endpoint", description = "Change URL, secret, event types or active flag")
+    public ResponseEntity<ApiResponse<WebhookEndpointResponse>> updateEndpoint(
+            @PathVariable UUID id,
+            @Valid @RequestBody WebhookEndpointRequest request) {
+        WebhookEndpointResponse response = webhookService.updateEndpoint(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Webhook endpoint updated successfully", response));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete webhook endpoint", description = "Stop delivering to the endpoint")
+    public ResponseEntity<ApiResponse<Void>> deleteEndpoint(@PathVariable UUID id) {
+        webhookService.deleteEndpoint(id);
+        return ResponseEntity.ok(ApiResponse.success("Webhook endpoint deleted successfully", null));
+    }
+
+    @PostMapping("/{id}/cursor")
+    @Operation(summary = "Reset delivery cursor", description = "Redeliver events after the given event id")
+    public ResponseEntity<ApiResponse<WebhookEndpointResponse>> resetCursor(
+            @PathVariable UUID id,
+            @RequestParam long afterEventId) {
+        WebhookEndpointResponse response = webhookService.resetCursor(id, afterEventId);
+        return ResponseEntity.ok(ApiResponse.success("Webhook cursor reset successfully", response));
+    }
+
+    @PostMapping("/{id}/deliver")
+    @Operation(summary = "Deliver now", description = "Skip the retry backoff and deliver on the next poll")
+    public ResponseEntity<ApiResponse<Void>> triggerDelivery(@PathVariable UUID id) {
+        webhookService.triggerDelivery(id);
+        return ResponseEntity.ok(ApiResponse.success("Webhook delivery scheduled", null));
+    }
+}
@@ -0,0 +1,48 @@
+package com.banana.harvest.dto.common;
+
+import com.banana.harvest.exception.BusinessException;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. Pass nextCursor back as ?cursor= for the following
+ * page; it is null on the last page.
+ */
+@Data
+@Builder
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    /**
+     * Builds the page from rows fetched with limit + 1: the extra row only tells whether
+     * another page exists and is dropped
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        return CursorPage.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(page.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    public static int checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BusinessException("Page size must be between 1 and " + MAX_SIZE, "INVALID_PAGE_SIZE");
+        }
+        return size;
+    }
+}
@@ -0,0 +1,63 @@
+package com.banana.harvest.dto.common;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The response fields a client asked for with ?fields=, a comma-separated list of property
+ * paths such as fields=id,batchId,status. Names select properties of the response objects;
+ * nested objects are selected whole by their name (farm) or in part by dotted paths
+ * (farm.name). Without the parameter every field is included. Unknown names are ignored.
+ * Services use it to skip joins and lookups whose fields are not written; the response
+ * filter drops the remaining unselected fields.
+ */
+public final class FieldSelection {
+
+    public static final String PARAMETER = "fields";
+    public static final FieldSelection ALL = new FieldSelection(Set.of());
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        return new FieldSelection(Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Whether the property at this path is written: it is selected, lies inside a selected
+     * object, or is an object holding a selected path
+     */
+    public boolean includes(String path) {
+        if (fields.isEmpty() || fields.contains(path)) {
+            return true;
+        }
+        for (String field : fields) {
+            if (isWithin(path, field) || isWithin(field, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean includesAny(String... candidates) {
+        return Arrays.stream(candidates).anyMatch(this::includes);
+    }
+
+    private static boolean isWithin(String path, String parent) {
+        return path.length() > parent.length() && path.charAt(parent.length()) == '.' && path.startsWith(parent);
+    }
+}
@@ -0,0 +1,48 @@
+package com.banana.harvest.dto.common;
+
+import com.banana.harvest.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a list sorted newest first by (createdAt, id): the next page holds the
+ * rows strictly before it. Clients only see the opaque token from {@link #encode()}.
+ */
+public record PageCursor(LocalDateTime createdAt, UUID id) {
+
+    /**
+     * Position before every row, used for the first page so the query keeps one shape
+     */
+    public static final PageCursor FIRST = new PageCursor(LocalDateTime.of(9999, 12, 31, 0, 0),
+            new UUID(-1L, -1L));
+
+    public static PageCursor of(LocalDateTime createdAt, UUID id) {
+        return new PageCursor(createdAt, id);
+    }
+
+    public String encode() {
+        String key = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * FIRST for a missing token, otherwise the position the token was issued for
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = key.indexOf('|');
+            return new PageCursor(LocalDateTime.parse(key.substring(0, separator)),
+                    UUID.fromString(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Invalid page cursor", "INVALID_CURSOR");
+        }
+    }
+}
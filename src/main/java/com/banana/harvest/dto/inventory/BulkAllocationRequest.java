@@ -0,0 +1,26 @@
+package com.banana.harvest.dto.inventory;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Allocation matrix: quantities.get(b).get(i) of itemIds[i] goes to batchIds[b]; zero skips the cell
+ */
+@Data
+public class BulkAllocationRequest {
+
+    @NotEmpty(message = "At least one batch is required")
+    private List<@NotNull String> batchIds;
+
+    @NotEmpty(message = "At least one item is required")
+    private List<@NotNull String> itemIds;
+
+    @NotEmpty(message = "Quantities are required")
+    private List<@NotNull List<@NotNull @PositiveOrZero(message = "Quantity cannot be negative") Integer>> quantities;
+
+    private String notes;
+}
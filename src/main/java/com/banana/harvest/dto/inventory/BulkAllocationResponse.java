@@ -0,0 +1,16 @@
+package com.banana.harvest.dto.inventory;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class BulkAllocationResponse {
+    private Integer batchCount;
+    private Integer allocationCount;
+    private Integer ledgerEntryCount;
+    // Total allocated per item code
+    private Map<String, Integer> quantityByItem;
+}
@@ -2,6 +2,7 @@ package com.banana.harvest.dto.inventory;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 @Data
@@ -14,7 +15,11 @@ public class InventoryAllocationRequest {
     private String itemId;
     
     @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
     private Integer quantity;
     
     private String notes;
+
+    // Allocate from a stock reservation instead of available stock
+    private String reservationId;
 }
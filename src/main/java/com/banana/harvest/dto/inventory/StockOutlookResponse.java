@@ -0,0 +1,18 @@
+package com.banana.harvest.dto.inventory;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Builder
+public class StockOutlookResponse {
+    private UUID itemId;
+    private String itemName;
+    private Integer onHand;
+    private Integer threshold;
+    private Double dailyConsumption;
+    private Double daysOfCover;
+    private Boolean alerted;
+}
@@ -0,0 +1,23 @@
+package com.banana.harvest.dto.inventory;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class StockReservationRequest {
+
+    @NotBlank(message = "Item ID is required")
+    private String itemId;
+
+    @NotNull(message = "Quantity is required")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+
+    private String batchId;
+
+    // Defaults to inventory.reservation.default-ttl-seconds
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds;
+}
@@ -0,0 +1,22 @@
+package com.banana.harvest.dto.inventory;
+
+import com.banana.harvest.entity.enums.ReservationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class StockReservationResponse {
+    private UUID id;
+    private UUID itemId;
+    private UUID batchId;
+    private Integer quantity;
+    private Integer allocatedQuantity;
+    private ReservationStatus status;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+}
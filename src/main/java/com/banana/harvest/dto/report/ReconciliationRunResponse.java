@@ -0,0 +1,23 @@
+package com.banana.harvest.dto.report;
+
+import com.banana.harvest.entity.enums.ReconciliationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class ReconciliationRunResponse {
+    private UUID id;
+    private ReconciliationStatus status;
+    private String triggeredBy;
+    private Integer totalChunks;
+    private Integer completedChunks;
+    private Integer batchCount;
+    private Integer ledgerEntries;
+    private String lastError;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
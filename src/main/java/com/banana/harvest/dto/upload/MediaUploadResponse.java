@@ -0,0 +1,21 @@
+package com.banana.harvest.dto.upload;
+
+import com.banana.harvest.entity.enums.MediaUploadStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class MediaUploadResponse {
+    private UUID id;
+    private String mediaType;
+    private String fileUrl;
+    private UUID inspectionId;
+    private MediaUploadStatus status;
+    private String rejectionReason;
+    private LocalDateTime completedAt;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,31 @@
+package com.banana.harvest.dto.upload;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class UploadIntentRequest {
+
+    @NotBlank(message = "Media type is required")
+    @Pattern(regexp = "PHOTO|VIDEO", message = "Media type must be PHOTO or VIDEO")
+    private String mediaType;
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @NotNull(message = "Content length is required")
+    @Positive(message = "Content length must be positive")
+    private Long contentLength;
+
+    private String inspectionId;
+
+    // Optional SHA-256 (hex) of the file; the stored object must match it on completion
+    @Pattern(regexp = "[0-9a-f]{64}", message = "sha256 must be 64 lowercase hex characters")
+    private String sha256;
+}
@@ -0,0 +1,19 @@
+package com.banana.harvest.dto.upload;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+public class UploadIntentResponse {
+    private UUID uploadId;
+    private String objectKey;
+    private String uploadUrl;
+    private String uploadMethod;
+    private String contentType;
+    private String fileUrl;
+    private LocalDateTime expiresAt;
+}
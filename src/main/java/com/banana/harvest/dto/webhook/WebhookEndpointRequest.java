@@ -0,0 +1,28 @@
+package com.banana.harvest.dto.webhook;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class WebhookEndpointRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100)
+    private String name;
+
+    @NotBlank(message = "URL is required")
+    @Pattern(regexp = "^https?://.+", message = "URL must be http(s)")
+    private String url;
+
+    // Generated when omitted
+    private String secret;
+
+    // Wire names such as sale.created; empty means all webhook events
+    private List<String> eventTypes;
+
+    private Boolean isActive;
+}
@@ -0,0 +1,27 @@
+package com.banana.harvest.dto.webhook;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+public class WebhookEndpointResponse {
+    private UUID id;
+    private String name;
+    private String url;
+    // Returned once, when the endpoint is created
+    private String secret;
+    private List<String> eventTypes;
+    private Boolean isActive;
+    private Long lastEventId;
+    private Long latestEventId;
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private LocalDateTime lastDeliveredAt;
+    private LocalDateTime createdAt;
+}
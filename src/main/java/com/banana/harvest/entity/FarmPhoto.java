@@ -1,5 +1,6 @@
 package com.banana.harvest.entity;
 
+import com.banana.harvest.entity.id.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,7 +22,7 @@ import java.util.UUID;
 public class FarmPhoto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,6 +35,10 @@ public class FarmPhoto {
     @Column(name = "photo_type", nullable = false)
     private String photoType;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "blob_id")
+    private MediaBlob blob;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploaded_by")
     private User uploadedBy;
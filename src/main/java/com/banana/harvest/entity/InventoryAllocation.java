@@ -35,6 +35,11 @@ public class InventoryAllocation {
     @Column(nullable = false)
     private Integer quantity;
 
+    // Stock reservation the quantity was taken from, if any
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reservation_id")
+    private StockReservation reservation;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "allocated_by")
     private User allocatedBy;
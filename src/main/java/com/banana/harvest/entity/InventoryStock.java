@@ -37,9 +37,17 @@ public class InventoryStock {
     @Builder.Default
     private Integer reservedQuantity = 0;
 
+    // Taken from available by active stock reservations, not yet allocated
+    @Column(name = "held_quantity")
+    @Builder.Default
+    private Integer heldQuantity = 0;
+
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
 
+    @Version
+    private Long version;
+
     @PreUpdate
     @PrePersist
     public void preUpdate() {
@@ -1,6 +1,7 @@
 package com.banana.harvest.entity;
 
 import com.banana.harvest.entity.enums.PaymentStatus;
+import com.banana.harvest.entity.id.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,7 +24,7 @@ import java.util.UUID;
 public class LaborCost {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,56 @@
+package com.banana.harvest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A stored media object, shared by every FarmPhoto with the same content.
+ * refCount is the number of FarmPhoto rows pointing at it; unreferenced blobs are
+ * collected a grace period after their URL was last issued.
+ */
+@Entity
+@Table(name = "media_blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class MediaBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // SHA-256 hex of the content; null for objects stored under a non content-addressed key
+    @Column(name = "content_hash", unique = true, length = 64)
+    private String contentHash;
+
+    @Column(name = "object_key", nullable = false, unique = true, length = 500)
+    private String objectKey;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private Integer refCount = 0;
+
+    // Last time the object's URL was handed to an uploader
+    @Column(name = "issued_at")
+    private LocalDateTime issuedAt;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,77 @@
+package com.banana.harvest.entity;
+
+import com.banana.harvest.entity.enums.MediaUploadStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A direct-to-storage upload: created with a signed upload URL, then validated
+ * and attached to its inspection once the client reports completion
+ */
+@Entity
+@Table(name = "media_uploads")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class MediaUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "object_key", nullable = false, length = 500)
+    private String objectKey;
+
+    @Column(name = "media_type", nullable = false)
+    private String mediaType;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "original_file_name")
+    private String originalFileName;
+
+    // SHA-256 declared by the client; verified against the stored object on completion
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "inspection_id")
+    private FarmInspection inspection;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "uploaded_by", nullable = false)
+    private User uploadedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private MediaUploadStatus status = MediaUploadStatus.PENDING;
+
+    @Column(name = "rejection_reason", columnDefinition = "TEXT")
+    private String rejectionReason;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // When the client reported completion; a long-VALIDATING upload is picked up again by MediaUploadSweeper
+    @Column(name = "validation_started_at")
+    private LocalDateTime validationStartedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,61 @@
+package com.banana.harvest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A rendered message waiting to be merged with others for the same recipient
+ * into a single digest
+ */
+@Entity
+@Table(name = "notification_digest_items", indexes = {
+        @Index(name = "idx_notification_digest_recipient", columnList = "recipient_id, created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class NotificationDigestItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "recipient_id", nullable = false)
+    private UUID recipientId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "notification_type")
+    private String notificationType;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    @Column(name = "send_email", nullable = false)
+    private Boolean sendEmail;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
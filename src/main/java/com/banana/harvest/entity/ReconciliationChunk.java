@@ -0,0 +1,64 @@
+package com.banana.harvest.entity;
+
+import com.banana.harvest.entity.enums.ReconciliationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint for a slice of a reconciliation run. A chunk holds every batch of its
+ * vendors, so chunks can run in parallel without racing on a vendor's running balance.
+ * It is marked completed in the same transaction that writes its ledger entries.
+ */
+@Entity
+@Table(name = "reconciliation_chunks", indexes = {
+        @Index(name = "idx_reconciliation_chunks_run", columnList = "run_id, status")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "run_id", nullable = false)
+    private ReconciliationRun run;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    // Comma-separated batch ids
+    @Column(name = "batch_ids", nullable = false, columnDefinition = "TEXT")
+    private String batchIds;
+
+    @Column(name = "batch_count", nullable = false)
+    private Integer batchCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReconciliationStatus status = ReconciliationStatus.PENDING;
+
+    @Column(name = "ledger_entries", nullable = false)
+    @Builder.Default
+    private Integer ledgerEntries = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,67 @@
+package com.banana.harvest.entity;
+
+import com.banana.harvest.entity.enums.ReconciliationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One reconciliation pass over all batches, split into chunks.
+ * Counters are advanced by each chunk's transaction, so they always match the
+ * chunks that are checkpointed as completed.
+ */
+@Entity
+@Table(name = "reconciliation_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReconciliationStatus status = ReconciliationStatus.RUNNING;
+
+    // "scheduled" or "user:<id>"
+    @Column(name = "triggered_by", nullable = false, length = 100)
+    private String triggeredBy;
+
+    @Column(name = "total_chunks", nullable = false)
+    @Builder.Default
+    private Integer totalChunks = 0;
+
+    @Column(name = "completed_chunks", nullable = false)
+    @Builder.Default
+    private Integer completedChunks = 0;
+
+    @Column(name = "batch_count", nullable = false)
+    @Builder.Default
+    private Integer batchCount = 0;
+
+    @Column(name = "ledger_entries", nullable = false)
+    @Builder.Default
+    private Integer ledgerEntries = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @CreatedDate
+    @Column(name = "started_at", updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,71 @@
+package com.banana.harvest.entity;
+
+import com.banana.harvest.entity.enums.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Stock moved from available to held for a holder until it is allocated, released or expires.
+ * Holders are users (a two-step allocation) or an application instance escrowing a hot SKU.
+ * consumedQuantity is the part already moved on to reserved; allocations referencing the
+ * reservation are the source of truth when it is closed.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_stock_reservations_active", columnList = "status, expires_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class StockReservation {
+
+    public static final String ESCROW_HOLDER_PREFIX = "escrow:";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private InventoryItem item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "batch_id")
+    private Batch batch;
+
+    // "user:<id>" or "escrow:<instance>"
+    @Column(nullable = false, length = 100)
+    private String holder;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "consumed_quantity", nullable = false)
+    @Builder.Default
+    private Integer consumedQuantity = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReservationStatus status = ReservationStatus.ACTIVE;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+}
@@ -1,5 +1,6 @@
 package com.banana.harvest.entity;
 
+import com.banana.harvest.entity.id.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class VendorLedger {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
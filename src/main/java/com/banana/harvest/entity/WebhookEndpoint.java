@@ -0,0 +1,74 @@
+package com.banana.harvest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Receiver of outbound webhook batches.
+ * lastEventId is the delivery cursor: it only advances after the receiver acknowledged
+ * a batch with 2xx, so delivery is at-least-once and in event order.
+ */
+@Entity
+@Table(name = "webhook_endpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class WebhookEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 500)
+    private String url;
+
+    // HMAC key for the X-Webhook-Signature header
+    @Column(nullable = false)
+    private String secret;
+
+    // Comma-separated event types; empty means all
+    @Column(name = "event_types", length = 500)
+    private String eventTypes;
+
+    @Column(name = "is_active", nullable = false)
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @Column(name = "last_event_id", nullable = false)
+    @Builder.Default
+    private Long lastEventId = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Set while a dispatcher owns the endpoint, so only one instance delivers to it
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "last_delivered_at")
+    private LocalDateTime lastDeliveredAt;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
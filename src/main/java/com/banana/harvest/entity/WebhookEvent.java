@@ -0,0 +1,46 @@
+package com.banana.harvest.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only log of events offered to webhook endpoints.
+ * The id is a database sequence so endpoints can track delivery with a single cursor;
+ * rows are appended in commit order (see WebhookService#recordEvent).
+ */
+@Entity
+@Table(name = "webhook_events", indexes = {
+        @Index(name = "idx_webhook_events_type", columnList = "event_type, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "aggregate_id")
+    private UUID aggregateId;
+
+    @Column(name = "vendor_id")
+    private UUID vendorId;
+
+    // JSON object with the event delta
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
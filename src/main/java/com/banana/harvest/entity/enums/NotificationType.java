@@ -0,0 +1,12 @@
+package com.banana.harvest.entity.enums;
+
+public enum NotificationType {
+    NEW_INSPECTION,
+    INSPECTION_APPROVED,
+    INSPECTION_REJECTED,
+    INSPECTION_REQUEST_CREATED,
+    GATE_PASS_CREATED,
+    LOW_STOCK,
+    MATERIALS_ALLOCATED,
+    SALE_CREATED
+}
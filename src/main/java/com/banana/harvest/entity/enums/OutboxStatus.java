@@ -0,0 +1,7 @@
+package com.banana.harvest.entity.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
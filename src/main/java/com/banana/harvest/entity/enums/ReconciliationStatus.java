@@ -0,0 +1,8 @@
+package com.banana.harvest.entity.enums;
+
+public enum ReconciliationStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,21 @@
+package com.banana.harvest.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates the annotated UUID id as a time-ordered {@link UuidV7} instead of a random
+ * version 4. Use in place of {@code @GeneratedValue} on append-heavy tables; the column
+ * stays a plain uuid, so existing rows keep their ids.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7Id {
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +19,9 @@ public interface BatchCostRepository extends JpaRepository<BatchCost, UUID> {
     @Query("SELECT bc FROM BatchCost bc WHERE bc.batch.id = :batchId")
     Optional<BatchCost> findByBatch(@Param("batchId") UUID batchId);
     
+    @Query("SELECT bc FROM BatchCost bc WHERE bc.batch.id IN (SELECT s.batch.id FROM Sale s)")
+    List<BatchCost> findAllForSoldBatches();
+    
     @Query("SELECT COALESCE(AVG(bc.finalCostPerBox), 0) FROM BatchCost bc WHERE bc.batch.status = 'COMPLETED'")
     BigDecimal averageCostPerBox();
     
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -38,4 +39,43 @@ public interface BatchRepository extends JpaRepository<Batch, UUID> {
     
     @Query("SELECT b FROM Batch b WHERE b.status = 'IN_PROGRESS' AND b.vendor.id = :vendorId")
     List<Batch> findActiveBatchesByVendor(@Param("vendorId") UUID vendorId);
+
+    /**
+     * Batch and vendor ids of every batch with a vendor, grouped by vendor
+     */
+    @Query("SELECT b.id AS batchId, b.vendor.id AS vendorId FROM Batch b WHERE b.vendor IS NOT NULL ORDER BY b.vendor.id, b.id")
+    List<BatchVendor> findAllBatchVendors();
+
+    interface BatchVendor {
+        UUID getBatchId();
+        UUID getVendorId();
+    }
+
+    String PAGE_FILTER = "WHERE (:status IS NULL OR b.status = :status) " +
+            "AND (:vendorId IS NULL OR b.vendor.id = :vendorId) " +
+            "AND (:farmId IS NULL OR b.farm.id = :farmId) " +
+            "AND b.createdAt <= :afterAt AND (b.createdAt < :afterAt OR b.id < :afterId) " +
+            "ORDER BY b.createdAt DESC, b.id DESC";
+
+    /**
+     * Keyset page, newest first, with farm and vendor; every filter is optional
+     */
+    @Query("SELECT b FROM Batch b LEFT JOIN FETCH b.farm LEFT JOIN FETCH b.vendor " + PAGE_FILTER)
+    List<Batch> findPage(@Param("status") BatchStatus status,
+                         @Param("vendorId") UUID vendorId,
+                         @Param("farmId") UUID farmId,
+                         @Param("afterAt") LocalDateTime afterAt,
+                         @Param("afterId") UUID afterId,
+                         Pageable limit);
+
+    /**
+     * The same page without joins, for responses that need no farm or vendor details
+     */
+    @Query("SELECT b FROM Batch b " + PAGE_FILTER)
+    List<Batch> findPageWithoutDetails(@Param("status") BatchStatus status,
+                                       @Param("vendorId") UUID vendorId,
+                                       @Param("farmId") UUID farmId,
+                                       @Param("afterAt") LocalDateTime afterAt,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable limit);
 }
@@ -0,0 +1,11 @@
+package com.banana.harvest.repository;
+
+import java.util.UUID;
+
+/**
+ * Per-batch aggregate returned by the set-based reconciliation queries
+ */
+public interface BatchTotal {
+    UUID getBatchId();
+    Long getTotal();
+}
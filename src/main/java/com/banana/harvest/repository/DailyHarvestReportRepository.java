@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,7 +16,7 @@ public interface DailyHarvestReportRepository extends JpaRepository<DailyHarvest
     
     List<DailyHarvestReport> findByBatchId(UUID batchId);
     
-    @Query("SELECT dhr FROM DailyHarvestReport dhr WHERE dhr.batch.id = :batchId ORDER BY dhr.reportDate DESC")
+    @Query("SELECT dhr FROM DailyHarvestReport dhr JOIN FETCH dhr.batch WHERE dhr.batch.id = :batchId ORDER BY dhr.reportDate DESC")
     List<DailyHarvestReport> findByBatchOrderByDate(@Param("batchId") UUID batchId);
     
     @Query("SELECT COALESCE(SUM(dhr.boxesPacked), 0) FROM DailyHarvestReport dhr WHERE dhr.batch.id = :batchId")
@@ -29,4 +30,12 @@ public interface DailyHarvestReportRepository extends JpaRepository<DailyHarvest
     
     @Query("SELECT COALESCE(SUM(dhr.boxesPacked), 0) FROM DailyHarvestReport dhr WHERE dhr.reportDate = CURRENT_DATE")
     Integer sumTodayBoxesPacked();
+
+    @Query("SELECT dhr.batch.id AS batchId, SUM(dhr.boxesWasted) AS total FROM DailyHarvestReport dhr " +
+            "WHERE dhr.batch.id IN :batchIds GROUP BY dhr.batch.id")
+    List<BatchTotal> sumBoxesWastedByBatches(@Param("batchIds") Collection<UUID> batchIds);
+
+    @Query("SELECT dhr.batch.id AS batchId, SUM(dhr.boxesPacked) AS total FROM DailyHarvestReport dhr " +
+            "WHERE dhr.batch.id IN :batchIds GROUP BY dhr.batch.id")
+    List<BatchTotal> sumBoxesPackedByBatches(@Param("batchIds") Collection<UUID> batchIds);
 }
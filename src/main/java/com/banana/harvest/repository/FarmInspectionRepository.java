@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,9 +29,41 @@ public interface FarmInspectionRepository extends JpaRepository<FarmInspection,
     @Query("SELECT fi FROM FarmInspection fi WHERE fi.farm.id = :farmId ORDER BY fi.createdAt DESC")
     List<FarmInspection> findByFarmId(@Param("farmId") UUID farmId);
     
+    @Query("SELECT fi FROM FarmInspection fi JOIN FETCH fi.farm JOIN FETCH fi.vendor WHERE fi.id IN :ids")
+    List<FarmInspection> findAllWithFarmAndVendorByIdIn(@Param("ids") Collection<UUID> ids);
+    
     @Query("SELECT COUNT(fi) FROM FarmInspection fi WHERE fi.status = :status")
     Long countByStatus(@Param("status") InspectionStatus status);
     
     @Query("SELECT COUNT(fi) FROM FarmInspection fi WHERE fi.vendor.id = :vendorId AND fi.status IN ('PENDING', 'ASSIGNED', 'REQUESTED', 'IN_PROGRESS')")
     Long countPendingByVendor(@Param("vendorId") UUID vendorId);
+
+    String PAGE_FILTER = "WHERE (:status IS NULL OR fi.status = :status) " +
+            "AND (:vendorId IS NULL OR fi.vendor.id = :vendorId) " +
+            "AND (:farmId IS NULL OR fi.farm.id = :farmId) " +
+            "AND fi.createdAt <= :afterAt AND (fi.createdAt < :afterAt OR fi.id < :afterId) " +
+            "ORDER BY fi.createdAt DESC, fi.id DESC";
+
+    /**
+     * Keyset page, newest first, with farm, vendor and approver; every filter is optional
+     */
+    @Query("SELECT fi FROM FarmInspection fi JOIN FETCH fi.farm JOIN FETCH fi.vendor LEFT JOIN FETCH fi.approvedBy " +
+            PAGE_FILTER)
+    List<FarmInspection> findPage(@Param("status") InspectionStatus status,
+                                  @Param("vendorId") UUID vendorId,
+                                  @Param("farmId") UUID farmId,
+                                  @Param("afterAt") LocalDateTime afterAt,
+                                  @Param("afterId") UUID afterId,
+                                  Pageable limit);
+
+    /**
+     * The same page without joins, for responses that need no farm, vendor or approver details
+     */
+    @Query("SELECT fi FROM FarmInspection fi " + PAGE_FILTER)
+    List<FarmInspection> findPageWithoutDetails(@Param("status") InspectionStatus status,
+                                                @Param("vendorId") UUID vendorId,
+                                                @Param("farmId") UUID farmId,
+                                                @Param("afterAt") LocalDateTime afterAt,
+                                                @Param("afterId") UUID afterId,
+                                                Pageable limit);
 }
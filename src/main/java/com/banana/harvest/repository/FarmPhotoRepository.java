@@ -2,8 +2,11 @@ package com.banana.harvest.repository;
 
 import com.banana.harvest.entity.FarmPhoto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +14,13 @@ import java.util.UUID;
 public interface FarmPhotoRepository extends JpaRepository<FarmPhoto, UUID> {
     
     List<FarmPhoto> findByInspectionId(UUID inspectionId);
+    
+    @Query("SELECT p.inspection.id AS inspectionId, p.photoUrl AS photoUrl FROM FarmPhoto p " +
+            "WHERE p.inspection.id IN :inspectionIds ORDER BY p.createdAt")
+    List<InspectionPhotoUrl> findPhotoUrlsByInspectionIds(@Param("inspectionIds") Collection<UUID> inspectionIds);
+    
+    interface InspectionPhotoUrl {
+        UUID getInspectionId();
+        String getPhotoUrl();
+    }
 }
@@ -1,6 +1,7 @@
 package com.banana.harvest.repository;
 
 import com.banana.harvest.entity.Farm;
+import com.banana.harvest.entity.enums.FarmStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,4 +26,19 @@ public interface FarmRepository extends JpaRepository<Farm, UUID> {
     
     @Query("SELECT f FROM Farm f WHERE f.createdBy.id = :userId")
     List<Farm> findByCreatedBy(@Param("userId") UUID userId);
+
+    /**
+     * Keyset page, newest first: rows before (afterAt, afterId) matching the optional status and
+     * the lower-case LIKE pattern on farmer name or location. Fetch one more row than the page size.
+     */
+    @Query("SELECT f FROM Farm f LEFT JOIN FETCH f.createdBy " +
+            "WHERE (:status IS NULL OR f.status = :status) " +
+            "AND (LOWER(f.farmerName) LIKE :pattern ESCAPE '\\' OR LOWER(f.location) LIKE :pattern ESCAPE '\\') " +
+            "AND f.createdAt <= :afterAt AND (f.createdAt < :afterAt OR f.id < :afterId) " +
+            "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Farm> findPage(@Param("status") FarmStatus status,
+                        @Param("pattern") String pattern,
+                        @Param("afterAt") LocalDateTime afterAt,
+                        @Param("afterId") UUID afterId,
+                        Pageable limit);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,4 +22,8 @@ public interface GatePassRepository extends JpaRepository<GatePass, UUID> {
 
     @Query("SELECT COALESCE(SUM(gp.receivedBoxes), 0) FROM GatePass gp WHERE gp.batch.id = :batchId AND gp.receivedBoxes IS NOT NULL")
     Integer sumReceivedBoxesByBatch(@Param("batchId") UUID batchId);
+
+    @Query("SELECT gp.batch.id AS batchId, SUM(gp.receivedBoxes) AS total FROM GatePass gp " +
+            "WHERE gp.batch.id IN :batchIds AND gp.receivedBoxes IS NOT NULL GROUP BY gp.batch.id")
+    List<BatchTotal> sumReceivedBoxesByBatches(@Param("batchIds") Collection<UUID> batchIds);
 }
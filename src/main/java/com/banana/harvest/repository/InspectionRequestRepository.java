@@ -2,9 +2,14 @@ package com.banana.harvest.repository;
 
 import com.banana.harvest.entity.InspectionRequest;
 import com.banana.harvest.entity.enums.InspectionRequestStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,4 +21,23 @@ public interface InspectionRequestRepository extends JpaRepository<InspectionReq
     List<InspectionRequest> findByVendorId(UUID vendorId);
     
     List<InspectionRequest> findByStatus(InspectionRequestStatus status);
+    
+    @Query("SELECT r FROM InspectionRequest r JOIN FETCH r.farm JOIN FETCH r.vendor WHERE r.id IN :ids")
+    List<InspectionRequest> findAllWithFarmAndVendorByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Keyset page, newest first, with farm and vendor; every filter is optional
+     */
+    @Query("SELECT r FROM InspectionRequest r JOIN FETCH r.farm JOIN FETCH r.vendor " +
+            "WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:vendorId IS NULL OR r.vendor.id = :vendorId) " +
+            "AND (:farmId IS NULL OR r.farm.id = :farmId) " +
+            "AND r.createdAt <= :afterAt AND (r.createdAt < :afterAt OR r.id < :afterId) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<InspectionRequest> findPage(@Param("status") InspectionRequestStatus status,
+                                     @Param("vendorId") UUID vendorId,
+                                     @Param("farmId") UUID farmId,
+                                     @Param("afterAt") LocalDateTime afterAt,
+                                     @Param("afterId") UUID afterId,
+                                     Pageable limit);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,4 +20,12 @@ public interface InventoryAllocationRepository extends JpaRepository<InventoryAl
     
     @Query("SELECT COALESCE(SUM(ia.quantity), 0) FROM InventoryAllocation ia WHERE ia.batch.id = :batchId AND ia.item.id = :itemId")
     Integer sumAllocatedByBatchAndItem(@Param("batchId") UUID batchId, @Param("itemId") UUID itemId);
+
+    @Query("SELECT COALESCE(SUM(ia.quantity), 0) FROM InventoryAllocation ia WHERE ia.reservation.id = :reservationId")
+    Integer sumQuantityByReservation(@Param("reservationId") UUID reservationId);
+
+    @Query("SELECT ia.batch.id AS batchId, SUM(ia.quantity) AS total FROM InventoryAllocation ia " +
+            "WHERE ia.batch.id IN :batchIds AND ia.item.category = com.banana.harvest.entity.enums.InventoryCategory.BOX " +
+            "GROUP BY ia.batch.id")
+    List<BatchTotal> sumBoxesAllocatedByBatches(@Param("batchIds") Collection<UUID> batchIds);
 }
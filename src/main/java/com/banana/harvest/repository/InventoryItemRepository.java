@@ -2,9 +2,15 @@ package com.banana.harvest.repository;
 
 import com.banana.harvest.entity.InventoryItem;
 import com.banana.harvest.entity.enums.InventoryCategory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,4 +25,43 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, UU
     List<InventoryItem> findByCategory(InventoryCategory category);
     
     List<InventoryItem> findByIsActiveTrue();
+
+    String CATALOG_SELECT = "SELECT i.id AS id, i.itemName AS itemName, i.itemCode AS itemCode, " +
+            "i.category AS category, i.unitOfMeasure AS unitOfMeasure, i.unitCost AS unitCost, " +
+            "i.isActive AS isActive, COALESCE(s.availableQuantity, 0) AS availableQuantity, i.createdAt AS createdAt " +
+            "FROM InventoryItem i LEFT JOIN InventoryStock s ON s.item = i ";
+
+    String CATALOG_FILTER = "WHERE i.isActive = true " +
+            "AND (:category IS NULL OR i.category = :category) " +
+            "AND (LOWER(i.itemName) LIKE :pattern ESCAPE '\\' OR LOWER(i.itemCode) LIKE :pattern ESCAPE '\\')";
+
+    /**
+     * Active items with their available stock in one query
+     */
+    @Query(CATALOG_SELECT + "WHERE i.isActive = true ORDER BY i.itemName")
+    List<CatalogEntry> findActiveCatalog();
+
+    @Query(CATALOG_SELECT + "WHERE i.id = :id")
+    Optional<CatalogEntry> findCatalogEntry(@Param("id") UUID id);
+
+    /**
+     * Pattern is a lower-case LIKE pattern matched against item name and code
+     */
+    @Query(value = CATALOG_SELECT + CATALOG_FILTER,
+            countQuery = "SELECT COUNT(i) FROM InventoryItem i " + CATALOG_FILTER)
+    Page<CatalogEntry> searchCatalog(@Param("category") InventoryCategory category,
+                                     @Param("pattern") String pattern,
+                                     Pageable pageable);
+
+    interface CatalogEntry {
+        UUID getId();
+        String getItemName();
+        String getItemCode();
+        InventoryCategory getCategory();
+        String getUnitOfMeasure();
+        BigDecimal getUnitCost();
+        Boolean getIsActive();
+        Integer getAvailableQuantity();
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -1,11 +1,16 @@
 package com.banana.harvest.repository;
 
 import com.banana.harvest.entity.InventoryStock;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,4 +27,84 @@ public interface InventoryStockRepository extends JpaRepository<InventoryStock,
     
     @Query("SELECT s FROM InventoryStock s WHERE s.item.id = :itemId")
     Optional<InventoryStock> findByItem(@Param("itemId") UUID itemId);
+
+    /**
+     * Stock not yet allocated (available plus held by reservations) for every item
+     */
+    @Query("SELECT s.item.id AS itemId, s.item.itemName AS itemName, s.item.itemCode AS itemCode, " +
+            "s.availableQuantity + COALESCE(s.heldQuantity, 0) AS onHand FROM InventoryStock s WHERE s.item.isActive = true")
+    List<OnHandLevel> findOnHandLevels();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InventoryStock s WHERE s.item.id = :itemId")
+    Optional<InventoryStock> findByItemIdForUpdate(@Param("itemId") UUID itemId);
+
+    /**
+     * Locks the stock rows of several items in item id order, so concurrent bulk
+     * allocations always acquire them in the same order and cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InventoryStock s WHERE s.item.id IN :itemIds ORDER BY s.item.id")
+    List<InventoryStock> findByItemIdsForUpdate(@Param("itemIds") Collection<UUID> itemIds);
+
+    // The conditional updates below check and change the counters in one statement,
+    // so concurrent allocations cannot oversell or lose updates. Each returns the rows updated.
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE banana_harvest.inventory_stock " +
+            "SET total_quantity = total_quantity + :quantity, available_quantity = available_quantity + :quantity, " +
+            "version = version + 1, last_updated = now() " +
+            "WHERE item_id = :itemId AND available_quantity + :quantity >= 0", nativeQuery = true)
+    int addStock(@Param("itemId") UUID itemId, @Param("quantity") int quantity);
+
+    /**
+     * Moves quantity from available straight to reserved (direct allocation)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE banana_harvest.inventory_stock " +
+            "SET available_quantity = available_quantity - :quantity, reserved_quantity = reserved_quantity + :quantity, " +
+            "version = version + 1, last_updated = now() " +
+            "WHERE item_id = :itemId AND available_quantity >= :quantity", nativeQuery = true)
+    int reserveAvailable(@Param("itemId") UUID itemId, @Param("quantity") int quantity);
+
+    /**
+     * Moves quantity from available to held for a stock reservation
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE banana_harvest.inventory_stock " +
+            "SET available_quantity = available_quantity - :quantity, held_quantity = held_quantity + :quantity, " +
+            "version = version + 1, last_updated = now() " +
+            "WHERE item_id = :itemId AND available_quantity >= :quantity", nativeQuery = true)
+    int holdAvailable(@Param("itemId") UUID itemId, @Param("quantity") int quantity);
+
+    /**
+     * Moves quantity from held to reserved when a reservation is allocated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE banana_harvest.inventory_stock " +
+            "SET held_quantity = held_quantity - :quantity, reserved_quantity = reserved_quantity + :quantity, " +
+            "version = version + 1, last_updated = now() " +
+            "WHERE item_id = :itemId AND held_quantity >= :quantity", nativeQuery = true)
+    int consumeHeld(@Param("itemId") UUID itemId, @Param("quantity") int quantity);
+
+    /**
+     * Settles a closed reservation: its remaining held quantity is split into
+     * allocated-but-unflushed (to reserved) and unused (back to available)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE banana_harvest.inventory_stock " +
+            "SET held_quantity = held_quantity - (:toReserved + :toAvailable), " +
+            "reserved_quantity = reserved_quantity + :toReserved, " +
+            "available_quantity = available_quantity + :toAvailable, " +
+            "version = version + 1, last_updated = now() " +
+            "WHERE item_id = :itemId AND held_quantity >= (:toReserved + :toAvailable)", nativeQuery = true)
+    int settleHeld(@Param("itemId") UUID itemId, @Param("toReserved") int toReserved,
+                   @Param("toAvailable") int toAvailable);
+
+    interface OnHandLevel {
+        UUID getItemId();
+        String getItemName();
+        String getItemCode();
+        Integer getOnHand();
+    }
 }
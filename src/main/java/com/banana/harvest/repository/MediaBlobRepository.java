@@ -0,0 +1,58 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.MediaBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, UUID> {
+
+    Optional<MediaBlob> findByContentHash(String contentHash);
+
+    Optional<MediaBlob> findByObjectKey(String objectKey);
+
+    boolean existsByObjectKey(String objectKey);
+
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount + 1 WHERE b.id = :id")
+    int incrementRefCount(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount - 1 WHERE b.id = :id AND b.refCount > 0")
+    int decrementRefCount(@Param("id") UUID id);
+
+    /**
+     * Inserts the blob unless one with the same hash or key exists; returns the rows inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO banana_harvest.media_blobs " +
+            "(id, content_hash, object_key, content_type, size_bytes, ref_count, issued_at, created_at) " +
+            "VALUES (gen_random_uuid(), :contentHash, :objectKey, :contentType, :sizeBytes, 0, :now, :now) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("contentHash") String contentHash, @Param("objectKey") String objectKey,
+                       @Param("contentType") String contentType, @Param("sizeBytes") long sizeBytes,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * Records that the blob's URL was handed out again; 0 if the blob has been collected
+     */
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.issuedAt = :issuedAt WHERE b.id = :id")
+    int markIssued(@Param("id") UUID id, @Param("issuedAt") LocalDateTime issuedAt);
+
+    /**
+     * Locks blobs no photo references whose URL was last issued before the cutoff
+     */
+    @Query(value = "SELECT * FROM banana_harvest.media_blobs " +
+            "WHERE ref_count = 0 AND issued_at < :cutoff " +
+            "ORDER BY issued_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MediaBlob> lockUnreferencedIssuedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,31 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.MediaUpload;
+import com.banana.harvest.entity.enums.MediaUploadStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MediaUploadRepository extends JpaRepository<MediaUpload, UUID> {
+
+    boolean existsByObjectKeyAndStatus(String objectKey, MediaUploadStatus status);
+
+    /**
+     * Locks the upload while it is VALIDATING; empty if it is not, or another worker is validating it
+     */
+    @Query(value = "SELECT * FROM banana_harvest.media_uploads " +
+            "WHERE id = :id AND status = 'VALIDATING' FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<MediaUpload> claimValidating(@Param("id") UUID id);
+
+    @Query(value = "SELECT id FROM banana_harvest.media_uploads " +
+            "WHERE status = 'VALIDATING' AND validation_started_at < :cutoff " +
+            "ORDER BY validation_started_at LIMIT :limit", nativeQuery = true)
+    List<UUID> findStaleValidatingIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,54 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.NotificationDigestItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationDigestItemRepository extends JpaRepository<NotificationDigestItem, UUID> {
+
+    /**
+     * Creates the delivery state row of each recipient that does not have one yet
+     */
+    @Modifying
+    @Query(value = "INSERT INTO banana_harvest.notification_digest_recipients (recipient_id) " +
+            "SELECT id FROM banana_harvest.users WHERE id IN (:recipientIds) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int registerRecipients(@Param("recipientIds") Collection<UUID> recipientIds);
+
+    /**
+     * Locks recipients with due items who have not been sent anything since windowStart.
+     * Recipients locked by another poller are skipped, together with all of their items.
+     */
+    @Query(value = "SELECT r.recipient_id FROM banana_harvest.notification_digest_recipients r " +
+            "WHERE (r.last_delivered_at IS NULL OR r.last_delivered_at <= :windowStart) " +
+            "AND EXISTS (SELECT 1 FROM banana_harvest.notification_digest_items i " +
+            "    WHERE i.recipient_id = r.recipient_id AND i.next_attempt_at <= :now) " +
+            "ORDER BY r.last_delivered_at NULLS FIRST LIMIT :limit " +
+            "FOR UPDATE OF r SKIP LOCKED", nativeQuery = true)
+    List<UUID> claimDueRecipients(
+            @Param("windowStart") LocalDateTime windowStart,
+            @Param("now") LocalDateTime now,
+            @Param("limit") int limit);
+
+    @Query("SELECT i FROM NotificationDigestItem i WHERE i.recipientId IN :recipientIds " +
+            "AND i.nextAttemptAt <= :now ORDER BY i.recipientId, i.createdAt")
+    List<NotificationDigestItem> findDueItems(
+            @Param("recipientIds") Collection<UUID> recipientIds,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE banana_harvest.notification_digest_recipients SET last_delivered_at = :deliveredAt " +
+            "WHERE recipient_id IN (:recipientIds)", nativeQuery = true)
+    int markDelivered(
+            @Param("recipientIds") Collection<UUID> recipientIds,
+            @Param("deliveredAt") LocalDateTime deliveredAt);
+}
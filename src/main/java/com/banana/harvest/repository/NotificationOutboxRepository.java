@@ -0,0 +1,29 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.NotificationOutbox;
+import com.banana.harvest.entity.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, UUID> {
+
+    /**
+     * Locks the next due batch. Rows locked by another poller are skipped, not waited on.
+     */
+    @Query(value = "SELECT * FROM banana_harvest.notification_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<NotificationOutbox> claimDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM NotificationOutbox n WHERE n.status = :status AND n.sentAt < :before")
+    int deleteByStatusAndSentAtBefore(@Param("status") OutboxStatus status, @Param("before") LocalDateTime before);
+}
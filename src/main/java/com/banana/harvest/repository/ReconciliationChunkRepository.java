@@ -0,0 +1,28 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.ReconciliationChunk;
+import com.banana.harvest.entity.enums.ReconciliationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReconciliationChunkRepository extends JpaRepository<ReconciliationChunk, UUID> {
+
+    @Query("SELECT c.id FROM ReconciliationChunk c WHERE c.run.id = :runId AND c.status <> :status ORDER BY c.chunkIndex")
+    List<UUID> findIdsByRunIdAndStatusNot(@Param("runId") UUID runId, @Param("status") ReconciliationStatus status);
+
+    long countByRunIdAndStatus(UUID runId, ReconciliationStatus status);
+
+    /**
+     * Locks the chunk; empty if another worker is processing it
+     */
+    @Query(value = "SELECT * FROM banana_harvest.reconciliation_chunks WHERE id = :id FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    Optional<ReconciliationChunk> claim(@Param("id") UUID id);
+}
@@ -0,0 +1,29 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.ReconciliationRun;
+import com.banana.harvest.entity.enums.ReconciliationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, UUID> {
+
+    Optional<ReconciliationRun> findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus status);
+
+    List<ReconciliationRun> findTop20ByOrderByStartedAtDesc();
+
+    /**
+     * Advances the counters in place, since chunks of one run commit concurrently
+     */
+    @Modifying
+    @Query("UPDATE ReconciliationRun r SET r.completedChunks = r.completedChunks + 1, " +
+            "r.batchCount = r.batchCount + :batches, r.ledgerEntries = r.ledgerEntries + :entries WHERE r.id = :id")
+    int recordChunkCompleted(@Param("id") UUID id, @Param("batches") int batches, @Param("entries") int entries);
+}
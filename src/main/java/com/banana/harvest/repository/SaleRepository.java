@@ -2,6 +2,7 @@ package com.banana.harvest.repository;
 
 import com.banana.harvest.entity.Sale;
 import com.banana.harvest.entity.enums.PaymentStatus;
+import com.banana.harvest.entity.enums.SaleType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +26,9 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
     
     Page<Sale> findByPaymentStatus(PaymentStatus status, Pageable pageable);
     
+    @Query("SELECT s FROM Sale s JOIN FETCH s.batch b LEFT JOIN FETCH b.farm")
+    List<Sale> findAllWithBatchAndFarm();
+    
     @Query("SELECT s FROM Sale s WHERE s.saleDate BETWEEN :startDate AND :endDate")
     List<Sale> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
     
@@ -38,4 +43,38 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
     
     @Query("SELECT COALESCE(SUM(s.totalBoxes), 0) FROM Sale s")
     Integer sumTotalBoxesSold();
+
+    String PAGE_FILTER = "WHERE (:paymentStatus IS NULL OR s.paymentStatus = :paymentStatus) " +
+            "AND (:saleType IS NULL OR s.saleType = :saleType) " +
+            "AND (:batchId IS NULL OR s.batch.id = :batchId) " +
+            "AND (:fromDate IS NULL OR s.saleDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR s.saleDate <= :toDate) " +
+            "AND s.createdAt <= :afterAt AND (s.createdAt < :afterAt OR s.id < :afterId) " +
+            "ORDER BY s.createdAt DESC, s.id DESC";
+
+    /**
+     * Keyset page, newest first, with the batch; every filter is optional and the sale date range inclusive
+     */
+    @Query("SELECT s FROM Sale s JOIN FETCH s.batch " + PAGE_FILTER)
+    List<Sale> findPage(@Param("paymentStatus") PaymentStatus paymentStatus,
+                        @Param("saleType") SaleType saleType,
+                        @Param("batchId") UUID batchId,
+                        @Param("fromDate") LocalDate fromDate,
+                        @Param("toDate") LocalDate toDate,
+                        @Param("afterAt") LocalDateTime afterAt,
+                        @Param("afterId") UUID afterId,
+                        Pageable limit);
+
+    /**
+     * The same page without the batch join, for responses that need no batch code
+     */
+    @Query("SELECT s FROM Sale s " + PAGE_FILTER)
+    List<Sale> findPageWithoutDetails(@Param("paymentStatus") PaymentStatus paymentStatus,
+                                      @Param("saleType") SaleType saleType,
+                                      @Param("batchId") UUID batchId,
+                                      @Param("fromDate") LocalDate fromDate,
+                                      @Param("toDate") LocalDate toDate,
+                                      @Param("afterAt") LocalDateTime afterAt,
+                                      @Param("afterId") UUID afterId,
+                                      Pageable limit);
 }
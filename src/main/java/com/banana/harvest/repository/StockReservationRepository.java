@@ -0,0 +1,30 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.id = :id")
+    Optional<StockReservation> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Locks active reservations past their expiry; rows locked by another sweeper are skipped
+     */
+    @Query(value = "SELECT * FROM banana_harvest.stock_reservations " +
+            "WHERE status = 'ACTIVE' AND expires_at < :now " +
+            "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<StockReservation> claimExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,4 +35,21 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") UserRole role);
+
+    /**
+     * Keyset page, newest first, optionally by role and active flag, matching the lower-case
+     * LIKE pattern on name or email
+     */
+    @Query("SELECT u FROM User u " +
+            "WHERE (:role IS NULL OR u.role = :role) " +
+            "AND (:isActive IS NULL OR u.isActive = :isActive) " +
+            "AND (LOWER(u.fullName) LIKE :pattern ESCAPE '\\' OR LOWER(u.email) LIKE :pattern ESCAPE '\\') " +
+            "AND u.createdAt <= :afterAt AND (u.createdAt < :afterAt OR u.id < :afterId) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPage(@Param("role") UserRole role,
+                        @Param("isActive") Boolean isActive,
+                        @Param("pattern") String pattern,
+                        @Param("afterAt") LocalDateTime afterAt,
+                        @Param("afterId") UUID afterId,
+                        Pageable limit);
 }
@@ -9,6 +9,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,4 +35,38 @@ public interface VendorLedgerRepository extends JpaRepository<VendorLedger, UUID
     
     @Query("SELECT vl FROM VendorLedger vl WHERE vl.vendor.id = :vendorId ORDER BY vl.createdAt DESC LIMIT 1")
     VendorLedger findLatestByVendor(@Param("vendorId") UUID vendorId);
+
+    @Query("SELECT vl.batch.id AS batchId, SUM(vl.quantity) AS total FROM VendorLedger vl " +
+            "WHERE vl.batch.id IN :batchIds AND vl.transactionType = :transactionType GROUP BY vl.batch.id")
+    List<BatchTotal> sumQuantityByBatches(@Param("batchIds") Collection<UUID> batchIds,
+                                          @Param("transactionType") String transactionType);
+
+    /**
+     * Boxes issued minus returned and damaged, per vendor
+     */
+    @Query("SELECT vl.vendor.id AS vendorId, SUM(CASE WHEN vl.transactionType = 'BOX_ISSUED' THEN vl.quantity " +
+            "WHEN vl.transactionType IN ('BOX_RETURNED', 'BOX_DAMAGED') THEN -vl.quantity ELSE 0 END) AS balance " +
+            "FROM VendorLedger vl WHERE vl.vendor.id IN :vendorIds AND vl.quantity IS NOT NULL GROUP BY vl.vendor.id")
+    List<VendorBoxBalance> sumBoxBalancesByVendors(@Param("vendorIds") Collection<UUID> vendorIds);
+
+    interface VendorBoxBalance {
+        UUID getVendorId();
+        Long getBalance();
+    }
+
+    /**
+     * Keyset page of one vendor's ledger, newest first, optionally for one transaction type or batch
+     */
+    @Query("SELECT vl FROM VendorLedger vl JOIN FETCH vl.vendor LEFT JOIN FETCH vl.batch " +
+            "WHERE vl.vendor.id = :vendorId " +
+            "AND (:transactionType IS NULL OR vl.transactionType = :transactionType) " +
+            "AND (:batchId IS NULL OR vl.batch.id = :batchId) " +
+            "AND vl.createdAt <= :afterAt AND (vl.createdAt < :afterAt OR vl.id < :afterId) " +
+            "ORDER BY vl.createdAt DESC, vl.id DESC")
+    List<VendorLedger> findPage(@Param("vendorId") UUID vendorId,
+                                @Param("transactionType") String transactionType,
+                                @Param("batchId") UUID batchId,
+                                @Param("afterAt") LocalDateTime afterAt,
+                                @Param("afterId") UUID afterId,
+                                Pageable limit);
 }
@@ -0,0 +1,29 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.WebhookEndpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, UUID> {
+
+    /**
+     * Locks active endpoints that are due and not leased by another dispatcher
+     */
+    @Query(value = "SELECT * FROM banana_harvest.webhook_endpoints " +
+            "WHERE is_active = true AND next_attempt_at <= :now " +
+            "AND (lease_until IS NULL OR lease_until < :now) " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<WebhookEndpoint> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT MIN(e.lastEventId) FROM WebhookEndpoint e WHERE e.isActive = true")
+    Long findMinActiveCursor();
+
+    List<WebhookEndpoint> findAllByOrderByCreatedAtAsc();
+}
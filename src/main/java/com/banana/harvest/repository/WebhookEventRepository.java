@@ -0,0 +1,36 @@
+package com.banana.harvest.repository;
+
+import com.banana.harvest.entity.WebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, Long> {
+
+    /**
+     * Serialises appends until the current transaction ends, so sequence ids become
+     * visible in increasing order and a cursor never skips a late-committing row
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    Integer lockForAppend(@Param("key") long key);
+
+    Optional<WebhookEvent> findTopByOrderByIdDesc();
+
+    List<WebhookEvent> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    List<WebhookEvent> findByIdGreaterThanAndEventTypeInOrderByIdAsc(Long afterId, Collection<String> eventTypes,
+                                                                    Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM WebhookEvent e WHERE e.id <= :maxId AND e.occurredAt < :before")
+    int deleteDelivered(@Param("maxId") Long maxId, @Param("before") LocalDateTime before);
+}
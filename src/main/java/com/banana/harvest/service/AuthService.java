@@ -1,7 +1,10 @@
 package com.banana.harvest.service;
 
 import com.banana.harvest.dto.auth.*;
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.PageCursor;
 import com.banana.harvest.entity.User;
+import com.banana.harvest.entity.enums.UserRole;
 import com.banana.harvest.exception.BusinessException;
 import com.banana.harvest.exception.ResourceNotFoundException;
 import com.banana.harvest.repository.UserRepository;
@@ -9,6 +12,7 @@ import com.banana.harvest.security.JwtUtil;
 import com.banana.harvest.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,6 +22,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,6 +35,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final NotificationRecipientCache notificationRecipientCache;
 
     @Transactional
     public LoginResponse login(LoginRequest request) {
@@ -101,6 +107,9 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        if (savedUser.getIsActive()) {
+            notificationRecipientCache.invalidate();
+        }
         log.info("User registered successfully - userId: {}, email: {}, role: {}, isActive: {}", 
                 savedUser.getId(), savedUser.getEmail(), savedUser.getRole(), savedUser.getIsActive());
         
@@ -121,6 +130,7 @@ public class AuthService {
         
         user.setIsActive(true);
         User savedUser = userRepository.save(user);
+        notificationRecipientCache.invalidate();
         
         log.info("User approved successfully - userId: {}, email: {}", userId, user.getEmail());
         
@@ -141,6 +151,7 @@ public class AuthService {
         
         user.setIsActive(false);
         User savedUser = userRepository.save(user);
+        notificationRecipientCache.invalidate();
         
         log.info("User deactivated successfully - userId: {}, email: {}", userId, user.getEmail());
         
@@ -217,24 +228,23 @@ public class AuthService {
                 .build();
     }
 
+    /**
+     * Users newest first after the cursor, optionally by role, active flag and a case-insensitive
+     * match on name or email
+     */
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        log.info("Fetching all users from database");
-        List<User> users = userRepository.findAll();
-        log.info("Found {} users in database", users.size());
-        
-        List<UserResponse> userResponses = users.stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
-        
-        // Log each user's details
-        userResponses.forEach(user -> 
-            log.info("User: id={}, email={}, fullName={}, role={}, isActive={}", 
-                user.getId(), user.getEmail(), user.getFullName(), user.getRole(), user.getIsActive())
-        );
-        
-        log.info("Successfully retrieved {} users", userResponses.size());
-        return userResponses;
+    public CursorPage<UserResponse> getUsersPage(UserRole role, Boolean isActive, String search, String cursor,
+                                                 int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        String pattern = search == null || search.isBlank()
+                ? "%"
+                : "%" + search.trim().toLowerCase(Locale.ROOT)
+                        .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        List<User> users = userRepository.findPage(role, isActive, pattern, after.createdAt(), after.id(),
+                PageRequest.of(0, limit + 1));
+        log.debug("Fetched users page - role: {}, isActive: {}, rows: {}", role, isActive, users.size());
+        return CursorPage.of(users, limit, user -> PageCursor.of(user.getCreatedAt(), user.getId()),
+                this::mapToUserResponse);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,51 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.BatchCost;
+import com.banana.harvest.entity.InventoryAllocation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cost sheet arithmetic for a batch: material cost from allocations, the transport and
+ * labor totals, and each of them per box. Kept free of repositories so it can be
+ * benchmarked on its own.
+ */
+public final class BatchCostCalculator {
+
+    private BatchCostCalculator() {
+    }
+
+    /**
+     * Fills the totals and per-box costs of batchCost. Per-box values are zero when boxCount is not positive.
+     */
+    public static void apply(BatchCost batchCost, List<InventoryAllocation> allocations,
+                             BigDecimal outwardTransport, BigDecimal inwardTransport,
+                             BigDecimal laborCostTotal, int boxCount) {
+        BigDecimal materialCostTotal = allocations.stream()
+                .map(a -> a.getItem().getUnitCost().multiply(BigDecimal.valueOf(a.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal totalCost = materialCostTotal.add(outwardTransport).add(laborCostTotal).add(inwardTransport);
+
+        batchCost.setMaterialCostTotal(materialCostTotal);
+        batchCost.setMaterialCostPerBox(perBox(materialCostTotal, boxCount));
+        batchCost.setOutwardTransportCost(outwardTransport);
+        batchCost.setOutwardTransportPerBox(perBox(outwardTransport, boxCount));
+        batchCost.setLaborCostTotal(laborCostTotal);
+        batchCost.setLaborCostPerBox(perBox(laborCostTotal, boxCount));
+        batchCost.setInwardTransportCost(inwardTransport);
+        batchCost.setInwardTransportPerBox(perBox(inwardTransport, boxCount));
+        batchCost.setTotalCost(totalCost);
+        batchCost.setFinalCostPerBox(perBox(totalCost, boxCount));
+        batchCost.setCalculatedAt(LocalDateTime.now());
+    }
+
+    private static BigDecimal perBox(BigDecimal amount, int boxCount) {
+        return boxCount > 0
+                ? amount.divide(BigDecimal.valueOf(boxCount), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+}
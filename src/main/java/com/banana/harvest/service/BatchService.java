@@ -1,18 +1,24 @@
 package com.banana.harvest.service;
 
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.FieldSelection;
+import com.banana.harvest.dto.common.PageCursor;
 import com.banana.harvest.dto.farm.BatchResponse;
 import com.banana.harvest.dto.farm.UpdateBatchStatusRequest;
 import com.banana.harvest.entity.Batch;
+import com.banana.harvest.entity.Farm;
 import com.banana.harvest.entity.User;
 import com.banana.harvest.entity.enums.BatchStatus;
 import com.banana.harvest.entity.enums.UserRole; // Correct import
 import com.banana.harvest.exception.BusinessException;
 import com.banana.harvest.exception.ResourceNotFoundException;
 import com.banana.harvest.repository.BatchRepository;
+import com.banana.harvest.repository.BatchTotal;
 import com.banana.harvest.repository.DailyHarvestReportRepository;
 import com.banana.harvest.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +31,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BatchService {
 
+    /**
+     * Response fields read from the farm or vendor rather than the batch row
+     */
+    private static final String[] DETAIL_FIELDS = {"farmName", "farmLocation", "produceType", "vendorName"};
+
     private final BatchRepository batchRepository;
     private final DailyHarvestReportRepository dailyHarvestReportRepository;
     private final UserRepository userRepository;
@@ -107,16 +118,30 @@ public class BatchService {
         if (actualBoxes == null)
             actualBoxes = 0;
 
+        return mapToBatchResponse(batch, actualBoxes);
+    }
+
+    private BatchResponse mapToBatchResponse(Batch batch, Integer actualBoxes) {
+        return mapToBatchResponse(batch, actualBoxes, true);
+    }
+
+    /**
+     * Without details only the farm and vendor ids are read, which their unloaded proxies
+     * hold, so batches fetched without the joins are not lazy loaded one by one
+     */
+    private BatchResponse mapToBatchResponse(Batch batch, Integer actualBoxes, boolean withDetails) {
+        Farm farm = withDetails ? batch.getFarm() : null;
+        User vendor = withDetails ? batch.getVendor() : null;
         return BatchResponse.builder()
                 .id(batch.getId())
                 .batchId(batch.getBatchId())
                 .inspectionId(batch.getInspection() != null ? batch.getInspection().getId() : null)
                 .farmId(batch.getFarm() != null ? batch.getFarm().getId() : null)
-                .farmName(batch.getFarm() != null ? batch.getFarm().getFarmerName() : null)
-                .farmLocation(batch.getFarm() != null ? batch.getFarm().getLocation() : null)
-                .produceType(batch.getFarm() != null ? batch.getFarm().getProduceType() : null)
+                .farmName(farm != null ? farm.getFarmerName() : null)
+                .farmLocation(farm != null ? farm.getLocation() : null)
+                .produceType(farm != null ? farm.getProduceType() : null)
                 .vendorId(batch.getVendor() != null ? batch.getVendor().getId() : null)
-                .vendorName(batch.getVendor() != null ? batch.getVendor().getFullName() : null)
+                .vendorName(vendor != null ? vendor.getFullName() : null)
                 .status(batch.getStatus())
                 .estimatedBoxes(batch.getEstimatedBoxes())
                 .allocatedBoxes(batch.getAllocatedBoxes())
@@ -131,24 +156,30 @@ public class BatchService {
                 .build();
     }
 
+    /**
+     * Batches newest first after the cursor, optionally by status, vendor and farm. Farm and
+     * vendor come with the batches and the packed box totals in one grouped query; either is
+     * skipped when none of its fields are selected.
+     */
     @Transactional(readOnly = true)
-    public List<BatchResponse> getAllBatches() {
-            log.info("Fetching all batches from database");
-            List<Batch> batches = batchRepository.findAll();
-            log.info("Found {} batches in database", batches.size());
-
-            List<BatchResponse> batchResponses = batches.stream()
-                            .map(this::mapToBatchResponse)
-                            .collect(Collectors.toList());
-
-            // Log each batch's details
-            batchResponses.forEach(batch -> log.info(
-                            "Batch: id={}, batchId={}, farmName={}, vendorName={}, status={}, estimatedBoxes={}, actualBoxes={}",
-                            batch.getId(), batch.getBatchId(), batch.getFarmName(), batch.getVendorName(),
-                            batch.getStatus(), batch.getEstimatedBoxes(), batch.getActualBoxes()));
-
-            log.info("Successfully retrieved {} batches", batchResponses.size());
-            return batchResponses;
+    public CursorPage<BatchResponse> getBatchesPage(BatchStatus status, UUID vendorId, UUID farmId, String cursor,
+                                                    int limit, FieldSelection fields) {
+        PageCursor after = PageCursor.decode(cursor);
+        boolean withDetails = fields.includesAny(DETAIL_FIELDS);
+        List<Batch> batches = withDetails
+                ? batchRepository.findPage(status, vendorId, farmId, after.createdAt(), after.id(),
+                        PageRequest.of(0, limit + 1))
+                : batchRepository.findPageWithoutDetails(status, vendorId, farmId, after.createdAt(), after.id(),
+                        PageRequest.of(0, limit + 1));
+        Map<UUID, Long> boxesPacked = batches.isEmpty() || !fields.includes("actualBoxes") ? Map.of()
+                : dailyHarvestReportRepository.sumBoxesPackedByBatches(batches.stream().map(Batch::getId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(BatchTotal::getBatchId, BatchTotal::getTotal));
+        log.debug("Fetched batches page - status: {}, vendorId: {}, farmId: {}, rows: {}", status, vendorId, farmId,
+                batches.size());
+        return CursorPage.of(batches, limit, batch -> PageCursor.of(batch.getCreatedAt(), batch.getId()),
+                batch -> mapToBatchResponse(batch, boxesPacked.getOrDefault(batch.getId(), 0L).intValue(),
+                        withDetails));
     }
 
 }
@@ -0,0 +1,80 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.service.event.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counters for business events, fed from committed domain events:
+ * boxes packed/wasted, gate passes and boxes dispatched/received, sales and boxes issued.
+ */
+@Component
+public class BusinessMetrics {
+
+    private final Counter boxesPacked;
+    private final Counter boxesWasted;
+    private final Counter gatePassesCreated;
+    private final Counter boxesDispatched;
+    private final Counter gatePassesReceived;
+    private final Counter boxesReceived;
+    private final Counter boxesShort;
+    private final Counter salesCreated;
+    private final Counter boxesSold;
+    private final Counter salesAmount;
+    private final Counter boxesIssued;
+
+    public BusinessMetrics(MeterRegistry registry) {
+        this.boxesPacked = counter(registry, "harvest.boxes.packed", "Boxes packed in daily harvest reports");
+        this.boxesWasted = counter(registry, "harvest.boxes.wasted", "Boxes wasted in daily harvest reports");
+        this.gatePassesCreated = counter(registry, "harvest.gate_passes.created", "Gate passes created");
+        this.boxesDispatched = counter(registry, "harvest.boxes.dispatched", "Boxes dispatched on gate passes");
+        this.gatePassesReceived = counter(registry, "harvest.gate_passes.received", "Gate passes received");
+        this.boxesReceived = counter(registry, "harvest.boxes.received", "Boxes received against gate passes");
+        this.boxesShort = counter(registry, "harvest.boxes.shortage", "Boxes missing on received gate passes");
+        this.salesCreated = counter(registry, "sales.created", "Sales created");
+        this.boxesSold = counter(registry, "sales.boxes", "Boxes sold");
+        this.salesAmount = counter(registry, "sales.amount", "Grand total of sales created");
+        this.boxesIssued = counter(registry, "inventory.boxes.issued", "Boxes issued to vendors");
+    }
+
+    @TransactionalEventListener
+    public void onDomainEvent(DomainEvent event) {
+        switch (event.type()) {
+            case DAILY_REPORT_CREATED -> {
+                boxesPacked.increment(number(event, "boxesPacked"));
+                boxesWasted.increment(number(event, "boxesWasted"));
+            }
+            case GATE_PASS_CREATED -> {
+                gatePassesCreated.increment();
+                boxesDispatched.increment(number(event, "totalBoxes"));
+            }
+            case GATE_PASS_RECEIVED -> {
+                gatePassesReceived.increment();
+                boxesReceived.increment(number(event, "receivedBoxes"));
+                boxesShort.increment(Math.max(0, number(event, "shortage")));
+            }
+            case SALE_CREATED -> {
+                salesCreated.increment();
+                boxesSold.increment(number(event, "totalBoxes"));
+                salesAmount.increment(number(event, "grandTotal"));
+            }
+            case LEDGER_ENTRY_CREATED -> {
+                if ("BOX_ISSUED".equals(event.data().get("transactionType"))) {
+                    boxesIssued.increment(number(event, "quantity"));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String description) {
+        return Counter.builder(name).description(description).register(registry);
+    }
+
+    private static double number(DomainEvent event, String key) {
+        return event.data().get(key) instanceof Number number ? number.doubleValue() : 0;
+    }
+}
@@ -1,19 +1,26 @@
 package com.banana.harvest.service;
 
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.FieldSelection;
+import com.banana.harvest.dto.common.PageCursor;
 import com.banana.harvest.dto.farm.*;
 import com.banana.harvest.entity.*;
 import com.banana.harvest.entity.enums.BatchStatus;
+import com.banana.harvest.entity.enums.FarmStatus;
 import com.banana.harvest.entity.enums.InspectionStatus;
 import com.banana.harvest.entity.enums.InspectionRequestStatus;
 import com.banana.harvest.exception.BusinessException;
 import com.banana.harvest.exception.ResourceNotFoundException;
 import com.banana.harvest.repository.*;
 import com.banana.harvest.security.UserPrincipal;
+import com.banana.harvest.service.event.DomainEvent;
+import com.banana.harvest.service.event.DomainEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +30,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,6 +40,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FarmService {
 
+        /**
+         * Inspection response fields read from the farm, vendor or approver rather than the inspection row
+         */
+        private static final String[] INSPECTION_DETAIL_FIELDS = {"farmName", "itemName", "farmLocation",
+                        "vendorName", "approvedByName"};
+
         private final FarmRepository farmRepository;
         private final FarmInspectionRepository inspectionRepository;
         private final InspectionRequestRepository inspectionRequestRepository;
@@ -40,6 +55,8 @@ public class FarmService {
         private final GpsValidationService gpsValidationService;
         private final PhotoValidationService photoValidationService;
         private final NotificationService notificationService;
+        private final MediaBlobService mediaBlobService;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Transactional
         public FarmResponse createFarm(FarmRequest request, UUID userId) {
@@ -70,24 +87,18 @@ public class FarmService {
                 return mapToFarmResponse(savedFarm);
         }
 
+        /**
+         * Farms newest first after the cursor, optionally by status and a case-insensitive match on
+         * farmer name or location
+         */
         @Transactional(readOnly = true)
-        public List<FarmResponse> getAllFarms() {
-                log.info("Fetching all farms from database");
-                List<Farm> farms = farmRepository.findAll();
-                log.info("Found {} farms in database", farms.size());
-
-                List<FarmResponse> farmResponses = farms.stream()
-                                .map(this::mapToFarmResponse)
-                                .collect(Collectors.toList());
-
-                // Log each farm's details
-                farmResponses.forEach(farm -> log.info(
-                                "Farm: id={}, farmerName={}, location={}, totalArea={} {}, contactNumber={}",
-                                farm.getId(), farm.getFarmerName(), farm.getLocation(),
-                                farm.getTotalArea(), farm.getAreaUnit(), farm.getContactNumber()));
-
-                log.info("Successfully retrieved {} farms", farmResponses.size());
-                return farmResponses;
+        public CursorPage<FarmResponse> getFarmsPage(FarmStatus status, String search, String cursor, int limit) {
+                PageCursor after = PageCursor.decode(cursor);
+                List<Farm> farms = farmRepository.findPage(status, likePattern(search), after.createdAt(), after.id(),
+                                PageRequest.of(0, limit + 1));
+                log.debug("Fetched farms page - status: {}, search: {}, rows: {}", status, search, farms.size());
+                return CursorPage.of(farms, limit, farm -> PageCursor.of(farm.getCreatedAt(), farm.getId()),
+                                this::mapToFarmResponse);
         }
 
         @Transactional(readOnly = true)
@@ -175,6 +186,8 @@ public class FarmService {
                                                 .photoType(photoUrl.endsWith(".mp4") ? "VIDEO" : "IMAGE")
                                                 .uploadedBy(vendor)
                                                 .build();
+                                mediaBlobService.findByUrl(photoUrl)
+                                                .ifPresent(blob -> mediaBlobService.attach(photo, blob));
                                 photoRepository.save(photo);
                         }
                 }
@@ -184,10 +197,21 @@ public class FarmService {
 
                 // Notify managers about new inspection
                 notificationService.notifyNewInspection(savedInspection.getId());
+                eventPublisher.publishEvent(DomainEvent.of(DomainEventType.INSPECTION_SUBMITTED,
+                                savedInspection.getId(), vendorId,
+                                "farmId", farm.getId(),
+                                "farmName", farm.getFarmerName(),
+                                "vendorName", vendor.getFullName(),
+                                "estimatedBoxes", savedInspection.getEstimatedBoxes(),
+                                "requestId", savedInspection.getRequestId()));
 
                 return mapToInspectionResponse(savedInspection);
         }
 
+        /**
+         * Approves the inspection and returns the batch created for it, or records the
+         * rejection and returns null since no batch is created
+         */
         @Transactional
         public BatchResponse approveInspection(UUID inspectionId, ApprovalRequest request, UUID approverId) {
                 log.info("Processing inspection approval - inspectionId: {}, approved: {}, approverId: {}",
@@ -239,6 +263,11 @@ public class FarmService {
 
                         // Notify vendor about approval
                         notificationService.notifyInspectionApproved(inspection.getId(), batchId);
+                        eventPublisher.publishEvent(DomainEvent.of(DomainEventType.INSPECTION_APPROVED,
+                                        inspection.getId(), inspection.getVendor().getId(),
+                                        "farmId", farm.getId(),
+                                        "batchId", batchId,
+                                        "estimatedBoxes", inspection.getEstimatedBoxes()));
 
                         return mapToBatchResponse(savedBatch);
                 } else {
@@ -258,17 +287,42 @@ public class FarmService {
 
                         // Notify vendor about rejection
                         notificationService.notifyInspectionRejected(inspection.getId(), request.getRejectionReason());
+                        eventPublisher.publishEvent(DomainEvent.of(DomainEventType.INSPECTION_REJECTED,
+                                        inspection.getId(), inspection.getVendor().getId(),
+                                        "farmId", farm.getId(),
+                                        "reason", request.getRejectionReason()));
 
-                        throw new BusinessException("Inspection rejected: " + request.getRejectionReason());
+                        return null;
                 }
         }
 
+        /**
+         * Inspections newest first after the cursor, optionally by status, vendor and farm
+         */
         @Transactional(readOnly = true)
-        public List<FarmInspectionResponse> getAllInspections() {
-                return inspectionRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"))
-                                .stream()
-                                .map(this::mapToInspectionResponse)
-                                .collect(Collectors.toList());
+        public CursorPage<FarmInspectionResponse> getInspectionsPage(InspectionStatus status, UUID vendorId,
+                        UUID farmId, String cursor, int limit, FieldSelection fields) {
+                // Farm, vendor and approver are fetched with the inspections and the page's photo URLs in
+                // one more query, so a page costs two statements whatever its size; the joins and the
+                // photo query are skipped when none of their fields are selected
+                PageCursor after = PageCursor.decode(cursor);
+                boolean withDetails = fields.includesAny(INSPECTION_DETAIL_FIELDS);
+                List<FarmInspection> inspections = withDetails
+                                ? inspectionRepository.findPage(status, vendorId, farmId, after.createdAt(),
+                                                after.id(), PageRequest.of(0, limit + 1))
+                                : inspectionRepository.findPageWithoutDetails(status, vendorId, farmId,
+                                                after.createdAt(), after.id(), PageRequest.of(0, limit + 1));
+                List<UUID> inspectionIds = inspections.stream().map(FarmInspection::getId).toList();
+                Map<UUID, List<String>> photoUrls = inspectionIds.isEmpty() || !fields.includes("photoUrls")
+                                ? Map.of()
+                                : photoRepository.findPhotoUrlsByInspectionIds(inspectionIds).stream()
+                                                .collect(Collectors.groupingBy(FarmPhotoRepository.InspectionPhotoUrl::getInspectionId,
+                                                                Collectors.mapping(FarmPhotoRepository.InspectionPhotoUrl::getPhotoUrl,
+                                                                                Collectors.toList())));
+                return CursorPage.of(inspections, limit,
+                                inspection -> PageCursor.of(inspection.getCreatedAt(), inspection.getId()),
+                                inspection -> mapToInspectionResponse(inspection,
+                                                photoUrls.getOrDefault(inspection.getId(), List.of()), withDetails));
         }
 
         @Transactional(readOnly = true)
@@ -359,6 +413,16 @@ public class FarmService {
 
 
 
+        /**
+         * Lower-case LIKE pattern matching the search text anywhere, or everything when it is blank
+         */
+        private static String likePattern(String search) {
+                return search == null || search.isBlank()
+                                ? "%"
+                                : "%" + search.trim().toLowerCase(Locale.ROOT)
+                                                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
+
         private FarmResponse mapToFarmResponse(Farm farm) {
                 return FarmResponse.builder()
                                 .id(farm.getId())
@@ -378,14 +442,32 @@ public class FarmService {
         }
 
         private FarmInspectionResponse mapToInspectionResponse(FarmInspection inspection) {
+                return mapToInspectionResponse(inspection, inspection.getPhotos().stream()
+                                .map(FarmPhoto::getPhotoUrl)
+                                .collect(Collectors.toList()));
+        }
+
+        private FarmInspectionResponse mapToInspectionResponse(FarmInspection inspection, List<String> photoUrls) {
+                return mapToInspectionResponse(inspection, photoUrls, true);
+        }
+
+        /**
+         * Without details only the farm, vendor and approver ids are read, which their unloaded
+         * proxies hold, so inspections fetched without the joins are not lazy loaded one by one
+         */
+        private FarmInspectionResponse mapToInspectionResponse(FarmInspection inspection, List<String> photoUrls,
+                        boolean withDetails) {
+                Farm farm = withDetails ? inspection.getFarm() : null;
+                User vendor = withDetails ? inspection.getVendor() : null;
+                User approvedBy = withDetails ? inspection.getApprovedBy() : null;
                 return FarmInspectionResponse.builder()
                                 .id(inspection.getId())
                                 .farmId(inspection.getFarm().getId())
-                                .farmName(inspection.getFarm().getFarmerName())
-                                .itemName(inspection.getFarm().getProduceType())
-                                .farmLocation(inspection.getFarm().getLocation())
+                                .farmName(farm != null ? farm.getFarmerName() : null)
+                                .itemName(farm != null ? farm.getProduceType() : null)
+                                .farmLocation(farm != null ? farm.getLocation() : null)
                                 .vendorId(inspection.getVendor().getId())
-                                .vendorName(inspection.getVendor().getFullName())
+                                .vendorName(vendor != null ? vendor.getFullName() : null)
                                 .estimatedBoxes(inspection.getEstimatedBoxes())
                                 .inspectionNotes(inspection.getInspectionNotes())
                                 .gpsLatitude(inspection.getGpsLatitude())
@@ -394,13 +476,10 @@ public class FarmService {
                                 .status(inspection.getStatus())
                                 .approvedBy(inspection.getApprovedBy() != null ? inspection.getApprovedBy().getId()
                                                 : null)
-                                .approvedByName(inspection.getApprovedBy() != null
-                                                ? inspection.getApprovedBy().getFullName()
-                                                : null)
+                                .approvedByName(approvedBy != null ? approvedBy.getFullName() : null)
                                 .approvedAt(inspection.getApprovedAt())
                                 .rejectionReason(inspection.getRejectionReason())
-                                .photoUrls(inspection.getPhotos().stream().map(FarmPhoto::getPhotoUrl)
-                                                .collect(Collectors.toList()))
+                                .photoUrls(photoUrls)
                                 .requestId(inspection.getRequestId())
                                 .createdAt(inspection.getCreatedAt())
                                 .build();
@@ -460,25 +539,38 @@ public class FarmService {
 
                 // Notify vendor
                 notificationService.notifyInspectionRequestCreated(saved.getId());
+                eventPublisher.publishEvent(DomainEvent.of(DomainEventType.INSPECTION_REQUEST_CREATED,
+                                saved.getId(), vendor.getId(),
+                                "farmId", farm.getId(),
+                                "farmName", farm.getFarmerName()));
 
                 return mapToInspectionRequestResponse(saved);
         }
 
+        /**
+         * Inspection requests newest first after the cursor, optionally by status, vendor and farm
+         */
         @Transactional(readOnly = true)
-        public List<InspectionRequestResponse> getAllInspectionRequests(String status) {
-                log.info("Fetching all inspection requests, status: {}", status);
-
-                List<InspectionRequest> requests;
-                if (status != null && !status.isEmpty()) {
-                        InspectionRequestStatus requestStatus = InspectionRequestStatus.valueOf(status.toUpperCase());
-                        requests = inspectionRequestRepository.findByStatus(requestStatus);
-                } else {
-                        requests = inspectionRequestRepository.findAll();
-                }
+        public CursorPage<InspectionRequestResponse> getInspectionRequestsPage(InspectionRequestStatus status,
+                        UUID vendorId, UUID farmId, String cursor, int limit) {
+                PageCursor after = PageCursor.decode(cursor);
+                List<InspectionRequest> requests = inspectionRequestRepository.findPage(status, vendorId, farmId,
+                                after.createdAt(), after.id(), PageRequest.of(0, limit + 1));
+                return CursorPage.of(requests, limit,
+                                request -> PageCursor.of(request.getCreatedAt(), request.getId()),
+                                this::mapToInspectionRequestResponse);
+        }
 
-                return requests.stream()
-                                .map(this::mapToInspectionRequestResponse)
-                                .collect(Collectors.toList());
+        /**
+         * First page of all inspection requests, for the unpaginated list endpoint
+         */
+        @Transactional(readOnly = true)
+        public CursorPage<InspectionRequestResponse> getAllInspectionRequests(String status, int limit) {
+                log.info("Fetching all inspection requests, status: {}", status);
+                InspectionRequestStatus requestStatus = status != null && !status.isEmpty()
+                                ? InspectionRequestStatus.valueOf(status.toUpperCase())
+                                : null;
+                return getInspectionRequestsPage(requestStatus, null, null, null, limit);
         }
 
         @Transactional(readOnly = true)
@@ -511,6 +603,9 @@ public class FarmService {
                 request.setCompletedAt(LocalDateTime.now());
                 InspectionRequest saved = inspectionRequestRepository.save(request);
                 log.info("Inspection request cancelled - requestId: {}", requestId);
+                eventPublisher.publishEvent(DomainEvent.of(DomainEventType.INSPECTION_REQUEST_CANCELLED,
+                                saved.getId(), saved.getVendor().getId(),
+                                "farmId", saved.getFarm().getId()));
                 return mapToInspectionRequestResponse(saved);
         }
 
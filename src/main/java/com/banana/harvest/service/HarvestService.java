@@ -8,8 +8,11 @@ import com.banana.harvest.entity.enums.TransportType;
 import com.banana.harvest.exception.BusinessException;
 import com.banana.harvest.exception.ResourceNotFoundException;
 import com.banana.harvest.repository.*;
+import com.banana.harvest.service.event.DomainEvent;
+import com.banana.harvest.service.event.DomainEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,7 +22,9 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,6 +40,7 @@ public class HarvestService {
         private final UserRepository userRepository;
         private final BatchCostRepository batchCostRepository;
         private final InventoryAllocationRepository allocationRepository;
+        private final ApplicationEventPublisher eventPublisher;
 
         @Transactional
         public DailyHarvestResponse createDailyReport(DailyHarvestRequest request, UUID userId) {
@@ -133,14 +139,26 @@ public class HarvestService {
 
                 log.info("Daily report created - reportId: {}, batchId: {}, boxesPacked: {}",
                                 savedReport.getId(), batch.getId(), savedReport.getBoxesPacked());
+                eventPublisher.publishEvent(DomainEvent.of(DomainEventType.DAILY_REPORT_CREATED,
+                                savedReport.getId(), batch.getVendor().getId(),
+                                "batchId", batch.getBatchId(),
+                                "boxesPacked", savedReport.getBoxesPacked(),
+                                "boxesWasted", savedReport.getBoxesWasted(),
+                                "harvestedBoxes", batch.getHarvestedBoxes(),
+                                "remainingBoxes", batch.getRemainingBoxes()));
 
                 return mapToDailyHarvestResponse(savedReport);
         }
 
         @Transactional(readOnly = true)
         public List<DailyHarvestResponse> getBatchReports(UUID batchId) {
+                // One labor cost query for the whole batch instead of one per report
+                Map<UUID, LaborCost> laborCostByReport = laborCostRepository.findByBatch(batchId).stream()
+                                .filter(lc -> lc.getReport() != null)
+                                .collect(Collectors.toMap(lc -> lc.getReport().getId(), Function.identity(),
+                                                (first, second) -> first));
                 return reportRepository.findByBatchOrderByDate(batchId).stream()
-                                .map(this::mapToDailyHarvestResponse)
+                                .map(report -> mapToDailyHarvestResponse(report, laborCostByReport.get(report.getId())))
                                 .collect(Collectors.toList());
         }
 
@@ -264,6 +282,12 @@ public class HarvestService {
                 GatePass savedGatePass = gatePassRepository.save(gatePass);
                 log.info("Gate pass created - gatePassId: {}, gatePassNo: {}, truckNumber: {}",
                                 savedGatePass.getId(), gatePassNo, request.getTruckNumber());
+                eventPublisher.publishEvent(DomainEvent.of(DomainEventType.GATE_PASS_CREATED,
+                                savedGatePass.getId(), batch.getVendor().getId(),
+                                "gatePassNo", gatePassNo,
+                                "batchId", batch.getBatchId(),
+                                "totalBoxes", savedGatePass.getTotalBoxes(),
+                                "batchStatus", batch.getStatus()));
 
                 return mapToGatePassResponse(savedGatePass);
         }
@@ -288,6 +312,12 @@ public class HarvestService {
                 gatePass.setReceivedBy(receivedBy);
 
                 GatePass savedGatePass = gatePassRepository.save(gatePass);
+                eventPublisher.publishEvent(DomainEvent.of(DomainEventType.GATE_PASS_RECEIVED,
+                                savedGatePass.getId(), gatePass.getBatch().getVendor().getId(),
+                                "gatePassNo", gatePass.getGatePassNo(),
+                                "batchId", gatePass.getBatch().getBatchId(),
+                                "receivedBoxes", receivedBoxes,
+                                "shortage", shortage));
 
                 if (shortage > 0) {
                         log.warn("Gate pass received with shortage - gatePassId: {}, shortage: {} boxes", gatePassId,
@@ -354,55 +384,27 @@ public class HarvestService {
                                 .build();
         }
 
-        private void recalculateBatchCosts(Batch batch) {
+        /**
+         * Recomputes the batch cost sheet from allocations, transport and labor costs
+         */
+        @Transactional
+        public void recalculateBatchCosts(Batch batch) {
                 BatchCost batchCost = batchCostRepository.findByBatchId(batch.getId())
                                 .orElseGet(() -> BatchCost.builder().batch(batch).build());
 
-                // Calculate material costs from allocations
                 List<InventoryAllocation> allocations = allocationRepository.findByBatchId(batch.getId());
-                BigDecimal materialCostTotal = allocations.stream()
-                                .map(a -> a.getItem().getUnitCost().multiply(BigDecimal.valueOf(a.getQuantity())))
-                                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                // Get transport costs
                 BigDecimal outwardTransport = transportCostRepository
                                 .sumCostByBatchAndType(batch.getId(), TransportType.OUTWARD);
                 BigDecimal inwardTransport = transportCostRepository
                                 .sumCostByBatchAndType(batch.getId(), TransportType.INWARD);
-
-                // Get labor costs
                 BigDecimal laborCostTotal = laborCostRepository.sumTotalAmountByBatch(batch.getId());
 
-                // Calculate totals
                 Integer boxCount = batch.getActualBoxes() != null && batch.getActualBoxes() > 0
                                 ? batch.getActualBoxes()
                                 : batch.getEstimatedBoxes();
 
-                BigDecimal totalCost = materialCostTotal.add(outwardTransport).add(laborCostTotal).add(inwardTransport);
-                BigDecimal finalCostPerBox = boxCount > 0
-                                ? totalCost.divide(BigDecimal.valueOf(boxCount), 2, RoundingMode.HALF_UP)
-                                : BigDecimal.ZERO;
-
-                // Update batch cost
-                batchCost.setMaterialCostTotal(materialCostTotal);
-                batchCost.setMaterialCostPerBox(boxCount > 0
-                                ? materialCostTotal.divide(BigDecimal.valueOf(boxCount), 2, RoundingMode.HALF_UP)
-                                : BigDecimal.ZERO);
-                batchCost.setOutwardTransportCost(outwardTransport);
-                batchCost.setOutwardTransportPerBox(boxCount > 0
-                                ? outwardTransport.divide(BigDecimal.valueOf(boxCount), 2, RoundingMode.HALF_UP)
-                                : BigDecimal.ZERO);
-                batchCost.setLaborCostTotal(laborCostTotal);
-                batchCost.setLaborCostPerBox(boxCount > 0
-                                ? laborCostTotal.divide(BigDecimal.valueOf(boxCount), 2, RoundingMode.HALF_UP)
-                                : BigDecimal.ZERO);
-                batchCost.setInwardTransportCost(inwardTransport);
-                batchCost.setInwardTransportPerBox(boxCount > 0
-                                ? inwardTransport.divide(BigDecimal.valueOf(boxCount), 2, RoundingMode.HALF_UP)
-                                : BigDecimal.ZERO);
-                batchCost.setTotalCost(totalCost);
-                batchCost.setFinalCostPerBox(finalCostPerBox);
-                batchCost.setCalculatedAt(LocalDateTime.now());
+                BatchCostCalculator.apply(batchCost, allocations, outwardTransport, inwardTransport,
+                                laborCostTotal, boxCount);
 
                 batchCostRepository.save(batchCost);
         }
@@ -418,7 +420,10 @@ public class HarvestService {
                                 .filter(lc -> lc.getReport().getId().equals(report.getId()))
                                 .findFirst()
                                 .orElse(null);
+                return mapToDailyHarvestResponse(report, laborCost);
+        }
 
+        private DailyHarvestResponse mapToDailyHarvestResponse(DailyHarvestReport report, LaborCost laborCost) {
                 return DailyHarvestResponse.builder()
                                 .id(report.getId())
                                 .batchId(report.getBatch().getId())
@@ -0,0 +1,298 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.InventoryItem;
+import com.banana.harvest.entity.StockReservation;
+import com.banana.harvest.entity.enums.InventoryCategory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory escrow for hot SKUs (box stock at the start of the season).
+ * The instance holds a chunk of stock as a stock reservation and serves allocations
+ * from a striped counter, so concurrent allocations no longer queue on the inventory_stock
+ * row. Committed quantities are written behind to the row in one statement per flush.
+ * Allocations reference the escrow reservation, so if the instance dies the reservation
+ * expires and is settled from the allocation rows: nothing is oversold or lost.
+ * Escrows are opened on a refill thread, never inside an allocating transaction, and takes
+ * are fenced by the lease: only this instance closes its escrow, and it stops serving long
+ * before the expiry sweeper may settle it, so no take lands after a settlement.
+ */
+@Slf4j
+@Component
+public class HotStockEscrow {
+
+    private final StockReservationService reservationService;
+    private final String holder;
+    private final Map<UUID, ItemEscrow> escrows = new ConcurrentHashMap<>();
+    // Items waiting for a refill, with the largest quantity requested since it was queued
+    private final Map<UUID, Integer> refillRequests = new ConcurrentHashMap<>();
+    private final List<ItemEscrow> retired = new CopyOnWriteArrayList<>();
+    private final ExecutorService refillExecutor;
+
+    @Value("${inventory.reservation.escrow.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.reservation.escrow.categories:BOX}")
+    private Set<InventoryCategory> categories;
+
+    @Value("${inventory.reservation.escrow.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${inventory.reservation.escrow.stripes:8}")
+    private int stripes;
+
+    @Value("${inventory.reservation.escrow.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${inventory.reservation.escrow.idle-release-seconds:120}")
+    private long idleReleaseSeconds;
+
+    public HotStockEscrow(StockReservationService reservationService) {
+        this.reservationService = reservationService;
+        this.holder = StockReservation.ESCROW_HOLDER_PREFIX + ManagementFactory.getRuntimeMXBean().getName();
+        this.refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "escrow-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean handles(InventoryItem item, int quantity) {
+        return enabled && categories.contains(item.getCategory()) && quantity <= chunkSize;
+    }
+
+    /**
+     * Takes quantity from the item's escrow inside the caller's transaction and returns the
+     * escrow reservation to record on the allocation. Empty when the escrow cannot serve it,
+     * in which case the caller falls back to a direct conditional update. A refill is queued
+     * instead of run here: it locks the stock row, which the caller's transaction may
+     * already hold, and it would need a second pooled connection.
+     */
+    public Optional<UUID> tryTake(InventoryItem item, int quantity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Escrow takes must run inside a transaction");
+        }
+
+        ItemEscrow escrow = escrows.get(item.getId());
+        if (escrow == null || !escrow.take(quantity)) {
+            requestRefill(item.getId(), quantity);
+            return Optional.empty();
+        }
+        escrow.completeWithTransaction(quantity);
+        // Top up before the chunk runs out, so takes rarely miss
+        if (escrow.counter.remaining() < refillBelow()) {
+            requestRefill(item.getId(), quantity);
+        }
+        return Optional.of(escrow.reservationId);
+    }
+
+    /**
+     * Writes committed allocations behind to inventory_stock, renews escrow leases and
+     * closes escrows that are exhausted or idle once their last transaction has finished
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.escrow.flush-interval-ms:1000}")
+    public void flush() {
+        long idleBefore = System.currentTimeMillis() - idleReleaseSeconds * 1000;
+        for (ItemEscrow escrow : escrows.values()) {
+            if (escrow.lastTakeAt.get() < idleBefore) {
+                if (escrows.remove(escrow.itemId, escrow)) {
+                    retire(escrow);
+                }
+                continue;
+            }
+            flush(escrow);
+        }
+
+        for (ItemEscrow escrow : retired) {
+            if (!flush(escrow)) {
+                retired.remove(escrow);
+                continue;
+            }
+            if (escrow.inFlight.get() == 0 && escrow.pending.get() == 0) {
+                try {
+                    reservationService.closeEscrow(escrow.reservationId);
+                    retired.remove(escrow);
+                    log.debug("Escrow closed - itemId: {}, reservationId: {}", escrow.itemId, escrow.reservationId);
+                } catch (Exception e) {
+                    log.warn("Closing escrow {} failed, will retry: {}", escrow.reservationId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        enabled = false;
+        refillExecutor.shutdownNow();
+        refillExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        escrows.values().forEach(this::retire);
+        escrows.clear();
+        flush();
+    }
+
+    /**
+     * Returns false when the escrow reservation was settled elsewhere (e.g. expired)
+     */
+    private boolean flush(ItemEscrow escrow) {
+        int allocated = escrow.pending.getAndSet(0);
+        if (allocated == 0 && !escrow.leaseDueForRenewal(leaseSeconds)) {
+            return true;
+        }
+        try {
+            if (reservationService.flushEscrow(escrow.reservationId, allocated, leaseExpiry())) {
+                escrow.renewLease(leaseSeconds);
+                return true;
+            }
+            // The reservation was closed from its allocation rows; stop serving from it
+            escrow.counter.drain();
+            escrows.remove(escrow.itemId, escrow);
+            log.warn("Escrow {} for item {} is no longer active", escrow.reservationId, escrow.itemId);
+            return false;
+        } catch (Exception e) {
+            escrow.pending.addAndGet(allocated);
+            log.warn("Escrow write-behind for item {} failed, will retry: {}", escrow.itemId, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Queues one refill per item. A request that raises the queued quantity may queue a second
+     * task, which finds nothing left to do and returns.
+     */
+    private void requestRefill(UUID itemId, int quantity) {
+        if (enabled && refillRequests.merge(itemId, quantity, Math::max) == quantity) {
+            try {
+                refillExecutor.execute(() -> refill(itemId));
+            } catch (RejectedExecutionException e) {
+                refillRequests.remove(itemId);
+            }
+        }
+    }
+
+    /**
+     * Opens a fresh chunk for the item and retires the escrow it replaces, which is closed
+     * once its last transaction has finished. Runs on the refill thread only.
+     */
+    private void refill(UUID itemId) {
+        Integer minimum = refillRequests.remove(itemId);
+        if (minimum == null || !enabled) {
+            return;
+        }
+        ItemEscrow current = escrows.get(itemId);
+        if (current != null && current.servable() && current.counter.remaining() >= Math.max(minimum, refillBelow())) {
+            return;
+        }
+        try {
+            Optional<StockReservation> opened = reservationService.openEscrow(
+                    itemId, Math.max(chunkSize, minimum), minimum, holder, leaseExpiry());
+            if (opened.isEmpty()) {
+                return;
+            }
+            ItemEscrow fresh = new ItemEscrow(opened.get().getId(), itemId,
+                    new StripedStockCounter(opened.get().getQuantity(), stripes));
+            fresh.renewLease(leaseSeconds);
+            ItemEscrow previous = escrows.put(itemId, fresh);
+            if (previous != null) {
+                retire(previous);
+            }
+            log.debug("Escrow opened - itemId: {}, reservationId: {}, quantity: {}",
+                    itemId, fresh.reservationId, opened.get().getQuantity());
+        } catch (Exception e) {
+            log.warn("Escrow refill for item {} failed: {}", itemId, e.getMessage());
+        }
+    }
+
+    private int refillBelow() {
+        return Math.max(1, chunkSize / 4);
+    }
+
+    private void retire(ItemEscrow escrow) {
+        escrow.counter.drain();
+        retired.add(escrow);
+    }
+
+    private LocalDateTime leaseExpiry() {
+        return LocalDateTime.now().plusSeconds(leaseSeconds);
+    }
+
+    private static final class ItemEscrow {
+
+        private final UUID reservationId;
+        private final UUID itemId;
+        private final StripedStockCounter counter;
+        // Committed since the last flush
+        private final AtomicInteger pending = new AtomicInteger();
+        // Taken by transactions that have not completed yet
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong lastTakeAt = new AtomicLong(System.currentTimeMillis());
+        // Takes stop at half the database lease, so the expiry sweeper never settles an escrow
+        // this instance is still serving from, and a late transaction has the other half to commit
+        private volatile long servableUntil;
+
+        private ItemEscrow(UUID reservationId, UUID itemId, StripedStockCounter counter) {
+            this.reservationId = reservationId;
+            this.itemId = itemId;
+            this.counter = counter;
+        }
+
+        private void renewLease(long leaseSeconds) {
+            servableUntil = System.currentTimeMillis() + leaseSeconds * 1000 / 2;
+        }
+
+        private boolean leaseDueForRenewal(long leaseSeconds) {
+            return System.currentTimeMillis() > servableUntil - leaseSeconds * 1000 / 4;
+        }
+
+        private boolean servable() {
+            return System.currentTimeMillis() <= servableUntil;
+        }
+
+        /**
+         * The in-flight count is raised before the take, so an escrow is never closed
+         * while a transaction that took from it can still commit
+         */
+        private boolean take(int quantity) {
+            if (!servable()) {
+                return false;
+            }
+            inFlight.incrementAndGet();
+            if (!counter.tryTake(quantity)) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            lastTakeAt.set(System.currentTimeMillis());
+            return true;
+        }
+
+        private void completeWithTransaction(int quantity) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        pending.addAndGet(quantity);
+                    } else {
+                        counter.giveBack(quantity);
+                    }
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+}
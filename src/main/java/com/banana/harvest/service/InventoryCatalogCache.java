@@ -0,0 +1,74 @@
+package com.banana.harvest.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches inventory catalog reads (the full list and filtered pages).
+ * Cleared after any transaction that changes items or available stock commits; the TTL
+ * is a safety net for changes made outside the application.
+ */
+@Component
+public class InventoryCatalogCache {
+
+    private final Map<Object, CachedValue> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, so a load that raced with a change is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${inventory.catalog.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${inventory.catalog.cache.max-entries:500}")
+    private int maxEntries;
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> loader) {
+        CachedValue cached = entries.get(key);
+        if (cached != null && cached.loadedAt().plus(Duration.ofSeconds(ttlSeconds)).isAfter(Instant.now())) {
+            return (T) cached.value();
+        }
+
+        long loadedGeneration = generation.get();
+        T value = loader.get();
+        if (generation.get() == loadedGeneration) {
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+            entries.put(key, new CachedValue(value, Instant.now()));
+        }
+        return value;
+    }
+
+    /**
+     * Clears the cache once the current transaction commits
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private record CachedValue(Object value, Instant loadedAt) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.dto.report.ReconciliationRunResponse;
+import com.banana.harvest.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs inventory reconciliation over all batches, on a schedule (month end by default) or on demand.
+ * Chunks are processed in parallel on a bounded pool, each in its own transaction that also
+ * checkpoints the chunk, so a run interrupted by a restart resumes with the chunks left.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryReconciliationJob {
+
+    private final InventoryReconciliationService reconciliationService;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reconciliation-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${inventory.reconciliation.chunk-size:50}")
+    private int chunkSize;
+
+    @Value("${inventory.reconciliation.parallelism:4}")
+    private int parallelism;
+
+    @Scheduled(cron = "${inventory.reconciliation.cron:0 30 2 1 * *}")
+    public void scheduledRun() {
+        try {
+            start("scheduled");
+        } catch (BusinessException e) {
+            log.warn("Scheduled reconciliation skipped: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        try {
+            reconciliationService.findInterruptedRun().ifPresent(run -> {
+                log.info("Resuming interrupted reconciliation run {} ({} of {} chunks done)",
+                        run.getId(), run.getCompletedChunks(), run.getTotalChunks());
+                launch(() -> run);
+            });
+        } catch (Exception e) {
+            log.error("Unable to resume reconciliation run", e);
+        }
+    }
+
+    /**
+     * Starts a run, or resumes the interrupted one if there is one
+     */
+    public ReconciliationRunResponse start(String triggeredBy) {
+        return launch(() -> reconciliationService.findInterruptedRun()
+                .orElseGet(() -> reconciliationService.planRun(triggeredBy, chunkSize)));
+    }
+
+    /**
+     * Re-runs the chunks of a failed or interrupted run that did not complete
+     */
+    public ReconciliationRunResponse resume(UUID runId) {
+        return launch(() -> reconciliationService.reopenRun(runId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private ReconciliationRunResponse launch(Supplier<ReconciliationRunResponse> runSupplier) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("A reconciliation run is already in progress", "RECONCILIATION_RUNNING");
+        }
+        try {
+            ReconciliationRunResponse run = runSupplier.get();
+            coordinator.execute(() -> execute(run.getId()));
+            return run;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    private void execute(UUID runId) {
+        long startedAt = System.currentTimeMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (UUID chunkId : reconciliationService.getPendingChunkIds(runId)) {
+                chunks.add(workers.submit(() -> processChunk(chunkId)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+
+            ReconciliationRunResponse run = reconciliationService.finishRun(runId);
+            log.info("Reconciliation run {} {} - chunks: {}/{}, batches: {}, ledgerEntries: {}, took {} ms",
+                    runId, run.getStatus(), run.getCompletedChunks(), run.getTotalChunks(), run.getBatchCount(),
+                    run.getLedgerEntries(), System.currentTimeMillis() - startedAt);
+        } catch (InterruptedException e) {
+            // Left RUNNING; picked up again on the next start
+            Thread.currentThread().interrupt();
+            log.warn("Reconciliation run {} interrupted", runId);
+        } catch (Exception e) {
+            log.error("Reconciliation run {} aborted", runId, e);
+        } finally {
+            workers.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    private void processChunk(UUID chunkId) {
+        try {
+            reconciliationService.reconcileChunk(chunkId);
+        } catch (Exception e) {
+            log.warn("Reconciliation chunk {} failed: {}", chunkId, e.getMessage());
+            reconciliationService.recordChunkFailure(chunkId, e.getMessage());
+        }
+    }
+}
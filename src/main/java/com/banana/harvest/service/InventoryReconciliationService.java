@@ -1,17 +1,24 @@
 package com.banana.harvest.service;
 
+import com.banana.harvest.dto.report.ReconciliationRunResponse;
 import com.banana.harvest.dto.report.VendorLedgerResponse;
 import com.banana.harvest.entity.*;
+import com.banana.harvest.entity.enums.ReconciliationStatus;
 import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.exception.ResourceNotFoundException;
 import com.banana.harvest.repository.*;
+import com.banana.harvest.service.event.DomainEvent;
+import com.banana.harvest.service.event.DomainEventType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +36,10 @@ public class InventoryReconciliationService {
     private final LaborCostRepository laborCostRepository;
     private final GatePassRepository gatePassRepository;
     private final UserRepository userRepository;
+    private final BatchRepository batchRepository;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationChunkRepository chunkRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Records box issuance to vendor
@@ -56,7 +67,7 @@ public class InventoryReconciliationService {
                 .notes(notes != null ? notes : "Boxes issued to vendor")
                 .build();
 
-        ledgerRepository.save(ledger);
+        saveLedgerEntry(ledger);
         log.info("Recorded box issuance: Vendor={}, Quantity={}, New Balance={}", 
                 vendorId, quantity, newBalance);
     }
@@ -89,7 +100,7 @@ public class InventoryReconciliationService {
                 .notes(notes != null ? notes : "Filled boxes returned")
                 .build();
 
-        ledgerRepository.save(ledger);
+        saveLedgerEntry(ledger);
         log.info("Recorded box return: Vendor={}, Quantity={}, New Balance={}", 
                 vendorId, quantity, newBalance);
     }
@@ -113,7 +124,7 @@ public class InventoryReconciliationService {
                 .notes(notes != null ? notes : "Boxes damaged/wasted")
                 .build();
 
-        ledgerRepository.save(ledger);
+        saveLedgerEntry(ledger);
         log.info("Recorded damaged boxes: Vendor={}, Quantity={}, New Balance={}", 
                 vendorId, quantity, newBalance);
     }
@@ -137,7 +148,7 @@ public class InventoryReconciliationService {
                 .notes(notes != null ? notes : "Labor cost added")
                 .build();
 
-        ledgerRepository.save(ledger);
+        saveLedgerEntry(ledger);
         log.info("Recorded labor cost: Vendor={}, Amount={}, New Balance={}", 
                 vendorId, amount, newBalance);
     }
@@ -170,11 +181,27 @@ public class InventoryReconciliationService {
                 .notes(notes != null ? notes : "Labor payment made")
                 .build();
 
-        ledgerRepository.save(ledger);
+        saveLedgerEntry(ledger);
         log.info("Recorded labor payment: Vendor={}, Amount={}, New Balance={}", 
                 vendorId, amount, newBalance);
     }
 
+    private void saveLedgerEntry(VendorLedger ledger) {
+        publishLedgerEntry(ledgerRepository.save(ledger));
+    }
+
+    private void publishLedgerEntry(VendorLedger saved) {
+        eventPublisher.publishEvent(DomainEvent.of(DomainEventType.LEDGER_ENTRY_CREATED,
+                saved.getId(), saved.getVendor().getId(),
+                "transactionType", saved.getTransactionType(),
+                "batchId", saved.getBatch() != null ? saved.getBatch().getBatchId() : null,
+                "quantity", saved.getQuantity(),
+                "amount", saved.getAmount(),
+                "balanceBoxes", saved.getBalanceBoxes(),
+                "balanceAmount", saved.getBalanceAmount(),
+                "notes", saved.getNotes()));
+    }
+
     /**
      * Calculates complete vendor balance
      */
@@ -231,39 +258,247 @@ public class InventoryReconciliationService {
      */
     @Transactional
     public void reconcileBatchInventory(UUID batchId, UUID vendorId) {
-        // Get all allocations for this batch
-        List<InventoryAllocation> allocations = allocationRepository.findByBatchId(batchId);
-        
-        // Get total boxes allocated
-        int totalBoxesAllocated = allocations.stream()
-                .filter(a -> a.getItem().getCategory().name().equals("BOX"))
-                .mapToInt(InventoryAllocation::getQuantity)
-                .sum();
-        
-        // Get total boxes received via gate passes
-        Integer totalBoxesReceived = gatePassRepository.sumReceivedBoxesByBatch(batchId);
-        if (totalBoxesReceived == null) totalBoxesReceived = 0;
-        
-        // Get total boxes wasted
-        Integer totalBoxesWasted = harvestReportRepository.sumBoxesWastedByBatch(batchId);
-        if (totalBoxesWasted == null) totalBoxesWasted = 0;
-        
-        // Calculate pending boxes
-        int boxesPending = totalBoxesAllocated - totalBoxesReceived - totalBoxesWasted;
-        
-        log.info("Batch {} Inventory Reconciliation: Allocated={}, Received={}, Wasted={}, Pending={}",
-                batchId, totalBoxesAllocated, totalBoxesReceived, totalBoxesWasted, boxesPending);
-        
-        // If there are pending boxes, record them
-        if (boxesPending > 0) {
-            recordBoxReturn(vendorId, batchId, totalBoxesReceived, 
-                    String.format("Auto-reconciliation: %d boxes received", totalBoxesReceived));
-            
-            if (totalBoxesWasted > 0) {
-                recordDamagedBoxes(vendorId, batchId, totalBoxesWasted,
-                        String.format("Auto-reconciliation: %d boxes damaged", totalBoxesWasted));
+        Batch batch = batchRepository.findById(batchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Batch", "id", batchId));
+        if (batch.getVendor() == null || !batch.getVendor().getId().equals(vendorId)) {
+            throw new BusinessException("Batch does not belong to vendor");
+        }
+        reconcileBatches(List.of(batchId));
+    }
+
+    /**
+     * Creates a run over every batch with a vendor, split into chunks of about chunkSize
+     * batches. A vendor's batches are never split across chunks.
+     */
+    @Transactional
+    public ReconciliationRunResponse planRun(String triggeredBy, int chunkSize) {
+        ReconciliationRun run = runRepository.save(ReconciliationRun.builder()
+                .triggeredBy(triggeredBy)
+                .build());
+
+        List<ReconciliationChunk> chunks = new ArrayList<>();
+        List<UUID> current = new ArrayList<>();
+        List<UUID> vendorBatches = new ArrayList<>();
+        UUID currentVendor = null;
+        for (BatchRepository.BatchVendor row : batchRepository.findAllBatchVendors()) {
+            if (!row.getVendorId().equals(currentVendor)) {
+                addVendorBatches(run, chunks, current, vendorBatches, chunkSize);
+                currentVendor = row.getVendorId();
+            }
+            vendorBatches.add(row.getBatchId());
+        }
+        addVendorBatches(run, chunks, current, vendorBatches, chunkSize);
+        if (!current.isEmpty()) {
+            chunks.add(newChunk(run, chunks.size(), current));
+        }
+
+        chunkRepository.saveAll(chunks);
+        run.setTotalChunks(chunks.size());
+        log.info("Reconciliation run planned - runId: {}, chunks: {}, triggeredBy: {}",
+                run.getId(), chunks.size(), triggeredBy);
+        return mapToRunResponse(runRepository.save(run));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReconciliationRunResponse> findInterruptedRun() {
+        return runRepository.findFirstByStatusOrderByStartedAtDesc(ReconciliationStatus.RUNNING)
+                .map(this::mapToRunResponse);
+    }
+
+    /**
+     * Marks a failed or interrupted run as running again; completed chunks are kept
+     */
+    @Transactional
+    public ReconciliationRunResponse reopenRun(UUID runId) {
+        ReconciliationRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run", "id", runId));
+        if (run.getStatus() == ReconciliationStatus.COMPLETED) {
+            throw new BusinessException("Reconciliation run is already completed");
+        }
+        run.setStatus(ReconciliationStatus.RUNNING);
+        run.setFinishedAt(null);
+        return mapToRunResponse(runRepository.save(run));
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> getPendingChunkIds(UUID runId) {
+        return chunkRepository.findIdsByRunIdAndStatusNot(runId, ReconciliationStatus.COMPLETED);
+    }
+
+    /**
+     * Reconciles one chunk and checkpoints it in the same transaction.
+     * Returns false if the chunk is already completed or claimed by another worker.
+     */
+    @Transactional
+    public boolean reconcileChunk(UUID chunkId) {
+        ReconciliationChunk chunk = chunkRepository.claim(chunkId).orElse(null);
+        if (chunk == null || chunk.getStatus() == ReconciliationStatus.COMPLETED) {
+            return false;
+        }
+
+        List<UUID> batchIds = Arrays.stream(chunk.getBatchIds().split(","))
+                .map(UUID::fromString)
+                .toList();
+        int entries = reconcileBatches(batchIds);
+
+        chunk.setStatus(ReconciliationStatus.COMPLETED);
+        chunk.setLedgerEntries(entries);
+        chunk.setAttempts(chunk.getAttempts() + 1);
+        chunk.setLastError(null);
+        chunk.setCompletedAt(LocalDateTime.now());
+        chunkRepository.save(chunk);
+        runRepository.recordChunkCompleted(chunk.getRun().getId(), chunk.getBatchCount(), entries);
+        return true;
+    }
+
+    @Transactional
+    public void recordChunkFailure(UUID chunkId, String error) {
+        chunkRepository.findById(chunkId).ifPresent(chunk -> {
+            chunk.setStatus(ReconciliationStatus.FAILED);
+            chunk.setAttempts(chunk.getAttempts() + 1);
+            chunk.setLastError(error);
+            chunkRepository.save(chunk);
+        });
+    }
+
+    @Transactional
+    public ReconciliationRunResponse finishRun(UUID runId) {
+        ReconciliationRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run", "id", runId));
+        long failed = chunkRepository.countByRunIdAndStatus(runId, ReconciliationStatus.FAILED);
+        long completed = chunkRepository.countByRunIdAndStatus(runId, ReconciliationStatus.COMPLETED);
+        if (completed == run.getTotalChunks()) {
+            run.setStatus(ReconciliationStatus.COMPLETED);
+            run.setLastError(null);
+        } else {
+            run.setStatus(ReconciliationStatus.FAILED);
+            run.setLastError(failed + " of " + run.getTotalChunks() + " chunks failed");
+        }
+        run.setFinishedAt(LocalDateTime.now());
+        return mapToRunResponse(runRepository.save(run));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReconciliationRunResponse> getRecentRuns() {
+        return runRepository.findTop20ByOrderByStartedAtDesc().stream()
+                .map(this::mapToRunResponse)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public ReconciliationRunResponse getRun(UUID runId) {
+        return runRepository.findById(runId)
+                .map(this::mapToRunResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run", "id", runId));
+    }
+
+    /**
+     * Brings the BOX_RETURNED and BOX_DAMAGED ledger of each batch up to its received and
+     * wasted totals. Totals come from one aggregate query per source for the whole set and
+     * only the difference to what is already recorded is written, so re-running is harmless.
+     * Returns the number of ledger entries written.
+     */
+    private int reconcileBatches(List<UUID> batchIds) {
+        Map<UUID, Batch> batches = batchRepository.findAllById(batchIds).stream()
+                .collect(Collectors.toMap(Batch::getId, Function.identity()));
+        Map<UUID, Long> allocated = totalsByBatch(allocationRepository.sumBoxesAllocatedByBatches(batchIds));
+        Map<UUID, Long> received = totalsByBatch(gatePassRepository.sumReceivedBoxesByBatches(batchIds));
+        Map<UUID, Long> wasted = totalsByBatch(harvestReportRepository.sumBoxesWastedByBatches(batchIds));
+        Map<UUID, Long> returned = totalsByBatch(ledgerRepository.sumQuantityByBatches(batchIds, "BOX_RETURNED"));
+        Map<UUID, Long> damaged = totalsByBatch(ledgerRepository.sumQuantityByBatches(batchIds, "BOX_DAMAGED"));
+
+        Set<UUID> vendorIds = batches.values().stream()
+                .filter(batch -> batch.getVendor() != null)
+                .map(batch -> batch.getVendor().getId())
+                .collect(Collectors.toSet());
+        Map<UUID, Long> balances = new HashMap<>();
+        if (!vendorIds.isEmpty()) {
+            ledgerRepository.sumBoxBalancesByVendors(vendorIds)
+                    .forEach(row -> balances.put(row.getVendorId(), row.getBalance()));
+        }
+
+        List<VendorLedger> entries = new ArrayList<>();
+        for (UUID batchId : batchIds) {
+            Batch batch = batches.get(batchId);
+            if (batch == null || batch.getVendor() == null || allocated.getOrDefault(batchId, 0L) == 0) {
+                continue;
+            }
+            UUID vendorId = batch.getVendor().getId();
+            long balance = balances.getOrDefault(vendorId, 0L);
+            long returnedDelta = received.getOrDefault(batchId, 0L) - returned.getOrDefault(batchId, 0L);
+            long damagedDelta = wasted.getOrDefault(batchId, 0L) - damaged.getOrDefault(batchId, 0L);
+
+            if (returnedDelta > 0) {
+                balance -= returnedDelta;
+                entries.add(reconciliationEntry(batch, "BOX_RETURNED", returnedDelta, balance,
+                        String.format("Auto-reconciliation: %d boxes received", returnedDelta)));
             }
+            if (damagedDelta > 0) {
+                balance -= damagedDelta;
+                entries.add(reconciliationEntry(batch, "BOX_DAMAGED", damagedDelta, balance,
+                        String.format("Auto-reconciliation: %d boxes damaged", damagedDelta)));
+            }
+            balances.put(vendorId, balance);
+
+            log.debug("Batch {} Inventory Reconciliation: Allocated={}, Received={}, Wasted={}, Balance={}",
+                    batch.getBatchId(), allocated.get(batchId), received.getOrDefault(batchId, 0L),
+                    wasted.getOrDefault(batchId, 0L), balance);
+        }
+
+        ledgerRepository.saveAll(entries).forEach(this::publishLedgerEntry);
+        return entries.size();
+    }
+
+    private static VendorLedger reconciliationEntry(Batch batch, String transactionType, long quantity,
+                                                    long balance, String notes) {
+        return VendorLedger.builder()
+                .vendor(batch.getVendor())
+                .batch(batch)
+                .transactionType(transactionType)
+                .quantity((int) quantity)
+                .balanceBoxes((int) balance)
+                .notes(notes)
+                .build();
+    }
+
+    private static Map<UUID, Long> totalsByBatch(List<BatchTotal> totals) {
+        Map<UUID, Long> byBatch = new HashMap<>();
+        totals.forEach(total -> byBatch.put(total.getBatchId(), total.getTotal() != null ? total.getTotal() : 0L));
+        return byBatch;
+    }
+
+    private void addVendorBatches(ReconciliationRun run, List<ReconciliationChunk> chunks, List<UUID> current,
+                                  List<UUID> vendorBatches, int chunkSize) {
+        if (!current.isEmpty() && current.size() + vendorBatches.size() > chunkSize) {
+            chunks.add(newChunk(run, chunks.size(), current));
+            current.clear();
         }
+        current.addAll(vendorBatches);
+        vendorBatches.clear();
+    }
+
+    private static ReconciliationChunk newChunk(ReconciliationRun run, int index, List<UUID> batchIds) {
+        return ReconciliationChunk.builder()
+                .run(run)
+                .chunkIndex(index)
+                .batchIds(batchIds.stream().map(UUID::toString).collect(Collectors.joining(",")))
+                .batchCount(batchIds.size())
+                .build();
+    }
+
+    private ReconciliationRunResponse mapToRunResponse(ReconciliationRun run) {
+        return ReconciliationRunResponse.builder()
+                .id(run.getId())
+                .status(run.getStatus())
+                .triggeredBy(run.getTriggeredBy())
+                .totalChunks(run.getTotalChunks())
+                .completedChunks(run.getCompletedChunks())
+                .batchCount(run.getBatchCount())
+                .ledgerEntries(run.getLedgerEntries())
+                .lastError(run.getLastError())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .build();
     }
 
     private Integer sumDamagedBoxesByVendor(UUID vendorId) {
@@ -2,17 +2,26 @@ package com.banana.harvest.service;
 
 import com.banana.harvest.dto.inventory.*;
 import com.banana.harvest.entity.*;
+import com.banana.harvest.entity.enums.InventoryCategory;
 import com.banana.harvest.exception.BusinessException;
 import com.banana.harvest.exception.ResourceNotFoundException;
 import com.banana.harvest.repository.*;
+import com.banana.harvest.service.event.DomainEvent;
+import com.banana.harvest.service.event.DomainEventType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class InventoryService {
@@ -23,19 +32,44 @@ public class InventoryService {
     private final BatchRepository batchRepository;
     private final UserRepository userRepository;
     private final VendorLedgerRepository ledgerRepository;
+    private final StockReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationService reservationService;
+    private final HotStockEscrow hotStockEscrow;
+    private final InventoryCatalogCache catalogCache;
+    private final LowStockMonitor lowStockMonitor;
+    private final HarvestService harvestService;
+
+    @Value("${inventory.bulk-allocation.max-cells:5000}")
+    private int bulkMaxCells;
 
     @Transactional(readOnly = true)
     public List<InventoryItemResponse> getAllItems() {
-        return itemRepository.findByIsActiveTrue().stream()
+        return catalogCache.get("all", () -> itemRepository.findActiveCatalog().stream()
                 .map(this::mapToItemResponse)
-                .collect(Collectors.toList());
+                .toList());
+    }
+
+    /**
+     * Active items filtered by category and by a case-insensitive match on name or code
+     */
+    @Transactional(readOnly = true)
+    public Page<InventoryItemResponse> searchItems(InventoryCategory category, String search, Pageable pageable) {
+        String pattern = search == null || search.isBlank()
+                ? "%"
+                : "%" + search.trim().toLowerCase(Locale.ROOT)
+                        .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        CatalogQuery key = new CatalogQuery(category, pattern, pageable.getPageNumber(), pageable.getPageSize(),
+                pageable.getSort().toString());
+        return catalogCache.get(key, () -> itemRepository.searchCatalog(category, pattern, pageable)
+                .map(this::mapToItemResponse));
     }
 
     @Transactional(readOnly = true)
     public InventoryItemResponse getItemById(UUID id) {
-        InventoryItem item = itemRepository.findById(id)
+        return itemRepository.findCatalogEntry(id)
+                .map(this::mapToItemResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item", "id", id));
-        return mapToItemResponse(item);
     }
 
     @Transactional
@@ -63,6 +97,7 @@ public class InventoryService {
                 .reservedQuantity(0)
                 .build();
         stockRepository.save(stock);
+        catalogCache.invalidate();
 
         return mapToItemResponse(savedItem);
     }
@@ -72,12 +107,16 @@ public class InventoryService {
         InventoryItem item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Inventory item", "id", itemId));
 
-        InventoryStock stock = stockRepository.findByItemId(itemId)
-                .orElseThrow(() -> new ResourceNotFoundException("Stock", "itemId", itemId));
-
-        stock.setTotalQuantity(stock.getTotalQuantity() + quantity);
-        stock.setAvailableQuantity(stock.getAvailableQuantity() + quantity);
-        stockRepository.save(stock);
+        if (stockRepository.addStock(item.getId(), quantity) == 0) {
+            if (stockRepository.findByItemId(item.getId()).isEmpty()) {
+                throw new ResourceNotFoundException("Stock", "itemId", item.getId());
+            }
+            // Negative adjustments cannot take more than is available
+            throw new BusinessException("Insufficient stock available. Requested adjustment: " + quantity,
+                    "INSUFFICIENT_STOCK");
+        }
+        catalogCache.invalidate();
+        lowStockMonitor.recordReceipt(item, quantity);
     }
 
     @Transactional
@@ -91,42 +130,148 @@ public class InventoryService {
         User allocatedBy = userRepository.findById(allocatedById)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", allocatedById));
 
-        InventoryStock stock = stockRepository.findByItemId(item.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Stock", "itemId", item.getId()));
-
-        if (stock.getAvailableQuantity() < request.getQuantity()) {
-            throw new BusinessException("Insufficient stock available. Available: " + 
-                    stock.getAvailableQuantity() + ", Requested: " + request.getQuantity());
+        // Take the stock: from the caller's reservation, from this instance's escrow for hot
+        // SKUs, or with a conditional update of the stock row
+        StockReservation reservation = null;
+        if (request.getReservationId() != null && !request.getReservationId().isEmpty()) {
+            reservation = reservationService.consumeReservation(
+                    UUID.fromString(request.getReservationId()), item, request.getQuantity());
+        } else {
+            Optional<UUID> escrowId = hotStockEscrow.handles(item, request.getQuantity())
+                    ? hotStockEscrow.tryTake(item, request.getQuantity())
+                    : Optional.empty();
+            if (escrowId.isPresent()) {
+                reservation = reservationRepository.getReferenceById(escrowId.get());
+            } else {
+                reservationService.reserveAvailable(item, request.getQuantity());
+            }
         }
 
-        // Update stock
-        stock.setAvailableQuantity(stock.getAvailableQuantity() - request.getQuantity());
-        stock.setReservedQuantity(stock.getReservedQuantity() + request.getQuantity());
-        stockRepository.save(stock);
-
         // Create allocation
         InventoryAllocation allocation = InventoryAllocation.builder()
                 .batch(batch)
                 .item(item)
                 .quantity(request.getQuantity())
+                .reservation(reservation)
                 .allocatedBy(allocatedBy)
                 .notes(request.getNotes())
                 .build();
         allocationRepository.save(allocation);
+        catalogCache.invalidate();
+        lowStockMonitor.recordAllocation(item, request.getQuantity());
 
         // Update vendor ledger for boxes
-        if (item.getCategory().name().equals("BOX")) {
-            VendorLedger ledger = VendorLedger.builder()
-                    .vendor(batch.getVendor())
-                    .batch(batch)
-                    .transactionType("BOX_ISSUED")
-                    .quantity(request.getQuantity())
-                    .notes("Allocated " + item.getItemName())
-                    .build();
-            ledgerRepository.save(ledger);
+        if (item.getCategory() == InventoryCategory.BOX) {
+            publishLedgerEntry(ledgerRepository.save(boxIssued(batch, item, request.getQuantity())));
         }
     }
 
+    /**
+     * Allocates a matrix of items to many batches in one transaction. The stock rows are
+     * locked once, in item id order, and allocations and ledger rows are inserted in JDBC
+     * batches; the cost sheet of each affected batch is recalculated once at the end.
+     */
+    @Transactional
+    public BulkAllocationResponse allocateBulk(BulkAllocationRequest request, UUID allocatedById) {
+        List<UUID> batchIds = parseIds(request.getBatchIds());
+        List<UUID> itemIds = parseIds(request.getItemIds());
+        if (new HashSet<>(batchIds).size() != batchIds.size() || new HashSet<>(itemIds).size() != itemIds.size()) {
+            throw new BusinessException("Batches and items must not repeat");
+        }
+        if (request.getQuantities().size() != batchIds.size()
+                || request.getQuantities().stream().anyMatch(row -> row.size() != itemIds.size())) {
+            throw new BusinessException("Quantities must have one row per batch and one column per item");
+        }
+        if ((long) batchIds.size() * itemIds.size() > bulkMaxCells) {
+            throw new BusinessException("Bulk allocation is limited to " + bulkMaxCells + " cells");
+        }
+
+        Map<UUID, Batch> batches = batchRepository.findAllById(batchIds).stream()
+                .collect(Collectors.toMap(Batch::getId, Function.identity()));
+        Map<UUID, InventoryItem> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(InventoryItem::getId, Function.identity()));
+        batchIds.stream().filter(id -> !batches.containsKey(id)).findFirst().ifPresent(id -> {
+            throw new ResourceNotFoundException("Batch", "id", id);
+        });
+        itemIds.stream().filter(id -> !items.containsKey(id)).findFirst().ifPresent(id -> {
+            throw new ResourceNotFoundException("Inventory item", "id", id);
+        });
+        User allocatedBy = userRepository.findById(allocatedById)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", allocatedById));
+
+        Map<UUID, Integer> totals = new LinkedHashMap<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            int column = i;
+            int total = request.getQuantities().stream().mapToInt(row -> row.get(column)).sum();
+            if (total > 0) {
+                totals.put(itemIds.get(i), total);
+            }
+        }
+        if (totals.isEmpty()) {
+            throw new BusinessException("Nothing to allocate");
+        }
+
+        // Lock every affected stock row once, then check and take the totals
+        List<InventoryStock> stocks = stockRepository.findByItemIdsForUpdate(totals.keySet());
+        Map<UUID, InventoryStock> stockByItem = stocks.stream()
+                .collect(Collectors.toMap(stock -> stock.getItem().getId(), Function.identity()));
+        for (Map.Entry<UUID, Integer> total : totals.entrySet()) {
+            InventoryStock stock = stockByItem.get(total.getKey());
+            int available = stock != null ? stock.getAvailableQuantity() : 0;
+            if (available < total.getValue()) {
+                throw new BusinessException("Insufficient stock available for " + items.get(total.getKey()).getItemName() +
+                        ". Available: " + available + ", Requested: " + total.getValue(), "INSUFFICIENT_STOCK");
+            }
+            stock.setAvailableQuantity(available - total.getValue());
+            stock.setReservedQuantity(stock.getReservedQuantity() + total.getValue());
+        }
+
+        List<InventoryAllocation> allocations = new ArrayList<>();
+        List<VendorLedger> ledgerEntries = new ArrayList<>();
+        for (int b = 0; b < batchIds.size(); b++) {
+            Batch batch = batches.get(batchIds.get(b));
+            for (int i = 0; i < itemIds.size(); i++) {
+                int quantity = request.getQuantities().get(b).get(i);
+                if (quantity == 0) {
+                    continue;
+                }
+                InventoryItem item = items.get(itemIds.get(i));
+                allocations.add(InventoryAllocation.builder()
+                        .batch(batch)
+                        .item(item)
+                        .quantity(quantity)
+                        .allocatedBy(allocatedBy)
+                        .notes(request.getNotes())
+                        .build());
+                if (item.getCategory() == InventoryCategory.BOX) {
+                    ledgerEntries.add(boxIssued(batch, item, quantity));
+                }
+            }
+        }
+        allocationRepository.saveAll(allocations);
+        ledgerRepository.saveAll(ledgerEntries).forEach(this::publishLedgerEntry);
+
+        Set<UUID> affectedBatches = allocations.stream()
+                .map(allocation -> allocation.getBatch().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        affectedBatches.forEach(id -> harvestService.recalculateBatchCosts(batches.get(id)));
+
+        catalogCache.invalidate();
+        totals.forEach((itemId, total) -> lowStockMonitor.recordAllocation(items.get(itemId), total));
+
+        log.info("Bulk allocation - batches: {}, items: {}, allocations: {}, ledgerEntries: {}",
+                affectedBatches.size(), totals.size(), allocations.size(), ledgerEntries.size());
+
+        Map<String, Integer> quantityByItem = new LinkedHashMap<>();
+        totals.forEach((itemId, total) -> quantityByItem.put(items.get(itemId).getItemCode(), total));
+        return BulkAllocationResponse.builder()
+                .batchCount(affectedBatches.size())
+                .allocationCount(allocations.size())
+                .ledgerEntryCount(ledgerEntries.size())
+                .quantityByItem(quantityByItem)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public List<InventoryAllocation> getBatchAllocations(UUID batchId) {
         return allocationRepository.findByBatchId(batchId);
@@ -139,6 +284,51 @@ public class InventoryService {
                 .orElse(0);
     }
 
+    public List<StockOutlookResponse> getStockOutlook() {
+        return lowStockMonitor.snapshot();
+    }
+
+    private VendorLedger boxIssued(Batch batch, InventoryItem item, int quantity) {
+        return VendorLedger.builder()
+                .vendor(batch.getVendor())
+                .batch(batch)
+                .transactionType("BOX_ISSUED")
+                .quantity(quantity)
+                .notes("Allocated " + item.getItemName())
+                .build();
+    }
+
+    private void publishLedgerEntry(VendorLedger saved) {
+        eventPublisher.publishEvent(DomainEvent.of(DomainEventType.LEDGER_ENTRY_CREATED,
+                saved.getId(), saved.getVendor().getId(),
+                "transactionType", saved.getTransactionType(),
+                "batchId", saved.getBatch().getBatchId(),
+                "quantity", saved.getQuantity(),
+                "notes", saved.getNotes()));
+    }
+
+    private static List<UUID> parseIds(List<String> ids) {
+        try {
+            return ids.stream().map(UUID::fromString).toList();
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid id: " + e.getMessage());
+        }
+    }
+
+    private InventoryItemResponse mapToItemResponse(InventoryItemRepository.CatalogEntry entry) {
+        return InventoryItemResponse.builder()
+                .id(entry.getId())
+                .itemName(entry.getItemName())
+                .itemCode(entry.getItemCode())
+                .category(entry.getCategory())
+                .unitOfMeasure(entry.getUnitOfMeasure())
+                .unitCost(entry.getUnitCost())
+                .isActive(entry.getIsActive())
+                .availableQuantity(entry.getAvailableQuantity())
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+
     private InventoryItemResponse mapToItemResponse(InventoryItem item) {
         Integer availableQty = stockRepository.findByItemId(item.getId())
                 .map(InventoryStock::getAvailableQuantity)
@@ -156,4 +346,7 @@ public class InventoryService {
                 .createdAt(item.getCreatedAt())
                 .build();
     }
+
+    private record CatalogQuery(InventoryCategory category, String pattern, int page, int size, String sort) {
+    }
 }
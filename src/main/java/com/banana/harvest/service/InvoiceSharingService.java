@@ -30,6 +30,7 @@ public class InvoiceSharingService {
     private final SaleRepository saleRepository;
     private final PdfInvoiceService pdfInvoiceService;
     private final NotificationService notificationService;
+    private final RestTemplate restTemplate;
 
     // WhatsApp Business API configuration (would come from properties)
     private static final String WHATSAPP_API_URL = "https://graph.facebook.com/v18.0";
@@ -140,7 +141,6 @@ public class InvoiceSharingService {
         
         HttpEntity<String> request = new HttpEntity<>(messageBody, headers);
         
-        RestTemplate restTemplate = new RestTemplate();
         ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
         
         if (!response.getStatusCode().is2xxSuccessful()) {
@@ -172,7 +172,6 @@ public class InvoiceSharingService {
         
         HttpEntity<MultiValueMap<String, Object>> request = new HttpEntity<>(body, headers);
         
-        RestTemplate restTemplate = new RestTemplate();
         ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
         
         // Parse response to get media ID
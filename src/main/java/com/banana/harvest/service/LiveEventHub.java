@@ -0,0 +1,324 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.enums.UserRole;
+import com.banana.harvest.security.UserPrincipal;
+import com.banana.harvest.service.event.DomainEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for pushing committed domain events to dashboard clients over Server-Sent Events.
+ * Each event gets a monotonically increasing id and is kept in a bounded replay buffer,
+ * so a client reconnecting with Last-Event-ID receives what it missed; when the id has
+ * already left the buffer a "resync" event tells it to reload its snapshot once.
+ * Publishing only queues frames: every subscriber has a bounded outbox drained by a small
+ * sender pool, so committing requests and other clients never wait on a slow client.
+ * A client whose outbox overflows is disconnected and resumes from its Last-Event-ID,
+ * or resyncs if it fell further behind than the replay buffer.
+ */
+@Slf4j
+@Service
+public class LiveEventHub {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Deque<LiveEvent> replayBuffer = new ArrayDeque<>();
+    private final ExecutorService senderExecutor;
+
+    // Seeded from the clock so ids keep increasing across restarts and stale ids trigger a resync
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+
+    @Value("${events.stream.replay-buffer-size:1000}")
+    private int replayBufferSize;
+
+    @Value("${events.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${events.stream.reconnect-ms:3000}")
+    private long reconnectMs;
+
+    @Value("${events.stream.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+
+    public LiveEventHub(MeterRegistry meterRegistry,
+                        @Value("${events.stream.sender-threads:4}") int senderThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senderExecutor = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-events-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("events.stream.subscribers", subscribers, List::size)
+                .description("Open Server-Sent Events connections")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("events.stream.delivered")
+                .description("Events written to subscribers")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("events.stream.dropped")
+                .description("Subscribers dropped after a failed write or a full outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user. typePrefixes optionally narrows the stream
+     * (e.g. "inspection." or "gate-pass."); lastEventId resumes after a reconnect.
+     */
+    public SseEmitter subscribe(UserPrincipal principal, Set<String> typePrefixes, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, principal.getId(), principal.getRole(), typePrefixes,
+                subscriberQueueSize);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Queuing the replay and registering under the buffer lock keeps live events
+        // published meanwhile from overtaking it
+        synchronized (replayBuffer) {
+            Long resumeFrom = parseEventId(lastEventId);
+            List<LiveEvent> missed = resumeFrom == null ? List.of()
+                    : replayBuffer.stream()
+                            .filter(event -> event.id() > resumeFrom && subscriber.accepts(event))
+                            .toList();
+            // A replay larger than the outbox would overflow it, so reload instead
+            boolean resync = resumeFrom != null
+                    && (!canResumeFrom(resumeFrom) || missed.size() >= subscriberQueueSize);
+
+            subscriber.offer(new Frame(SseEmitter.event().reconnectTime(reconnectMs).comment("connected").build(),
+                    false));
+            if (resync) {
+                subscriber.offer(new Frame(SseEmitter.event()
+                        .id(String.valueOf(sequence.get()))
+                        .name(RESYNC_EVENT)
+                        .data(Map.of("reason", "missed events can no longer be replayed"))
+                        .build(), false));
+            } else {
+                missed.forEach(event -> subscriber.offer(event.frame()));
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+
+        log.debug("Event stream opened - userId: {}, role: {}, resumeFrom: {}, subscribers: {}",
+                principal.getId(), principal.getRole(), lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Buffers a committed event and fans it out to matching subscribers
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent domainEvent) {
+        List<Subscriber> notified = new ArrayList<>();
+        synchronized (replayBuffer) {
+            LiveEvent event = new LiveEvent(sequence.incrementAndGet(), domainEvent.type().wireName(),
+                    domainEvent.aggregateId(), domainEvent.vendorId(), domainEvent.type().audience(),
+                    domainEvent.data(), domainEvent.occurredAt());
+            replayBuffer.addLast(event);
+            while (replayBuffer.size() > replayBufferSize) {
+                replayBuffer.removeFirst();
+            }
+
+            // Queued in id order; the frame is encoded once and shared by every subscriber
+            Frame frame = event.frame();
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.accepts(event)) {
+                    enqueue(subscriber, frame);
+                    notified.add(subscriber);
+                }
+            }
+        }
+        notified.forEach(this::schedule);
+    }
+
+    /**
+     * Comment frames keep proxies and mobile networks from closing idle connections
+     * and surface dead connections
+     */
+    @Scheduled(fixedDelayString = "${events.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        Frame frame = new Frame(SseEmitter.event().comment("heartbeat").build(), false);
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, frame);
+            schedule(subscriber);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senderExecutor.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter().complete();
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * Queues a frame without blocking. A full outbox means the client is not keeping up,
+     * so it is closed and left to reconnect with its Last-Event-ID.
+     */
+    private void enqueue(Subscriber subscriber, Frame frame) {
+        if (!subscriber.offer(frame) && subscribers.remove(subscriber)) {
+            subscriber.closing().set(true);
+            droppedCounter.increment();
+            log.debug("Dropping event stream subscriber {}: outbox full", subscriber.userId());
+        }
+    }
+
+    /**
+     * Hands the subscriber to a sender thread unless one is already draining it
+     */
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.draining().compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senderExecutor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining().set(false);
+        }
+    }
+
+    /**
+     * Writes queued frames in order. Only this thread writes to the emitter, so closing a
+     * dropped subscriber waits here rather than on a thread that publishes events.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            Frame frame;
+            while (!subscriber.closing().get() && (frame = subscriber.outbox().poll()) != null) {
+                subscriber.emitter().send(frame.data());
+                if (frame.event()) {
+                    deliveredCounter.increment();
+                }
+            }
+            if (subscriber.closing().get()) {
+                subscriber.outbox().clear();
+                subscriber.emitter().complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining().set(false);
+        }
+        // A frame queued after the last poll but before the flag was cleared
+        if (!subscriber.outbox().isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        subscriber.closing().set(true);
+        subscriber.outbox().clear();
+        if (subscribers.remove(subscriber)) {
+            droppedCounter.increment();
+            log.debug("Dropping event stream subscriber {}: {}", subscriber.userId(), cause.getMessage());
+        }
+        subscriber.emitter().completeWithError(cause);
+    }
+
+    private boolean canResumeFrom(long lastEventId) {
+        if (lastEventId > sequence.get()) {
+            return false;
+        }
+        LiveEvent oldest = replayBuffer.peekFirst();
+        // Nothing published since the client's last event, or the next one is still buffered
+        return oldest == null ? lastEventId == sequence.get() : lastEventId >= oldest.id() - 1;
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, UUID userId, UserRole role, Set<String> typePrefixes,
+                              BlockingQueue<Frame> outbox, AtomicBoolean draining, AtomicBoolean closing) {
+
+        Subscriber(SseEmitter emitter, UUID userId, UserRole role, Set<String> typePrefixes, int queueSize) {
+            this(emitter, userId, role, typePrefixes, new ArrayBlockingQueue<>(queueSize),
+                    new AtomicBoolean(), new AtomicBoolean());
+        }
+
+        boolean offer(Frame frame) {
+            return !closing.get() && outbox.offer(frame);
+        }
+
+        boolean accepts(LiveEvent event) {
+            boolean visible = event.audience().contains(role)
+                    || (role == UserRole.VENDOR && userId.equals(event.vendorId()));
+            if (!visible) {
+                return false;
+            }
+            return typePrefixes.isEmpty() || typePrefixes.stream().anyMatch(event.type()::startsWith);
+        }
+    }
+
+    private record LiveEvent(long id, String type, UUID aggregateId, UUID vendorId, Set<UserRole> audience,
+                             Map<String, Object> data, LocalDateTime occurredAt) {
+
+        Frame frame() {
+            return new Frame(SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(type)
+                    .data(toPayload(), MediaType.APPLICATION_JSON)
+                    .build(), true);
+        }
+
+        Map<String, Object> toPayload() {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("type", type);
+            payload.put("id", aggregateId);
+            if (vendorId != null) {
+                payload.put("vendorId", vendorId);
+            }
+            payload.put("data", data);
+            payload.put("occurredAt", occurredAt);
+            return payload;
+        }
+    }
+
+    /**
+     * An encoded SSE frame; event frames count towards events.stream.delivered
+     */
+    private record Frame(Set<ResponseBodyEmitter.DataWithMediaType> data, boolean event) {
+    }
+}
@@ -0,0 +1,234 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.dto.inventory.StockOutlookResponse;
+import com.banana.harvest.entity.InventoryItem;
+import com.banana.harvest.repository.InventoryStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches stock levels in memory and raises low-stock alerts.
+ * Receipts and allocations are applied as deltas after their transaction commits, so the
+ * allocation path runs no extra query; a periodic snapshot of all items corrects drift.
+ * Each item keeps an exponentially weighted consumption rate; an alert fires when stock
+ * falls to its threshold or the projected days of cover drop below the limit, and is not
+ * repeated until the item recovers or the re-alert interval passes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LowStockMonitor {
+
+    private static final double MILLIS_PER_DAY = 86_400_000d;
+
+    private final InventoryStockRepository stockRepository;
+    private final NotificationService notificationService;
+    private final Map<UUID, ItemLevel> levels = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingAlerts = ConcurrentHashMap.newKeySet();
+
+    @Value("${inventory.low-stock.default-threshold:50}")
+    private int defaultThreshold;
+
+    // Per-item thresholds by item code, e.g. {'BOX-STD': 500}
+    @Value("#{${inventory.low-stock.thresholds:{:}}}")
+    private Map<String, Integer> thresholds;
+
+    @Value("${inventory.low-stock.days-of-cover:7}")
+    private double daysOfCoverLimit;
+
+    @Value("${inventory.low-stock.rate-half-life-days:7}")
+    private double rateHalfLifeDays;
+
+    @Value("${inventory.low-stock.realert-hours:24}")
+    private long realertHours;
+
+    public void recordReceipt(InventoryItem item, int quantity) {
+        afterCommit(() -> level(item).receive(quantity));
+    }
+
+    public void recordAllocation(InventoryItem item, int quantity) {
+        afterCommit(() -> {
+            ItemLevel level = level(item);
+            long now = System.currentTimeMillis();
+            level.consume(quantity, now, rateTimeConstantMillis());
+            if (level.evaluate(now, rateTimeConstantMillis(), daysOfCoverLimit, realertHours)) {
+                pendingAlerts.add(level.itemId);
+            }
+        });
+    }
+
+    /**
+     * Current view of every tracked item, lowest days of cover first
+     */
+    public List<StockOutlookResponse> snapshot() {
+        long now = System.currentTimeMillis();
+        double timeConstant = rateTimeConstantMillis();
+        return levels.values().stream()
+                .sorted(Comparator.comparingDouble(level -> level.daysOfCover(now, timeConstant)))
+                .map(level -> {
+                    double cover = level.daysOfCover(now, timeConstant);
+                    return StockOutlookResponse.builder()
+                            .itemId(level.itemId)
+                            .itemName(level.itemName)
+                            .onHand(level.onHand)
+                            .threshold(level.threshold)
+                            .dailyConsumption(Math.round(level.dailyRate(now, timeConstant) * 100) / 100d)
+                            .daysOfCover(Double.isInfinite(cover) ? null : Math.round(cover * 10) / 10d)
+                            .alerted(level.alertedAt > 0)
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Re-reads every item's on-hand stock in one query and sends pending alerts
+     */
+    @Scheduled(fixedDelayString = "${inventory.low-stock.refresh-interval-ms:300000}",
+            initialDelayString = "${inventory.low-stock.initial-delay-ms:30000}")
+    public void refresh() {
+        try {
+            long now = System.currentTimeMillis();
+            Set<UUID> seen = new HashSet<>();
+            for (InventoryStockRepository.OnHandLevel row : stockRepository.findOnHandLevels()) {
+                ItemLevel level = levels.computeIfAbsent(row.getItemId(),
+                        id -> new ItemLevel(id, row.getItemName(), thresholdFor(row.getItemCode())));
+                level.reset(row.getOnHand());
+                if (level.evaluate(now, rateTimeConstantMillis(), daysOfCoverLimit, realertHours)) {
+                    pendingAlerts.add(level.itemId);
+                }
+                seen.add(row.getItemId());
+            }
+            levels.keySet().retainAll(seen);
+        } catch (Exception e) {
+            log.error("Low stock refresh failed", e);
+        }
+        sendPendingAlerts();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.low-stock.alert-interval-ms:10000}")
+    public void sendPendingAlerts() {
+        for (Iterator<UUID> it = pendingAlerts.iterator(); it.hasNext(); ) {
+            UUID itemId = it.next();
+            it.remove();
+            ItemLevel level = levels.get(itemId);
+            if (level == null) {
+                continue;
+            }
+            double cover = level.daysOfCover(System.currentTimeMillis(), rateTimeConstantMillis());
+            try {
+                notificationService.notifyLowStock(level.itemName, level.onHand, level.threshold,
+                        Double.isInfinite(cover) ? null : cover);
+                log.info("Low stock alert - item: {}, onHand: {}, threshold: {}, daysOfCover: {}",
+                        level.itemName, level.onHand, level.threshold, cover);
+            } catch (Exception e) {
+                level.alertedAt = 0;
+                log.warn("Low stock alert for {} failed, will retry: {}", level.itemName, e.getMessage());
+            }
+        }
+    }
+
+    private ItemLevel level(InventoryItem item) {
+        return levels.computeIfAbsent(item.getId(),
+                id -> new ItemLevel(id, item.getItemName(), thresholdFor(item.getItemCode())));
+    }
+
+    private int thresholdFor(String itemCode) {
+        return thresholds.getOrDefault(itemCode, defaultThreshold);
+    }
+
+    private double rateTimeConstantMillis() {
+        return rateHalfLifeDays * MILLIS_PER_DAY / Math.log(2);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class ItemLevel {
+
+        private final UUID itemId;
+        private final String itemName;
+        private final int threshold;
+        // Unknown until the first snapshot; deltas before then only feed the rate
+        private boolean known;
+        private volatile int onHand;
+        // Exponentially decayed sum of consumption; divided by the time constant it is a rate
+        private double decayedConsumption;
+        private long rateUpdatedAt = System.currentTimeMillis();
+        private volatile long alertedAt;
+
+        private ItemLevel(UUID itemId, String itemName, int threshold) {
+            this.itemId = itemId;
+            this.itemName = itemName;
+            this.threshold = threshold;
+        }
+
+        private synchronized void receive(int quantity) {
+            onHand += quantity;
+        }
+
+        private synchronized void consume(int quantity, long now, double timeConstantMillis) {
+            onHand -= quantity;
+            decayedConsumption = decayed(now, timeConstantMillis) + quantity;
+            rateUpdatedAt = now;
+        }
+
+        private synchronized void reset(int onHand) {
+            this.onHand = onHand;
+            this.known = true;
+        }
+
+        private synchronized double dailyRate(long now, double timeConstantMillis) {
+            return decayed(now, timeConstantMillis) / (timeConstantMillis / MILLIS_PER_DAY);
+        }
+
+        private synchronized double daysOfCover(long now, double timeConstantMillis) {
+            double rate = dailyRate(now, timeConstantMillis);
+            return rate > 0 ? Math.max(onHand, 0) / rate : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Returns true when a new alert is due. Recovering well above the limits re-arms the alert.
+         */
+        private synchronized boolean evaluate(long now, double timeConstantMillis, double daysOfCoverLimit,
+                                              long realertHours) {
+            if (!known) {
+                return false;
+            }
+            double cover = daysOfCover(now, timeConstantMillis);
+            boolean low = onHand <= threshold || cover < daysOfCoverLimit;
+            if (!low) {
+                if (onHand > threshold * 1.2 && cover > daysOfCoverLimit * 1.5) {
+                    alertedAt = 0;
+                }
+                return false;
+            }
+            if (alertedAt > 0 && now - alertedAt < realertHours * 3_600_000L) {
+                return false;
+            }
+            alertedAt = now;
+            return true;
+        }
+
+        private double decayed(long now, double timeConstantMillis) {
+            return decayedConsumption * Math.exp(-(now - rateUpdatedAt) / timeConstantMillis);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.banana.harvest.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes media blobs that no photo references once their URL has not been issued for the
+ * grace period, which must outlast the time a client takes to attach an uploaded file.
+ * Safe to run on several instances: blobs are claimed with SKIP LOCKED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaBlobCollector {
+
+    private final MediaBlobService mediaBlobService;
+
+    @Value("${storage.media.orphan-grace-hours:24}")
+    private long graceHours;
+
+    @Value("${storage.media.collect-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${storage.media.collect-interval-ms:3600000}")
+    public void collect() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusHours(graceHours);
+            while (mediaBlobService.collectUnreferenced(cutoff, batchSize) == batchSize) {
+                log.debug("Collected a full batch of unreferenced media, continuing");
+            }
+        } catch (Exception e) {
+            log.error("Unreferenced media collection failed", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.FarmPhoto;
+import com.banana.harvest.entity.MediaBlob;
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.repository.FarmPhotoRepository;
+import com.banana.harvest.repository.MediaBlobRepository;
+import com.banana.harvest.service.storage.StorageBackend;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service for media blob metadata
+ * Tracks which stored objects exist (by content hash) and how many photos reference them.
+ * Objects are only deleted by {@link #collectUnreferenced}: a URL may have been handed to
+ * an uploader who has not attached it yet, which refCount cannot see.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaBlobService {
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final FarmPhotoRepository farmPhotoRepository;
+    private final StorageBackend storageBackend;
+
+    @Transactional(readOnly = true)
+    public Optional<MediaBlob> findByObjectKey(String objectKey) {
+        return mediaBlobRepository.findByObjectKey(objectKey);
+    }
+
+    /**
+     * Resolves the blob behind a stored media URL; empty for URLs not managed by this app
+     */
+    @Transactional(readOnly = true)
+    public Optional<MediaBlob> findByUrl(String fileUrl) {
+        try {
+            return mediaBlobRepository.findByObjectKey(storageBackend.keyFromUrl(fileUrl));
+        } catch (BusinessException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records a stored object, or returns the blob already holding the same content and marks
+     * its URL as issued again. Concurrent uploads of the same content race on the unique
+     * hash/key constraint; the loser returns the winner's row.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public MediaBlob register(String contentHash, String objectKey, String contentType, long sizeBytes) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<MediaBlob> existing = find(contentHash, objectKey);
+        // A blob collected since it was read is registered afresh under this upload's key
+        if (existing.isPresent() && mediaBlobRepository.markIssued(existing.get().getId(), now) > 0) {
+            return existing.get();
+        }
+
+        if (mediaBlobRepository.insertIfAbsent(contentHash, objectKey, contentType, sizeBytes, now) == 0) {
+            log.debug("Blob registered concurrently: {}", objectKey);
+        }
+        return find(contentHash, objectKey)
+                .orElseThrow(() -> new BusinessException("Unable to register media", "MEDIA_REGISTER_FAILED"));
+    }
+
+    private Optional<MediaBlob> find(String contentHash, String objectKey) {
+        return contentHash != null
+                ? mediaBlobRepository.findByContentHash(contentHash)
+                : mediaBlobRepository.findByObjectKey(objectKey);
+    }
+
+    /**
+     * Links the photo to its blob and takes a reference. Call before saving the photo.
+     */
+    @Transactional
+    public void attach(FarmPhoto photo, MediaBlob blob) {
+        photo.setBlob(blob);
+        mediaBlobRepository.incrementRefCount(blob.getId());
+    }
+
+    /**
+     * Drops the photo's reference to its blob, the inverse of {@link #attach(FarmPhoto, MediaBlob)}
+     */
+    @Transactional
+    public void detach(FarmPhoto photo) {
+        if (photo.getBlob() != null) {
+            mediaBlobRepository.decrementRefCount(photo.getBlob().getId());
+            photo.setBlob(null);
+        }
+    }
+
+    /**
+     * Deletes a photo and releases its blob reference, so the object can be collected once
+     * nothing else uses it. Photos must be removed through here to keep refCount accurate.
+     */
+    @Transactional
+    public void removePhoto(FarmPhoto photo) {
+        detach(photo);
+        if (photo.getInspection() != null) {
+            photo.getInspection().removePhoto(photo);
+        }
+        farmPhotoRepository.delete(photo);
+    }
+
+    /**
+     * Deletes up to limit blobs, and their objects, that no photo references and whose URL was
+     * last issued before the cutoff. A blob whose object cannot be deleted is kept for the next
+     * pass. Returns the number of blobs deleted.
+     */
+    @Transactional
+    public int collectUnreferenced(LocalDateTime cutoff, int limit) {
+        int deleted = 0;
+        for (MediaBlob blob : mediaBlobRepository.lockUnreferencedIssuedBefore(cutoff, limit)) {
+            try {
+                storageBackend.delete(blob.getObjectKey());
+            } catch (BusinessException e) {
+                log.warn("Failed to delete unreferenced media {}: {}", blob.getObjectKey(), e.getMessage());
+                continue;
+            }
+            mediaBlobRepository.delete(blob);
+            deleted++;
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,221 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.MediaBlob;
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.service.storage.ContentHash;
+import com.banana.harvest.service.storage.StorageBackend;
+import com.banana.harvest.service.storage.StoredObject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for photo/video storage
+ * Validates camera media and delegates to the configured {@link StorageBackend}.
+ * Uploads are deduplicated by SHA-256: identical content is stored once and shared.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaStorageService {
+
+    private final PhotoValidationService photoValidationService;
+    private final StorageBackend storageBackend;
+    private final MediaBlobService mediaBlobService;
+
+    // =========================
+    // PHOTO UPLOAD
+    // =========================
+    public String uploadPhoto(MultipartFile file, UUID userId, UUID inspectionId) {
+
+        log.info("Uploading photo: userId={}, inspectionId={}, backend={}",
+                userId, inspectionId, storageBackend.name());
+
+        photoValidationService.validateCameraPhoto(file);
+        photoValidationService.validateNotScreenshot(file);
+
+        return uploadFile(file, userId, "photos");
+    }
+
+    // =========================
+    // VIDEO UPLOAD
+    // =========================
+    public String uploadVideo(MultipartFile file, UUID userId, UUID inspectionId) {
+
+        log.info("Uploading video: userId={}, inspectionId={}, backend={}",
+                userId, inspectionId, storageBackend.name());
+
+        photoValidationService.validateCameraVideo(file);
+
+        return uploadFile(file, userId, "videos");
+    }
+
+    // =========================
+    // CORE UPLOAD METHOD
+    // =========================
+    private String uploadFile(MultipartFile file, UUID userId, String folder) {
+
+        String fileName = generateFileName(file.getOriginalFilename(), userId, folder);
+
+        // Hashed while it streams to the backend, so the body is read once
+        MessageDigest digest = ContentHash.newDigest();
+        try (InputStream content = ContentHash.digesting(file.getInputStream(), digest)) {
+
+            storageBackend.put(fileName, content, file.getSize(), file.getContentType());
+
+        } catch (IOException e) {
+
+            throw new BusinessException("File upload failed: " + e.getMessage());
+        }
+
+        String contentHash = ContentHash.hex(digest);
+        MediaBlob blob = mediaBlobService.register(contentHash, fileName, file.getContentType(), file.getSize());
+
+        // Same content already stored: hand out that object and drop this copy, whose key nobody else has seen
+        if (!blob.getObjectKey().equals(fileName)) {
+
+            log.info("Duplicate upload: hash={}, key={}, discarding {}", contentHash, blob.getObjectKey(), fileName);
+
+            try {
+
+                storageBackend.delete(fileName);
+
+            } catch (BusinessException e) {
+
+                log.warn("Failed to delete duplicate upload {}: {}", fileName, e.getMessage());
+            }
+        }
+
+        return storageBackend.publicUrl(blob.getObjectKey());
+    }
+
+    // =========================
+    // DELETE FILE
+    // =========================
+    public void deleteFile(String fileUrl) {
+
+        String fileName = storageBackend.keyFromUrl(fileUrl);
+
+        Optional<MediaBlob> blob = mediaBlobService.findByObjectKey(fileName);
+        if (blob.isEmpty()) {
+
+            storageBackend.delete(fileName);
+
+            return;
+        }
+
+        if (blob.get().getRefCount() > 0) {
+
+            throw new BusinessException("File is attached to an inspection and cannot be deleted", "FILE_IN_USE");
+        }
+
+        // Deduplicated objects may have been handed to other uploaders who have not attached them yet,
+        // so unreferenced blobs are left to MediaBlobCollector
+        log.info("Unreferenced media left for collection: {}", fileName);
+    }
+
+    // =========================
+    // PUBLIC URL
+    // =========================
+    public String getPublicUrl(String fileName) {
+
+        return storageBackend.publicUrl(fileName);
+    }
+
+    // =========================
+    // SIGNED URL
+    // =========================
+    public String generateSignedUrl(String fileName, int expirySeconds) {
+
+        return storageBackend.signedUrl(fileName, Duration.ofSeconds(expirySeconds));
+    }
+
+    // =========================
+    // DIRECT UPLOAD URL
+    // =========================
+    public String generateUploadUrl(String fileName, String contentType, int expirySeconds) {
+
+        return storageBackend.uploadUrl(fileName, contentType, Duration.ofSeconds(expirySeconds));
+    }
+
+    // =========================
+    // STORED OBJECT ACCESS
+    // =========================
+    public Optional<StoredObject> statFile(String fileName) {
+
+        return storageBackend.stat(fileName);
+    }
+
+    public InputStream openFile(String fileName) {
+
+        return storageBackend.get(fileName);
+    }
+
+    public long streamFile(String fileName, long offset, long length, WritableByteChannel target) {
+
+        return storageBackend.stream(fileName, offset, length, target);
+    }
+
+    public void deleteObject(String fileName) {
+
+        storageBackend.delete(fileName);
+    }
+
+    // =========================
+    // LIST FILES
+    // =========================
+    public List<String> listFiles(String folder) {
+
+        return storageBackend.list(folder);
+    }
+
+    // =========================
+    // FILENAME GENERATION
+    // =========================
+    String generateFileName(
+            String original,
+            UUID userId,
+            String folder
+    ) {
+
+        String timestamp =
+                LocalDateTime.now()
+                        .format(
+                                DateTimeFormatter
+                                        .ofPattern("yyyyMMddHHmmss")
+                        );
+
+        String ext = extensionOf(original);
+
+        return folder +
+                "/" +
+                userId +
+                "_" +
+                timestamp +
+                "_" +
+                UUID.randomUUID()
+                        .toString()
+                        .substring(0, 8) +
+                "." +
+                ext;
+    }
+
+    String extensionOf(String original) {
+
+        return original.substring(
+                original.lastIndexOf(".") + 1
+        );
+    }
+}
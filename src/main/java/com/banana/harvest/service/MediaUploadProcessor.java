@@ -0,0 +1,31 @@
+package com.banana.harvest.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Validates directly uploaded media and attaches it to its inspection off the request
+ * thread. An upload never stays VALIDATING because of a failure: anything that is not a
+ * business rejection rolls the validation back and rejects the upload on its own.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaUploadProcessor {
+
+    private final MediaUploadValidator mediaUploadValidator;
+
+    @Async
+    public void processUpload(UUID uploadId) {
+        try {
+            mediaUploadValidator.validate(uploadId);
+        } catch (RuntimeException e) {
+            log.error("Direct upload processing failed - uploadId: {}", uploadId, e);
+            mediaUploadValidator.reject(uploadId, "Upload could not be processed: " + e.getMessage());
+        }
+    }
+}
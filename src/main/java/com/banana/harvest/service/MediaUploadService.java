@@ -0,0 +1,189 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.dto.upload.MediaUploadResponse;
+import com.banana.harvest.dto.upload.UploadIntentRequest;
+import com.banana.harvest.dto.upload.UploadIntentResponse;
+import com.banana.harvest.entity.FarmInspection;
+import com.banana.harvest.entity.MediaUpload;
+import com.banana.harvest.entity.User;
+import com.banana.harvest.entity.enums.InspectionStatus;
+import com.banana.harvest.entity.enums.MediaUploadStatus;
+import com.banana.harvest.entity.enums.UserRole;
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.exception.ResourceNotFoundException;
+import com.banana.harvest.exception.UnauthorizedException;
+import com.banana.harvest.repository.FarmInspectionRepository;
+import com.banana.harvest.repository.MediaUploadRepository;
+import com.banana.harvest.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Service for direct-to-storage media uploads
+ * Issues signed upload URLs so media bytes bypass the application server;
+ * validation and attachment to the inspection run asynchronously on completion
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaUploadService {
+
+    private static final String MEDIA_TYPE_VIDEO = "VIDEO";
+
+    private final MediaUploadRepository mediaUploadRepository;
+    private final FarmInspectionRepository inspectionRepository;
+    private final UserRepository userRepository;
+    private final MediaStorageService mediaStorageService;
+    private final PhotoValidationService photoValidationService;
+    private final MediaUploadProcessor mediaUploadProcessor;
+
+    @Value("${storage.upload-url-expiry-seconds:900}")
+    private int uploadUrlExpirySeconds;
+
+    /**
+     * Checks the user and inspection, then returns a signed upload URL and object key
+     */
+    @Transactional
+    public UploadIntentResponse createUploadIntent(UploadIntentRequest request, UUID userId) {
+        log.info("Creating upload intent - mediaType: {}, contentLength: {}, inspectionId: {}, userId: {}",
+                request.getMediaType(), request.getContentLength(), request.getInspectionId(), userId);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        boolean isVideo = MEDIA_TYPE_VIDEO.equals(request.getMediaType());
+
+        // Reject obviously invalid media before handing out an upload URL
+        if (isVideo) {
+            photoValidationService.validateVideoAttributes(request.getContentLength(), request.getContentType());
+        } else {
+            photoValidationService.validatePhotoAttributes(request.getContentLength(), request.getContentType());
+            photoValidationService.validateNotScreenshot(request.getFileName());
+        }
+
+        FarmInspection inspection = request.getInspectionId() != null
+                ? resolveInspection(UUID.fromString(request.getInspectionId()), user)
+                : null;
+
+        // Each upload gets its own key; the declared hash is only trusted once the stored bytes
+        // have been hashed, after which duplicates are folded onto the existing blob
+        String folder = isVideo ? "videos" : "photos";
+        String objectKey = mediaStorageService.generateFileName(request.getFileName(), userId, folder);
+        String uploadUrl = mediaStorageService.generateUploadUrl(
+                objectKey, request.getContentType(), uploadUrlExpirySeconds);
+
+        MediaUpload upload = MediaUpload.builder()
+                .objectKey(objectKey)
+                .mediaType(request.getMediaType())
+                .contentType(request.getContentType())
+                .originalFileName(request.getFileName())
+                .contentHash(request.getSha256())
+                .inspection(inspection)
+                .uploadedBy(user)
+                .expiresAt(LocalDateTime.now().plusSeconds(uploadUrlExpirySeconds))
+                .build();
+
+        MediaUpload savedUpload = mediaUploadRepository.save(upload);
+        log.info("Upload intent created - uploadId: {}, objectKey: {}", savedUpload.getId(), objectKey);
+
+        return UploadIntentResponse.builder()
+                .uploadId(savedUpload.getId())
+                .objectKey(objectKey)
+                .uploadUrl(uploadUrl)
+                .uploadMethod("PUT")
+                .contentType(request.getContentType())
+                .fileUrl(mediaStorageService.getPublicUrl(objectKey))
+                .expiresAt(savedUpload.getExpiresAt())
+                .build();
+    }
+
+    /**
+     * Marks the upload as finished by the client and schedules validation.
+     * Validation starts after commit so the async worker sees the VALIDATING state.
+     */
+    @Transactional
+    public MediaUploadResponse completeUpload(UUID uploadId, UUID userId) {
+        MediaUpload upload = mediaUploadRepository.findById(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload", "id", uploadId));
+
+        if (!upload.getUploadedBy().getId().equals(userId)) {
+            throw new UnauthorizedException("You can only complete your own uploads");
+        }
+
+        if (upload.getStatus() != MediaUploadStatus.PENDING) {
+            throw new BusinessException("Upload is already " + upload.getStatus(), "UPLOAD_NOT_PENDING");
+        }
+
+        upload.setStatus(MediaUploadStatus.VALIDATING);
+        upload.setValidationStartedAt(LocalDateTime.now());
+        MediaUpload savedUpload = mediaUploadRepository.save(upload);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mediaUploadProcessor.processUpload(uploadId);
+            }
+        });
+
+        log.info("Upload completion received - uploadId: {}, objectKey: {}", uploadId, upload.getObjectKey());
+        return mapToResponse(savedUpload);
+    }
+
+    /**
+     * Whether an upload intent is still waiting for the bytes of this object.
+     * Once the upload is completed, rejected or expired its URL no longer accepts content.
+     */
+    @Transactional(readOnly = true)
+    public boolean isAwaitingContent(String objectKey) {
+        return mediaUploadRepository.existsByObjectKeyAndStatus(objectKey, MediaUploadStatus.PENDING);
+    }
+
+    @Transactional(readOnly = true)
+    public MediaUploadResponse getUpload(UUID uploadId, UUID userId) {
+        MediaUpload upload = mediaUploadRepository.findById(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload", "id", uploadId));
+
+        if (!upload.getUploadedBy().getId().equals(userId)) {
+            throw new UnauthorizedException("You can only view your own uploads");
+        }
+
+        return mapToResponse(upload);
+    }
+
+    private FarmInspection resolveInspection(UUID inspectionId, User user) {
+        FarmInspection inspection = inspectionRepository.findById(inspectionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Inspection", "id", inspectionId));
+
+        if (user.getRole() == UserRole.VENDOR && !inspection.getVendor().getId().equals(user.getId())) {
+            throw new UnauthorizedException("You can only upload media for your own inspections");
+        }
+
+        if (inspection.getStatus() == InspectionStatus.APPROVED
+                || inspection.getStatus() == InspectionStatus.REJECTED) {
+            throw new BusinessException("Inspection is already " + inspection.getStatus(), "INSPECTION_CLOSED");
+        }
+
+        return inspection;
+    }
+
+    private MediaUploadResponse mapToResponse(MediaUpload upload) {
+        return MediaUploadResponse.builder()
+                .id(upload.getId())
+                .mediaType(upload.getMediaType())
+                .fileUrl(mediaStorageService.getPublicUrl(upload.getObjectKey()))
+                .inspectionId(upload.getInspection() != null ? upload.getInspection().getId() : null)
+                .status(upload.getStatus())
+                .rejectionReason(upload.getRejectionReason())
+                .completedAt(upload.getCompletedAt())
+                .createdAt(upload.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.repository.MediaUploadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Validates again uploads that have been VALIDATING for longer than the timeout, e.g. because
+ * the instance running their validation stopped. An upload still being validated is locked
+ * and skipped by {@link MediaUploadValidator}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MediaUploadSweeper {
+
+    private final MediaUploadRepository mediaUploadRepository;
+    private final MediaUploadProcessor mediaUploadProcessor;
+
+    @Value("${storage.upload-validation-timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    @Value("${storage.upload-sweep-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${storage.upload-sweep-interval-ms:60000}")
+    public void sweep() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusSeconds(timeoutSeconds);
+            for (UUID uploadId : mediaUploadRepository.findStaleValidatingIds(cutoff, batchSize)) {
+                log.warn("Direct upload still validating after {}s, retrying - uploadId: {}", timeoutSeconds, uploadId);
+                mediaUploadProcessor.processUpload(uploadId);
+            }
+        } catch (Exception e) {
+            log.error("Media upload sweep failed", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.FarmPhoto;
+import com.banana.harvest.entity.MediaBlob;
+import com.banana.harvest.entity.MediaUpload;
+import com.banana.harvest.entity.enums.MediaUploadStatus;
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.repository.FarmPhotoRepository;
+import com.banana.harvest.repository.MediaUploadRepository;
+import com.banana.harvest.service.storage.ContentHash;
+import com.banana.harvest.service.storage.StoredObject;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Validates directly uploaded media against the stored object and attaches it
+ * to its inspection, in the transaction {@link MediaUploadProcessor} runs it in
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaUploadValidator {
+
+    private final MediaUploadRepository mediaUploadRepository;
+    private final FarmPhotoRepository photoRepository;
+    private final MediaStorageService mediaStorageService;
+    private final PhotoValidationService photoValidationService;
+    private final MediaBlobService mediaBlobService;
+
+    /**
+     * Validates and attaches the upload. Business failures reject it in this transaction;
+     * anything else rolls back and is recorded by {@link #reject(UUID, String)}.
+     * Does nothing if the upload is no longer VALIDATING or another worker holds it.
+     */
+    @Transactional
+    public void validate(UUID uploadId) {
+        MediaUpload upload = mediaUploadRepository.claimValidating(uploadId).orElse(null);
+        if (upload == null)
+            return;
+
+        // The key this upload stored its bytes under; the upload may be repointed at a shared
+        // blob below, but only this object is ever discarded
+        String objectKey = upload.getObjectKey();
+        boolean isVideo = "VIDEO".equals(upload.getMediaType());
+        FarmPhoto photo = null;
+
+        try {
+            StoredObject object = mediaStorageService.statFile(objectKey)
+                    .orElseThrow(() -> new BusinessException("Uploaded file not found in storage", "UPLOAD_NOT_FOUND"));
+
+            String contentType = object.contentType() != null ? object.contentType() : upload.getContentType();
+
+            String declaredHash = upload.getContentHash();
+            String contentHash;
+
+            if (isVideo) {
+                photoValidationService.validateStoredVideo(object.size(), contentType);
+                contentHash = hashObject(objectKey, object.size());
+            } else {
+                // Validation and hashing share one read of the stored photo
+                try (DigestInputStream content = new DigestInputStream(
+                        mediaStorageService.openFile(objectKey), ContentHash.newDigest())) {
+                    photoValidationService.validateStoredPhoto(object.size(), contentType, content);
+                    content.transferTo(OutputStream.nullOutputStream());
+                    contentHash = ContentHash.hex(content.getMessageDigest());
+                } catch (IOException e) {
+                    throw new BusinessException("Unable to read uploaded file", "UPLOAD_READ_ERROR");
+                }
+            }
+
+            if (declaredHash != null && !declaredHash.equals(contentHash)) {
+                throw new BusinessException("Uploaded content does not match declared hash", "CONTENT_HASH_MISMATCH");
+            }
+
+            // Same content already stored under another key: keep that one and drop this copy
+            MediaBlob blob = mediaBlobService.register(contentHash, objectKey, contentType, object.size());
+            if (!blob.getObjectKey().equals(objectKey)) {
+                log.info("Direct upload duplicates {}, discarding {}", blob.getObjectKey(), objectKey);
+                discardObject(objectKey);
+                upload.setObjectKey(blob.getObjectKey());
+            }
+
+            if (upload.getInspection() != null) {
+                photo = FarmPhoto.builder()
+                        .inspection(upload.getInspection())
+                        .photoUrl(mediaStorageService.getPublicUrl(blob.getObjectKey()))
+                        .photoType(isVideo ? "VIDEO" : "IMAGE")
+                        .uploadedBy(upload.getUploadedBy())
+                        .build();
+                mediaBlobService.attach(photo, blob);
+                photoRepository.save(photo);
+            }
+
+            upload.setStatus(MediaUploadStatus.COMPLETED);
+            upload.setCompletedAt(LocalDateTime.now());
+            log.info("Direct upload validated - uploadId: {}, objectKey: {}, size: {}",
+                    uploadId, objectKey, object.size());
+
+        } catch (BusinessException e) {
+            log.warn("Direct upload rejected - uploadId: {}, reason: {}", uploadId, e.getMessage());
+            markRejected(upload, e.getMessage());
+            // A rejected upload keeps no photo, and its reference to the blob is returned
+            if (photo != null && photo.getId() != null) {
+                mediaBlobService.removePhoto(photo);
+            }
+            discardObject(objectKey);
+        }
+
+        mediaUploadRepository.save(upload);
+    }
+
+    /**
+     * Rejects an upload whose validation failed unexpectedly. Runs in its own transaction
+     * because the validation transaction has been rolled back, photo and blob included.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reject(UUID uploadId, String reason) {
+        mediaUploadRepository.claimValidating(uploadId).ifPresent(upload -> {
+            markRejected(upload, reason);
+            mediaUploadRepository.save(upload);
+            discardObject(upload.getObjectKey());
+        });
+    }
+
+    private static void markRejected(MediaUpload upload, String reason) {
+        upload.setStatus(MediaUploadStatus.REJECTED);
+        upload.setRejectionReason(reason);
+        upload.setCompletedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Hashes the object as the backend streams it, so videos are never held in memory whole
+     * (get() on the Supabase backend reads the full body into a byte array)
+     */
+    private String hashObject(String objectKey, long size) {
+        MessageDigest digest = ContentHash.newDigest();
+        if (size > 0) {
+            mediaStorageService.streamFile(objectKey, 0, size,
+                    Channels.newChannel(new DigestOutputStream(OutputStream.nullOutputStream(), digest)));
+        }
+        return ContentHash.hex(digest);
+    }
+
+    /**
+     * Deletes the object this upload stored under its own key. Once a blob is registered under
+     * the key its URL may have been handed to other uploaders, so it is left to MediaBlobCollector.
+     */
+    private void discardObject(String objectKey) {
+        if (mediaBlobService.findByObjectKey(objectKey).isPresent()) {
+            log.info("Keeping {} for collection: registered as a shared blob", objectKey);
+            return;
+        }
+        try {
+            mediaStorageService.deleteObject(objectKey);
+        } catch (BusinessException e) {
+            log.warn("Failed to delete rejected upload {}: {}", objectKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.banana.harvest.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Drains the notification outbox and flushes due digests on a fixed delay.
+ * Safe to run on several instances: batches are claimed with SKIP LOCKED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxPoller {
+
+    private final NotificationService notificationService;
+
+    @Value("${notification.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${notification.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                if (notificationService.dispatchPendingBatch(batchSize) < batchSize) {
+                    break;
+                }
+            }
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                if (notificationService.flushDueDigests(batchSize) < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Notification outbox poll failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${notification.outbox.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        int deleted = notificationService.purgeSent(Duration.ofDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} delivered notifications", deleted);
+        }
+    }
+}
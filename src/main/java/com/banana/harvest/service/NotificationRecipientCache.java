@@ -0,0 +1,85 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.User;
+import com.banana.harvest.entity.enums.UserRole;
+import com.banana.harvest.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the active user ids of each role for notification fan-out.
+ * Invalidated after commit whenever a user becomes active or inactive (registered
+ * active, approved or deactivated); the TTL is a safety net for changes made outside
+ * the application.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationRecipientCache {
+
+    private final UserRepository userRepository;
+    private final Map<UserRole, CachedRecipients> recipientsByRole = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that read the old rows is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${notification.recipient-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    public List<UUID> activeUserIds(UserRole role) {
+        CachedRecipients cached = recipientsByRole.get(role);
+        if (cached != null && cached.loadedAt().plus(Duration.ofSeconds(ttlSeconds)).isAfter(Instant.now())) {
+            return cached.userIds();
+        }
+
+        long loadedGeneration = generation.get();
+        List<UUID> userIds = userRepository.findActiveByRole(role).stream()
+                .map(User::getId)
+                .toList();
+        synchronized (generation) {
+            if (generation.get() == loadedGeneration) {
+                recipientsByRole.put(role, new CachedRecipients(userIds, Instant.now()));
+            }
+        }
+        log.debug("Loaded {} active recipients for role {}", userIds.size(), role);
+        return userIds;
+    }
+
+    /**
+     * Clears the cache once the current transaction commits, so a concurrent reload
+     * cannot cache the pre-commit state
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private void clear() {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            recipientsByRole.clear();
+        }
+    }
+
+    private record CachedRecipients(List<UUID> userIds, Instant loadedAt) {
+    }
+}
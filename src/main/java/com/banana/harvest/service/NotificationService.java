@@ -1,21 +1,40 @@
 package com.banana.harvest.service;
 
 import com.banana.harvest.entity.FarmInspection;
+import com.banana.harvest.entity.InspectionRequest;
+import com.banana.harvest.entity.NotificationDigestItem;
+import com.banana.harvest.entity.NotificationOutbox;
 import com.banana.harvest.entity.User;
+import com.banana.harvest.entity.enums.NotificationType;
+import com.banana.harvest.entity.enums.OutboxStatus;
 import com.banana.harvest.entity.enums.UserRole;
+import com.banana.harvest.repository.FarmInspectionRepository;
+import com.banana.harvest.repository.InspectionRequestRepository;
+import com.banana.harvest.repository.NotificationDigestItemRepository;
+import com.banana.harvest.repository.NotificationOutboxRepository;
 import com.banana.harvest.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for sending notifications
- * Supports push notifications, email, and SMS
+ * Supports push notifications, email, and SMS.
+ * notify* methods write to the notification outbox inside the caller's transaction;
+ * {@link NotificationOutboxPoller} renders committed rows into per-recipient digest items.
+ * A recipient with no message in the last coalescing window is notified at once; items
+ * arriving within the window after a message are delivered together as one digest.
  */
 @Slf4j
 @Service
@@ -23,202 +42,408 @@ import java.util.UUID;
 public class NotificationService {
 
     private final UserRepository userRepository;
-    private final com.banana.harvest.repository.FarmInspectionRepository farmInspectionRepository;
-    private final com.banana.harvest.repository.InspectionRequestRepository inspectionRequestRepository;
+    private final FarmInspectionRepository farmInspectionRepository;
+    private final InspectionRequestRepository inspectionRequestRepository;
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationDigestItemRepository digestItemRepository;
+    private final NotificationRecipientCache recipientCache;
+    private final ObjectMapper objectMapper;
 
-    /**
-     * Notifies managers when a new inspection is submitted
-     */
-    @Async
-    @Transactional(readOnly = true)
-    public void notifyNewInspection(UUID inspectionId) {
-        log.info("Sending notification for new inspection: {}", inspectionId);
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
 
-        FarmInspection inspection = farmInspectionRepository.findById(inspectionId).orElse(null);
-        if (inspection == null)
-            return;
-
-        List<User> managers = userRepository.findByRole(UserRole.MANAGER);
-        List<User> admins = userRepository.findByRole(UserRole.SUPER_ADMIN);
+    @Value("${notification.outbox.backoff-base-seconds:10}")
+    private long backoffBaseSeconds;
 
-        String title = "New Farm Inspection Pending Approval";
-        String message = String.format("Vendor %s submitted inspection for %s. Estimated boxes: %d",
-                inspection.getVendor().getFullName(),
-                inspection.getFarm().getFarmerName(),
-                inspection.getEstimatedBoxes());
+    @Value("${notification.outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
 
-        // Notify managers
-        for (User manager : managers) {
-            if (manager.getIsActive()) {
-                sendPushNotification(manager, title, message, "inspection", inspection.getId().toString());
-                sendEmail(manager, title, message);
-            }
-        }
+    @Value("${notification.digest.window-seconds:60}")
+    private long digestWindowSeconds;
 
-        // Notify admins
-        for (User admin : admins) {
-            if (admin.getIsActive()) {
-                sendPushNotification(admin, title, message, "inspection", inspection.getId().toString());
-            }
-        }
+    /**
+     * Notifies managers when a new inspection is submitted
+     */
+    @Transactional
+    public void notifyNewInspection(UUID inspectionId) {
+        enqueue(NotificationType.NEW_INSPECTION, inspectionId, Map.of());
     }
 
     /**
      * Notifies vendor when inspection is approved
      */
-    @Async
-    @Transactional(readOnly = true)
+    @Transactional
     public void notifyInspectionApproved(UUID inspectionId, String batchId) {
-        log.info("Sending approval notification for inspection: {}", inspectionId);
-
-        FarmInspection inspection = farmInspectionRepository.findById(inspectionId).orElse(null);
-        if (inspection == null)
-            return;
-
-        log.info("Sending approval notification to vendor: {}", inspection.getVendor().getId());
-
-        String title = "Inspection Approved!";
-        String message = String.format("Your inspection for %s has been approved. Batch ID: %s",
-                inspection.getFarm().getFarmerName(),
-                batchId);
-
-        sendPushNotification(inspection.getVendor(), title, message, "batch", batchId);
-        sendEmail(inspection.getVendor(), title, message);
+        enqueue(NotificationType.INSPECTION_APPROVED, inspectionId, payloadOf("batchId", batchId));
     }
 
     /**
      * Notifies vendor when inspection is rejected
      */
-    @Async
-    @Transactional(readOnly = true)
+    @Transactional
     public void notifyInspectionRejected(UUID inspectionId, String reason) {
-        log.info("Sending rejection notification for inspection: {}", inspectionId);
-
-        FarmInspection inspection = farmInspectionRepository.findById(inspectionId).orElse(null);
-        if (inspection == null)
-            return;
-
-        log.info("Sending rejection notification to vendor: {}", inspection.getVendor().getId());
-
-        String title = "Inspection Rejected";
-        String message = String.format("Your inspection for %s was rejected. Reason: %s",
-                inspection.getFarm().getFarmerName(),
-                reason);
-
-        sendPushNotification(inspection.getVendor(), title, message, "inspection", inspection.getId().toString());
-        sendEmail(inspection.getVendor(), title, message);
+        enqueue(NotificationType.INSPECTION_REJECTED, inspectionId, payloadOf("reason", reason));
     }
 
     /**
      * Notifies vendor when inspection request is created
      */
-    @Async
-    @Transactional(readOnly = true)
+    @Transactional
     public void notifyInspectionRequestCreated(UUID requestId) {
-        log.info("Sending inspection request notification for request: {}", requestId);
-
-        com.banana.harvest.entity.InspectionRequest request = inspectionRequestRepository.findById(requestId)
-                .orElse(null);
-        if (request == null)
-            return;
-
-        log.info("Sending inspection request notification to vendor: {}", request.getVendor().getId());
-
-        String title = "New Inspection Request";
-        String message = String.format("You have been assigned to inspect %s. Please complete the inspection.",
-                request.getFarm().getFarmerName());
-
-        sendPushNotification(request.getVendor(), title, message, "inspection-request", request.getId().toString());
-        sendEmail(request.getVendor(), title, message);
+        enqueue(NotificationType.INSPECTION_REQUEST_CREATED, requestId, Map.of());
     }
 
     /**
      * Notifies store keeper when gate pass is created
      */
-    @Async
+    @Transactional
     public void notifyGatePassCreated(String gatePassNo, Integer totalBoxes, User vendor) {
-        log.info("Sending gate pass notification to store keepers");
-
-        List<User> storeKeepers = userRepository.findByRole(UserRole.STORE_KEEPER);
-
-        String title = "New Gate Pass Created";
-        String message = String.format("Gate Pass %s created for %d boxes from vendor %s",
-                gatePassNo, totalBoxes, vendor.getFullName());
-
-        for (User storeKeeper : storeKeepers) {
-            if (storeKeeper.getIsActive()) {
-                sendPushNotification(storeKeeper, title, message, "gatepass", gatePassNo);
-            }
-        }
+        enqueue(NotificationType.GATE_PASS_CREATED, vendor.getId(), payloadOf(
+                "gatePassNo", gatePassNo,
+                "totalBoxes", String.valueOf(totalBoxes),
+                "vendorName", vendor.getFullName()));
     }
 
     /**
      * Notifies manager when stock is low
      */
-    @Async
+    @Transactional
     public void notifyLowStock(String itemName, Integer availableQuantity, Integer threshold) {
-        log.info("Sending low stock notification for: {}", itemName);
+        notifyLowStock(itemName, availableQuantity, threshold, null);
+    }
+
+    /**
+     * Notifies manager when stock is low or will run out within the days-of-cover limit
+     */
+    @Transactional
+    public void notifyLowStock(String itemName, Integer availableQuantity, Integer threshold, Double daysOfCover) {
+        enqueue(NotificationType.LOW_STOCK, null, payloadOf(
+                "itemName", itemName,
+                "availableQuantity", String.valueOf(availableQuantity),
+                "threshold", String.valueOf(threshold),
+                "daysOfCover", daysOfCover != null ? String.format("%.1f", daysOfCover) : null));
+    }
 
-        List<User> managers = userRepository.findByRole(UserRole.MANAGER);
-        List<User> admins = userRepository.findByRole(UserRole.SUPER_ADMIN);
+    /**
+     * Notifies vendor when materials are allocated
+     */
+    @Transactional
+    public void notifyMaterialsAllocated(User vendor, String batchId, String materials) {
+        enqueue(NotificationType.MATERIALS_ALLOCATED, vendor.getId(), payloadOf(
+                "batchId", batchId,
+                "materials", materials));
+    }
 
-        String title = "Low Stock Alert";
-        String message = String.format("%s stock is low. Available: %d (Threshold: %d)",
-                itemName, availableQuantity, threshold);
+    /**
+     * Notifies admin when sale is created
+     */
+    @Transactional
+    public void notifySaleCreated(String invoiceNumber, String buyerName, String batchId, String amount) {
+        enqueue(NotificationType.SALE_CREATED, null, payloadOf(
+                "invoiceNumber", invoiceNumber,
+                "buyerName", buyerName,
+                "batchId", batchId,
+                "amount", amount));
+    }
 
-        for (User user : managers) {
-            if (user.getIsActive()) {
-                sendPushNotification(user, title, message, "inventory", null);
-            }
+    /**
+     * Claims up to batchSize due outbox rows (SKIP LOCKED, so concurrent pollers split the work),
+     * renders them with one query per referenced entity type and fans them out into
+     * per-recipient digest items. Returns the number of rows claimed.
+     */
+    @Transactional
+    public int dispatchPendingBatch(int batchSize) {
+        List<NotificationOutbox> batch = outboxRepository.claimDueBatch(LocalDateTime.now(), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
         }
 
-        for (User user : admins) {
-            if (user.getIsActive()) {
-                sendPushNotification(user, title, message, "inventory", null);
+        RenderContext context = loadRenderContext(batch);
+
+        int sent = 0;
+        List<NotificationDigestItem> digestItems = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationOutbox entry : batch) {
+            try {
+                for (OutboundMessage message : render(entry, context)) {
+                    digestItems.add(NotificationDigestItem.builder()
+                            .recipientId(message.recipientId())
+                            .title(message.title())
+                            .message(message.message())
+                            .notificationType(message.type())
+                            .referenceId(message.referenceId())
+                            .sendEmail(message.email())
+                            .nextAttemptAt(now)
+                            .build());
+                }
+                entry.setStatus(OutboxStatus.SENT);
+                entry.setSentAt(LocalDateTime.now());
+                entry.setLastError(null);
+                sent++;
+            } catch (Exception e) {
+                scheduleRetry(entry, e);
             }
         }
+
+        digestItemRepository.saveAll(digestItems);
+        if (!digestItems.isEmpty()) {
+            digestItemRepository.registerRecipients(digestItems.stream()
+                    .map(NotificationDigestItem::getRecipientId)
+                    .collect(Collectors.toSet()));
+        }
+        outboxRepository.saveAll(batch);
+        log.info("Notification outbox batch processed - claimed: {}, rendered: {}, messages: {}",
+                batch.size(), sent, digestItems.size());
+        return batch.size();
     }
 
     /**
-     * Notifies vendor when materials are allocated
+     * Delivers the due items of up to maxRecipients recipients who have not been sent anything
+     * within the coalescing window: one message per recipient, a digest when several are pending.
+     * Each recipient is locked first, so concurrent pollers never split a recipient's items.
+     * Returns the number of recipients processed.
      */
-    @Async
-    public void notifyMaterialsAllocated(User vendor, String batchId, String materials) {
-        log.info("Sending material allocation notification to vendor: {}", vendor.getId());
+    @Transactional
+    public int flushDueDigests(int maxRecipients) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> recipientIds = digestItemRepository.claimDueRecipients(
+                now.minusSeconds(digestWindowSeconds), now, maxRecipients);
+        if (recipientIds.isEmpty()) {
+            return 0;
+        }
+        List<NotificationDigestItem> items = digestItemRepository.findDueItems(recipientIds, now);
+
+        Map<UUID, List<NotificationDigestItem>> itemsByRecipient = items.stream()
+                .collect(Collectors.groupingBy(NotificationDigestItem::getRecipientId,
+                        LinkedHashMap::new, Collectors.toList()));
+        Map<UUID, User> recipients = userRepository.findAllById(itemsByRecipient.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<NotificationDigestItem> delivered = new ArrayList<>();
+        List<NotificationDigestItem> retried = new ArrayList<>();
+        List<UUID> notified = new ArrayList<>();
+
+        itemsByRecipient.forEach((recipientId, recipientItems) -> {
+            User recipient = recipients.get(recipientId);
+            if (recipient == null || !recipient.getIsActive()) {
+                // Deactivated since the event was rendered
+                delivered.addAll(recipientItems);
+                return;
+            }
+            try {
+                deliverDigest(recipient, recipientItems);
+                delivered.addAll(recipientItems);
+                notified.add(recipientId);
+            } catch (Exception e) {
+                int attempts = recipientItems.get(0).getAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    log.error("Dropping {} notifications for {} after {} attempts",
+                            recipientItems.size(), recipient.getEmail(), attempts, e);
+                    delivered.addAll(recipientItems);
+                    return;
+                }
+                long delaySeconds = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(attempts - 1, 20));
+                for (NotificationDigestItem item : recipientItems) {
+                    item.setAttempts(attempts);
+                    item.setNextAttemptAt(now.plusSeconds(delaySeconds));
+                }
+                retried.addAll(recipientItems);
+                log.warn("Digest delivery to {} failed, retry {} in {}s: {}",
+                        recipient.getEmail(), attempts, delaySeconds, e.getMessage());
+            }
+        });
 
-        String title = "Materials Allocated";
-        String message = String.format("Materials allocated for Batch %s: %s",
-                batchId, materials);
+        digestItemRepository.deleteAllInBatch(delivered);
+        digestItemRepository.saveAll(retried);
+        if (!notified.isEmpty()) {
+            digestItemRepository.markDelivered(notified, now);
+        }
+        return recipientIds.size();
+    }
+
+    /**
+     * Deletes delivered rows older than the retention period
+     */
+    @Transactional
+    public int purgeSent(Duration retention) {
+        return outboxRepository.deleteByStatusAndSentAtBefore(OutboxStatus.SENT, LocalDateTime.now().minus(retention));
+    }
 
-        sendPushNotification(vendor, title, message, "batch", batchId);
-        sendEmail(vendor, title, message);
+    private void enqueue(NotificationType type, UUID referenceId, Map<String, String> payload) {
+        try {
+            outboxRepository.save(NotificationOutbox.builder()
+                    .type(type)
+                    .referenceId(referenceId)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .nextAttemptAt(LocalDateTime.now())
+                    .build());
+            log.debug("Queued {} notification for {}", type, referenceId);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize notification payload", e);
+        }
     }
 
     /**
-     * Notifies admin when sale is created
+     * Exponential backoff capped at backoffMaxSeconds; gives up after maxAttempts
      */
-    @Async
-    public void notifySaleCreated(String invoiceNumber, String buyerName, String batchId, String amount) {
-        log.info("Sending sale notification to admins");
+    private void scheduleRetry(NotificationOutbox entry, Exception e) {
+        int attempts = entry.getAttempts() + 1;
+        entry.setAttempts(attempts);
+        entry.setLastError(e.getMessage());
+
+        if (attempts >= maxAttempts) {
+            entry.setStatus(OutboxStatus.FAILED);
+            log.error("Notification {} ({}) failed permanently after {} attempts", entry.getId(), entry.getType(), attempts, e);
+            return;
+        }
 
-        List<User> admins = userRepository.findByRole(UserRole.SUPER_ADMIN);
-        List<User> managers = userRepository.findByRole(UserRole.MANAGER);
+        long delaySeconds = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(attempts - 1, 20));
+        entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+        log.warn("Notification {} ({}) failed, retry {} in {}s: {}",
+                entry.getId(), entry.getType(), attempts, delaySeconds, e.getMessage());
+    }
+
+    private RenderContext loadRenderContext(List<NotificationOutbox> batch) {
+        Set<UUID> inspectionIds = referenceIds(batch, EnumSet.of(NotificationType.NEW_INSPECTION,
+                NotificationType.INSPECTION_APPROVED, NotificationType.INSPECTION_REJECTED));
+        Set<UUID> requestIds = referenceIds(batch, EnumSet.of(NotificationType.INSPECTION_REQUEST_CREATED));
 
-        String title = "New Sale Created";
-        String message = String.format("Invoice %s created for %s. Amount: %s",
-                invoiceNumber, buyerName, amount);
+        Map<UUID, FarmInspection> inspections = inspectionIds.isEmpty() ? Map.of()
+                : farmInspectionRepository.findAllWithFarmAndVendorByIdIn(inspectionIds).stream()
+                        .collect(Collectors.toMap(FarmInspection::getId, Function.identity()));
+        Map<UUID, InspectionRequest> requests = requestIds.isEmpty() ? Map.of()
+                : inspectionRequestRepository.findAllWithFarmAndVendorByIdIn(requestIds).stream()
+                        .collect(Collectors.toMap(InspectionRequest::getId, Function.identity()));
 
-        for (User user : admins) {
-            if (user.getIsActive()) {
-                sendPushNotification(user, title, message, "sale", invoiceNumber);
+        return new RenderContext(inspections, requests);
+    }
+
+    private static Set<UUID> referenceIds(List<NotificationOutbox> batch, Set<NotificationType> types) {
+        return batch.stream()
+                .filter(entry -> types.contains(entry.getType()) && entry.getReferenceId() != null)
+                .map(NotificationOutbox::getReferenceId)
+                .collect(Collectors.toSet());
+    }
+
+    private List<OutboundMessage> render(NotificationOutbox entry, RenderContext context) throws JsonProcessingException {
+        Map<String, String> payload = objectMapper.readValue(entry.getPayload(), new TypeReference<>() {});
+        List<OutboundMessage> messages = new ArrayList<>();
+
+        switch (entry.getType()) {
+            case NEW_INSPECTION -> {
+                FarmInspection inspection = context.inspection(entry.getReferenceId());
+                String title = "New Farm Inspection Pending Approval";
+                String message = String.format("Vendor %s submitted inspection for %s. Estimated boxes: %d",
+                        inspection.getVendor().getFullName(),
+                        inspection.getFarm().getFarmerName(),
+                        inspection.getEstimatedBoxes());
+                String referenceId = inspection.getId().toString();
+
+                for (UUID manager : recipientCache.activeUserIds(UserRole.MANAGER)) {
+                    messages.add(new OutboundMessage(manager, title, message, "inspection", referenceId, true));
+                }
+                for (UUID admin : recipientCache.activeUserIds(UserRole.SUPER_ADMIN)) {
+                    messages.add(new OutboundMessage(admin, title, message, "inspection", referenceId, false));
+                }
+            }
+            case INSPECTION_APPROVED -> {
+                FarmInspection inspection = context.inspection(entry.getReferenceId());
+                String batchId = payload.get("batchId");
+                String message = String.format("Your inspection for %s has been approved. Batch ID: %s",
+                        inspection.getFarm().getFarmerName(),
+                        batchId);
+                messages.add(new OutboundMessage(inspection.getVendor().getId(), "Inspection Approved!", message,
+                        "batch", batchId, true));
+            }
+            case INSPECTION_REJECTED -> {
+                FarmInspection inspection = context.inspection(entry.getReferenceId());
+                String message = String.format("Your inspection for %s was rejected. Reason: %s",
+                        inspection.getFarm().getFarmerName(),
+                        payload.get("reason"));
+                messages.add(new OutboundMessage(inspection.getVendor().getId(), "Inspection Rejected", message,
+                        "inspection", inspection.getId().toString(), true));
+            }
+            case INSPECTION_REQUEST_CREATED -> {
+                InspectionRequest request = context.request(entry.getReferenceId());
+                String message = String.format("You have been assigned to inspect %s. Please complete the inspection.",
+                        request.getFarm().getFarmerName());
+                messages.add(new OutboundMessage(request.getVendor().getId(), "New Inspection Request", message,
+                        "inspection-request", request.getId().toString(), true));
+            }
+            case GATE_PASS_CREATED -> {
+                String gatePassNo = payload.get("gatePassNo");
+                String message = String.format("Gate Pass %s created for %s boxes from vendor %s",
+                        gatePassNo, payload.get("totalBoxes"), payload.get("vendorName"));
+                for (UUID storeKeeper : recipientCache.activeUserIds(UserRole.STORE_KEEPER)) {
+                    messages.add(new OutboundMessage(storeKeeper, "New Gate Pass Created", message,
+                            "gatepass", gatePassNo, false));
+                }
+            }
+            case LOW_STOCK -> {
+                String message = String.format("%s stock is low. Available: %s (Threshold: %s)",
+                        payload.get("itemName"), payload.get("availableQuantity"), payload.get("threshold"));
+                if (payload.get("daysOfCover") != null) {
+                    message += String.format(". At the current rate it lasts about %s days", payload.get("daysOfCover"));
+                }
+                for (UUID user : recipientCache.activeUserIds(UserRole.MANAGER)) {
+                    messages.add(new OutboundMessage(user, "Low Stock Alert", message, "inventory", null, false));
+                }
+                for (UUID user : recipientCache.activeUserIds(UserRole.SUPER_ADMIN)) {
+                    messages.add(new OutboundMessage(user, "Low Stock Alert", message, "inventory", null, false));
+                }
+            }
+            case MATERIALS_ALLOCATED -> {
+                String batchId = payload.get("batchId");
+                String message = String.format("Materials allocated for Batch %s: %s",
+                        batchId, payload.get("materials"));
+                messages.add(new OutboundMessage(entry.getReferenceId(), "Materials Allocated", message, "batch", batchId, true));
+            }
+            case SALE_CREATED -> {
+                String invoiceNumber = payload.get("invoiceNumber");
+                String message = String.format("Invoice %s created for %s. Amount: %s",
+                        invoiceNumber, payload.get("buyerName"), payload.get("amount"));
+                for (UUID user : recipientCache.activeUserIds(UserRole.SUPER_ADMIN)) {
+                    messages.add(new OutboundMessage(user, "New Sale Created", message, "sale", invoiceNumber, false));
+                }
+                for (UUID user : recipientCache.activeUserIds(UserRole.MANAGER)) {
+                    messages.add(new OutboundMessage(user, "New Sale Created", message, "sale", invoiceNumber, false));
+                }
             }
         }
 
-        for (User user : managers) {
-            if (user.getIsActive()) {
-                sendPushNotification(user, title, message, "sale", invoiceNumber);
+        return messages;
+    }
+
+    /**
+     * Sends a recipient's pending items: as-is when there is one, otherwise merged into a digest
+     */
+    private void deliverDigest(User recipient, List<NotificationDigestItem> items) {
+        if (items.size() == 1) {
+            NotificationDigestItem item = items.get(0);
+            sendPushNotification(recipient, item.getTitle(), item.getMessage(), item.getNotificationType(), item.getReferenceId());
+            if (item.getSendEmail()) {
+                sendEmail(recipient, item.getTitle(), item.getMessage());
             }
+            return;
+        }
+
+        String title = String.format("%d new updates", items.size());
+        String message = items.stream()
+                .map(item -> "- " + item.getTitle() + ": " + item.getMessage())
+                .collect(Collectors.joining("\n"));
+
+        sendPushNotification(recipient, title, message, "digest", null);
+        if (items.stream().anyMatch(NotificationDigestItem::getSendEmail)) {
+            sendEmail(recipient, title, message);
+        }
+    }
+
+    private static Map<String, String> payloadOf(String... keyValues) {
+        Map<String, String> payload = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            payload.put(keyValues[i], keyValues[i + 1]);
         }
+        return payload;
     }
 
     /**
@@ -265,4 +490,27 @@ public class NotificationService {
 
         // Example SMS integration would go here
     }
+
+    private record OutboundMessage(UUID recipientId, String title, String message, String type,
+                                   String referenceId, boolean email) {
+    }
+
+    private record RenderContext(Map<UUID, FarmInspection> inspections,
+                                 Map<UUID, InspectionRequest> requests) {
+
+        FarmInspection inspection(UUID id) {
+            return required(inspections.get(id), "Inspection", id);
+        }
+
+        InspectionRequest request(UUID id) {
+            return required(requests.get(id), "Inspection request", id);
+        }
+
+        private static <T> T required(T value, String name, UUID id) {
+            if (value == null) {
+                throw new NoSuchElementException(name + " not found: " + id);
+            }
+            return value;
+        }
+    }
 }
@@ -28,9 +28,7 @@ import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
-import java.text.SimpleDateFormat;
 import java.time.format.DateTimeFormatter;
-import java.util.Date;
 import java.util.UUID;
 
 /**
@@ -57,14 +55,22 @@ public class PdfInvoiceService {
     private static final DeviceRgb DARK_COLOR = new DeviceRgb(13, 17, 23); // Dark background
     private static final DeviceRgb TEXT_COLOR = new DeviceRgb(50, 50, 50);
 
+    private static final DateTimeFormatter INVOICE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
     /**
      * Generates PDF invoice for a sale
      */
     public byte[] generateInvoice(UUID saleId) {
-        try {
-            Sale sale = saleRepository.findById(saleId)
-                    .orElseThrow(() -> new BusinessException("Sale not found"));
+        Sale sale = saleRepository.findById(saleId)
+                .orElseThrow(() -> new BusinessException("Sale not found"));
+        return generateInvoice(sale);
+    }
 
+    /**
+     * Renders the invoice PDF for a loaded sale
+     */
+    public byte[] generateInvoice(Sale sale) {
+        try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             PdfWriter writer = new PdfWriter(baos);
             PdfDocument pdf = new PdfDocument(writer);
@@ -167,10 +173,8 @@ public class PdfInvoiceService {
         Table infoTable = new Table(UnitValue.createPercentArray(new float[]{1, 1, 1, 1}));
         infoTable.setWidth(UnitValue.createPercentValue(100));
 
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy");
-
         infoTable.addCell(createInfoCell("Invoice No:", sale.getInvoiceNumber()));
-        infoTable.addCell(createInfoCell("Date:", dateFormat.format(sale.getSaleDate())));
+        infoTable.addCell(createInfoCell("Date:", INVOICE_DATE_FORMAT.format(sale.getSaleDate())));
         infoTable.addCell(createInfoCell("Batch ID:", sale.getBatch().getBatchId()));
         infoTable.addCell(createInfoCell("Currency:", sale.getCurrency()));
 
@@ -43,13 +43,38 @@ public class PhotoValidationService {
             throw new BusinessException("Photo file is empty", "PHOTO_EMPTY");
         }
 
+        validatePhotoAttributes(file.getSize(), file.getContentType());
+
+        // Check EXIF data for camera metadata (fraud prevention)
+        try (InputStream is = file.getInputStream()) {
+            validateExifData(is);
+        } catch (IOException e) {
+            log.error("Error reading photo EXIF data", e);
+            throw new BusinessException("Unable to validate photo authenticity", "PHOTO_VALIDATION_ERROR");
+        }
+    }
+
+    /**
+     * Validates video file
+     */
+    public void validateCameraVideo(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException("Video file is empty", "VIDEO_EMPTY");
+        }
+
+        validateVideoAttributes(file.getSize(), file.getContentType());
+    }
+
+    /**
+     * Validates size and format of a photo before or after it reaches storage
+     */
+    public void validatePhotoAttributes(long size, String contentType) {
         // Check file size
-        if (file.getSize() > MAX_PHOTO_SIZE_MB) {
+        if (size > MAX_PHOTO_SIZE_MB) {
             throw new BusinessException("Photo size exceeds 10MB limit", "PHOTO_TOO_LARGE");
         }
 
         // Validate content type
-        String contentType = file.getContentType();
         boolean isValidFormat = false;
         for (String format : ALLOWED_PHOTO_FORMATS) {
             if (format.equalsIgnoreCase(contentType)) {
@@ -60,31 +85,18 @@ public class PhotoValidationService {
         if (!isValidFormat) {
             throw new BusinessException("Invalid photo format. Only JPEG and PNG allowed", "INVALID_PHOTO_FORMAT");
         }
-
-        // Check EXIF data for camera metadata (fraud prevention)
-        try (InputStream is = file.getInputStream()) {
-            validateExifData(is);
-        } catch (IOException e) {
-            log.error("Error reading photo EXIF data", e);
-            throw new BusinessException("Unable to validate photo authenticity", "PHOTO_VALIDATION_ERROR");
-        }
     }
 
     /**
-     * Validates video file
+     * Validates size and format of a video before or after it reaches storage
      */
-    public void validateCameraVideo(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new BusinessException("Video file is empty", "VIDEO_EMPTY");
-        }
-
+    public void validateVideoAttributes(long size, String contentType) {
         // Check file size
-        if (file.getSize() > MAX_VIDEO_SIZE_MB) {
+        if (size > MAX_VIDEO_SIZE_MB) {
             throw new BusinessException("Video size exceeds 50MB limit", "VIDEO_TOO_LARGE");
         }
 
         // Validate content type
-        String contentType = file.getContentType();
         boolean isValidFormat = false;
         for (String format : ALLOWED_VIDEO_FORMATS) {
             if (format.equalsIgnoreCase(contentType)) {
@@ -127,6 +139,35 @@ public class PhotoValidationService {
         }
     }
 
+    /**
+     * Validates a photo that was uploaded directly to storage
+     */
+    public void validateStoredPhoto(long size, String contentType, InputStream content) {
+        if (size <= 0) {
+            throw new BusinessException("Photo file is empty", "PHOTO_EMPTY");
+        }
+
+        validatePhotoAttributes(size, contentType);
+
+        try {
+            validateExifData(content);
+        } catch (IOException e) {
+            log.error("Error reading photo EXIF data", e);
+            throw new BusinessException("Unable to validate photo authenticity", "PHOTO_VALIDATION_ERROR");
+        }
+    }
+
+    /**
+     * Validates a video that was uploaded directly to storage
+     */
+    public void validateStoredVideo(long size, String contentType) {
+        if (size <= 0) {
+            throw new BusinessException("Video file is empty", "VIDEO_EMPTY");
+        }
+
+        validateVideoAttributes(size, contentType);
+    }
+
     /**
      * Validates the complete media set for an inspection
      */
@@ -154,7 +195,13 @@ public class PhotoValidationService {
      * Checks if the file is a screenshot (not allowed)
      */
     public void validateNotScreenshot(MultipartFile file) {
-        String originalFilename = file.getOriginalFilename();
+        validateNotScreenshot(file.getOriginalFilename());
+    }
+
+    /**
+     * Checks the original file name for screenshot markers
+     */
+    public void validateNotScreenshot(String originalFilename) {
         if (originalFilename != null) {
             String lowerName = originalFilename.toLowerCase();
             if (lowerName.contains("screenshot") || lowerName.contains("screen_shot")) {
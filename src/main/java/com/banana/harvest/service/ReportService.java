@@ -1,18 +1,23 @@
 package com.banana.harvest.service;
 
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.PageCursor;
 import com.banana.harvest.dto.report.*;
 import com.banana.harvest.entity.*;
 import com.banana.harvest.entity.enums.BatchStatus;
 import com.banana.harvest.entity.enums.PaymentStatus;
 import com.banana.harvest.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -63,11 +68,17 @@ public class ReportService {
                 .build();
     }
 
+    /**
+     * A vendor's ledger newest first after the cursor, optionally for one transaction type or batch
+     */
     @Transactional(readOnly = true)
-    public List<VendorLedgerResponse> getVendorLedger(UUID vendorId) {
-        return vendorLedgerRepository.findByVendorId(vendorId).stream()
-                .map(this::mapToVendorLedgerResponse)
-                .collect(Collectors.toList());
+    public CursorPage<VendorLedgerResponse> getVendorLedgerPage(UUID vendorId, String transactionType, UUID batchId,
+                                                                String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        List<VendorLedger> entries = vendorLedgerRepository.findPage(vendorId, transactionType, batchId,
+                after.createdAt(), after.id(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(entries, limit, entry -> PageCursor.of(entry.getCreatedAt(), entry.getId()),
+                this::mapToVendorLedgerResponse);
     }
 
     @Transactional(readOnly = true)
@@ -92,11 +103,14 @@ public class ReportService {
 
     @Transactional(readOnly = true)
     public List<ProfitabilityReportResponse> getProfitabilityReport() {
-        List<Sale> sales = saleRepository.findAll();
+        // Sales with their batch and farm in one query, and every sold batch's cost sheet in another
+        List<Sale> sales = saleRepository.findAllWithBatchAndFarm();
+        Map<UUID, BatchCost> costsByBatch = batchCostRepository.findAllForSoldBatches().stream()
+                .collect(Collectors.toMap(cost -> cost.getBatch().getId(), Function.identity()));
         
         return sales.stream().map(sale -> {
             Batch batch = sale.getBatch();
-            BatchCost batchCost = batchCostRepository.findByBatchId(batch.getId()).orElse(null);
+            BatchCost batchCost = costsByBatch.get(batch.getId());
             
             BigDecimal costPerBox = batchCost != null ? batchCost.getFinalCostPerBox() : BigDecimal.ZERO;
             BigDecimal totalCost = costPerBox.multiply(BigDecimal.valueOf(sale.getTotalBoxes()));
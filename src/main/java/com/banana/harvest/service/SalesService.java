@@ -1,19 +1,28 @@
 package com.banana.harvest.service;
 
+import com.banana.harvest.dto.common.CursorPage;
+import com.banana.harvest.dto.common.FieldSelection;
+import com.banana.harvest.dto.common.PageCursor;
 import com.banana.harvest.dto.sales.SaleRequest;
 import com.banana.harvest.dto.sales.SaleResponse;
 import com.banana.harvest.entity.Batch;
 import com.banana.harvest.entity.BatchCost;
 import com.banana.harvest.entity.Sale;
 import com.banana.harvest.entity.enums.BatchStatus;
+import com.banana.harvest.entity.enums.PaymentStatus;
+import com.banana.harvest.entity.enums.SaleType;
 import com.banana.harvest.exception.BusinessException;
 import com.banana.harvest.exception.ResourceNotFoundException;
 import com.banana.harvest.repository.BatchCostRepository;
 import com.banana.harvest.repository.BatchRepository;
 import com.banana.harvest.repository.SaleRepository;
 import com.banana.harvest.repository.UserRepository;
+import com.banana.harvest.service.event.DomainEvent;
+import com.banana.harvest.service.event.DomainEventType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +43,7 @@ public class SalesService {
     private final BatchRepository batchRepository;
     private final BatchCostRepository batchCostRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public SaleResponse createSale(SaleRequest request, UUID userId) {
@@ -93,14 +103,34 @@ public class SalesService {
                 .build();
 
         Sale savedSale = saleRepository.save(sale);
+        eventPublisher.publishEvent(DomainEvent.of(DomainEventType.SALE_CREATED,
+                savedSale.getId(), null,
+                "invoiceNumber", invoiceNumber,
+                "batchId", batch.getBatchId(),
+                "totalBoxes", savedSale.getTotalBoxes(),
+                "grandTotal", grandTotal,
+                "currency", savedSale.getCurrency()));
         return mapToSaleResponse(savedSale);
     }
 
+    /**
+     * Sales newest first after the cursor, optionally by payment status, sale type, batch and an
+     * inclusive sale date range
+     */
     @Transactional(readOnly = true)
-    public List<SaleResponse> getAllSales() {
-        return saleRepository.findAll().stream()
-                .map(this::mapToSaleResponse)
-                .collect(Collectors.toList());
+    public CursorPage<SaleResponse> getSalesPage(PaymentStatus paymentStatus, SaleType saleType, UUID batchId,
+                                                 LocalDate fromDate, LocalDate toDate, String cursor, int limit,
+                                                 FieldSelection fields) {
+        PageCursor after = PageCursor.decode(cursor);
+        // The batch is joined only for its code; its id is the sale's foreign key
+        boolean withBatchCode = fields.includes("batchIdCode");
+        List<Sale> sales = withBatchCode
+                ? saleRepository.findPage(paymentStatus, saleType, batchId, fromDate, toDate,
+                        after.createdAt(), after.id(), PageRequest.of(0, limit + 1))
+                : saleRepository.findPageWithoutDetails(paymentStatus, saleType, batchId, fromDate, toDate,
+                        after.createdAt(), after.id(), PageRequest.of(0, limit + 1));
+        return CursorPage.of(sales, limit, sale -> PageCursor.of(sale.getCreatedAt(), sale.getId()),
+                sale -> mapToSaleResponse(sale, withBatchCode));
     }
 
     @Transactional(readOnly = true)
@@ -142,6 +172,12 @@ public class SalesService {
         }
 
         saleRepository.save(sale);
+        eventPublisher.publishEvent(DomainEvent.of(DomainEventType.SALE_PAYMENT_UPDATED,
+                sale.getId(), null,
+                "invoiceNumber", sale.getInvoiceNumber(),
+                "paymentStatus", sale.getPaymentStatus(),
+                "paidAmount", sale.getPaidAmount(),
+                "grandTotal", sale.getGrandTotal()));
     }
 
     private String generateInvoiceNumber() {
@@ -151,10 +187,14 @@ public class SalesService {
     }
 
     private SaleResponse mapToSaleResponse(Sale sale) {
+        return mapToSaleResponse(sale, true);
+    }
+
+    private SaleResponse mapToSaleResponse(Sale sale, boolean withBatchCode) {
         return SaleResponse.builder()
                 .id(sale.getId())
                 .batchId(sale.getBatch().getId())
-                .batchIdCode(sale.getBatch().getBatchId())
+                .batchIdCode(withBatchCode ? sale.getBatch().getBatchId() : null)
                 .invoiceNumber(sale.getInvoiceNumber())
                 .buyerName(sale.getBuyerName())
                 .buyerContact(sale.getBuyerContact())
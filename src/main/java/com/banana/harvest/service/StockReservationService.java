@@ -0,0 +1,267 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.dto.inventory.StockReservationRequest;
+import com.banana.harvest.dto.inventory.StockReservationResponse;
+import com.banana.harvest.entity.*;
+import com.banana.harvest.entity.enums.ReservationStatus;
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.exception.ResourceNotFoundException;
+import com.banana.harvest.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for stock reservations.
+ * Every change to the stock counters is a single conditional UPDATE on inventory_stock
+ * (e.g. available_quantity >= :quantity), so concurrent allocations cannot oversell.
+ * Reservations hold stock for a limited time; when one is closed, the allocations that
+ * reference it decide how much goes on to reserved and how much returns to available.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockReservationService {
+
+    private final InventoryStockRepository stockRepository;
+    private final StockReservationRepository reservationRepository;
+    private final InventoryAllocationRepository allocationRepository;
+    private final InventoryItemRepository itemRepository;
+    private final BatchRepository batchRepository;
+    private final InventoryCatalogCache catalogCache;
+
+    @Value("${inventory.reservation.default-ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    @Value("${inventory.reservation.max-ttl-seconds:86400}")
+    private long maxTtlSeconds;
+
+    /**
+     * Moves quantity from available to reserved in one statement
+     */
+    @Transactional
+    public void reserveAvailable(InventoryItem item, int quantity) {
+        if (stockRepository.reserveAvailable(item.getId(), quantity) == 0) {
+            throw insufficientStock(item, quantity);
+        }
+    }
+
+    /**
+     * Holds stock for a user until it is allocated, released or expires
+     */
+    @Transactional
+    public StockReservationResponse createReservation(StockReservationRequest request, UUID userId) {
+        InventoryItem item = itemRepository.findById(UUID.fromString(request.getItemId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Inventory item", "id", request.getItemId()));
+
+        Batch batch = null;
+        if (request.getBatchId() != null && !request.getBatchId().isEmpty()) {
+            batch = batchRepository.findById(UUID.fromString(request.getBatchId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Batch", "id", request.getBatchId()));
+        }
+
+        long ttlSeconds = request.getTtlSeconds() != null
+                ? Math.min(request.getTtlSeconds(), maxTtlSeconds) : defaultTtlSeconds;
+
+        if (stockRepository.holdAvailable(item.getId(), request.getQuantity()) == 0) {
+            throw insufficientStock(item, request.getQuantity());
+        }
+
+        StockReservation reservation = reservationRepository.save(StockReservation.builder()
+                .item(item)
+                .batch(batch)
+                .holder("user:" + userId)
+                .quantity(request.getQuantity())
+                .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                .build());
+        catalogCache.invalidate();
+
+        log.info("Stock reserved - reservationId: {}, itemId: {}, quantity: {}, expiresAt: {}",
+                reservation.getId(), item.getId(), reservation.getQuantity(), reservation.getExpiresAt());
+        return mapToResponse(reservation);
+    }
+
+    @Transactional(readOnly = true)
+    public StockReservationResponse getReservation(UUID id) {
+        return mapToResponse(reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock reservation", "id", id)));
+    }
+
+    /**
+     * Allocates part or all of an active reservation: held moves to reserved
+     */
+    @Transactional
+    public StockReservation consumeReservation(UUID reservationId, InventoryItem item, int quantity) {
+        StockReservation reservation = reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock reservation", "id", reservationId));
+
+        if (reservation.getStatus() != ReservationStatus.ACTIVE
+                || reservation.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new BusinessException("Stock reservation is no longer active", "RESERVATION_INACTIVE");
+        }
+        if (reservation.getHolder().startsWith(StockReservation.ESCROW_HOLDER_PREFIX)) {
+            throw new BusinessException("Escrow reservations are allocated from by their instance", "RESERVATION_ESCROW");
+        }
+        if (!reservation.getItem().getId().equals(item.getId())) {
+            throw new BusinessException("Stock reservation is for a different item", "RESERVATION_ITEM_MISMATCH");
+        }
+        int remaining = reservation.getQuantity() - reservation.getConsumedQuantity();
+        if (quantity > remaining) {
+            throw new BusinessException("Quantity exceeds reservation. Remaining: " + remaining + ", Requested: " + quantity,
+                    "RESERVATION_EXCEEDED");
+        }
+
+        if (stockRepository.consumeHeld(item.getId(), quantity) == 0) {
+            throw new IllegalStateException("Held stock is lower than reservation " + reservationId);
+        }
+
+        reservation.setConsumedQuantity(reservation.getConsumedQuantity() + quantity);
+        if (reservation.getConsumedQuantity().equals(reservation.getQuantity())) {
+            reservation.setStatus(ReservationStatus.CONSUMED);
+            reservation.setClosedAt(LocalDateTime.now());
+        }
+        return reservationRepository.save(reservation);
+    }
+
+    /**
+     * Releases what is left of a reservation back to available. Escrows are only closed by
+     * the instance serving from them, or by the expiry sweeper once their lease has ended.
+     */
+    @Transactional
+    public StockReservationResponse releaseReservation(UUID reservationId) {
+        StockReservation reservation = reservationRepository.findByIdForUpdate(reservationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock reservation", "id", reservationId));
+        if (reservation.getHolder().startsWith(StockReservation.ESCROW_HOLDER_PREFIX)) {
+            throw new BusinessException("Escrow reservations are released by their instance", "RESERVATION_ESCROW");
+        }
+        close(reservation, ReservationStatus.RELEASED);
+        return mapToResponse(reservation);
+    }
+
+    /**
+     * Closes up to limit expired reservations. Returns the number closed.
+     */
+    @Transactional
+    public int expireDue(int limit) {
+        List<StockReservation> expired = reservationRepository.claimExpired(LocalDateTime.now(), limit);
+        for (StockReservation reservation : expired) {
+            close(reservation, ReservationStatus.EXPIRED);
+            log.info("Stock reservation expired - reservationId: {}, holder: {}, quantity: {}, allocated: {}",
+                    reservation.getId(), reservation.getHolder(), reservation.getQuantity(),
+                    reservation.getConsumedQuantity());
+        }
+        return expired.size();
+    }
+
+    /**
+     * Takes up to quantity (at least minimum) from available into a reservation owned by an
+     * application instance. Called from the escrow refill thread, never inside an allocating
+     * transaction, which may already hold the stock row this locks.
+     */
+    @Transactional
+    public Optional<StockReservation> openEscrow(UUID itemId, int quantity, int minimum, String holder,
+                                                 LocalDateTime expiresAt) {
+        InventoryStock stock = stockRepository.findByItemIdForUpdate(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock", "itemId", itemId));
+
+        int granted = Math.min(quantity, stock.getAvailableQuantity());
+        if (granted < minimum || granted <= 0) {
+            return Optional.empty();
+        }
+
+        stock.setAvailableQuantity(stock.getAvailableQuantity() - granted);
+        stock.setHeldQuantity(stock.getHeldQuantity() + granted);
+        stockRepository.save(stock);
+        catalogCache.invalidate();
+
+        return Optional.of(reservationRepository.save(StockReservation.builder()
+                .item(stock.getItem())
+                .holder(holder)
+                .quantity(granted)
+                .expiresAt(expiresAt)
+                .build()));
+    }
+
+    /**
+     * Write-behind for an escrow: moves quantity allocated since the last flush from held
+     * to reserved and extends the lease. Returns false if the escrow is no longer active.
+     */
+    @Transactional
+    public boolean flushEscrow(UUID reservationId, int allocated, LocalDateTime expiresAt) {
+        StockReservation reservation = reservationRepository.findByIdForUpdate(reservationId).orElse(null);
+        if (reservation == null || reservation.getStatus() != ReservationStatus.ACTIVE) {
+            // Already settled from the allocation rows
+            return false;
+        }
+        if (allocated > 0) {
+            if (stockRepository.consumeHeld(reservation.getItem().getId(), allocated) == 0) {
+                throw new IllegalStateException("Held stock is lower than escrow " + reservationId);
+            }
+            reservation.setConsumedQuantity(reservation.getConsumedQuantity() + allocated);
+        }
+        reservation.setExpiresAt(expiresAt);
+        reservationRepository.save(reservation);
+        return true;
+    }
+
+    @Transactional
+    public void closeEscrow(UUID reservationId) {
+        reservationRepository.findByIdForUpdate(reservationId)
+                .ifPresent(reservation -> close(reservation, ReservationStatus.RELEASED));
+    }
+
+    /**
+     * Settles a reservation from its committed allocations, which also covers escrow
+     * allocations whose write-behind never ran
+     */
+    private void close(StockReservation reservation, ReservationStatus status) {
+        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            return;
+        }
+        int allocated = allocationRepository.sumQuantityByReservation(reservation.getId());
+        int toReserved = allocated - reservation.getConsumedQuantity();
+        int toAvailable = reservation.getQuantity() - allocated;
+
+        if (stockRepository.settleHeld(reservation.getItem().getId(), toReserved, toAvailable) == 0) {
+            throw new IllegalStateException("Held stock is lower than reservation " + reservation.getId());
+        }
+
+        if (toAvailable > 0) {
+            catalogCache.invalidate();
+        }
+
+        reservation.setConsumedQuantity(allocated);
+        reservation.setStatus(status);
+        reservation.setClosedAt(LocalDateTime.now());
+        reservationRepository.save(reservation);
+    }
+
+    private BusinessException insufficientStock(InventoryItem item, int requested) {
+        Integer available = stockRepository.findByItemId(item.getId())
+                .map(InventoryStock::getAvailableQuantity)
+                .orElse(0);
+        return new BusinessException("Insufficient stock available. Available: " +
+                available + ", Requested: " + requested, "INSUFFICIENT_STOCK");
+    }
+
+    private StockReservationResponse mapToResponse(StockReservation reservation) {
+        return StockReservationResponse.builder()
+                .id(reservation.getId())
+                .itemId(reservation.getItem().getId())
+                .batchId(reservation.getBatch() != null ? reservation.getBatch().getId() : null)
+                .quantity(reservation.getQuantity())
+                .allocatedQuantity(reservation.getConsumedQuantity())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .createdAt(reservation.getCreatedAt())
+                .closedAt(reservation.getClosedAt())
+                .build();
+    }
+}
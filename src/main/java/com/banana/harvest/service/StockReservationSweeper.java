@@ -0,0 +1,33 @@
+package com.banana.harvest.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Returns stock held by expired reservations to available.
+ * Safe to run on several instances: expired reservations are claimed with SKIP LOCKED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockReservationSweeper {
+
+    private final StockReservationService reservationService;
+
+    @Value("${inventory.reservation.sweep-batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:30000}")
+    public void sweep() {
+        try {
+            while (reservationService.expireDue(batchSize) == batchSize) {
+                log.debug("Expired a full batch of stock reservations, continuing");
+            }
+        } catch (Exception e) {
+            log.error("Stock reservation sweep failed", e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.banana.harvest.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking stock counter split into stripes so concurrent takers rarely touch the same
+ * cache line. A take is served from the caller's home stripe when possible and otherwise
+ * gathered from several stripes; the total can never go negative.
+ */
+public class StripedStockCounter {
+
+    private final AtomicInteger[] stripes;
+    private final int mask;
+
+    public StripedStockCounter(int initialQuantity, int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new AtomicInteger[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            int share = initialQuantity / size + (i < initialQuantity % size ? 1 : 0);
+            stripes[i] = new AtomicInteger(share);
+        }
+    }
+
+    /**
+     * Takes quantity if available; returns false without changing anything otherwise
+     */
+    public boolean tryTake(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        int home = homeStripe();
+
+        // Fast path: a single stripe covers the request
+        for (int i = 0; i < stripes.length; i++) {
+            AtomicInteger stripe = stripes[(home + i) & mask];
+            int current = stripe.get();
+            while (current >= quantity) {
+                if (stripe.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+                current = stripe.get();
+            }
+        }
+
+        // Slow path: gather from several stripes, undoing the partial take on shortfall
+        int gathered = 0;
+        int[] taken = new int[stripes.length];
+        for (int i = 0; i < stripes.length && gathered < quantity; i++) {
+            int index = (home + i) & mask;
+            AtomicInteger stripe = stripes[index];
+            int current = stripe.get();
+            while (current > 0) {
+                int part = Math.min(current, quantity - gathered);
+                if (stripe.compareAndSet(current, current - part)) {
+                    taken[index] = part;
+                    gathered += part;
+                    break;
+                }
+                current = stripe.get();
+            }
+        }
+        if (gathered == quantity) {
+            return true;
+        }
+        for (int i = 0; i < taken.length; i++) {
+            if (taken[i] > 0) {
+                stripes[i].addAndGet(taken[i]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns quantity taken by a rolled-back allocation
+     */
+    public void giveBack(int quantity) {
+        stripes[homeStripe()].addAndGet(quantity);
+    }
+
+    /**
+     * Empties every stripe and returns what was left; later takes fail
+     */
+    public int drain() {
+        int drained = 0;
+        for (AtomicInteger stripe : stripes) {
+            drained += stripe.getAndSet(0);
+        }
+        return drained;
+    }
+
+    /**
+     * Approximate remaining quantity (exact when no take is in progress)
+     */
+    public int remaining() {
+        int total = 0;
+        for (AtomicInteger stripe : stripes) {
+            total += stripe.get();
+        }
+        return total;
+    }
+
+    private int homeStripe() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,169 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.WebhookEndpoint;
+import com.banana.harvest.entity.WebhookEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers webhook batches on a fixed delay.
+ * Each endpoint is leased to one dispatcher at a time, which keeps per-endpoint ordering
+ * when several instances run; no database transaction is held during the HTTP call.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebhookDispatcher {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final WebhookService webhookService;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${webhook.max-batches-per-poll:10}")
+    private int maxBatchesPerPoll;
+
+    @Value("${webhook.endpoints-per-poll:10}")
+    private int endpointsPerPoll;
+
+    @Value("${webhook.retention-days:14}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${webhook.poll-interval-ms:5000}")
+    public void poll() {
+        List<WebhookEndpoint> endpoints;
+        try {
+            endpoints = webhookService.leaseDueEndpoints(endpointsPerPoll);
+        } catch (Exception e) {
+            log.error("Webhook poll failed", e);
+            return;
+        }
+
+        for (WebhookEndpoint endpoint : endpoints) {
+            deliverPending(endpoint);
+        }
+    }
+
+    @Scheduled(cron = "${webhook.purge-cron:0 45 3 * * *}")
+    public void purge() {
+        int deleted = webhookService.purgeDelivered(Duration.ofDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Purged {} delivered webhook events", deleted);
+        }
+    }
+
+    private void deliverPending(WebhookEndpoint endpoint) {
+        long cursor = endpoint.getLastEventId();
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                List<WebhookEvent> batch = webhookService.nextBatch(endpoint, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                long lastEventId = batch.get(batch.size() - 1).getId();
+                String failure = post(endpoint, batch, lastEventId);
+                if (failure != null) {
+                    webhookService.recordFailure(endpoint.getId(), failure);
+                    return;
+                }
+
+                webhookService.recordDelivered(endpoint.getId(), lastEventId);
+                endpoint.setLastEventId(lastEventId);
+                log.debug("Delivered {} webhook events to {} - cursor: {}", batch.size(), endpoint.getUrl(), lastEventId);
+
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+            webhookService.releaseLease(endpoint.getId());
+        } catch (Exception e) {
+            log.error("Webhook delivery to {} aborted at cursor {}", endpoint.getUrl(), cursor, e);
+            webhookService.recordFailure(endpoint.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Posts one batch; returns null on 2xx, otherwise the failure reason
+     */
+    private String post(WebhookEndpoint endpoint, List<WebhookEvent> batch, long lastEventId) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(new WebhookBatch(
+                    UUID.randomUUID(),
+                    endpoint.getId(),
+                    lastEventId,
+                    LocalDateTime.now(),
+                    batch.stream().map(WebhookDispatcher::toPayload).toList()));
+        } catch (JsonProcessingException e) {
+            return "Unable to serialise batch: " + e.getMessage();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Webhook-Endpoint", endpoint.getId().toString());
+        headers.set("X-Webhook-Cursor", String.valueOf(lastEventId));
+        headers.set("X-Webhook-Signature", "sha256=" + sign(endpoint.getSecret(), body));
+
+        try {
+            ResponseEntity<Void> response = restTemplate.exchange(
+                    endpoint.getUrl(), HttpMethod.POST, new HttpEntity<>(body, headers), Void.class);
+            return response.getStatusCode().is2xxSuccessful() ? null : "HTTP " + response.getStatusCode().value();
+        } catch (RestClientException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static EventPayload toPayload(WebhookEvent event) {
+        return new EventPayload(event.getId(), event.getEventType(), event.getAggregateId(), event.getVendorId(),
+                event.getOccurredAt(), event.getPayload());
+    }
+
+    private static String sign(String secret, String body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign webhook batch", e);
+        }
+    }
+
+    /**
+     * Receivers should de-duplicate on event id: a batch is resent until acknowledged
+     */
+    private record WebhookBatch(UUID deliveryId, UUID endpointId, long cursor, LocalDateTime sentAt,
+                                List<EventPayload> events) {
+    }
+
+    private record EventPayload(long id, String type, UUID aggregateId, UUID vendorId, LocalDateTime occurredAt,
+                                @JsonRawValue String data) {
+    }
+}
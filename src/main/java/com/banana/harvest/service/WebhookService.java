@@ -0,0 +1,311 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.dto.webhook.WebhookEndpointRequest;
+import com.banana.harvest.dto.webhook.WebhookEndpointResponse;
+import com.banana.harvest.entity.WebhookEndpoint;
+import com.banana.harvest.entity.WebhookEvent;
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.exception.ResourceNotFoundException;
+import com.banana.harvest.repository.WebhookEndpointRepository;
+import com.banana.harvest.repository.WebhookEventRepository;
+import com.banana.harvest.service.event.DomainEvent;
+import com.banana.harvest.service.event.DomainEventType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service for outbound webhooks to ERP/accounting systems.
+ * Integration events are appended to webhook_events inside the transaction that caused them;
+ * {@link WebhookDispatcher} delivers them per endpoint in id order, advancing the endpoint's
+ * cursor only after a 2xx, so receivers get every event at least once and in order.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookService {
+
+    // Events offered to webhook endpoints
+    static final Set<DomainEventType> INTEGRATION_EVENTS = EnumSet.of(
+            DomainEventType.SALE_CREATED,
+            DomainEventType.SALE_PAYMENT_UPDATED,
+            DomainEventType.LEDGER_ENTRY_CREATED,
+            DomainEventType.GATE_PASS_RECEIVED);
+
+    // pg_advisory_xact_lock key serialising appends to webhook_events
+    private static final long APPEND_LOCK_KEY = 0x5745424844L;
+
+    private final WebhookEventRepository eventRepository;
+    private final WebhookEndpointRepository endpointRepository;
+    private final ObjectMapper objectMapper;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${webhook.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${webhook.backoff-base-seconds:10}")
+    private long backoffBaseSeconds;
+
+    @Value("${webhook.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    /**
+     * Appends integration events just before the originating transaction commits.
+     * The advisory lock is held until commit, so ids become visible in increasing order.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordEvent(DomainEvent event) {
+        if (!INTEGRATION_EVENTS.contains(event.type())) {
+            return;
+        }
+        eventRepository.lockForAppend(APPEND_LOCK_KEY);
+        eventRepository.save(WebhookEvent.builder()
+                .eventType(event.type().wireName())
+                .aggregateId(event.aggregateId())
+                .vendorId(event.vendorId())
+                .payload(toJson(event.data()))
+                .occurredAt(event.occurredAt())
+                .build());
+    }
+
+    @Transactional
+    public WebhookEndpointResponse createEndpoint(WebhookEndpointRequest request) {
+        WebhookEndpoint endpoint = WebhookEndpoint.builder()
+                .name(request.getName())
+                .url(request.getUrl())
+                .secret(request.getSecret() != null && !request.getSecret().isBlank()
+                        ? request.getSecret() : generateSecret())
+                .eventTypes(joinEventTypes(request.getEventTypes()))
+                .isActive(request.getIsActive() == null || request.getIsActive())
+                // New endpoints start at the head of the log rather than replaying history
+                .lastEventId(latestEventId())
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        WebhookEndpoint saved = endpointRepository.save(endpoint);
+        log.info("Webhook endpoint created - id: {}, url: {}, cursor: {}", saved.getId(), saved.getUrl(),
+                saved.getLastEventId());
+        WebhookEndpointResponse response = mapToResponse(saved, latestEventId());
+        // The only response that carries the secret, so a generated one can be stored by the receiver
+        response.setSecret(saved.getSecret());
+        return response;
+    }
+
+    @Transactional
+    public WebhookEndpointResponse updateEndpoint(UUID id, WebhookEndpointRequest request) {
+        WebhookEndpoint endpoint = findEndpoint(id);
+        endpoint.setName(request.getName());
+        endpoint.setUrl(request.getUrl());
+        if (request.getSecret() != null && !request.getSecret().isBlank()) {
+            endpoint.setSecret(request.getSecret());
+        }
+        endpoint.setEventTypes(joinEventTypes(request.getEventTypes()));
+        if (request.getIsActive() != null) {
+            endpoint.setIsActive(request.getIsActive());
+        }
+        endpoint.setNextAttemptAt(LocalDateTime.now());
+        return mapToResponse(endpointRepository.save(endpoint), latestEventId());
+    }
+
+    @Transactional
+    public void deleteEndpoint(UUID id) {
+        endpointRepository.delete(findEndpoint(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookEndpointResponse> getAllEndpoints() {
+        long latest = latestEventId();
+        return endpointRepository.findAllByOrderByCreatedAtAsc().stream()
+                .map(endpoint -> mapToResponse(endpoint, latest))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public WebhookEndpointResponse getEndpoint(UUID id) {
+        return mapToResponse(findEndpoint(id), latestEventId());
+    }
+
+    /**
+     * Moves the cursor so delivery restarts after the given event id (0 replays the retained log)
+     */
+    @Transactional
+    public WebhookEndpointResponse resetCursor(UUID id, long afterEventId) {
+        WebhookEndpoint endpoint = findEndpoint(id);
+        if (afterEventId < 0 || afterEventId > latestEventId()) {
+            throw new BusinessException("Cursor must be between 0 and the latest event id", "INVALID_CURSOR");
+        }
+        endpoint.setLastEventId(afterEventId);
+        endpoint.setAttempts(0);
+        endpoint.setNextAttemptAt(LocalDateTime.now());
+        endpoint.setLastError(null);
+        log.info("Webhook cursor reset - endpointId: {}, cursor: {}", id, afterEventId);
+        return mapToResponse(endpointRepository.save(endpoint), latestEventId());
+    }
+
+    /**
+     * Makes an endpoint due immediately, skipping any retry backoff
+     */
+    @Transactional
+    public void triggerDelivery(UUID id) {
+        WebhookEndpoint endpoint = findEndpoint(id);
+        endpoint.setNextAttemptAt(LocalDateTime.now());
+        endpointRepository.save(endpoint);
+    }
+
+    /**
+     * Leases up to limit due endpoints to the calling dispatcher
+     */
+    @Transactional
+    public List<WebhookEndpoint> leaseDueEndpoints(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookEndpoint> endpoints = endpointRepository.claimDue(now, limit);
+        for (WebhookEndpoint endpoint : endpoints) {
+            endpoint.setLeaseUntil(now.plusSeconds(leaseSeconds));
+        }
+        return endpointRepository.saveAll(endpoints);
+    }
+
+    /**
+     * Next events after the endpoint's cursor, restricted to its subscribed types
+     */
+    @Transactional(readOnly = true)
+    public List<WebhookEvent> nextBatch(WebhookEndpoint endpoint, int batchSize) {
+        Set<String> types = splitEventTypes(endpoint.getEventTypes());
+        PageRequest page = PageRequest.ofSize(batchSize);
+        return types.isEmpty()
+                ? eventRepository.findByIdGreaterThanOrderByIdAsc(endpoint.getLastEventId(), page)
+                : eventRepository.findByIdGreaterThanAndEventTypeInOrderByIdAsc(endpoint.getLastEventId(), types, page);
+    }
+
+    /**
+     * Advances the cursor after an acknowledged batch and renews the lease
+     */
+    @Transactional
+    public void recordDelivered(UUID endpointId, long lastEventId) {
+        WebhookEndpoint endpoint = findEndpoint(endpointId);
+        endpoint.setLastEventId(Math.max(endpoint.getLastEventId(), lastEventId));
+        endpoint.setAttempts(0);
+        endpoint.setLastError(null);
+        endpoint.setLastDeliveredAt(LocalDateTime.now());
+        endpoint.setLeaseUntil(LocalDateTime.now().plusSeconds(leaseSeconds));
+        endpointRepository.save(endpoint);
+    }
+
+    /**
+     * Keeps the cursor and schedules the same batch again with exponential backoff.
+     * Ordering means later events wait behind the failed batch, so there is no dead-letter step.
+     */
+    @Transactional
+    public void recordFailure(UUID endpointId, String error) {
+        WebhookEndpoint endpoint = findEndpoint(endpointId);
+        int attempts = endpoint.getAttempts() + 1;
+        long delaySeconds = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(attempts - 1, 20));
+
+        endpoint.setAttempts(attempts);
+        endpoint.setLastError(error);
+        endpoint.setNextAttemptAt(LocalDateTime.now().plusSeconds(delaySeconds));
+        endpoint.setLeaseUntil(null);
+        endpointRepository.save(endpoint);
+
+        log.warn("Webhook delivery to {} failed, retry {} in {}s: {}",
+                endpoint.getUrl(), attempts, delaySeconds, error);
+    }
+
+    @Transactional
+    public void releaseLease(UUID endpointId) {
+        endpointRepository.findById(endpointId).ifPresent(endpoint -> {
+            endpoint.setLeaseUntil(null);
+            endpointRepository.save(endpoint);
+        });
+    }
+
+    /**
+     * Deletes events every active endpoint has acknowledged and that are older than the retention
+     */
+    @Transactional
+    public int purgeDelivered(Duration retention) {
+        Long minCursor = endpointRepository.findMinActiveCursor();
+        long maxId = minCursor != null ? minCursor : latestEventId();
+        return eventRepository.deleteDelivered(maxId, LocalDateTime.now().minus(retention));
+    }
+
+    private long latestEventId() {
+        return eventRepository.findTopByOrderByIdDesc()
+                .map(WebhookEvent::getId)
+                .orElse(0L);
+    }
+
+    private WebhookEndpoint findEndpoint(UUID id) {
+        return endpointRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Webhook endpoint", "id", id));
+    }
+
+    private String joinEventTypes(List<String> eventTypes) {
+        if (eventTypes == null || eventTypes.isEmpty()) {
+            return null;
+        }
+        for (String type : eventTypes) {
+            boolean supported = DomainEventType.fromWireName(type)
+                    .filter(INTEGRATION_EVENTS::contains)
+                    .isPresent();
+            if (!supported) {
+                throw new BusinessException("Unsupported webhook event type: " + type, "INVALID_EVENT_TYPE");
+            }
+        }
+        return String.join(",", new TreeSet<>(eventTypes));
+    }
+
+    private static Set<String> splitEventTypes(String eventTypes) {
+        if (eventTypes == null || eventTypes.isBlank()) {
+            return Set.of();
+        }
+        return Arrays.stream(eventTypes.split(","))
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    private String toJson(Map<String, Object> data) {
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialise webhook event", e);
+        }
+    }
+
+    private String generateSecret() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    private WebhookEndpointResponse mapToResponse(WebhookEndpoint endpoint, long latestEventId) {
+        return WebhookEndpointResponse.builder()
+                .id(endpoint.getId())
+                .name(endpoint.getName())
+                .url(endpoint.getUrl())
+                .eventTypes(new ArrayList<>(new TreeSet<>(splitEventTypes(endpoint.getEventTypes()))))
+                .isActive(endpoint.getIsActive())
+                .lastEventId(endpoint.getLastEventId())
+                .latestEventId(latestEventId)
+                .attempts(endpoint.getAttempts())
+                .nextAttemptAt(endpoint.getNextAttemptAt())
+                .lastError(endpoint.getLastError())
+                .lastDeliveredAt(endpoint.getLastDeliveredAt())
+                .createdAt(endpoint.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.banana.harvest.service.event;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A committed state change, published through Spring's ApplicationEventPublisher.
+ * Listeners use @TransactionalEventListener so nothing is pushed for rolled-back work.
+ *
+ * @param type        what happened
+ * @param aggregateId id of the changed entity
+ * @param vendorId    vendor the change concerns, or null
+ * @param data        small delta for clients (counts, status, numbers) - not the full entity
+ */
+public record DomainEvent(DomainEventType type, UUID aggregateId, UUID vendorId,
+                          Map<String, Object> data, LocalDateTime occurredAt) {
+
+    /**
+     * Builds an event from alternating key/value pairs; null values are dropped
+     */
+    public static DomainEvent of(DomainEventType type, UUID aggregateId, UUID vendorId, Object... keyValues) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            if (keyValues[i + 1] != null) {
+                data.put(String.valueOf(keyValues[i]), keyValues[i + 1]);
+            }
+        }
+        return new DomainEvent(type, aggregateId, vendorId, Collections.unmodifiableMap(data), LocalDateTime.now());
+    }
+}
@@ -0,0 +1,50 @@
+package com.banana.harvest.service.event;
+
+import com.banana.harvest.entity.enums.UserRole;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Domain events published by the services after a state change.
+ * Each type carries its wire name and the roles that see it regardless of vendor;
+ * the vendor the event concerns always sees it.
+ */
+public enum DomainEventType {
+
+    INSPECTION_SUBMITTED("inspection.submitted", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    INSPECTION_APPROVED("inspection.approved", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    INSPECTION_REJECTED("inspection.rejected", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    INSPECTION_REQUEST_CREATED("inspection-request.created", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    INSPECTION_REQUEST_CANCELLED("inspection-request.cancelled", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    DAILY_REPORT_CREATED("harvest.daily-report.created", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    GATE_PASS_CREATED("gate-pass.created", UserRole.SUPER_ADMIN, UserRole.MANAGER, UserRole.STORE_KEEPER),
+    GATE_PASS_RECEIVED("gate-pass.received", UserRole.SUPER_ADMIN, UserRole.MANAGER, UserRole.STORE_KEEPER),
+    SALE_CREATED("sale.created", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    SALE_PAYMENT_UPDATED("sale.payment-updated", UserRole.SUPER_ADMIN, UserRole.MANAGER),
+    LEDGER_ENTRY_CREATED("ledger.entry-created", UserRole.SUPER_ADMIN, UserRole.MANAGER);
+
+    private final String wireName;
+    private final Set<UserRole> audience;
+
+    DomainEventType(String wireName, UserRole first, UserRole... rest) {
+        this.wireName = wireName;
+        this.audience = EnumSet.of(first, rest);
+    }
+
+    public String wireName() {
+        return wireName;
+    }
+
+    public Set<UserRole> audience() {
+        return audience;
+    }
+
+    public static Optional<DomainEventType> fromWireName(String wireName) {
+        return Arrays.stream(values())
+                .filter(type -> type.wireName.equals(wireName))
+                .findFirst();
+    }
+}
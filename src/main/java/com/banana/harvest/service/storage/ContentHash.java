@@ -0,0 +1,41 @@
+package com.banana.harvest.service.storage;
+
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 helpers for deduplicating media by content
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Wraps the stream so everything read through it is added to the digest.
+     * mark/reset is disabled: a client retrying from a mark would feed the replayed bytes in twice.
+     */
+    public static InputStream digesting(InputStream content, MessageDigest digest) {
+        return new DigestInputStream(content, digest) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
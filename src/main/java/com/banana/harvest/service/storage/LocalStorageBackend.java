@@ -0,0 +1,263 @@
+package com.banana.harvest.service.storage;
+
+import com.banana.harvest.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local filesystem storage backend.
+ * Intended for on-prem depots with poor uplinks and for load-testing uploads
+ * without an external service. Objects are served through /api/media.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "storage.backend", havingValue = "local")
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Path root;
+    private final String publicBaseUrl;
+    private final SecretKeySpec signingKey;
+
+    public LocalStorageBackend(
+            @Value("${storage.local.root-dir}") String rootDir,
+            @Value("${storage.local.public-base-url}") String publicBaseUrl,
+            @Value("${storage.local.signing-key:}") String signingKey,
+            @Value("${jwt.secret}") String jwtSecret) throws IOException {
+        // Upload tokens must not be forgeable by anyone who holds the JWT secret, and vice versa
+        if (signingKey.isBlank() || signingKey.equals(jwtSecret)) {
+            throw new IllegalStateException(
+                    "storage.local.signing-key must be set to its own secret (STORAGE_LOCAL_SIGNING_KEY)");
+        }
+        this.root = Paths.get(rootDir).toAbsolutePath().normalize();
+        this.publicBaseUrl = publicBaseUrl.endsWith("/") ? publicBaseUrl : publicBaseUrl + "/";
+        this.signingKey = new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        Files.createDirectories(root);
+        log.info("Local storage backend rooted at {}", root);
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public StoredObject put(String key, InputStream content, long contentLength, String contentType) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+
+            // Write to a temp file in the same directory, then link it into place so
+            // readers never see a half-written object. Unlike a rename, the link fails
+            // rather than replacing an object that already exists.
+            Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+            try {
+                Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.createLink(target, temp);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            BasicFileAttributes attrs = Files.readAttributes(target, BasicFileAttributes.class);
+            return new StoredObject(key, attrs.size(), contentType,
+                    attrs.lastModifiedTime().toInstant(), etagOf(attrs));
+
+        } catch (FileAlreadyExistsException e) {
+            throw new BusinessException("File already exists: " + key, "FILE_EXISTS");
+        } catch (IOException e) {
+            log.error("Error writing object to local storage: {}", key, e);
+            throw new BusinessException("File upload failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream get(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (NoSuchFileException e) {
+            throw new BusinessException("File not found: " + key, "FILE_NOT_FOUND");
+        } catch (IOException e) {
+            throw new BusinessException("Download failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new BusinessException("Delete failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        Path dir = resolve(prefix);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .map(p -> root.relativize(p).toString().replace('\\', '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new BusinessException("List files failed");
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        Path path = resolve(key);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new StoredObject(key, attrs.size(), contentTypeOf(path),
+                    attrs.lastModifiedTime().toInstant(), etagOf(attrs)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new BusinessException("Stat failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Zero-copy transfer from the file channel into the target channel.
+     * FileChannel.transferTo lets the kernel move the bytes (sendfile) when the
+     * target is a socket or file channel; other targets fall back to a buffered copy.
+     */
+    @Override
+    public long stream(String key, long offset, long length, WritableByteChannel target) {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            long end = Math.min(offset + length, channel.size());
+            long position = offset;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+            return position - offset;
+        } catch (NoSuchFileException e) {
+            throw new BusinessException("File not found: " + key, "FILE_NOT_FOUND");
+        } catch (IOException e) {
+            throw new BusinessException("Stream failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBaseUrl + key;
+    }
+
+    /**
+     * Local media is served by the application itself, so the public URL is returned as-is
+     */
+    @Override
+    public String signedUrl(String key, Duration expiry) {
+        return publicUrl(key);
+    }
+
+    /**
+     * Upload URL pointing at the PUT endpoint of /api/media, authorised by an
+     * HMAC over key and expiry instead of the caller's JWT
+     */
+    @Override
+    public String uploadUrl(String key, String contentType, Duration expiry) {
+        long expires = Instant.now().plus(expiry).getEpochSecond();
+        return publicUrl(key) + "?expires=" + expires + "&token=" + sign(key, expires);
+    }
+
+    /**
+     * Checks a token issued by {@link #uploadUrl(String, String, Duration)}
+     */
+    public boolean isValidUploadToken(String key, long expires, String token) {
+        if (token == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+                sign(key, expires).getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String keyFromUrl(String url) {
+        if (!url.startsWith(publicBaseUrl)) {
+            throw new BusinessException("Invalid URL");
+        }
+        return url.substring(publicBaseUrl.length());
+    }
+
+    /**
+     * Absolute path of the object on disk, for callers that can hand the file to the
+     * container directly
+     */
+    public Path pathOf(String key) {
+        return resolve(key);
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new BusinessException("Invalid file key", "INVALID_FILE_KEY");
+        }
+        return path;
+    }
+
+    private String sign(String key, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            byte[] digest = mac.doFinal((key + ":" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign upload URL", e);
+        }
+    }
+
+    /**
+     * Objects are written once under unique keys, so size and modification time identify the content
+     */
+    private static String etagOf(BasicFileAttributes attrs) {
+        return "\"" + Long.toHexString(attrs.size()) + "-"
+                + Long.toHexString(attrs.lastModifiedTime().toMillis()) + "\"";
+    }
+
+    private static String contentTypeOf(Path path) throws IOException {
+        String probed = Files.probeContentType(path);
+        if (probed != null) {
+            return probed;
+        }
+        String name = path.getFileName().toString().toLowerCase();
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) return "image/jpeg";
+        if (name.endsWith(".png")) return "image/png";
+        if (name.endsWith(".mp4")) return "video/mp4";
+        if (name.endsWith(".mov")) return "video/quicktime";
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,205 @@
+package com.banana.harvest.service.storage;
+
+import com.banana.harvest.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * AWS S3 (or S3-compatible) storage backend
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.backend", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+
+    @Value("${aws.s3.bucket}")
+    private String bucketName;
+
+    @Value("${aws.s3.region}")
+    private String region;
+
+    @Override
+    public String name() {
+        return "s3";
+    }
+
+    @Override
+    public StoredObject put(String key, InputStream content, long contentLength, String contentType) {
+        try {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .contentType(contentType)
+                    .contentLength(contentLength)
+                    .build();
+
+            PutObjectResponse response =
+                    s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(content, contentLength));
+            log.info("Object uploaded to S3: {}", key);
+
+            return new StoredObject(key, contentLength, contentType, Instant.now(), response.eTag());
+
+        } catch (S3Exception e) {
+            log.error("Error uploading object to S3", e);
+            throw new BusinessException("Failed to upload file: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream get(String key) {
+        try {
+            return s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+        } catch (S3Exception e) {
+            throw new BusinessException("Failed to download file: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            s3Client.deleteObject(DeleteObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+            log.info("File deleted from S3: {}", key);
+
+        } catch (S3Exception e) {
+            log.error("Error deleting file from S3", e);
+            throw new BusinessException("Failed to delete file: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        try {
+            ListObjectsV2Request request = ListObjectsV2Request.builder()
+                    .bucket(bucketName)
+                    .prefix(prefix)
+                    .build();
+
+            return s3Client.listObjectsV2Paginator(request).contents().stream()
+                    .map(S3Object::key)
+                    .collect(Collectors.toList());
+
+        } catch (S3Exception e) {
+            throw new BusinessException("List files failed");
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build());
+
+            return Optional.of(new StoredObject(key, head.contentLength(), head.contentType(),
+                    head.lastModified(), head.eTag()));
+
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new BusinessException("Stat failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long stream(String key, long offset, long length, WritableByteChannel target) {
+        GetObjectRequest request = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .build();
+
+        try (ResponseInputStream<GetObjectResponse> in = s3Client.getObject(request)) {
+            return in.transferTo(Channels.newOutputStream(target));
+        } catch (IOException | S3Exception e) {
+            throw new BusinessException("Stream failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
+    }
+
+    /**
+     * Generates a presigned URL for temporary access
+     */
+    @Override
+    public String signedUrl(String key, Duration expiry) {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build();
+
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(expiry)
+                .getObjectRequest(getObjectRequest)
+                .build();
+
+        return s3Presigner.presignGetObject(presignRequest).url().toString();
+    }
+
+    /**
+     * Generates a presigned PUT URL bound to the content type
+     */
+    @Override
+    public String uploadUrl(String key, String contentType, Duration expiry) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(expiry)
+                .putObjectRequest(putObjectRequest)
+                .build();
+
+        return s3Presigner.presignPutObject(presignRequest).url().toString();
+    }
+
+    /**
+     * Extracts file key from S3 URL like https://bucket.s3.region.amazonaws.com/key
+     */
+    @Override
+    public String keyFromUrl(String url) {
+        int keyStart = url.indexOf(".amazonaws.com/");
+        if (keyStart == -1) {
+            throw new BusinessException("Invalid S3 URL");
+        }
+        return url.substring(keyStart + ".amazonaws.com/".length());
+    }
+}
@@ -0,0 +1,69 @@
+package com.banana.harvest.service.storage;
+
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage SPI for photo/video media.
+ * Exactly one implementation is active, selected with the storage.backend property.
+ * Keys are bucket-relative paths such as photos/{userId}_{timestamp}_{uniqueId}.jpg
+ */
+public interface StorageBackend {
+
+    /**
+     * Short backend name (supabase, s3, local) used in logs
+     */
+    String name();
+
+    /**
+     * Stores the content under the given key, replacing nothing that already exists
+     */
+    StoredObject put(String key, InputStream content, long contentLength, String contentType);
+
+    /**
+     * Opens the full object for reading. Caller closes the stream.
+     */
+    InputStream get(String key);
+
+    void delete(String key);
+
+    /**
+     * Lists keys under the given prefix (folder)
+     */
+    List<String> list(String prefix);
+
+    /**
+     * Returns object metadata, or empty if the key does not exist
+     */
+    Optional<StoredObject> stat(String key);
+
+    /**
+     * Copies length bytes starting at offset into the target channel.
+     * Returns the number of bytes written.
+     */
+    long stream(String key, long offset, long length, WritableByteChannel target);
+
+    /**
+     * URL that clients use to fetch the object directly
+     */
+    String publicUrl(String key);
+
+    /**
+     * Time-limited download URL for private buckets
+     */
+    String signedUrl(String key, Duration expiry);
+
+    /**
+     * Time-limited URL the client PUTs the object bytes to directly,
+     * so uploads do not pass through the application
+     */
+    String uploadUrl(String key, String contentType, Duration expiry);
+
+    /**
+     * Inverse of {@link #publicUrl(String)}: extracts the key from a stored URL
+     */
+    String keyFromUrl(String url);
+}
@@ -0,0 +1,10 @@
+package com.banana.harvest.service.storage;
+
+import java.time.Instant;
+
+/**
+ * Metadata for an object held by a {@link StorageBackend}.
+ * etag is the backend's entity tag (quoted), or null when the backend does not report one.
+ */
+public record StoredObject(String key, long size, String contentType, Instant lastModified, String etag) {
+}
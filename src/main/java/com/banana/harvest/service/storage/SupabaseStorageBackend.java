@@ -0,0 +1,376 @@
+package com.banana.harvest.service.storage;
+
+import com.banana.harvest.exception.BusinessException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Supabase Storage backend over the Storage REST API
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.backend", havingValue = "supabase", matchIfMissing = true)
+public class SupabaseStorageBackend implements StorageBackend {
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${supabase.url}")
+    private String supabaseUrl;
+
+    @Value("${supabase.key}")
+    private String supabaseKey;
+
+    @Value("${supabase.storage.bucket}")
+    private String bucketName;
+
+    @Override
+    public String name() {
+        return "supabase";
+    }
+
+    @Override
+    public StoredObject put(String key, InputStream content, long contentLength, String contentType) {
+
+        HttpHeaders headers = authHeaders();
+        headers.setContentType(MediaType.parseMediaType(contentType));
+        headers.setContentLength(contentLength);
+        headers.set("x-upsert", "false");
+
+        try {
+
+            HttpStatusCode status = restTemplate.execute(
+                    objectUrl(key),
+                    HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().putAll(headers);
+                        // getBody() would collect the whole file in memory before sending it
+                        if (request instanceof StreamingHttpOutputMessage streaming) {
+                            streaming.setBody(body -> StreamUtils.copy(content, body));
+                        } else {
+                            StreamUtils.copy(content, request.getBody());
+                        }
+                    },
+                    response -> response.getStatusCode()
+            );
+
+            if (status == null || !status.is2xxSuccessful()) {
+
+                log.error("Supabase upload failed: key={}, status={}", key, status);
+
+                throw new BusinessException("Supabase upload failed");
+            }
+
+            return new StoredObject(key, contentLength, contentType, Instant.now(), null);
+
+        } catch (BusinessException e) {
+
+            throw e;
+
+        } catch (Exception e) {
+
+            throw new BusinessException("File upload failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream get(String key) {
+
+        try {
+
+            ResponseEntity<byte[]> response =
+                    restTemplate.exchange(
+                            objectUrl(key),
+                            HttpMethod.GET,
+                            new HttpEntity<>(authHeaders()),
+                            byte[].class
+                    );
+
+            return new ByteArrayInputStream(response.getBody() != null ? response.getBody() : new byte[0]);
+
+        } catch (Exception e) {
+
+            throw new BusinessException("Download failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+
+        try {
+
+            ResponseEntity<String> response =
+                    restTemplate.exchange(
+                            objectUrl(key),
+                            HttpMethod.DELETE,
+                            new HttpEntity<>(authHeaders()),
+                            String.class
+                    );
+
+            if (!response.getStatusCode().is2xxSuccessful()) {
+
+                throw new BusinessException("Delete failed");
+            }
+
+        } catch (Exception e) {
+
+            throw new BusinessException("Delete failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+
+        try {
+
+            String url =
+                    supabaseUrl +
+                            "/storage/v1/object/list/" +
+                            bucketName +
+                            "?prefix=" +
+                            prefix;
+
+            ResponseEntity<String> response =
+                    restTemplate.exchange(
+                            url,
+                            HttpMethod.GET,
+                            new HttpEntity<>(authHeaders()),
+                            String.class
+                    );
+
+            JsonNode jsonArray =
+                    objectMapper.readTree(response.getBody());
+
+            List<String> result = new ArrayList<>();
+
+            for (JsonNode node : jsonArray) {
+
+                result.add(node.get("name").asText());
+            }
+
+            return result;
+
+        } catch (Exception e) {
+
+            throw new BusinessException("List files failed");
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+
+        try {
+
+            ResponseEntity<Void> response =
+                    restTemplate.exchange(
+                            objectUrl(key),
+                            HttpMethod.HEAD,
+                            new HttpEntity<>(authHeaders()),
+                            Void.class
+                    );
+
+            HttpHeaders headers = response.getHeaders();
+
+            return Optional.of(new StoredObject(
+                    key,
+                    headers.getContentLength(),
+                    headers.getContentType() != null ? headers.getContentType().toString() : null,
+                    headers.getLastModified() > 0 ? Instant.ofEpochMilli(headers.getLastModified()) : null,
+                    headers.getETag()
+            ));
+
+        } catch (HttpClientErrorException.NotFound e) {
+
+            return Optional.empty();
+
+        } catch (HttpClientErrorException e) {
+
+            // Supabase answers 400 for missing objects on some versions
+            if (e.getStatusCode().value() == 400) {
+                return Optional.empty();
+            }
+            throw new BusinessException("Stat failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long stream(String key, long offset, long length, WritableByteChannel target) {
+
+        HttpHeaders headers = authHeaders();
+        headers.setRange(List.of(HttpRange.createByteRange(offset, offset + length - 1)));
+
+        try {
+
+            Long copied = restTemplate.execute(
+                    objectUrl(key),
+                    HttpMethod.GET,
+                    request -> request.getHeaders().putAll(headers),
+                    response -> copy(response.getBody(), target)
+            );
+
+            return copied != null ? copied : 0L;
+
+        } catch (Exception e) {
+
+            throw new BusinessException("Stream failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String publicUrl(String key) {
+
+        return supabaseUrl +
+                "/storage/v1/object/public/" +
+                bucketName +
+                "/" +
+                key;
+    }
+
+    @Override
+    public String signedUrl(String key, Duration expiry) {
+
+        try {
+
+            String url = supabaseUrl +
+                    "/storage/v1/object/sign/" +
+                    bucketName +
+                    "/" +
+                    key;
+
+            HttpHeaders headers = authHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+
+            String body =
+                    "{\"expiresIn\": " + expiry.toSeconds() + "}";
+
+            ResponseEntity<String> response =
+                    restTemplate.exchange(
+                            url,
+                            HttpMethod.POST,
+                            new HttpEntity<>(body, headers),
+                            String.class
+                    );
+
+            JsonNode jsonNode =
+                    objectMapper.readTree(response.getBody());
+
+            String signedPath =
+                    jsonNode.get("signedURL").asText();
+
+            return supabaseUrl + signedPath;
+
+        } catch (Exception e) {
+
+            throw new BusinessException("Signed URL failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a signed upload URL; the client PUTs the file to it with no further auth.
+     * Supabase fixes the lifetime of upload URLs server-side, so expiry is not sent.
+     */
+    @Override
+    public String uploadUrl(String key, String contentType, Duration expiry) {
+
+        try {
+
+            String url = supabaseUrl +
+                    "/storage/v1/object/upload/sign/" +
+                    bucketName +
+                    "/" +
+                    key;
+
+            ResponseEntity<String> response =
+                    restTemplate.exchange(
+                            url,
+                            HttpMethod.POST,
+                            new HttpEntity<>(authHeaders()),
+                            String.class
+                    );
+
+            JsonNode jsonNode =
+                    objectMapper.readTree(response.getBody());
+
+            String signedPath =
+                    jsonNode.get("url").asText();
+
+            return supabaseUrl + "/storage/v1" + signedPath;
+
+        } catch (Exception e) {
+
+            throw new BusinessException("Upload URL failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String keyFromUrl(String url) {
+
+        String key =
+                "/object/public/" +
+                        bucketName +
+                        "/";
+
+        int index =
+                url.indexOf(key);
+
+        if (index == -1) {
+
+            key =
+                    "/object/" +
+                            bucketName +
+                            "/";
+
+            index =
+                    url.indexOf(key);
+        }
+
+        if (index == -1)
+            throw new BusinessException("Invalid URL");
+
+        return url.substring(index + key.length());
+    }
+
+    private String objectUrl(String key) {
+
+        return supabaseUrl +
+                "/storage/v1/object/" +
+                bucketName + "/" +
+                key;
+    }
+
+    private HttpHeaders authHeaders() {
+
+        HttpHeaders headers = new HttpHeaders();
+
+        headers.setBearerAuth(supabaseKey);
+        headers.set("apikey", supabaseKey);
+
+        return headers;
+    }
+
+    private static long copy(InputStream in, WritableByteChannel target) throws IOException {
+
+        return StreamUtils.copy(in, Channels.newOutputStream(target));
+    }
+}
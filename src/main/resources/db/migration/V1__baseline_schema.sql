@@ -0,0 +1,318 @@
+-- Baseline schema: the tables as Hibernate created them with ddl-auto=update before the
+-- schema moved to Flyway. Databases that were already created that way are baselined at
+-- this version (spring.flyway.baseline-on-migrate) and start from V2, so this file must
+-- not gain anything added since; new objects go in later migrations.
+
+create table banana_harvest.batch_costs (
+    id uuid not null,
+    batch_id uuid unique,
+    material_cost_total numeric(12,2),
+    material_cost_per_box numeric(10,2),
+    outward_transport_cost numeric(12,2),
+    outward_transport_per_box numeric(10,2),
+    labor_cost_total numeric(12,2),
+    labor_cost_per_box numeric(10,2),
+    inward_transport_cost numeric(12,2),
+    inward_transport_per_box numeric(10,2),
+    total_cost numeric(12,2),
+    final_cost_per_box numeric(10,2),
+    calculated_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.batches (
+    id uuid not null,
+    batch_id varchar(50) not null unique,
+    inspection_id uuid,
+    farm_id uuid,
+    vendor_id uuid,
+    status varchar(255) not null check (status in ('CREATED','IN_PROGRESS','HARVEST_IN_PROGRESS','HARVEST_COMPLETED','DISPATCH_IN_PROGRESS','DISPATCH_COMPLETED','IN_TRANSIT','DELIVERED','COMPLETED','CANCELLED')),
+    estimated_boxes integer not null,
+    allocated_boxes integer,
+    harvested_boxes integer,
+    remaining_boxes integer,
+    actual_boxes integer,
+    dispatched_boxes integer,
+    gate_pass_remaining integer,
+    start_date date,
+    end_date date,
+    created_by uuid,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    version bigint,
+    primary key (id)
+);
+
+create table banana_harvest.daily_harvest_reports (
+    id uuid not null,
+    batch_id uuid,
+    report_date date not null,
+    boxes_packed integer not null,
+    boxes_wasted integer not null,
+    labor_count integer not null,
+    notes TEXT,
+    created_by uuid,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.farm_inspections (
+    id uuid not null,
+    farm_id uuid,
+    vendor_id uuid,
+    estimated_boxes integer not null,
+    inspection_notes TEXT,
+    request_id uuid,
+    gps_latitude numeric(10,8),
+    gps_longitude numeric(11,8),
+    gps_accuracy numeric(5,2),
+    status varchar(255) not null check (status in ('PENDING','APPROVED','REJECTED','ASSIGNED','REQUESTED','IN_PROGRESS')),
+    approved_by uuid,
+    approved_at timestamp(6),
+    rejection_reason TEXT,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.farm_photos (
+    id uuid not null,
+    inspection_id uuid,
+    photo_url varchar(500) not null,
+    photo_type varchar(255) not null,
+    uploaded_by uuid,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.farms (
+    id uuid not null,
+    farmer_name varchar(255) not null,
+    location varchar(255) not null,
+    latitude numeric(10,8),
+    longitude numeric(11,8),
+    contact_number varchar(255),
+    total_area numeric(10,2),
+    area_unit varchar(255),
+    produce_type varchar(255),
+    status varchar(255) check (status in ('ACTIVE','INSPECTION_PENDING','READY_FOR_HARVEST','INSPECTION_REJECTED')),
+    created_by uuid,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.gate_passes (
+    id uuid not null,
+    batch_id uuid,
+    gate_pass_no varchar(50) not null unique,
+    truck_number varchar(50) not null,
+    driver_name varchar(255) not null,
+    driver_phone varchar(20),
+    total_boxes integer not null,
+    dispatch_date timestamp(6) not null,
+    received_boxes integer,
+    received_at timestamp(6),
+    received_by uuid,
+    notes TEXT,
+    created_by uuid,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.inspection_requests (
+    id uuid not null,
+    farm_id uuid not null,
+    vendor_id uuid not null,
+    created_by uuid not null,
+    notes TEXT,
+    status varchar(255) not null check (status in ('PENDING','COMPLETED','CANCELLED')),
+    inspection_id uuid unique,
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.inventory_allocations (
+    id uuid not null,
+    batch_id uuid,
+    item_id uuid,
+    quantity integer not null,
+    allocated_by uuid,
+    allocated_at timestamp(6),
+    notes TEXT,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.inventory_items (
+    id uuid not null,
+    item_name varchar(100) not null,
+    item_code varchar(50) not null unique,
+    category varchar(255) not null check (category in ('BOX','LINER','CORNER','TAPE','OTHER')),
+    unit_of_measure varchar(20) not null,
+    unit_cost numeric(10,2) not null,
+    is_active boolean,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.inventory_stock (
+    id uuid not null,
+    item_id uuid unique,
+    total_quantity integer not null,
+    available_quantity integer not null,
+    reserved_quantity integer not null,
+    last_updated timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.labor_costs (
+    id uuid not null,
+    report_id uuid,
+    batch_id uuid,
+    total_amount numeric(12,2) not null,
+    cost_per_box numeric(10,2),
+    payment_status varchar(255) check (payment_status in ('PENDING','PARTIAL','PAID')),
+    paid_amount numeric(12,2),
+    notes TEXT,
+    created_by uuid,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.sales (
+    id uuid not null,
+    batch_id uuid,
+    invoice_number varchar(50) not null unique,
+    buyer_name varchar(255) not null,
+    buyer_contact varchar(255),
+    buyer_address TEXT,
+    sale_type varchar(255) not null check (sale_type in ('DOMESTIC','EXPORT')),
+    total_boxes integer not null,
+    price_per_box numeric(12,2) not null,
+    currency varchar(3),
+    exchange_rate numeric(10,4),
+    total_amount numeric(12,2) not null,
+    tax_amount numeric(12,2),
+    tax_percentage numeric(5,2),
+    grand_total numeric(12,2) not null,
+    invoice_url varchar(500),
+    payment_status varchar(255) check (payment_status in ('PENDING','PARTIAL','PAID')),
+    paid_amount numeric(12,2),
+    sale_date date not null,
+    created_by uuid,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.transport_costs (
+    id uuid not null,
+    batch_id uuid,
+    cost_type varchar(255) not null check (cost_type in ('OUTWARD','INWARD')),
+    vendor_name varchar(255),
+    vehicle_number varchar(50),
+    driver_name varchar(255),
+    driver_phone varchar(20),
+    total_cost numeric(12,2) not null,
+    cost_per_box numeric(10,2),
+    distance_km numeric(8,2),
+    notes TEXT,
+    created_by uuid,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.users (
+    id uuid not null,
+    email varchar(255) not null unique,
+    password_hash varchar(255) not null,
+    full_name varchar(255) not null,
+    phone varchar(255),
+    role varchar(255) not null check (role in ('SUPER_ADMIN','MANAGER','VENDOR','STORE_KEEPER')),
+    is_active boolean,
+    profile_image_url varchar(255),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.vendor_ledger (
+    id uuid not null,
+    vendor_id uuid,
+    batch_id uuid,
+    transaction_type varchar(20) not null,
+    quantity integer,
+    amount numeric(12,2),
+    balance_boxes integer,
+    balance_amount numeric(12,2),
+    notes TEXT,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+alter table banana_harvest.batch_costs add constraint FKpckxhnbeu3pqhg25k67booufm foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.batches add constraint FKix3ux2vfrgpr80vvd5cqdg6il foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.batches add constraint FK8iw3qqsq0xp7fm4seap18y8mm foreign key (farm_id) references banana_harvest.farms;
+
+alter table banana_harvest.batches add constraint FK7wcmsyqgd45lieu068lamu784 foreign key (inspection_id) references banana_harvest.farm_inspections;
+
+alter table banana_harvest.batches add constraint FKbntmw2q3iscqxju0ttx88mmh2 foreign key (vendor_id) references banana_harvest.users;
+
+alter table banana_harvest.daily_harvest_reports add constraint FKiy2dsyn1l8hbq7nr7u40sx85n foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.daily_harvest_reports add constraint FKeha0s3his3nsvgjcr6dl9n7qq foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.farm_inspections add constraint FK7v12vaq5crfhxjtvaftd9mmc foreign key (approved_by) references banana_harvest.users;
+
+alter table banana_harvest.farm_inspections add constraint FKkexv605y18ugq7qhhdwipujft foreign key (farm_id) references banana_harvest.farms;
+
+alter table banana_harvest.farm_inspections add constraint FKf16166h53mj2u5e2093nigk28 foreign key (vendor_id) references banana_harvest.users;
+
+alter table banana_harvest.farm_photos add constraint FK6pwd3g69kobcrntt5h02pck3g foreign key (inspection_id) references banana_harvest.farm_inspections;
+
+alter table banana_harvest.farm_photos add constraint FKj4sx5c3ur3d897bbu5hca1a80 foreign key (uploaded_by) references banana_harvest.users;
+
+alter table banana_harvest.farms add constraint FKpx2fcwjciocvl25n02xvs87br foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.gate_passes add constraint FKs449rlqkn4yfqvsh3hsmiqy87 foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.gate_passes add constraint FKmgu1lf3yy6579c0nqdbggp640 foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.gate_passes add constraint FKeb6ffp114cy00x64wd8hujfu foreign key (received_by) references banana_harvest.users;
+
+alter table banana_harvest.inspection_requests add constraint FK88l7pjdqd23p8dnpm04pwigp7 foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.inspection_requests add constraint FKcwx0rv10w56u7762u0gh40rqn foreign key (farm_id) references banana_harvest.farms;
+
+alter table banana_harvest.inspection_requests add constraint FKixpd9939m9sdqf5t6rxmk0fyq foreign key (inspection_id) references banana_harvest.farm_inspections;
+
+alter table banana_harvest.inspection_requests add constraint FK65vl324oymuk4bxw97un7xumc foreign key (vendor_id) references banana_harvest.users;
+
+alter table banana_harvest.inventory_allocations add constraint FKafoehnasov2ws02gdqfeqmfvb foreign key (allocated_by) references banana_harvest.users;
+
+alter table banana_harvest.inventory_allocations add constraint FKnre6fbwpvgw86cwydrqgovsn1 foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.inventory_allocations add constraint FK7knsnawxb15idywgx5gnnlcwa foreign key (item_id) references banana_harvest.inventory_items;
+
+alter table banana_harvest.inventory_stock add constraint FKkyxiessjwyfyd4ukbuso8ibo1 foreign key (item_id) references banana_harvest.inventory_items;
+
+alter table banana_harvest.labor_costs add constraint FK6gx1krqs3q750jatdu2cqwa53 foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.labor_costs add constraint FKfc6vlu3y3ieshars4nm076k0v foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.labor_costs add constraint FKyweuc8mut2ml8kakmsm7pv95 foreign key (report_id) references banana_harvest.daily_harvest_reports;
+
+alter table banana_harvest.sales add constraint FKdxji2h7c7s8mb8ckteet8qdoy foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.sales add constraint FKhck7oc1oupp6pibt2tn2wge50 foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.transport_costs add constraint FKco1xxj6wide6dx5ekoyny3b3b foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.transport_costs add constraint FKgatcecek97h8qp3k9ss489gnd foreign key (created_by) references banana_harvest.users;
+
+alter table banana_harvest.vendor_ledger add constraint FK7mm5uy7koc90aco4lh9voksr3 foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.vendor_ledger add constraint FKdnk3q63570mcjfpl314ku9l42 foreign key (vendor_id) references banana_harvest.users;
@@ -0,0 +1,160 @@
+-- Tables and columns added after the baseline: content-addressed media and direct uploads,
+-- the notification outbox and digests, outbound webhooks, stock reservations and
+-- reconciliation runs. Baselined databases get them here, as do new ones.
+
+create table banana_harvest.media_blobs (
+    id uuid not null,
+    content_hash varchar(64) unique,
+    object_key varchar(500) not null unique,
+    content_type varchar(255),
+    size_bytes bigint not null,
+    ref_count integer not null,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.media_uploads (
+    id uuid not null,
+    object_key varchar(500) not null,
+    media_type varchar(255) not null,
+    content_type varchar(255) not null,
+    original_file_name varchar(255),
+    content_hash varchar(64),
+    inspection_id uuid,
+    uploaded_by uuid not null,
+    status varchar(255) not null check (status in ('PENDING','VALIDATING','COMPLETED','REJECTED')),
+    rejection_reason TEXT,
+    expires_at timestamp(6) not null,
+    completed_at timestamp(6),
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.notification_digest_items (
+    id uuid not null,
+    recipient_id uuid not null,
+    title varchar(255) not null,
+    message TEXT not null,
+    notification_type varchar(255),
+    reference_id varchar(255),
+    send_email boolean not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.notification_outbox (
+    id uuid not null,
+    type varchar(255) not null check (type in ('NEW_INSPECTION','INSPECTION_APPROVED','INSPECTION_REJECTED','INSPECTION_REQUEST_CREATED','GATE_PASS_CREATED','LOW_STOCK','MATERIALS_ALLOCATED','SALE_CREATED')),
+    reference_id uuid,
+    payload TEXT,
+    status varchar(255) not null check (status in ('PENDING','SENT','FAILED')),
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    last_error TEXT,
+    created_at timestamp(6),
+    sent_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.reconciliation_chunks (
+    id uuid not null,
+    run_id uuid not null,
+    chunk_index integer not null,
+    batch_ids TEXT not null,
+    batch_count integer not null,
+    status varchar(20) not null check (status in ('PENDING','RUNNING','COMPLETED','FAILED')),
+    ledger_entries integer not null,
+    attempts integer not null,
+    last_error TEXT,
+    completed_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.reconciliation_runs (
+    id uuid not null,
+    status varchar(20) not null check (status in ('PENDING','RUNNING','COMPLETED','FAILED')),
+    triggered_by varchar(100) not null,
+    total_chunks integer not null,
+    completed_chunks integer not null,
+    batch_count integer not null,
+    ledger_entries integer not null,
+    last_error TEXT,
+    started_at timestamp(6),
+    finished_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.stock_reservations (
+    id uuid not null,
+    item_id uuid not null,
+    batch_id uuid,
+    holder varchar(100) not null,
+    quantity integer not null,
+    consumed_quantity integer not null,
+    status varchar(20) not null check (status in ('ACTIVE','CONSUMED','RELEASED','EXPIRED')),
+    expires_at timestamp(6) not null,
+    created_at timestamp(6),
+    closed_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.webhook_endpoints (
+    id uuid not null,
+    name varchar(100) not null,
+    url varchar(500) not null,
+    secret varchar(255) not null,
+    event_types varchar(500),
+    is_active boolean not null,
+    last_event_id bigint not null,
+    attempts integer not null,
+    next_attempt_at timestamp(6) not null,
+    lease_until timestamp(6),
+    last_error TEXT,
+    last_delivered_at timestamp(6),
+    created_at timestamp(6),
+    primary key (id)
+);
+
+create table banana_harvest.webhook_events (
+    id bigserial not null,
+    event_type varchar(50) not null,
+    aggregate_id uuid,
+    vendor_id uuid,
+    payload TEXT,
+    occurred_at timestamp(6) not null,
+    primary key (id)
+);
+
+alter table banana_harvest.farm_photos add column blob_id uuid;
+
+alter table banana_harvest.inventory_allocations add column reservation_id uuid;
+
+alter table banana_harvest.inventory_stock add column held_quantity integer;
+
+alter table banana_harvest.inventory_stock add column version bigint;
+
+create index idx_notification_digest_recipient on banana_harvest.notification_digest_items (recipient_id, created_at);
+
+create index idx_notification_outbox_pending on banana_harvest.notification_outbox (status, next_attempt_at);
+
+create index idx_reconciliation_chunks_run on banana_harvest.reconciliation_chunks (run_id, status);
+
+create index idx_stock_reservations_active on banana_harvest.stock_reservations (status, expires_at);
+
+create index idx_webhook_events_type on banana_harvest.webhook_events (event_type, id);
+
+alter table banana_harvest.farm_photos add constraint FK7ts88n1xqadkkpeixkqmxye26 foreign key (blob_id) references banana_harvest.media_blobs;
+
+alter table banana_harvest.inventory_allocations add constraint FKsv63e2jlqvk0guwik3u256ed1 foreign key (reservation_id) references banana_harvest.stock_reservations;
+
+alter table banana_harvest.media_uploads add constraint FK9qvc8vey6rj1qs9pycfg1h1we foreign key (inspection_id) references banana_harvest.farm_inspections;
+
+alter table banana_harvest.media_uploads add constraint FK2qcg6gic4p0ws384e6f96tr2w foreign key (uploaded_by) references banana_harvest.users;
+
+alter table banana_harvest.reconciliation_chunks add constraint FK12rofwa2gm8fkhyp33rqef8l1 foreign key (run_id) references banana_harvest.reconciliation_runs;
+
+alter table banana_harvest.stock_reservations add constraint FK3qwce244500dr1gib21dyksyn foreign key (batch_id) references banana_harvest.batches;
+
+alter table banana_harvest.stock_reservations add constraint FKl85eo2bar2c6dms1rs58hbc3u foreign key (item_id) references banana_harvest.inventory_items;
@@ -0,0 +1,13 @@
+-- Fixes for rows and constraints left behind by ddl-auto=update, which never backfills
+-- columns it adds nor widens check constraints, and backfill of the inventory_stock
+-- columns added in V2. Previously applied on every startup.
+
+update banana_harvest.batches set version = 0 where version is null;
+
+update banana_harvest.inventory_stock set held_quantity = 0 where held_quantity is null;
+update banana_harvest.inventory_stock set version = 0 where version is null;
+
+update banana_harvest.farms set status = 'ACTIVE' where status is null;
+
+alter table banana_harvest.batches drop constraint if exists batches_status_check;
+alter table banana_harvest.batches add constraint batches_status_check check (status in ('CREATED','IN_PROGRESS','HARVEST_IN_PROGRESS','HARVEST_COMPLETED','DISPATCH_IN_PROGRESS','DISPATCH_COMPLETED','IN_TRANSIT','DELIVERED','COMPLETED','CANCELLED'));
@@ -0,0 +1,26 @@
+-- Indexes for the predicates the repositories filter and sort on. Postgres does not index
+-- foreign keys by itself, so every per-batch lookup and sum was a sequential scan.
+-- batch_costs.batch_id already has its unique index.
+
+-- Per-batch costs, reports, dispatches, allocations, sales and ledger entries
+create index idx_labor_costs_batch on banana_harvest.labor_costs (batch_id);
+create index idx_labor_costs_report on banana_harvest.labor_costs (report_id);
+create index idx_transport_costs_batch on banana_harvest.transport_costs (batch_id, cost_type);
+create index idx_daily_harvest_reports_batch on banana_harvest.daily_harvest_reports (batch_id, report_date);
+create index idx_inventory_allocations_batch on banana_harvest.inventory_allocations (batch_id, item_id);
+create index idx_gate_passes_batch on banana_harvest.gate_passes (batch_id);
+create index idx_sales_batch on banana_harvest.sales (batch_id);
+create index idx_vendor_ledger_batch on banana_harvest.vendor_ledger (batch_id);
+
+-- Today's packed boxes and reports by date
+create index idx_daily_harvest_reports_date on banana_harvest.daily_harvest_reports (report_date);
+
+-- Dispatch date ranges, and the pending list (not yet received), newest first
+create index idx_gate_passes_dispatch_date on banana_harvest.gate_passes (dispatch_date);
+create index idx_gate_passes_pending on banana_harvest.gate_passes (dispatch_date desc) where received_boxes is null;
+
+-- Vendor balances (sums by transaction type) and the vendor statement (newest first)
+create index idx_vendor_ledger_vendor on banana_harvest.vendor_ledger (vendor_id, transaction_type, created_at);
+
+-- Inspections by status, optionally for one vendor
+create index idx_farm_inspections_status_vendor on banana_harvest.farm_inspections (status, vendor_id);
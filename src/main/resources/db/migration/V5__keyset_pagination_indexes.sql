@@ -0,0 +1,21 @@
+-- Keyset pagination reads the list endpoints newest first by (created_at, id). A row without
+-- created_at would never be reached, so rows written before auditing filled it are dated by
+-- their last update or, failing that, placed at the end of the list.
+
+update banana_harvest.farms set created_at = coalesce(updated_at, timestamp '1970-01-01') where created_at is null;
+update banana_harvest.batches set created_at = coalesce(updated_at, timestamp '1970-01-01') where created_at is null;
+update banana_harvest.users set created_at = coalesce(updated_at, timestamp '1970-01-01') where created_at is null;
+update banana_harvest.sales set created_at = timestamp '1970-01-01' where created_at is null;
+update banana_harvest.farm_inspections set created_at = timestamp '1970-01-01' where created_at is null;
+update banana_harvest.inspection_requests set created_at = timestamp '1970-01-01' where created_at is null;
+update banana_harvest.vendor_ledger set created_at = timestamp '1970-01-01' where created_at is null;
+
+create index idx_farms_created on banana_harvest.farms (created_at, id);
+create index idx_batches_created on banana_harvest.batches (created_at, id);
+create index idx_users_created on banana_harvest.users (created_at, id);
+create index idx_sales_created on banana_harvest.sales (created_at, id);
+create index idx_farm_inspections_created on banana_harvest.farm_inspections (created_at, id);
+create index idx_inspection_requests_created on banana_harvest.inspection_requests (created_at, id);
+
+-- A vendor's statement
+create index idx_vendor_ledger_vendor_created on banana_harvest.vendor_ledger (vendor_id, created_at, id);
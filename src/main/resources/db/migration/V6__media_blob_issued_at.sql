@@ -0,0 +1,9 @@
+-- A deduplicated upload hands an existing blob's URL to a new uploader before any photo
+-- references it, so a refCount of zero does not mean nobody holds the URL. issued_at records
+-- the last hand-out; unattached blobs are only collected a grace period after it.
+
+alter table banana_harvest.media_blobs add column issued_at timestamp(6);
+
+update banana_harvest.media_blobs set issued_at = coalesce(created_at, now()) where issued_at is null;
+
+create index idx_media_blobs_unreferenced on banana_harvest.media_blobs (issued_at) where ref_count = 0;
@@ -0,0 +1,9 @@
+-- An upload whose validation task was lost (for example in a restart) stayed VALIDATING for
+-- good. validation_started_at lets the sweeper find and validate such uploads again.
+
+alter table banana_harvest.media_uploads add column validation_started_at timestamp(6);
+
+update banana_harvest.media_uploads set validation_started_at = now() where status = 'VALIDATING';
+
+create index idx_media_uploads_validating on banana_harvest.media_uploads (validation_started_at)
+    where status = 'VALIDATING';
@@ -0,0 +1,13 @@
+-- One row per notification recipient. Digest pollers lock a recipient's row before taking its
+-- items, so one recipient's items are never split between pollers, and last_delivered_at lets
+-- a recipient with no recent message be notified at once while bursts are still coalesced.
+
+create table banana_harvest.notification_digest_recipients (
+    recipient_id uuid not null,
+    last_delivered_at timestamp(6),
+    primary key (recipient_id)
+);
+
+insert into banana_harvest.notification_digest_recipients (recipient_id)
+select distinct recipient_id from banana_harvest.notification_digest_items
+on conflict do nothing;
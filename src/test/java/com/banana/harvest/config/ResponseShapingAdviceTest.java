@@ -0,0 +1,91 @@
+package com.banana.harvest.config;
+
+import com.banana.harvest.dto.common.ApiResponse;
+import com.banana.harvest.dto.common.CursorPage;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ?fields= selects properties of the response objects, not of every object nested in them
+ */
+class ResponseShapingAdviceTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new ResponseShapingConfig().responseShapingCustomizer().customize(builder);
+        mockMvc = MockMvcBuilders.standaloneSetup(new NestedController())
+                .setControllerAdvice(new ResponseShapingAdvice())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(builder.build()))
+                .build();
+    }
+
+    @Test
+    void selectedNestedObjectIsWrittenWhole() throws Exception {
+        mockMvc.perform(get("/batches").param("fields", "id,farm"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.content[0].id").value("batch-1"))
+                .andExpect(jsonPath("$.data.content[0].status").doesNotExist())
+                .andExpect(jsonPath("$.data.content[0].farm.id").value("farm-1"))
+                .andExpect(jsonPath("$.data.content[0].farm.name").value("North Farm"))
+                .andExpect(jsonPath("$.data.content[0].farm.status").value("ACTIVE"));
+    }
+
+    @Test
+    void dottedPathSelectsPartOfNestedObject() throws Exception {
+        mockMvc.perform(get("/batches").param("fields", "id,farm.name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].id").value("batch-1"))
+                .andExpect(jsonPath("$.data.content[0].farm.name").value("North Farm"))
+                .andExpect(jsonPath("$.data.content[0].farm.id").doesNotExist())
+                .andExpect(jsonPath("$.data.content[0].farm.status").doesNotExist());
+    }
+
+    @Test
+    void nestedFieldNamesDoNotSelectRootProperties() throws Exception {
+        mockMvc.perform(get("/batches").param("fields", "farm.status").param("compact", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.content[0].status").doesNotExist())
+                .andExpect(jsonPath("$.content[0].farm.status").value("ACTIVE"))
+                .andExpect(jsonPath("$.content[0].farm.name").doesNotExist());
+    }
+
+    @RestController
+    static class NestedController {
+
+        @GetMapping("/batches")
+        ApiResponse<CursorPage<Batch>> batches() {
+            Batch batch = new Batch("batch-1", "HARVESTING", new Farm("farm-1", "North Farm", "ACTIVE"));
+            return ApiResponse.success(CursorPage.<Batch>builder()
+                    .content(List.of(batch))
+                    .size(1)
+                    .hasMore(false)
+                    .build());
+        }
+    }
+
+    @JsonFilter(ResponseShapingConfig.FILTER_ID)
+    record Batch(String id, String status, Farm farm) {
+    }
+
+    @JsonFilter(ResponseShapingConfig.FILTER_ID)
+    record Farm(String id, String name, String status) {
+    }
+}
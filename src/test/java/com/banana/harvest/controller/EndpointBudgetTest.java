@@ -0,0 +1,101 @@
+package com.banana.harvest.controller;
+
+import com.banana.harvest.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the statement, row and p95 latency budgets of loadtest/perf-budgets.properties
+ * against the fixed test data set. Statement counts come from the X-SQL-Statements header,
+ * so a query per row fails the build here rather than in the load test gate.
+ */
+@Sql(scripts = "/db/budget-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class EndpointBudgetTest extends PostgresIntegrationTest {
+
+    private static final Path BUDGETS = Path.of("loadtest/perf-budgets.properties");
+    private static final Pattern ROWS = Pattern.compile("(\\d+) rows");
+    private static final int WARMUP_CALLS = 5;
+    private static final int CALLS = 20;
+
+    // A sold batch and its vendor from db/budget-data.sql
+    private static final UUID BATCH_ID = fixtureId("itest-batch-1");
+    private static final UUID VENDOR_ID = fixtureId("itest-vendor-2");
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    void staysWithinBudget(Budget budget) {
+        String path = budget.path()
+                .replace("{batchId}", BATCH_ID.toString())
+                .replace("{vendorId}", VENDOR_ID.toString());
+
+        int statements = 0;
+        long rows = 0;
+        long[] latencies = new long[CALLS];
+        for (int call = 0; call < WARMUP_CALLS + CALLS; call++) {
+            long start = System.nanoTime();
+            ResponseEntity<JsonNode> response = exchange(HttpMethod.GET, path, null);
+            long latency = System.nanoTime() - start;
+
+            assertThat(response.getStatusCode().is2xxSuccessful()).as("%s status", path).isTrue();
+            String statementHeader = response.getHeaders().getFirst("X-SQL-Statements");
+            assertThat(statementHeader).as("X-SQL-Statements of %s", path).isNotNull();
+            if (call < WARMUP_CALLS) {
+                continue;
+            }
+            latencies[call - WARMUP_CALLS] = latency;
+            statements = Math.max(statements, Integer.parseInt(statementHeader));
+            Matcher matcher = ROWS.matcher(String.valueOf(response.getHeaders().getFirst("Server-Timing")));
+            if (matcher.find()) {
+                rows = Math.max(rows, Long.parseLong(matcher.group(1)));
+            }
+        }
+
+        Arrays.sort(latencies);
+        double p95Millis = latencies[(int) Math.ceil(CALLS * 0.95) - 1] / 1e6;
+        assertThat(statements).as("SQL statements per request of %s", path).isLessThanOrEqualTo(budget.statements());
+        assertThat(rows).as("rows read per request of %s", path).isLessThanOrEqualTo(budget.rows());
+        assertThat(p95Millis).as("p95 ms of %s", path).isLessThanOrEqualTo(budget.p95Millis());
+    }
+
+    static List<Budget> budgets() throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(BUDGETS)) {
+            properties.load(reader);
+        }
+        return new TreeSet<>(properties.stringPropertyNames()).stream()
+                .filter(key -> key.endsWith(".path"))
+                .map(key -> key.substring(0, key.length() - ".path".length()))
+                .map(name -> new Budget(name,
+                        properties.getProperty(name + ".path").trim(),
+                        Integer.parseInt(properties.getProperty(name + ".statements").trim()),
+                        Long.parseLong(properties.getProperty(name + ".rows").trim()),
+                        Long.parseLong(properties.getProperty(name + ".p95-ms").trim())))
+                .toList();
+    }
+
+    record Budget(String name, String path, int statements, long rows, long p95Millis) {
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.banana.harvest.controller;
+
+import com.banana.harvest.service.MediaUploadService;
+import com.banana.harvest.service.storage.LocalStorageBackend;
+import com.banana.harvest.service.storage.StorageBackend;
+import com.banana.harvest.service.storage.StoredObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Range handling of the media download endpoint against a 500-byte stored object
+ */
+class MediaControllerTest {
+
+    private static final String KEY = "photos/range-test.jpg";
+    private static final int SIZE = 500;
+
+    private final byte[] bytes = new byte[SIZE];
+    private StorageBackend storageBackend;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        for (int i = 0; i < SIZE; i++) {
+            bytes[i] = (byte) i;
+        }
+        storageBackend = mock(StorageBackend.class);
+        when(storageBackend.stat(KEY)).thenReturn(Optional.of(
+                new StoredObject(KEY, SIZE, "image/jpeg", Instant.parse("2024-01-01T00:00:00Z"), "\"range-test\"")));
+        when(storageBackend.stream(eq(KEY), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            int offset = (int) (long) invocation.getArgument(1);
+            int length = (int) (long) invocation.getArgument(2);
+            WritableByteChannel target = invocation.getArgument(3);
+            return (long) target.write(ByteBuffer.wrap(bytes, offset, length));
+        });
+
+        ObjectProvider<LocalStorageBackend> noLocalBackend = mock(ObjectProvider.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new MediaController(storageBackend, noLocalBackend, mock(MediaUploadService.class))).build();
+    }
+
+    @Test
+    void rangeStartingPastTheEndIsNotSatisfiable() throws Exception {
+        mockMvc.perform(get("/api/media/" + KEY).header(HttpHeaders.RANGE, "bytes=1000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + SIZE));
+
+        verify(storageBackend, never()).stream(any(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void openEndedRangeRunsToTheLastByte() throws Exception {
+        mockMvc.perform(get("/api/media/" + KEY).header(HttpHeaders.RANGE, "bytes=400-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 400-499/" + SIZE))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 400, SIZE)));
+    }
+
+    @Test
+    void rangeEndPastTheEndIsClamped() throws Exception {
+        mockMvc.perform(get("/api/media/" + KEY).header(HttpHeaders.RANGE, "bytes=490-9999"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 490-499/" + SIZE))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 490, SIZE)));
+    }
+}
@@ -0,0 +1,188 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.dto.inventory.InventoryAllocationRequest;
+import com.banana.harvest.entity.InventoryItem;
+import com.banana.harvest.exception.BusinessException;
+import com.banana.harvest.repository.InventoryItemRepository;
+import com.banana.harvest.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Allocates a hot box SKU from more threads than there are pooled connections while its
+ * escrows are refilled and closed, and the expiry sweeper settles the escrow of an instance
+ * that died. Every allocation must succeed, no escrow may hand out stock after it was
+ * settled, and the stock row must balance against the allocation rows once everything is
+ * closed. Escrows are opened outside the allocating transaction, so a transaction that
+ * already holds the stock row does not wait on itself.
+ */
+@Sql(scripts = "/db/budget-data.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class HotStockEscrowConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int STOCK = 1000;
+    private static final int ALLOCATIONS = 400;
+    private static final int THREADS = 16;
+    private static final Duration RUN_LIMIT = Duration.ofSeconds(90);
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StockReservationService reservationService;
+
+    @Autowired
+    private StockReservationSweeper sweeper;
+
+    @Autowired
+    private HotStockEscrow hotStockEscrow;
+
+    @Autowired
+    private InventoryItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void allocationsRacingEscrowSettlementNeverOversell() throws Exception {
+        UUID itemId = UUID.fromString(post("/api/inventory/items", Map.of(
+                "itemName", "Escrow test box",
+                "itemCode", "ITEST-ESC-" + UUID.randomUUID().toString().substring(0, 8),
+                "category", "BOX",
+                "unitOfMeasure", "PCS",
+                "unitCost", 10)).path("id").asText());
+        post("/api/inventory/items/" + itemId + "/stock?quantity=" + STOCK, null);
+        UUID batchId = fixtureId("itest-batch-2");
+        UUID adminId = adminId();
+
+        // The escrow of an instance that stopped without closing it
+        UUID deadEscrowId = reservationService.openEscrow(itemId, 100, 1, "escrow:stopped-instance",
+                LocalDateTime.now().plusSeconds(2)).orElseThrow().getId();
+
+        AtomicBoolean allocating = new AtomicBoolean(true);
+        ExecutorService settler = Executors.newSingleThreadExecutor();
+        Future<Integer> refused = settler.submit(() -> {
+            int attempts = 0;
+            while (allocating.get()) {
+                for (UUID escrowId : activeEscrows(itemId)) {
+                    // Only the serving instance and the expiry sweeper close escrows
+                    BusinessException error = catchThrowableOfType(
+                            () -> reservationService.releaseReservation(escrowId), BusinessException.class);
+                    assertThat(error.getErrorCode()).isEqualTo("RESERVATION_ESCROW");
+                    attempts++;
+                }
+                sweeper.sweep();
+                Thread.sleep(100);
+            }
+            return attempts;
+        });
+
+        ExecutorService allocators = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        List<Future<?>> allocations = new ArrayList<>();
+        for (int i = 0; i < ALLOCATIONS; i++) {
+            InventoryAllocationRequest request = new InventoryAllocationRequest();
+            request.setBatchId(batchId.toString());
+            request.setItemId(itemId.toString());
+            request.setQuantity(1);
+            allocations.add(allocators.submit(() -> inventoryService.allocateInventory(request, adminId)));
+        }
+        try {
+            for (Future<?> allocation : allocations) {
+                // Fails the test with the allocation's exception, e.g. a connection pool timeout
+                allocation.get(RUN_LIMIT.toSeconds(), TimeUnit.SECONDS);
+            }
+        } finally {
+            allocating.set(false);
+            allocators.shutdownNow();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(refused.get(10, TimeUnit.SECONDS)).as("API releases refused while allocating").isPositive();
+        settler.shutdown();
+        assertThat(elapsedMillis).as("time for %d allocations", ALLOCATIONS).isLessThan(RUN_LIMIT.toMillis());
+        assertThat(status(deadEscrowId)).isEqualTo("EXPIRED");
+        Integer replaced = jdbcTemplate.queryForObject("SELECT count(*) FROM banana_harvest.stock_reservations "
+                + "WHERE item_id = ? AND status = 'RELEASED'", Integer.class, itemId);
+        assertThat(replaced).as("escrows replaced by a refill and closed").isPositive();
+
+        // Idle escrows are closed by their instance; expire the rest as if it had stopped
+        jdbcTemplate.update("UPDATE banana_harvest.stock_reservations SET expires_at = now() - interval '1 second' "
+                + "WHERE item_id = ? AND status = 'ACTIVE'", itemId);
+        awaitTrue(() -> {
+            sweeper.sweep();
+            return activeEscrows(itemId).isEmpty();
+        }, Duration.ofSeconds(10));
+
+        // Each settled escrow accounts for exactly the allocations recorded against it
+        List<Map<String, Object>> overdrawn = jdbcTemplate.queryForList("SELECT r.id, r.quantity, r.consumed_quantity, "
+                + "coalesce(sum(a.quantity), 0) AS allocated FROM banana_harvest.stock_reservations r "
+                + "LEFT JOIN banana_harvest.inventory_allocations a ON a.reservation_id = r.id "
+                + "WHERE r.item_id = ? GROUP BY r.id, r.quantity, r.consumed_quantity "
+                + "HAVING coalesce(sum(a.quantity), 0) <> r.consumed_quantity "
+                + "OR coalesce(sum(a.quantity), 0) > r.quantity", itemId);
+        assertThat(overdrawn).isEmpty();
+
+        Map<String, Object> stock = jdbcTemplate.queryForMap("SELECT total_quantity, available_quantity, "
+                + "held_quantity, reserved_quantity FROM banana_harvest.inventory_stock WHERE item_id = ?", itemId);
+        Integer allocated = jdbcTemplate.queryForObject("SELECT coalesce(sum(quantity), 0) "
+                + "FROM banana_harvest.inventory_allocations WHERE item_id = ?", Integer.class, itemId);
+        assertThat(allocated).isEqualTo(ALLOCATIONS);
+        assertThat(stock.get("held_quantity")).isEqualTo(0);
+        assertThat(stock.get("reserved_quantity")).isEqualTo(ALLOCATIONS);
+        assertThat(stock.get("available_quantity")).isEqualTo(STOCK - ALLOCATIONS);
+        assertThat(stock.get("total_quantity")).isEqualTo(STOCK);
+    }
+
+    @Test
+    void allocationHoldingTheStockRowDoesNotWaitForAnEscrow() throws Exception {
+        UUID itemId = UUID.fromString(post("/api/inventory/items", Map.of(
+                "itemName", "Escrow refill box",
+                "itemCode", "ITEST-REF-" + UUID.randomUUID().toString().substring(0, 8),
+                "category", "BOX",
+                "unitOfMeasure", "PCS",
+                "unitCost", 10)).path("id").asText());
+        post("/api/inventory/items/" + itemId + "/stock?quantity=" + STOCK, null);
+        InventoryItem item = itemRepository.findById(itemId).orElseThrow();
+
+        // E.g. an earlier line of the same request that fell back to the conditional update
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        Future<Optional<UUID>> take = worker.submit(() -> transaction.execute(status -> {
+            reservationService.reserveAvailable(item, 1);
+            return hotStockEscrow.tryTake(item, 1);
+        }));
+        assertThat(take.get(10, TimeUnit.SECONDS)).isEmpty();
+        worker.shutdown();
+
+        // The escrow is opened once the transaction has released the row
+        awaitTrue(() -> !activeEscrows(itemId).isEmpty(), Duration.ofSeconds(10));
+    }
+
+    private String status(UUID reservationId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM banana_harvest.stock_reservations WHERE id = ?",
+                String.class, reservationId);
+    }
+
+    private List<UUID> activeEscrows(UUID itemId) {
+        return jdbcTemplate.queryForList("SELECT id FROM banana_harvest.stock_reservations "
+                + "WHERE item_id = ? AND status = 'ACTIVE' AND holder LIKE 'escrow:%'", UUID.class, itemId);
+    }
+}
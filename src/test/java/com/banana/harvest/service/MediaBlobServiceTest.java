@@ -0,0 +1,61 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.MediaBlob;
+import com.banana.harvest.service.storage.StorageBackend;
+import com.banana.harvest.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A deduplicated object is shared between uploaders before any photo references it, so
+ * deleting one uploader's file leaves it in place until the collector's grace period ends
+ */
+class MediaBlobServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MediaBlobService mediaBlobService;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private StorageBackend storageBackend;
+
+    @Test
+    void sharedObjectSurvivesDeleteUntilCollected() {
+        String hash = UUID.randomUUID().toString().replace("-", "") + "0".repeat(32);
+        String firstKey = store("photos/itest-" + UUID.randomUUID() + ".jpg");
+        String secondKey = store("photos/itest-" + UUID.randomUUID() + ".jpg");
+
+        MediaBlob first = mediaBlobService.register(hash, firstKey, "image/jpeg", 5);
+        MediaBlob second = mediaBlobService.register(hash, secondKey, "image/jpeg", 5);
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getObjectKey()).isEqualTo(firstKey);
+
+        // The first uploader gives up on its file while the second still holds the same URL
+        mediaStorageService.deleteFile(storageBackend.publicUrl(firstKey));
+        assertThat(storageBackend.stat(firstKey)).isPresent();
+        assertThat(mediaBlobService.findByObjectKey(firstKey)).isPresent();
+
+        // Within the grace period nothing is collected
+        mediaBlobService.collectUnreferenced(LocalDateTime.now().minusHours(1), 1000);
+        assertThat(storageBackend.stat(firstKey)).isPresent();
+
+        mediaBlobService.collectUnreferenced(LocalDateTime.now().plusMinutes(1), 1000);
+        assertThat(storageBackend.stat(firstKey)).isEmpty();
+        assertThat(mediaBlobService.findByObjectKey(firstKey)).isEmpty();
+        storageBackend.delete(secondKey);
+    }
+
+    private String store(String key) {
+        storageBackend.put(key, new ByteArrayInputStream("photo".getBytes(StandardCharsets.UTF_8)), 5, "image/jpeg");
+        return key;
+    }
+}
@@ -0,0 +1,105 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.MediaBlob;
+import com.banana.harvest.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Direct uploads always leave VALIDATING: validated videos are deduplicated by their hash,
+ * unexpected failures reject the upload, and a lost validation is picked up by the sweeper
+ */
+class MediaUploadProcessorTest extends PostgresIntegrationTest {
+
+    private static final Duration VALIDATION_TIMEOUT = Duration.ofSeconds(15);
+
+    @SpyBean
+    private MediaBlobService mediaBlobService;
+
+    @Autowired
+    private MediaUploadSweeper sweeper;
+
+    @Test
+    void videoWithoutDeclaredHashIsHashedAndRegistered() throws Exception {
+        byte[] video = ("itest video " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        JsonNode intent = uploadVideo(video);
+
+        post("/api/upload/intents/" + intent.path("uploadId").asText() + "/complete", null);
+
+        assertThat(awaitStatus(intent, "COMPLETED").path("fileUrl").asText())
+                .isEqualTo(intent.path("fileUrl").asText());
+        assertThat(mediaBlobService.findByObjectKey(intent.path("objectKey").asText()))
+                .map(MediaBlob::getContentHash).contains(sha256(video));
+    }
+
+    @Test
+    void unexpectedFailureRejectsTheUpload() throws Exception {
+        byte[] video = ("itest video " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        JsonNode intent = uploadVideo(video);
+        doThrow(new IllegalStateException("database unavailable"))
+                .when(mediaBlobService).register(eq(sha256(video)), any(), any(), anyLong());
+
+        post("/api/upload/intents/" + intent.path("uploadId").asText() + "/complete", null);
+
+        JsonNode upload = awaitStatus(intent, "REJECTED");
+        assertThat(upload.path("rejectionReason").asText()).contains("database unavailable");
+    }
+
+    @Test
+    void sweeperValidatesUploadsWhoseValidationWasLost() throws Exception {
+        JsonNode intent = uploadVideo(("itest video " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+        // As left by an instance that stopped between completion and validation
+        jdbcTemplate.update("UPDATE banana_harvest.media_uploads SET status = 'VALIDATING', "
+                + "validation_started_at = now() - interval '1 hour' WHERE id = ?",
+                UUID.fromString(intent.path("uploadId").asText()));
+
+        sweeper.sweep();
+
+        awaitStatus(intent, "COMPLETED");
+    }
+
+    private JsonNode uploadVideo(byte[] video) {
+        JsonNode intent = post("/api/upload/intents", Map.of(
+                "mediaType", "VIDEO",
+                "fileName", "itest.mp4",
+                "contentType", "video/mp4",
+                "contentLength", video.length));
+
+        // The signed URL points at the configured public base URL; send it to this server instead
+        String uploadUrl = intent.path("uploadUrl").asText();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("video/mp4"));
+        restTemplate.exchange(uploadUrl.substring(uploadUrl.indexOf("/api/media/")), HttpMethod.PUT,
+                new HttpEntity<>(video, headers), String.class);
+        return intent;
+    }
+
+    private JsonNode awaitStatus(JsonNode intent, String status) throws InterruptedException {
+        String path = "/api/upload/intents/" + intent.path("uploadId").asText();
+        awaitTrue(() -> status.equals(get(path).path("status").asText()), VALIDATION_TIMEOUT);
+        return get(path);
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
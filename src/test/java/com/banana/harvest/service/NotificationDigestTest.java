@@ -0,0 +1,78 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.User;
+import com.banana.harvest.repository.UserRepository;
+import com.banana.harvest.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A recipient's first notification is delivered without waiting for the coalescing window;
+ * notifications following it within the window are held and delivered together
+ */
+class NotificationDigestTest extends PostgresIntegrationTest {
+
+    // Well under notification.digest.window-seconds, with room for the poll interval
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(15);
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void firstNotificationIsImmediateAndFollowUpsAreCoalesced() throws Exception {
+        User recipient = userRepository.findById(registerActiveUser()).orElseThrow();
+
+        notificationService.notifyMaterialsAllocated(recipient, "batch-1", "10 boxes");
+        awaitTrue(() -> poll() && pendingItems(recipient) == 0, DELIVERY_TIMEOUT);
+        assertThat(lastDelivered(recipient)).isTrue();
+
+        notificationService.notifyMaterialsAllocated(recipient, "batch-2", "20 boxes");
+        notificationService.notifyMaterialsAllocated(recipient, "batch-3", "30 boxes");
+        awaitTrue(() -> poll() && pendingItems(recipient) == 2, DELIVERY_TIMEOUT);
+        notificationService.flushDueDigests(100);
+        assertThat(pendingItems(recipient)).as("items held within the window").isEqualTo(2);
+
+        // Once the window since the last message has passed, both go out together
+        jdbcTemplate.update("UPDATE banana_harvest.notification_digest_recipients "
+                + "SET last_delivered_at = now() - interval '1 hour' WHERE recipient_id = ?", recipient.getId());
+        awaitTrue(() -> poll() && pendingItems(recipient) == 0, DELIVERY_TIMEOUT);
+    }
+
+    /**
+     * Runs the outbox poller's work now rather than waiting for its schedule; always true
+     */
+    private boolean poll() {
+        notificationService.dispatchPendingBatch(100);
+        notificationService.flushDueDigests(100);
+        return true;
+    }
+
+    private int pendingItems(User recipient) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM banana_harvest.notification_digest_items "
+                + "WHERE recipient_id = ?", Integer.class, recipient.getId());
+    }
+
+    private boolean lastDelivered(User recipient) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM banana_harvest.notification_digest_recipients "
+                + "WHERE recipient_id = ? AND last_delivered_at IS NOT NULL", Integer.class, recipient.getId()) == 1;
+    }
+
+    private UUID registerActiveUser() {
+        JsonNode user = data(restTemplate.postForEntity("/api/auth/register", Map.of(
+                "email", "itest-" + UUID.randomUUID() + "@itest.local",
+                "password", "ITest#2024",
+                "fullName", "Digest test",
+                "role", "SUPER_ADMIN"), JsonNode.class));
+        return UUID.fromString(user.path("id").asText());
+    }
+}
@@ -0,0 +1,51 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.entity.enums.UserRole;
+import com.banana.harvest.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The cached recipients follow every change to who is active, without waiting for the TTL
+ */
+class NotificationRecipientCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private NotificationRecipientCache recipientCache;
+
+    @Test
+    void registeringAnActiveAdminRefreshesTheCache() {
+        recipientCache.activeUserIds(UserRole.SUPER_ADMIN);
+
+        UUID adminId = register(UserRole.SUPER_ADMIN);
+
+        assertThat(recipientCache.activeUserIds(UserRole.SUPER_ADMIN)).contains(adminId);
+    }
+
+    @Test
+    void approvalAndDeactivationRefreshTheCache() {
+        UUID managerId = register(UserRole.MANAGER);
+        assertThat(recipientCache.activeUserIds(UserRole.MANAGER)).doesNotContain(managerId);
+
+        post("/api/auth/approve/" + managerId, null);
+        assertThat(recipientCache.activeUserIds(UserRole.MANAGER)).contains(managerId);
+
+        post("/api/auth/deactivate/" + managerId, null);
+        assertThat(recipientCache.activeUserIds(UserRole.MANAGER)).doesNotContain(managerId);
+    }
+
+    private UUID register(UserRole role) {
+        String email = "itest-" + UUID.randomUUID() + "@itest.local";
+        return UUID.fromString(data(restTemplate.postForEntity("/api/auth/register", Map.of(
+                "email", email,
+                "password", "ITest#2024",
+                "fullName", "Cache test " + role,
+                "role", role.name()), JsonNode.class)).path("id").asText());
+    }
+}
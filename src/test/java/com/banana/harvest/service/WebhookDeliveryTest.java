@@ -0,0 +1,174 @@
+package com.banana.harvest.service;
+
+import com.banana.harvest.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delivers sale.payment-updated events to a stub receiver and checks the endpoint cursor:
+ * batches arrive signed and in id order, a failed batch keeps the cursor and is redelivered,
+ * and resetting the cursor replays the log. The secret is only returned on creation.
+ */
+class WebhookDeliveryTest extends PostgresIntegrationTest {
+
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(15);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpServer receiver;
+    private final List<Delivery> deliveries = new CopyOnWriteArrayList<>();
+    private final AtomicInteger receiverStatus = new AtomicInteger(200);
+    private UUID endpointId;
+    private UUID saleId;
+
+    @BeforeEach
+    void startReceiver() throws IOException {
+        receiver = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        receiver.createContext("/hook", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            deliveries.add(new Delivery(new String(body, StandardCharsets.UTF_8),
+                    exchange.getRequestHeaders().getFirst("X-Webhook-Signature"),
+                    exchange.getRequestHeaders().getFirst("X-Webhook-Cursor"),
+                    receiverStatus.get()));
+            exchange.sendResponseHeaders(receiverStatus.get(), -1);
+            exchange.close();
+        });
+        receiver.start();
+
+        saleId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO banana_harvest.sales (id, invoice_number, buyer_name, sale_type, total_boxes, "
+                + "price_per_box, total_amount, grand_total, payment_status, paid_amount, sale_date, created_at) "
+                + "VALUES (?, ?, 'Webhook buyer', 'DOMESTIC', 10, 100, 1000, 1000, 'PENDING', 0, current_date, now())",
+                saleId, "ITEST-WH-" + saleId);
+    }
+
+    @AfterEach
+    void stopReceiver() {
+        if (endpointId != null) {
+            exchange(HttpMethod.DELETE, "/api/admin/webhooks/" + endpointId, null);
+        }
+        receiver.stop(0);
+    }
+
+    @Test
+    void deliversInOrderAndMovesTheCursorOnlyOnSuccess() throws Exception {
+        JsonNode created = post("/api/admin/webhooks", Map.of(
+                "name", "itest-receiver",
+                "url", "http://localhost:" + receiver.getAddress().getPort() + "/hook",
+                "eventTypes", List.of("sale.payment-updated")));
+        endpointId = UUID.fromString(created.path("id").asText());
+        String secret = created.path("secret").asText();
+        assertThat(secret).hasSize(64);
+        assertThat(get("/api/admin/webhooks/" + endpointId).path("secret").textValue()).isNull();
+        long startCursor = created.path("lastEventId").asLong();
+
+        List<Long> first = updatePayment(3);
+        awaitTrue(() -> deliveredIds().containsAll(first));
+        awaitTrue(() -> cursor() == first.get(2));
+
+        List<Long> ids = deliveredIds();
+        assertThat(ids).isSorted().doesNotHaveDuplicates().allMatch(id -> id > startCursor);
+        for (Delivery delivery : deliveries) {
+            assertThat(delivery.signature()).isEqualTo("sha256=" + hmac(secret, delivery.body()));
+            List<Long> batch = eventIds(delivery);
+            assertThat(Long.parseLong(delivery.cursor())).isEqualTo(batch.get(batch.size() - 1));
+        }
+
+        // A failing receiver keeps the cursor where it was and gets the same events again
+        receiverStatus.set(500);
+        List<Long> failed = updatePayment(2);
+        awaitTrue(() -> get("/api/admin/webhooks/" + endpointId).path("attempts").asInt() > 0);
+        assertThat(deliveries).anyMatch(delivery -> delivery.status() == 500);
+        JsonNode endpoint = get("/api/admin/webhooks/" + endpointId);
+        assertThat(endpoint.path("lastEventId").asLong()).isEqualTo(first.get(2));
+        assertThat(endpoint.path("attempts").asInt()).isPositive();
+        assertThat(endpoint.path("lastError").asText()).contains("500");
+
+        receiverStatus.set(200);
+        exchange(HttpMethod.POST, "/api/admin/webhooks/" + endpointId + "/deliver", null);
+        awaitTrue(() -> cursor() == failed.get(1));
+        Delivery redelivered = deliveries.stream().filter(delivery -> delivery.status() == 200)
+                .reduce((a, b) -> b).orElseThrow();
+        assertThat(eventIds(redelivered)).containsSubsequence(failed);
+
+        // Resetting the cursor replays the retained log from that point
+        int before = deliveries.size();
+        data(exchange(HttpMethod.POST,
+                "/api/admin/webhooks/" + endpointId + "/cursor?afterEventId=" + (first.get(0) - 1), null));
+        awaitTrue(() -> cursor() == failed.get(1) && deliveries.size() > before);
+        List<Long> replayed = new ArrayList<>();
+        deliveries.subList(before, deliveries.size()).forEach(delivery -> replayed.addAll(eventIds(delivery)));
+        assertThat(replayed).startsWith(first.get(0)).containsSubsequence(first).containsSubsequence(failed);
+    }
+
+    /**
+     * Updates the sale's payment count times and returns the webhook event ids that created
+     */
+    private List<Long> updatePayment(int count) {
+        long after = jdbcTemplate.queryForObject(
+                "SELECT coalesce(max(id), 0) FROM banana_harvest.webhook_events", Long.class);
+        for (int i = 0; i < count; i++) {
+            data(exchange(HttpMethod.PUT, "/api/sales/" + saleId + "/payment?status=PARTIAL&amount=10", null));
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM banana_harvest.webhook_events "
+                + "WHERE id > ? AND aggregate_id = ? ORDER BY id", Long.class, after, saleId);
+    }
+
+    private long cursor() {
+        return get("/api/admin/webhooks/" + endpointId).path("lastEventId").asLong();
+    }
+
+    private List<Long> deliveredIds() {
+        List<Long> ids = new ArrayList<>();
+        deliveries.stream().filter(delivery -> delivery.status() == 200)
+                .forEach(delivery -> ids.addAll(eventIds(delivery)));
+        return ids;
+    }
+
+    private List<Long> eventIds(Delivery delivery) {
+        try {
+            List<Long> ids = new ArrayList<>();
+            objectMapper.readTree(delivery.body()).path("events").forEach(event -> ids.add(event.path("id").asLong()));
+            return ids;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hmac(String secret, String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        awaitTrue(condition, DELIVERY_TIMEOUT);
+    }
+
+    private record Delivery(String body, String signature, String cursor, int status) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.banana.harvest.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Boots the application on a random port against a real Postgres: a postgres:15 Testcontainer
+ * when Docker is available, or the database passed with -Dtest.db.url (and test.db.username,
+ * test.db.password), which the tests share with earlier runs. Without either the tests are skipped.
+ * All subclasses use the same configuration, so the application context is started once.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@ExtendWith(PostgresIntegrationTest.DatabaseAvailable.class)
+public abstract class PostgresIntegrationTest {
+
+    private static final String ADMIN_EMAIL = "itest-admin@itest.local";
+    private static final String ADMIN_PASSWORD = "ITest#2024";
+
+    private static PostgreSQLContainer<?> container;
+    private static boolean containerChecked;
+    private static AdminSession adminSession;
+
+    @Autowired
+    protected TestRestTemplate restTemplate;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("test.db.url");
+        if (url != null) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("test.db.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("test.db.password", ""));
+            return;
+        }
+        PostgreSQLContainer<?> postgres = container();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    /**
+     * The container is started on first use and stopped by Testcontainers when the JVM exits
+     */
+    private static synchronized PostgreSQLContainer<?> container() {
+        if (!containerChecked) {
+            containerChecked = true;
+            if (DockerClientFactory.instance().isDockerAvailable()) {
+                container = new PostgreSQLContainer<>("postgres:15");
+                container.start();
+            }
+        }
+        return container;
+    }
+
+    protected ResponseEntity<JsonNode> exchange(HttpMethod method, String path, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(admin().token());
+        return restTemplate.exchange(path, method, new HttpEntity<>(body, headers), JsonNode.class);
+    }
+
+    protected JsonNode get(String path) {
+        return data(exchange(HttpMethod.GET, path, null));
+    }
+
+    protected JsonNode post(String path, Object body) {
+        return data(exchange(HttpMethod.POST, path, body));
+    }
+
+    protected UUID adminId() {
+        return admin().userId();
+    }
+
+    /**
+     * The id db/budget-data.sql gives a row, which is md5(key)::uuid
+     */
+    protected static UUID fixtureId(String key) {
+        try {
+            byte[] md5 = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            String hex = HexFormat.of().formatHex(md5);
+            return UUID.fromString(hex.replaceFirst("(.{8})(.{4})(.{4})(.{4})(.{12})", "$1-$2-$3-$4-$5"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The data of a successful ApiResponse
+     */
+    protected static JsonNode data(ResponseEntity<JsonNode> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new AssertionError("HTTP " + response.getStatusCode().value() + ": " + response.getBody());
+        }
+        return response.getBody().path("data");
+    }
+
+    /**
+     * Polls the condition until it holds, failing the test after the timeout
+     */
+    protected static void awaitTrue(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within " + timeout);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * Registers the test SUPER_ADMIN on first use (the account survives in a shared database) and logs in
+     */
+    private synchronized AdminSession admin() {
+        if (adminSession == null) {
+            restTemplate.postForEntity("/api/auth/register", Map.of(
+                    "email", ADMIN_EMAIL,
+                    "password", ADMIN_PASSWORD,
+                    "fullName", "Integration Test Admin",
+                    "role", "SUPER_ADMIN"), JsonNode.class);
+            JsonNode login = data(restTemplate.postForEntity("/api/auth/login",
+                    Map.of("email", ADMIN_EMAIL, "password", ADMIN_PASSWORD), JsonNode.class));
+            adminSession = new AdminSession(login.path("token").asText(),
+                    UUID.fromString(login.path("userId").asText()));
+        }
+        return adminSession;
+    }
+
+    private record AdminSession(String token, UUID userId) {
+    }
+
+    static class DatabaseAvailable implements ExecutionCondition {
+
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            if (System.getProperty("test.db.url") != null || container() != null) {
+                return ConditionEvaluationResult.enabled("Postgres available");
+            }
+            return ConditionEvaluationResult.disabled("Needs Docker or -Dtest.db.url=jdbc:postgresql://...");
+        }
+    }
+}
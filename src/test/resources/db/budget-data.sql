@@ -0,0 +1,90 @@
+-- A small, fixed data set for EndpointBudgetTest and the inventory tests: three vendors and
+-- thirty completed, sold batches with inspections, daily reports, labor costs, ledger rows and
+-- cost sheets. Enough rows that a per-row query shows up in the statement counts.
+-- Ids are derived from md5 so the script can run again on a database shared between runs.
+
+INSERT INTO banana_harvest.users (id, email, password_hash, full_name, phone, role, is_active, created_at, updated_at)
+SELECT md5('itest-vendor-' || v)::uuid, 'itest-vendor-' || v || '@itest.local',
+       '$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z9ZsFKZ0l5E8sNzZ5mXHq4e2', 'Vendor ' || v, '90000000' || v,
+       'VENDOR', true, now() - interval '60 days', now() - interval '60 days'
+FROM generate_series(1, 3) AS v
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.farms (id, farmer_name, location, latitude, longitude, contact_number, total_area,
+                                  area_unit, produce_type, status, created_at, updated_at)
+SELECT md5('itest-farm-' || f)::uuid, 'Farmer ' || f, 'Jalgaon block ' || (f % 7), 21.0 + f / 100.0,
+       75.5 + f / 100.0, '91000000' || f, 100 + f, 'acres', 'Banana', 'READY_FOR_HARVEST',
+       now() - interval '50 days', now() - interval '50 days'
+FROM generate_series(1, 30) AS f
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.farm_inspections (id, farm_id, vendor_id, estimated_boxes, inspection_notes, status,
+                                             approved_at, created_at)
+SELECT md5('itest-inspection-' || b)::uuid, md5('itest-farm-' || b)::uuid, md5('itest-vendor-' || (b % 3 + 1))::uuid,
+       1000 + b * 10, 'Plants healthy', 'APPROVED', now() - interval '40 days', now() - interval '41 days'
+FROM generate_series(1, 30) AS b
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.batches (id, batch_id, inspection_id, farm_id, vendor_id, status, estimated_boxes,
+                                    allocated_boxes, harvested_boxes, remaining_boxes, actual_boxes, dispatched_boxes,
+                                    gate_pass_remaining, start_date, end_date, created_at, updated_at, version)
+SELECT md5('itest-batch-' || b)::uuid, 'ITEST-BATCH-' || lpad(b::text, 4, '0'), md5('itest-inspection-' || b)::uuid,
+       md5('itest-farm-' || b)::uuid, md5('itest-vendor-' || (b % 3 + 1))::uuid, 'COMPLETED', 1000 + b * 10,
+       1000 + b * 10, 900, 100 + b * 10, 900, 900, 0, current_date - 40, current_date - 30,
+       now() - interval '40 days', now() - interval '30 days', 0
+FROM generate_series(1, 30) AS b
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.daily_harvest_reports (id, batch_id, report_date, boxes_packed, boxes_wasted, labor_count,
+                                                  notes, created_at)
+SELECT md5('itest-report-' || b || '-' || d)::uuid, md5('itest-batch-' || b)::uuid, current_date - 40 + d, 300, 5,
+       12, 'Day ' || d, now() - interval '40 days' + d * interval '1 day'
+FROM generate_series(1, 30) AS b, generate_series(1, 3) AS d
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.labor_costs (id, report_id, batch_id, total_amount, cost_per_box, payment_status,
+                                        paid_amount, created_at)
+SELECT md5('itest-labor-' || b || '-' || d)::uuid, md5('itest-report-' || b || '-' || d)::uuid,
+       md5('itest-batch-' || b)::uuid, 6000, 20, 'PAID', 6000, now() - interval '40 days' + d * interval '1 day'
+FROM generate_series(1, 30) AS b, generate_series(1, 3) AS d
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.sales (id, batch_id, invoice_number, buyer_name, buyer_contact, sale_type, total_boxes,
+                                  price_per_box, currency, exchange_rate, total_amount, tax_amount, tax_percentage,
+                                  grand_total, payment_status, paid_amount, sale_date, created_at)
+SELECT md5('itest-sale-' || b)::uuid, md5('itest-batch-' || b)::uuid, 'ITEST-INV-' || lpad(b::text, 4, '0'),
+       'Buyer ' || (b % 4), 'buyer@itest.local', 'DOMESTIC', 900, 450, 'INR', 1, 405000, 20250, 5, 425250,
+       'PAID', 425250, current_date - 29, now() - interval '29 days'
+FROM generate_series(1, 30) AS b
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.batch_costs (id, batch_id, material_cost_total, material_cost_per_box,
+                                        outward_transport_cost, outward_transport_per_box, labor_cost_total,
+                                        labor_cost_per_box, inward_transport_cost, inward_transport_per_box,
+                                        total_cost, final_cost_per_box, calculated_at, updated_at)
+SELECT md5('itest-cost-' || b)::uuid, md5('itest-batch-' || b)::uuid, 45000, 50, 9000, 10, 18000, 20, 9000, 10,
+       81000, 90, now() - interval '30 days', now() - interval '30 days'
+FROM generate_series(1, 30) AS b
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.vendor_ledger (id, vendor_id, batch_id, transaction_type, quantity, amount, balance_boxes,
+                                          balance_amount, notes, created_at)
+SELECT md5('itest-ledger-' || b || '-' || t.type)::uuid, md5('itest-vendor-' || (b % 3 + 1))::uuid,
+       md5('itest-batch-' || b)::uuid, t.type, t.quantity, t.amount, 0, 0, t.type,
+       now() - interval '40 days' + t.offset_days * interval '1 day'
+FROM generate_series(1, 30) AS b,
+     (VALUES ('BOX_ISSUED', 1000, 0, 0), ('LABOR_COST', 0, 18000, 3)) AS t(type, quantity, amount, offset_days)
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.inventory_items (id, item_name, item_code, category, unit_of_measure, unit_cost, is_active,
+                                            created_at)
+SELECT md5('itest-item-' || i)::uuid, 'Test item ' || i, 'ITEST-ITEM-' || i,
+       (ARRAY['BOX', 'LINER', 'CORNER', 'TAPE', 'OTHER'])[i], 'PCS', 10 + i, true, now() - interval '60 days'
+FROM generate_series(1, 5) AS i
+ON CONFLICT DO NOTHING;
+
+INSERT INTO banana_harvest.inventory_stock (id, item_id, total_quantity, available_quantity, reserved_quantity,
+                                            held_quantity, last_updated, version)
+SELECT md5('itest-stock-' || i)::uuid, md5('itest-item-' || i)::uuid, 100000, 100000, 0, 0, now(), 0
+FROM generate_series(1, 5) AS i
+ON CONFLICT DO NOTHING;